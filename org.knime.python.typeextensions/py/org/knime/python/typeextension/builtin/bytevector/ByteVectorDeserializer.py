@@ -43,4 +43,8 @@
 
 #Deserialize bytes to bytearray
 def deserialize(data_bytes):
-    return bytearray(data_bytes)
\ No newline at end of file
+    return bytearray(data_bytes)
+
+
+def deserialize_column(bytes_values):
+    return [bytearray(value) for value in bytes_values]
@@ -41,24 +41,29 @@
 #  when such Node is propagated with or for interoperation with KNIME.
 # ------------------------------------------------------------------------
 
+import numpy
+
 import EnvironmentHelper
 
 
 def serialize(object_value):
     if EnvironmentHelper.is_tslib_available() and type(object_value) is EnvironmentHelper.Timestamp:
         object_value = object_value.to_pydatetime()
-    # format: yyyy-mm-dd HH:MM:SS (+microseconds and offset to UTC if available)
+    # format: yyyy-mm-dd HH:MM:SS.ffffff (+offset to UTC if available)
     datestr = object_value.isoformat(' ')
     # Add timezone name (offset already included in isoformat)
     if object_value.tzname():
         datestr += '[' + object_value.tzname() + ']'
-    # Find +/- sign of timezone offset
-    tzidx = max(datestr.find('+'), datestr.find('-', 10))
-    if tzidx < 0:
-        tzidx = len(datestr)
-    # If microseconds available cut down to millis otherwise add millis
-    if object_value.microsecond > 0:
-        datestr = datestr[:tzidx - 3] + datestr[tzidx:]
-    else:
-        datestr = datestr[:tzidx] + '.000' + datestr[tzidx:]
+    # isoformat omits the microseconds if they are zero
+    if object_value.microsecond == 0:
+        datestr = datestr[:19] + '.000000' + datestr[19:]
     return datestr.encode('utf-8')
+
+
+def serialize_column(object_values):
+    if any(value.utcoffset() is not None for value in object_values):
+        # Zoned date&time values carry their zone and are formatted one by one.
+        return [serialize(value) for value in object_values]
+    # Local date&time values of an entire column at once
+    datestrs = numpy.datetime_as_string(numpy.asarray(object_values, dtype=object).astype('datetime64[us]'))
+    return [datestr.replace('T', ' ').encode('utf-8') for datestr in datestrs]
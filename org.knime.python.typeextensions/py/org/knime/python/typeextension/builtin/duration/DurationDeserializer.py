@@ -42,34 +42,22 @@
 # ------------------------------------------------------------------------
 
 import datetime
-import debug_util
+import struct
+
+import numpy
+
+from PythonUtils import int64_column_from_bytes
+
 
 def deserialize(bytes):
-    durationstr = bytes.decode("utf-8")
-    hidx = durationstr.find('H');
-    hours = 0
-    if hidx >= 0:
-        hours = int(durationstr[:hidx])
-        durationstr = durationstr[hidx+1:]
-    midx = durationstr.find('M')
-    minutes = 0
-    if midx >= 0:
-        minutes = int(durationstr[:midx])
-        durationstr = durationstr[midx+1:]
-    sidx = durationstr.find('S')
-    seconds = 0
-    millis = 0
-    if sidx >= 0:
-        pidx = durationstr.find('.')
-        if pidx > 0:
-            seconds = int(durationstr[:pidx])
-            millistr = durationstr[pidx+1:sidx]
-            while len(millistr) < 3:
-                millistr += '0'
-            millis = int(millistr)
-            if seconds < 0:
-                millis *= -1
-        else:
-            seconds = int(durationstr[:sidx])
-    debug_util.debug_msg('Decoded: ' + bytes.decode("utf-8") + ' to ' + str(datetime.timedelta(hours=hours, minutes=minutes, seconds=seconds, milliseconds=millis)))
-    return datetime.timedelta(hours=hours, minutes=minutes, seconds=seconds, milliseconds=millis)
+    # Microseconds (big-endian int64)
+    return datetime.timedelta(microseconds=struct.unpack('>q', bytes)[0])
+
+
+def deserialize_column(bytes_values):
+    # Microseconds (big-endian int64) of an entire column at once
+    micros = int64_column_from_bytes(bytes_values)
+    # The smallest int64 is NaT in numpy and must not be converted at once.
+    if micros is None or len(micros) == 0 or micros.min() == numpy.iinfo(numpy.int64).min:
+        return [deserialize(value) for value in bytes_values]
+    return micros.astype('timedelta64[us]').astype(object)
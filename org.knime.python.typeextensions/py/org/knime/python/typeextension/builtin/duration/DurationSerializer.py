@@ -41,12 +41,19 @@
 #  when such Node is propagated with or for interoperation with KNIME.
 # ------------------------------------------------------------------------
 
-import debug_util
+import struct
+
+import numpy
+
+from PythonUtils import int64_column_to_bytes
 
 def serialize(timedelta_obj):
-    microstr = str(timedelta_obj.microseconds // 1000)
-    while len(microstr) < 3:
-        microstr = '0' + microstr
-    durationstr = str(timedelta_obj.days * 24 + timedelta_obj.seconds // 3600) + 'H ' + str((timedelta_obj.seconds % 3600) // 60) + 'm ' + str(timedelta_obj.seconds % 60) + '.' + microstr + 's'
-    debug_util.debug_msg('Serializing timedelta: ' + str(timedelta_obj) + ' as ' + durationstr)
-    return durationstr.encode("utf-8")
\ No newline at end of file
+    # Microseconds (big-endian int64)
+    micros = (timedelta_obj.days * 86400 + timedelta_obj.seconds) * 1000000 + timedelta_obj.microseconds
+    return struct.pack('>q', micros)
+
+
+def serialize_column(timedelta_objs):
+    # Microseconds (big-endian int64) of an entire column at once
+    micros = numpy.asarray(timedelta_objs, dtype=object).astype('timedelta64[us]').astype(numpy.int64)
+    return int64_column_to_bytes(micros)
@@ -41,10 +41,26 @@
 #  when such Node is propagated with or for interoperation with KNIME.
 # ------------------------------------------------------------------------
 
-from datetime import datetime
+import struct
+from datetime import date
 
-_format = '%Y-%m-%d'
+from PythonUtils import int64_column_from_bytes
+
+_epoch_ordinal = date(1970, 1, 1).toordinal()
+
+# Range of days since the epoch that can be represented by datetime.date.
+_min_days = date.min.toordinal() - _epoch_ordinal
+_max_days = date.max.toordinal() - _epoch_ordinal
 
 
 def deserialize(data_bytes):
-    return datetime.strptime(data_bytes.decode('utf-8'), _format).date()
+    # Days since the epoch (big-endian int64)
+    return date.fromordinal(_epoch_ordinal + struct.unpack('>q', data_bytes)[0])
+
+
+def deserialize_column(bytes_values):
+    # Days since the epoch (big-endian int64) of an entire column at once
+    days = int64_column_from_bytes(bytes_values)
+    if days is None or len(days) == 0 or days.min() < _min_days or days.max() > _max_days:
+        return [deserialize(value) for value in bytes_values]
+    return days.astype('datetime64[D]').astype(object)
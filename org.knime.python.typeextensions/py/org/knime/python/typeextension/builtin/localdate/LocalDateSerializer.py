@@ -41,7 +41,26 @@
 #  when such Node is propagated with or for interoperation with KNIME.
 # ------------------------------------------------------------------------
 
+import struct
+from datetime import date
+
+import numpy
+
+from PythonUtils import int64_column_to_bytes
+
+_epoch_ordinal = date(1970, 1, 1).toordinal()
+
+
 def serialize(object_value):
-    #format: yyyy-mm-dd
-    datestr = object_value.isoformat()
-    return datestr.encode('utf-8')
+    # Days since the epoch (big-endian int64)
+    return struct.pack('>q', object_value.toordinal() - _epoch_ordinal)
+
+
+def serialize_column(object_values):
+    # Days since the epoch (big-endian int64) of an entire column at once
+    try:
+        days = numpy.asarray(object_values, dtype=object).astype('datetime64[D]').astype(numpy.int64)
+    except (TypeError, ValueError):
+        # E.g. date&time values with a time of day.
+        return [serialize(value) for value in object_values]
+    return int64_column_to_bytes(days)
@@ -117,6 +117,17 @@ public Serializer<? extends DataValue> getSerializer(final String id) {
         return m_serializers.get(id);
     }
 
+    /**
+     * Get the extension with the given id.
+     * 
+     * @param id
+     *            an id
+     * @return a {@link KnimeToPythonExtension} or null if id is not found
+     */
+    public static KnimeToPythonExtension getExtension(final String id) {
+        return extensions.get(id);
+    }
+
     /**
      * Return the extension handeling the given KNIME-{@link DataType}.
      * 
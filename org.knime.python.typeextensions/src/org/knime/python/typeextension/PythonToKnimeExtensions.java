@@ -67,6 +67,7 @@
 public class PythonToKnimeExtensions {
 
     private static Map<String, PythonToKnimeExtension> extensions = new HashMap<String, PythonToKnimeExtension>();
+    private static Map<String, PythonToKnimeExtension> extensionsByType = new HashMap<String, PythonToKnimeExtension>();
     private Map<String, Deserializer> m_deserializers = new HashMap<String, Deserializer>();
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonToKnimeExtensions.class);
@@ -97,6 +98,11 @@ public static void init() {
                 LOGGER.error(e.getMessage(), e);
             }
         }
+        // Several extensions may handle the same Python type. The first one in iteration order of
+        // getExtensions() wins, which is also what a linear scan over the extensions would yield.
+        for (PythonToKnimeExtension extension : extensions.values()) {
+            extensionsByType.putIfAbsent(extension.getType(), extension);
+        }
     }
 
     /**
@@ -127,6 +133,18 @@ public static PythonToKnimeExtension getExtension(final String id) {
         return extensions.get(id);
     }
 
+    /**
+     * Get the extension handling the given Python type.
+     * 
+     * @param type
+     *            a Python type identifier
+     * @return a {@link PythonToKnimeExtension} or null if no extension handles
+     *         the type
+     */
+    public static PythonToKnimeExtension getExtensionByType(final String type) {
+        return extensionsByType.get(type);
+    }
+
     /**
      * @return a list of all registered {@link PythonToKnimeExtension}s
      */
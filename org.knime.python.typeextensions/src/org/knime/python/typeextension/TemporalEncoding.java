@@ -0,0 +1,174 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python.typeextension;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Representations of the values of the built-in date&time type extensions. Python's date&time types are of microsecond
+ * precision, which is therefore preserved by all representations.
+ * <P>
+ * The representation is fixed per extension and direction of the transfer, it is never inferred from the transferred
+ * bytes:
+ * <UL>
+ * <LI>Local dates are transferred as a single big-endian 64 bit integer of {@link Unit#EPOCH_DAYS} in both
+ * directions.</LI>
+ * <LI>Durations are transferred as a single big-endian 64 bit integer of {@link Unit#DURATION_MICROS} in both
+ * directions.</LI>
+ * <LI>Local date&times are transferred as a single big-endian 64 bit integer of {@link Unit#EPOCH_MICROS} from KNIME
+ * to Python. From Python to KNIME, they share a single extension with zoned date&times and are therefore transferred
+ * as text, see {@link #formatLocalDateTime(LocalDateTime)}.</LI>
+ * </UL>
+ * Serialization libraries can use {@link #getUnit(String)} to recognize columns of these extensions and transfer them
+ * in a native temporal representation instead of as bytes. The type of the native representation then determines the
+ * unit of the values.
+ *
+ * @author agent
+ */
+public final class TemporalEncoding {
+
+    /**
+     * The number of bytes of an encoded value.
+     */
+    public static final int ENCODED_LENGTH = Long.BYTES;
+
+    /**
+     * The pattern of the textual representation of local date&time values.
+     */
+    public static final String LOCAL_DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm:ss.SSSSSS";
+
+    private static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER =
+        DateTimeFormatter.ofPattern(LOCAL_DATE_TIME_FORMAT);
+
+    /**
+     * The units of encoded values.
+     */
+    public enum Unit {
+            /** Microseconds since 1970-01-01T00:00:00 (local date&time values). */
+            EPOCH_MICROS,
+            /** Days since 1970-01-01 (local date values). */
+            EPOCH_DAYS,
+            /** Microseconds (duration values). */
+            DURATION_MICROS;
+    }
+
+    /**
+     * The units of the values of the extensions that are encoded on their way from KNIME to Python.
+     */
+    private static final Map<String, Unit> UNITS = new HashMap<>();
+
+    static {
+        UNITS.put("org.knime.datetime2", Unit.EPOCH_MICROS);
+        UNITS.put("org.knime.localdate", Unit.EPOCH_DAYS);
+        UNITS.put("org.knime.duration", Unit.DURATION_MICROS);
+    }
+
+    private TemporalEncoding() {
+    }
+
+    /**
+     * @param extensionId the id of a KNIME-to-Python type extension
+     * @return the unit of the values encoded by the given extension or {@code null} if the extension does not use
+     *         this encoding
+     */
+    public static Unit getUnit(final String extensionId) {
+        return extensionId != null ? UNITS.get(extensionId) : null;
+    }
+
+    /**
+     * @param value the value to encode
+     * @return the binary representation of the given value
+     */
+    public static byte[] encode(final long value) {
+        return ByteBuffer.allocate(ENCODED_LENGTH).putLong(value).array();
+    }
+
+    /**
+     * @param bytes the binary representation of a value
+     * @return the decoded value
+     * @throws IllegalArgumentException if the given bytes are not of {@link #ENCODED_LENGTH}
+     */
+    public static long decode(final byte[] bytes) {
+        if (bytes.length != ENCODED_LENGTH) {
+            throw new IllegalArgumentException(
+                "Encoded date&time values must be " + ENCODED_LENGTH + " bytes long, but got " + bytes.length + ".");
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    /**
+     * @param dateTime the local date&time, must be representable in {@link Unit#EPOCH_MICROS}
+     * @return the microseconds since the epoch, fractions of microseconds are truncated
+     * @throws ArithmeticException if the given date&time cannot be represented in microseconds
+     */
+    public static long toEpochMicros(final LocalDateTime dateTime) {
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000_000L),
+            dateTime.getNano() / 1000);
+    }
+
+    /**
+     * @param micros the microseconds since the epoch
+     * @return the local date&time
+     */
+    public static LocalDateTime ofEpochMicros(final long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int)Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    /**
+     * @param dateTime the local date&time
+     * @return the textual representation of the given date&time in {@link #LOCAL_DATE_TIME_FORMAT}
+     */
+    public static byte[] formatLocalDateTime(final LocalDateTime dateTime) {
+        return dateTime.format(LOCAL_DATE_TIME_FORMATTER).getBytes(StandardCharsets.UTF_8);
+    }
+}
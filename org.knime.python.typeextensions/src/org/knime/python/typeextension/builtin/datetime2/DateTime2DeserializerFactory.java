@@ -60,6 +60,7 @@
 import org.knime.core.node.NodeLogger;
 import org.knime.python.typeextension.Deserializer;
 import org.knime.python.typeextension.DeserializerFactory;
+import org.knime.python.typeextension.TemporalEncoding;
 
 /**
  * Is used to deserialize python datetime objects to either LocalDateTime
@@ -71,6 +72,15 @@
 
 public class DateTime2DeserializerFactory extends DeserializerFactory {
 
+    // Python transfers date&time values in microsecond precision, see TemporalEncoding.
+    private static final int LOCAL_FORMAT_LENGTH = TemporalEncoding.LOCAL_DATE_TIME_FORMAT.length();
+
+    private static final DateTimeFormatter LOCAL_FORMATTER =
+        DateTimeFormatter.ofPattern(TemporalEncoding.LOCAL_DATE_TIME_FORMAT);
+
+    private static final DateTimeFormatter ZONED_FORMATTER =
+        DateTimeFormatter.ofPattern(TemporalEncoding.LOCAL_DATE_TIME_FORMAT + "xxx'['VV']'");
+
     public DateTime2DeserializerFactory() {
         // Set the type of the resulting column to the conjunction of the
         // LocalDateTimeType and ZonedDateTimeType. (non-native)
@@ -102,28 +112,28 @@ public DataCell deserialize(byte[] bytes, FileStoreFactory fileStoreFactory) thr
             // Deserialize to LocalDateTime or ZonedDateTime based on incoming
             // date string
             String string = new String(bytes, "UTF-8");
-            if (string.length() <= 23) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(LocalDateTimeSerializerFactory.FORMAT);
-                return LocalDateTimeCellFactory.create(string, formatter);
+            if (string.length() <= LOCAL_FORMAT_LENGTH) {
+                return LocalDateTimeCellFactory.create(string, LOCAL_FORMATTER);
             } else {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern(ZonedDateTimeSerializerFactory.FORMAT);
-                ZonedDateTime dt = ZonedDateTime.parse(string, formatter);
+                ZonedDateTime dt = ZonedDateTime.parse(string, ZONED_FORMATTER);
                 //For a zoned datetime coming from python it is possible that the transferred timezone name and 
                 //timezone offset do not comply with java defaults (e.g. timezone name = 'Europe\Berlin', offset=5 are
                 //received while in Java timezone name 'Europe\Berlin' has an associated offset=2). ZonedDateTime.parse
                 //overwrites incorrect offsets without a warning. Therefore we check manually if the received timezone
-                //offset of the incoming timestampstring (located between position 23 and 29) equals the offset of the 
-                //created ZonedDateTime object. If not a warning is issued so that the user may further look into it.
+                //offset of the incoming timestampstring (located right after the local date&time) equals the offset
+                //of the created ZonedDateTime object. If not a warning is issued so that the user may further look
+                //into it.
+                final String offset = string.substring(LOCAL_FORMAT_LENGTH, LOCAL_FORMAT_LENGTH + 6);
                 if (!tzWithChangedOffset.contains(dt.getZone())
-                        && !dt.getOffset().equals(ZoneOffset.of(string.substring(23, 29)))) {
+                        && !dt.getOffset().equals(ZoneOffset.of(offset))) {
                     // warn
                     NodeLogger.getLogger(DateTimeDeserializer.class)
-                            .warn("Offset " + string.substring(23, 29)
+                            .warn("Offset " + offset
                                     + " was changed automatically to the stored offset for timezone " + dt.getZone()
                                     + ". Multiple entries may be affected!");
                     tzWithChangedOffset.add(dt.getZone());
                 }
-                return ZonedDateTimeCellFactory.create(string, formatter);
+                return ZonedDateTimeCellFactory.create(string, ZONED_FORMATTER);
             }
         }
 
@@ -47,21 +47,20 @@
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 import org.knime.core.data.time.localdatetime.LocalDateTimeValue;
 import org.knime.python.typeextension.Serializer;
 import org.knime.python.typeextension.SerializerFactory;
+import org.knime.python.typeextension.TemporalEncoding;
 
 /**
- * Is used to serialize java8 LocalDateTime objects
+ * Is used to serialize java8 LocalDateTime objects. Values are transferred as microseconds since the epoch, see
+ * {@link TemporalEncoding}.
  * 
  * @author Patrick Winter, KNIME AG, Zurich, Switzerland
  */
 public class LocalDateTimeSerializerFactory extends SerializerFactory<LocalDateTimeValue> {
 
-    static final String FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
-
     public LocalDateTimeSerializerFactory() {
         super(LocalDateTimeValue.class);
     }
@@ -82,8 +81,11 @@ private class DateAndTimeSerializer implements Serializer<LocalDateTimeValue> {
         @Override
         public byte[] serialize(LocalDateTimeValue value) throws IOException {
             LocalDateTime date = value.getLocalDateTime();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(FORMAT);
-            return date.format(formatter).getBytes("UTF-8");
+            try {
+                return TemporalEncoding.encode(TemporalEncoding.toEpochMicros(date));
+            } catch (ArithmeticException ex) {
+                throw new IOException("Date&time " + date + " cannot be represented in microseconds.", ex);
+            }
         }
 
     }
@@ -46,12 +46,15 @@
 package org.knime.python.typeextension.builtin.duration;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.filestore.FileStoreFactory;
 import org.knime.core.data.time.duration.DurationCellFactory;
 import org.knime.python.typeextension.Deserializer;
 import org.knime.python.typeextension.DeserializerFactory;
+import org.knime.python.typeextension.TemporalEncoding;
 
 /**
  * Is used to deserialize python timedelta objects to DurationCells.
@@ -80,8 +83,8 @@ private class DurationDeserializer implements Deserializer {
          */
         @Override
         public DataCell deserialize(byte[] bytes, FileStoreFactory fileStoreFactory) throws IOException {
-            String string = new String(bytes, "UTF-8");
-            return DurationCellFactory.create(string);
+            // Microseconds, see TemporalEncoding.
+            return DurationCellFactory.create(Duration.of(TemporalEncoding.decode(bytes), ChronoUnit.MICROS));
         }
 
     }
@@ -51,6 +51,7 @@
 import org.knime.core.data.time.duration.DurationValue;
 import org.knime.python.typeextension.Serializer;
 import org.knime.python.typeextension.SerializerFactory;
+import org.knime.python.typeextension.TemporalEncoding;
 
 /**
  * Is used to serialize java8 Duration objects to python timedelta objects.
@@ -80,7 +81,12 @@ private class DurationSerializer implements Serializer<DurationValue> {
         @Override
         public byte[] serialize(DurationValue value) throws IOException {
             Duration duration = value.getDuration();
-            return duration.toString().substring(2).getBytes("UTF-8");
+            try {
+                return TemporalEncoding.encode(Math.addExact(Math.multiplyExact(duration.getSeconds(), 1_000_000L),
+                    duration.getNano() / 1000));
+            } catch (ArithmeticException ex) {
+                throw new IOException("Duration " + duration + " cannot be represented in microseconds.", ex);
+            }
         }
 
     }
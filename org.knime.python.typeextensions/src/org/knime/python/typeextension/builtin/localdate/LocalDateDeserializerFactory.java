@@ -46,13 +46,14 @@
 package org.knime.python.typeextension.builtin.localdate;
 
 import java.io.IOException;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDate;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.filestore.FileStoreFactory;
 import org.knime.core.data.time.localdate.LocalDateCellFactory;
 import org.knime.python.typeextension.Deserializer;
 import org.knime.python.typeextension.DeserializerFactory;
+import org.knime.python.typeextension.TemporalEncoding;
 
 /**
  * Is used to deserialize python date objects to java8 LocalDate objects.
@@ -81,9 +82,8 @@ private class LocalDateDeserializer implements Deserializer {
          */
         @Override
         public DataCell deserialize(byte[] bytes, FileStoreFactory fileStoreFactory) throws IOException {
-            String string = new String(bytes, "UTF-8");
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(LocalDateSerializerFactory.FORMAT);
-            return LocalDateCellFactory.create(string, formatter);
+            // Days since the epoch, see TemporalEncoding.
+            return LocalDateCellFactory.create(LocalDate.ofEpochDay(TemporalEncoding.decode(bytes)));
         }
 
     }
@@ -47,11 +47,11 @@
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 import org.knime.core.data.time.localdate.LocalDateValue;
 import org.knime.python.typeextension.Serializer;
 import org.knime.python.typeextension.SerializerFactory;
+import org.knime.python.typeextension.TemporalEncoding;
 
 /**
  * Is used to serialize java8 LocalDate objects to a pyhton date object.
@@ -61,8 +61,6 @@
 
 public class LocalDateSerializerFactory extends SerializerFactory<LocalDateValue> {
 
-    static final String FORMAT = "yyyy-MM-dd";
-
     public LocalDateSerializerFactory() {
         super(LocalDateValue.class);
     }
@@ -83,8 +81,7 @@ private class LocalDateSerializer implements Serializer<LocalDateValue> {
         @Override
         public byte[] serialize(LocalDateValue value) throws IOException {
             LocalDate date = value.getLocalDate();
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(FORMAT);
-            return date.format(formatter).getBytes("UTF-8");
+            return TemporalEncoding.encode(date.toEpochDay());
         }
 
     }
@@ -87,4 +87,58 @@ public ArrowSerializationTest() {
 	public void testIntOnlineSerializationDeserializationIdentity() throws IOException {
 		m_tester.testIntOnlineSerializationDeserializationIdentity();
 	}
+
+	/**
+	 * @see SerializationLibraryTester#testTemporalOnlineSerializationDeserializationIdentity()
+	 */
+	@Test
+	@SuppressWarnings("javadoc")
+	public void testTemporalOnlineSerializationDeserializationIdentity() throws IOException {
+		m_tester.testTemporalOnlineSerializationDeserializationIdentity();
+	}
+
+	/**
+	 * @see SerializationLibraryTester#testByteVectorOnlineSerializationDeserializationIdentity()
+	 */
+	@Test
+	@SuppressWarnings("javadoc")
+	public void testByteVectorOnlineSerializationDeserializationIdentity() throws IOException {
+		m_tester.testByteVectorOnlineSerializationDeserializationIdentity();
+	}
+
+	/**
+	 * @see SerializationLibraryTester#testChunkedRowKeysOnlineSerializationDeserializationIdentity()
+	 */
+	@Test
+	@SuppressWarnings("javadoc")
+	public void testChunkedRowKeysOnlineSerializationDeserializationIdentity() throws IOException {
+		m_tester.testChunkedRowKeysOnlineSerializationDeserializationIdentity();
+	}
+
+	/**
+	 * @see SerializationLibraryTester#testCollectionsWithMissingElementsOnlineSerializationDeserializationIdentity()
+	 */
+	@Test
+	@SuppressWarnings("javadoc")
+	public void testCollectionsWithMissingElementsOnlineSerializationDeserializationIdentity() throws IOException {
+		m_tester.testCollectionsWithMissingElementsOnlineSerializationDeserializationIdentity();
+	}
+
+	/**
+	 * @see SerializationLibraryTester#testMultipleInputTablesOnlineSerializationDeserializationIdentity()
+	 */
+	@Test
+	@SuppressWarnings("javadoc")
+	public void testMultipleInputTablesOnlineSerializationDeserializationIdentity() throws Exception {
+		m_tester.testMultipleInputTablesOnlineSerializationDeserializationIdentity();
+	}
+
+	/**
+	 * @see SerializationLibraryTester#testDictionaryEncodingOnlineSerializationDeserializationIdentity()
+	 */
+	@Test
+	@SuppressWarnings("javadoc")
+	public void testDictionaryEncodingOnlineSerializationDeserializationIdentity() throws IOException {
+		m_tester.testDictionaryEncodingOnlineSerializationDeserializationIdentity();
+	}
 }
@@ -48,12 +48,14 @@ import shutil
 import struct
 import sys
 import tempfile
+import threading
 
 import numpy as np
 import pandas
 import pyarrow
 
 import PythonUtils
+from DataTables import default_row_keys
 
 try:
     from StringIO import StringIO
@@ -67,11 +69,23 @@ _pandas_native_types_ = None
 _bytes_types_ = None
 
 _temp_dir = None
+# Set if the temporary directory is shared with (and owned by) the Java side and resides in shared memory.
+_shared_memory_dir = None
+# Set if string columns with few distinct values shall be dictionary-encoded (configured by the Java side).
+_use_dictionary_encoding = False
 
-read_data_frame = None
-read_types = []
-read_serializers = {}
-path_to_mmap = None
+# The deserialized tables by the paths of their files. A table is read by several calls (names, types, serializers,
+# data) that only share the path of its file, and several tables may be read concurrently.
+_read_states = {}
+_read_states_lock = threading.Lock()
+
+
+# The result of deserializing a single table file.
+class _ReadState(object):
+    def __init__(self, data_frame, types, serializers):
+        self.data_frame = data_frame
+        self.types = types
+        self.serializers = serializers
 
 
 # Initialize the enum of known type ids
@@ -85,92 +99,125 @@ def init(types):
     _bytes_types_ = {_types_.BYTES, _types_.BYTES_LIST, _types_.BYTES_SET}
 
 
+# Place temporary files in the given shared memory directory (owned by the Java side) and memory-map files that are
+# received from Java instead of reading them.
+# @param shared_memory_dir    the path to the directory in shared memory
+def set_shared_memory_directory(shared_memory_dir):
+    global _shared_memory_dir
+    _shared_memory_dir = shared_memory_dir
+
+
+# Dictionary-encode string columns with few distinct values when sending tables to Java. Mirrors the serialization
+# options of the Java side, which apply the same check to the tables they send.
+# @param use_dictionary_encoding    True to dictionary-encode string columns with few distinct values
+def set_dictionary_encoding(use_dictionary_encoding):
+    global _use_dictionary_encoding
+    _use_dictionary_encoding = use_dictionary_encoding
+
+
+# Opens the given file for reading. Files in shared memory are memory-mapped which allows pyarrow to reference their
+# buffers without copying.
+# @param path    the path to the file containing the serialized byte data
+def _open_for_reading(path):
+    if _shared_memory_dir is not None:
+        return pyarrow.memory_map(path, 'r')
+    else:
+        return pyarrow.OSFile(path, 'rb')
+
+
+# Get the state of the table whose file path is serialized in the given bytes. Deserializes the table if it has not
+# been read yet.
+# @param data_bytes    the serialized path to the temporary file
+def _get_read_state(data_bytes):
+    path = data_bytes.decode('utf-8')
+    with _read_states_lock:
+        state = _read_states.get(path)
+    if state is None:
+        state = deserialize_data_frame(path)
+        with _read_states_lock:
+            state = _read_states.setdefault(path, state)
+    return state
+
+
 # Get the column names of the table to create from the serialized data.
-# @param data_bytes    the serialized path to the temporary CSV file
+# @param data_bytes    the serialized path to the temporary file
 def column_names_from_bytes(data_bytes):
-    global read_data_frame, read_types
-    path = data_bytes.decode('utf-8')
-    if read_data_frame is None:
-        deserialize_data_frame(path)
-    return read_data_frame.columns.tolist()
+    return _get_read_state(data_bytes).data_frame.columns.tolist()
 
 
 # Get the column types of the table to create from the serialized data.
-# @param data_bytes    the serialized path to the temporary CSV file
+# @param data_bytes    the serialized path to the temporary file
 def column_types_from_bytes(data_bytes):
-    global read_data_frame, read_types
-    path = data_bytes.decode('utf-8')
-    if read_data_frame is None:
-        deserialize_data_frame(path)
-    return read_types
+    return _get_read_state(data_bytes).types
 
 
 # Get the serializer ids (meaning the java extension point id of the serializer)
 # of the table to create from the serialized data.
-# @param data_bytes    the serialized path to the temporary CSV file
+# @param data_bytes    the serialized path to the temporary file
 def column_serializers_from_bytes(data_bytes):
-    global read_data_frame, read_types, read_serializers
-    path = data_bytes.decode('utf-8')
-    if read_data_frame is None:
-        deserialize_data_frame(path)
-    return read_serializers
+    return _get_read_state(data_bytes).serializers
 
 
-# Read the CSV serialized data into a pandas.DataFrame.
-# Delete the temporary CSV file afterwards.
+# Read the serialized data into a pandas.DataFrame.
+# Delete the temporary file afterwards.
 # @param table        a {@link ToPandasTable} wrapping the data frame and 
 #                     managing the deserialization of extension types
-# @param data_bytes   the serialized path to the temporary CSV file
+# @param data_bytes   the serialized path to the temporary file
 def bytes_into_table(table, data_bytes):
-    global read_data_frame, read_types, read_serializers
     path = data_bytes.decode('utf-8')
     try:
-        if read_data_frame is None:
-            deserialize_data_frame(path)
-        table._data_frame = read_data_frame
-        read_data_frame = None
-        read_types = []
-        read_serializers = {}
+        table._data_frame = _get_read_state(data_bytes).data_frame
     finally:
+        with _read_states_lock:
+            _read_states.pop(path, None)
         PythonUtils.invoke_safely(None, os.remove, [path])
 
 
-# Generator function for collection columns of type Integer, Long, Double, Float.
+# Unpack an arrow validity bitmap into a boolean numpy array.
+# @param buffer  the pyarrow.Buffer holding the bitmap, may be None if all values are valid
+# @param length  the number of values covered by the bitmap
+# @return a boolean numpy array or None if all values are valid
+def _unpack_validity(buffer, length):
+    if buffer is None:
+        return None
+    # Arrow numbers bits starting from the least significant one.
+    bits = np.unpackbits(np.frombuffer(buffer, dtype=np.uint8)).reshape(-1, 8)[:, ::-1].ravel()
+    return bits[:length].astype(bool)
+
+
+# Generator function for collection columns of type Integer, Long, Double, Float that are transferred as native arrow
+# lists. The elements of all collections of a chunk are read into a single numpy array without copying.
 # @param arrowcolumn    the pyarrow.Column to extract the values from
 # @param isset          are the column values sets or lists
-# @param entry_len      the length of a single primitive inside every collection (e.g. 4 for Integer collections)
-# @param format_char    the format char to pass to struct.unpack for the primitive type inside every collection (e.g. 'i' for Integer collections)
+# @param dtype          the numpy dtype of the collection elements (e.g. '<i4' for Integer collections)
 # @return collection type values
-def collection_generator(arrowcolumn, isset, entry_len, format_char):
-    for i in range(len(arrowcolumn.data.chunk(0))):
-        if pyarrow.types.is_null(arrowcolumn.data.chunk(0)[i].type):
-            yield None
+def primitive_collection_generator(arrowcolumn, isset, dtype):
+    for chunk in arrowcolumn.data.chunks:
+        length = len(chunk)
+        if length == 0:
+            continue
+        validity_buffer, offsets_buffer, values_validity_buffer, values_buffer = chunk.buffers()
+        offsets = np.frombuffer(offsets_buffer, dtype=np.int32)[chunk.offset:chunk.offset + length + 1]
+        n_vals = offsets[-1]
+        if n_vals > 0:
+            values = np.frombuffer(values_buffer, dtype=dtype, count=n_vals)
         else:
-            py_obj = arrowcolumn.data.chunk(0)[i].as_py()
-            if py_obj is None:
+            values = np.empty(0, dtype=dtype)
+        valid = _unpack_validity(validity_buffer, chunk.offset + length)
+        values_valid = _unpack_validity(values_validity_buffer, n_vals)
+        for i in range(length):
+            if valid is not None and not valid[chunk.offset + i]:
                 yield None
-            else:
-                # buffer: length(values) int32, values [int32], missing [bit]
-                # get length(values)
-                n_vals = struct.unpack(">i", py_obj[:4])[0]
-                # get values
-                if not isset:
-                    res = list(struct.unpack(">%d%s" % (n_vals, format_char), py_obj[4:4 + entry_len * n_vals]))
-                    # get missings and set corresponding value to None if required
-                    missings = np.fromstring(py_obj[4 + entry_len * n_vals:], dtype=np.uint8)
-                    for i in range(n_vals):
-                        if missings[i // 8] & (1 << (i % 8)) == 0:
-                            res[i] = None
-                    yield res
-                else:
-                    if _python3:
-                        hasMissing = (np.uint8(py_obj[4 + entry_len * n_vals]) == 0)
-                    else:
-                        hasMissing = (py_obj[4 + entry_len * n_vals] == b'\x00')
-                    res = set(struct.unpack(">%d%s" % (n_vals, format_char), py_obj[4:4 + entry_len * n_vals]))
-                    if hasMissing:
-                        res.add(None)
-                    yield res
+                continue
+            start = offsets[i]
+            end = offsets[i + 1]
+            res = values[start:end].tolist()
+            if values_valid is not None:
+                cell_valid = values_valid[start:end]
+                if not cell_valid.all():
+                    # A missing value in a set is transferred as a missing element.
+                    res = [val if is_valid else None for val, is_valid in zip(res, cell_valid)]
+            yield set(res) if isset else res
 
 
 # Generator function for collection columns of type String.
@@ -293,14 +340,31 @@ def boolean_collection_generator(arrowcolumn, isset):
                     yield res
 
 
+# Check if the given pyarrow.DataType is one of the native temporal types that are used to transfer the built-in
+# date&time type extensions.
+# @param pa_type  a pyarrow.DataType
+def _is_temporal_type(pa_type):
+    return pyarrow.types.is_timestamp(pa_type) or pyarrow.types.is_date32(pa_type) or (
+            hasattr(pyarrow.types, 'is_duration') and pyarrow.types.is_duration(pa_type))
+
+
+# Convert a column of a native temporal type into a pandas.Series of datetime64, timedelta64, or date values.
+# @param arrowcolumn    the pyarrow.Column to convert
+def _temporal_column_to_pandas(arrowcolumn):
+    try:
+        return arrowcolumn.to_pandas()
+    except (pyarrow.ArrowException, OverflowError, ValueError):
+        # Values exceed the range of pandas' nanosecond resolution, fall back to Python objects.
+        return pandas.Series(arrowcolumn.to_pylist(), dtype=object)
+
+
 # Deserialize the data contained in the specified file as pandas.DataFrame.
-# The data frame is written to the global read_data_frame to avoid multiple
-# deserialization attempts.
 # @param path the path to the file containing the serialized byte data
+# @return a _ReadState holding the data frame and the types and serializers of its columns
 def deserialize_data_frame(path):
-    global read_data_frame, read_types, read_serializers, _pandas_native_types_, path_to_mmap
-    path_to_mmap = path
-    with pyarrow.OSFile(path, 'rb') as f:
+    read_types = []
+    read_serializers = {}
+    with _open_for_reading(path) as f:
         stream_reader = pyarrow.RecordBatchStreamReader(f)
         arrowtable = stream_reader.read_all()
         # metadata
@@ -315,20 +379,30 @@ def deserialize_data_frame(path):
 
         # data
         read_data_frame = pandas.DataFrame()
+        # Note: we only have one index column (the KNIME RowKeys). It is omitted if all row keys are default ones.
+        indexcol = None
         for column_name, arrowcolumn in zip(arrowtable.column_names, arrowtable.itercolumns()):
             typeidx = names.index(column_name)
             coltype = read_types[typeidx]
-            if coltype in _pandas_native_types_:
+            if coltype == _types_.BYTES and _is_temporal_type(arrowcolumn.type):
+                # Built-in date&time type extensions are transferred natively and need no further deserialization.
+                dfcol = _temporal_column_to_pandas(arrowcolumn)
+                read_serializers.pop(column_name, None)
+            elif coltype in _pandas_native_types_:
                 dfcol = arrowcolumn.to_pandas()
             else:
                 if coltype == _types_.INTEGER_LIST or coltype == _types_.INTEGER_SET:
-                    dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.INTEGER_SET, 4, 'i'))
+                    dfcol = pandas.Series(
+                        primitive_collection_generator(arrowcolumn, coltype == _types_.INTEGER_SET, '<i4'))
                 elif coltype == _types_.LONG_LIST or coltype == _types_.LONG_SET:
-                    dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.LONG_SET, 8, 'q'))
+                    dfcol = pandas.Series(
+                        primitive_collection_generator(arrowcolumn, coltype == _types_.LONG_SET, '<i8'))
                 elif coltype == _types_.DOUBLE_LIST or coltype == _types_.DOUBLE_SET:
-                    dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.DOUBLE_SET, 8, 'd'))
+                    dfcol = pandas.Series(
+                        primitive_collection_generator(arrowcolumn, coltype == _types_.DOUBLE_SET, '<f8'))
                 elif coltype == _types_.FLOAT_LIST or coltype == _types_.FLOAT_SET:
-                    dfcol = pandas.Series(collection_generator(arrowcolumn, coltype == _types_.FLOAT_SET, 4, 'f'))
+                    dfcol = pandas.Series(
+                        primitive_collection_generator(arrowcolumn, coltype == _types_.FLOAT_SET, '<f4'))
                 elif coltype == _types_.BOOLEAN_LIST or coltype == _types_.BOOLEAN_SET:
                     dfcol = pandas.Series(boolean_collection_generator(arrowcolumn, coltype == _types_.BOOLEAN_SET))
                 elif coltype == _types_.STRING_LIST or coltype == _types_.STRING_SET:
@@ -337,19 +411,28 @@ def deserialize_data_frame(path):
                     dfcol = pandas.Series(bytes_collection_generator(arrowcolumn, coltype == _types_.BYTES_SET))
                 else:
                     raise KeyError('Type with id ' + str(coltype) + ' cannot be deserialized!')
-            # Note: we only have one index column (the KNIME RowKeys)
             if column_name in pandas_metadata['index_columns']:
                 indexcol = dfcol
             else:
                 read_data_frame[column_name] = dfcol
 
-        if not 'indexcol' in locals():
+        row_key_offset = pandas_metadata.get('row_key_offset')
+        if row_key_offset is not None:
+            # Compact row keys: default row keys 'Row<offset + i>' are transferred as missing values.
+            default_keys = default_row_keys(row_key_offset, arrowtable.num_rows)
+            if indexcol is None:
+                indexcol = pandas.Series(default_keys.values, dtype=object)
+            else:
+                indexcol = indexcol.where(indexcol.notnull(), default_keys.values)
+
+        if indexcol is None:
             raise NameError('Variable indexcol has not been set properly, exiting!')
 
         if len(read_data_frame.columns) > 0:
             read_data_frame.set_index(keys=indexcol, inplace=True)
         else:
             read_data_frame = pandas.DataFrame(index=indexcol)
+    return _ReadState(read_data_frame, read_types, read_serializers)
 
 
 # Convert a simpletype to the corresponding pyarrow.DataType
@@ -371,50 +454,80 @@ def to_pyarrow_type(type):
         return pyarrow.binary()
 
 
-# Generator converting values in a list type column to a binary representation
-# having the format (length(values), values, missing_mask). Works on Integer,
-# Long, Double, and Float lists.
-# @param column      the column to convert (a pandas.Series)
-# @param numpy_type  the numpy_type of the primitive collection entries
-def binary_from_list_generator(column, numpy_type):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-
-            missings = np.zeros(shape=((n_vals // 8) + (1 if n_vals % 8 != 0 else 0)), dtype=np.uint8)
-            for idx in range(n_vals):
-                if not column[j][idx] == None:
-                    missings[idx // 8] += (1 << (idx % 8))
+# Check if the given extension type column can be transferred in a native temporal representation instead of being
+# serialized value by value. This is the case for timezone-naive datetime64 and timedelta64 columns.
+# @param column   the column to check (a pandas.Series)
+def serializes_natively(column):
+    dtype = column.dtype
+    # Timezone-aware datetimes have a pandas-specific dtype and are serialized via their type extension.
+    if not isinstance(dtype, np.dtype):
+        return False
+    return dtype.kind == 'M' or (dtype.kind == 'm' and hasattr(pyarrow, 'duration'))
+
+
+# Convert a datetime64 or timedelta64 column into a native arrow timestamp or duration array of microsecond
+# resolution. NaT values become missing values.
+# @param column       the column to convert (a pandas.Series)
+# @param memory_pool  the pyarrow.MemoryPool to allocate from
+def temporal_array_from_column(column, memory_pool):
+    if column.dtype.kind == 'M':
+        return pyarrow.Array.from_pandas(column.values.astype('datetime64[us]'), type=pyarrow.timestamp('us'),
+                                         memory_pool=memory_pool)
+    else:
+        return pyarrow.Array.from_pandas(column.values.astype('timedelta64[us]'), type=pyarrow.duration('us'),
+                                         memory_pool=memory_pool)
+
+
+# The maximum number of values that are sampled to estimate the cardinality of a string column.
+_DICTIONARY_SAMPLE_SIZE = 1024
+# The minimum number of rows for which dictionary encoding is considered worthwhile.
+_DICTIONARY_MIN_ROWS = 128
+# Sampled columns with a higher ratio of distinct to non-missing values are not dictionary-encoded.
+_DICTIONARY_MAX_DISTINCT_RATIO = 0.1
+
+
+# Check if the given string column should be transferred as dictionary-encoded arrow array. This is the case if
+# dictionary encoding is enabled and the column has few distinct values according to a sample of its values (same
+# check as DictionaryStringInserter#isLowCardinality on the Java side).
+# @param column   the column to check (a pandas.Series)
+def use_dictionary_encoding(column):
+    if not _use_dictionary_encoding:
+        return False
+    if len(column) < _DICTIONARY_MIN_ROWS:
+        return False
+    sample = column.iloc[::max(1, len(column) // _DICTIONARY_SAMPLE_SIZE)]
+    num_sampled = sample.count()
+    num_distinct = sample.nunique()
+    max_distinct = int(min(len(column), _DICTIONARY_SAMPLE_SIZE) * _DICTIONARY_MAX_DISTINCT_RATIO)
+    return (num_sampled > 0 and num_distinct <= max_distinct
+            and num_distinct <= num_sampled * _DICTIONARY_MAX_DISTINCT_RATIO)
+
+
+# Convert a string column into a dictionary-encoded arrow array. Categorical columns reuse their categories as
+# dictionary, all other columns are factorized.
+# @param column       the column to convert (a pandas.Series)
+# @param memory_pool  the pyarrow.MemoryPool to allocate from
+def dictionary_array_from_column(column, memory_pool):
+    if str(column.dtype) == 'category':
+        codes = column.cat.codes.values
+        categories = column.cat.categories
+    else:
+        codes, categories = pandas.factorize(column)
+    # Missing values have code -1.
+    indices = np.asarray(codes, dtype=np.int32)
+    indices = pyarrow.array(indices, mask=indices == -1, memory_pool=memory_pool)
+    dictionary = pyarrow.array([str(category) for category in categories], type=pyarrow.string(),
+                               memory_pool=memory_pool)
+    return pyarrow.DictionaryArray.from_arrays(indices, dictionary)
 
-            values = np.array([elem if elem is not None else 0 for elem in column[j]], dtype=numpy_type).tobytes()
 
-            yield np.int32(n_vals).tobytes() + values + missings.tobytes()
-
-
-# Generator converting values in a set type column to a binary representation
-# having the format (length(values), values, missing_mask)
-# @param column      the column to convert (a pandas.Series)
-# @param numpy_type  the numpy_type of the primitive collection entries
-def binary_from_set_generator(column, numpy_type):
-    for j in range(len(column)):
-        if column[j] == None:
-            yield None
-        else:
-            n_vals = len(column[j])
-            hasMissing = np.uint8(1)
-            if None in column[j]:
-                hasMissing = np.uint8(0)
-                n_vals -= 1
-            np_set = np.empty(n_vals, dtype=numpy_type)
-            i = 0
-            for elem in column[j]:
-                if elem is not None:
-                    np_set[i] = elem
-                    i += 1
-
-            yield np.int32(n_vals).tobytes() + np_set.tobytes() + hasMissing.tobytes()
+# Convert a collection column of type Integer, Long, Double, or Float into a native arrow list array. Sets are
+# transferred as lists, a missing value in a set as a missing (None) element.
+# @param column   the column to convert (a pandas.Series)
+# @param pa_type  the pyarrow.DataType of the collection elements
+def list_array_from_collection_column(column, pa_type):
+    values = [None if cell is None else list(cell) for cell in column]
+    return pyarrow.array(values, type=pyarrow.list_(pa_type))
 
 
 # Generator converting values in a list type column to a binary representation
@@ -626,11 +739,16 @@ def get_first_not_None(column):
 #                 managing the serialization of extension types 
 def table_to_bytes(table):
     global _temp_dir
-    if _temp_dir is None or not os.path.exists(_temp_dir):
-        _temp_dir = tempfile.mkdtemp(prefix='knime-python-')
-        # Delete temporary directory upon Python shutdown.
-        atexit.register(close)
-    fd, path = tempfile.mkstemp(suffix='.dat', prefix='python-to-java-', dir=_temp_dir, text=False)
+    if _shared_memory_dir is not None and os.path.exists(_shared_memory_dir):
+        # Directory is cleaned up by the Java side.
+        target_dir = _shared_memory_dir
+    else:
+        if _temp_dir is None or not os.path.exists(_temp_dir):
+            _temp_dir = tempfile.mkdtemp(prefix='knime-python-')
+            # Delete temporary directory upon Python shutdown.
+            atexit.register(close)
+        target_dir = _temp_dir
+    fd, path = tempfile.mkstemp(suffix='.dat', prefix='python-to-java-', dir=target_dir, text=False)
     try:
         os.close(fd)
 
@@ -641,11 +759,14 @@ def table_to_bytes(table):
         missing_names = []
 
         # add the index column to the list of columns
+        # Default row keys 'Row<offset + i>' are transferred as missing values. The column is omitted entirely if all
+        # row keys are default ones.
+        default_row_keys_mask = table.get_default_row_keys()
         all_names.append("__index_level_0__")
-        if len(table._data_frame.index) > 0:
+        if len(table._data_frame.index) > 0 and not default_row_keys_mask.all():
             col_names.append("__index_level_0__")
-            col_arrays.append(pyarrow.Array.from_pandas(table._data_frame.index, type=to_pyarrow_type(_types_.STRING),
-                                                        memory_pool=mp))
+            col_arrays.append(pyarrow.Array.from_pandas(table._data_frame.index, mask=default_row_keys_mask,
+                                                        type=to_pyarrow_type(_types_.STRING), memory_pool=mp))
         else:
             missing_names.append("__index_level_0__")
 
@@ -658,19 +779,15 @@ def table_to_bytes(table):
                 missing_names.append(table.get_name(i))
                 all_names.append(table.get_name(i))
                 continue
-            # Convert collection types to binary
+            # Convert collection types to native lists or binary
             if table.get_type(i) == _types_.INTEGER_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<i4')))
+                col_arrays.append(list_array_from_collection_column(table._data_frame.iloc[:, i], pyarrow.int32()))
             elif table.get_type(i) == _types_.LONG_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<i8')))
+                col_arrays.append(list_array_from_collection_column(table._data_frame.iloc[:, i], pyarrow.int64()))
             elif table.get_type(i) == _types_.DOUBLE_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<f8')))
+                col_arrays.append(list_array_from_collection_column(table._data_frame.iloc[:, i], pyarrow.float64()))
             elif table.get_type(i) == _types_.FLOAT_LIST:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_list_generator(table._data_frame.iloc[:, i], '<f4')))
+                col_arrays.append(list_array_from_collection_column(table._data_frame.iloc[:, i], pyarrow.float32()))
             elif table.get_type(i) == _types_.BOOLEAN_LIST:
                 col_arrays.append(
                     pyarrow.Array.from_pandas(binary_from_boolean_list_generator(table._data_frame.iloc[:, i])))
@@ -681,17 +798,13 @@ def table_to_bytes(table):
                 col_arrays.append(
                     pyarrow.Array.from_pandas(binary_from_bytes_list_generator(table._data_frame.iloc[:, i])))
             elif table.get_type(i) == _types_.INTEGER_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_set_generator(table._data_frame.iloc[:, i], '<i4')))
+                col_arrays.append(list_array_from_collection_column(table._data_frame.iloc[:, i], pyarrow.int32()))
             elif table.get_type(i) == _types_.LONG_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_set_generator(table._data_frame.iloc[:, i], '<i8')))
+                col_arrays.append(list_array_from_collection_column(table._data_frame.iloc[:, i], pyarrow.int64()))
             elif table.get_type(i) == _types_.DOUBLE_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_set_generator(table._data_frame.iloc[:, i], '<f8')))
+                col_arrays.append(list_array_from_collection_column(table._data_frame.iloc[:, i], pyarrow.float64()))
             elif table.get_type(i) == _types_.FLOAT_SET:
-                col_arrays.append(
-                    pyarrow.Array.from_pandas(binary_from_set_generator(table._data_frame.iloc[:, i], '<f4')))
+                col_arrays.append(list_array_from_collection_column(table._data_frame.iloc[:, i], pyarrow.float32()))
             elif table.get_type(i) == _types_.BOOLEAN_SET:
                 col_arrays.append(
                     pyarrow.Array.from_pandas(binary_from_boolean_set_generator(table._data_frame.iloc[:, i])))
@@ -701,6 +814,13 @@ def table_to_bytes(table):
             elif table.get_type(i) == _types_.BYTES_SET:
                 col_arrays.append(
                     pyarrow.Array.from_pandas(binary_from_bytes_set_generator(table._data_frame.iloc[:, i])))
+            elif table.get_type(i) == _types_.STRING and use_dictionary_encoding(table._data_frame.iloc[:, i]):
+                col_arrays.append(dictionary_array_from_column(table._data_frame.iloc[:, i], mp))
+            elif table.get_type(i) == _types_.STRING and str(table._data_frame.iloc[:, i].dtype) == 'category':
+                col_arrays.append(pyarrow.Array.from_pandas(table._data_frame.iloc[:, i].astype(object),
+                                                            type=pyarrow.string(), memory_pool=mp))
+            elif table.get_type(i) == _types_.BYTES and serializes_natively(table._data_frame.iloc[:, i]):
+                col_arrays.append(temporal_array_from_column(table._data_frame.iloc[:, i], mp))
             # Workaround until numpy typecasts are implemented in pyarrow
             elif table.get_type(i) == _types_.INTEGER and table._data_frame.iloc[:, i].dtype == np.int64:
                 col_arrays.append(
@@ -728,7 +848,8 @@ def table_to_bytes(table):
                            "columns": [
                                {"name": all_names[0], "metadata": {"serializer_id": "", "type_id": _types_.STRING}}],
                            "missing_columns": missing_names,
-                           "num_rows": len(table._data_frame)}
+                           "num_rows": len(table._data_frame),
+                           "row_key_offset": table.get_row_key_offset()}
 
         real_col_names = list(table._data_frame.columns)
         for name in all_names[1:]:
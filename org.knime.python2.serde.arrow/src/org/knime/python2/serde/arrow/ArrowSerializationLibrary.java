@@ -55,6 +55,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -67,17 +68,25 @@
 import javax.json.JsonReader;
 
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseIntVector;
 import org.apache.arrow.vector.BigIntVector;
 import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DurationVector;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.Float4Vector;
 import org.apache.arrow.vector.Float8Vector;
 import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
 import org.apache.arrow.vector.ipc.ArrowStreamReader;
 import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
 import org.apache.arrow.vector.types.pojo.Field;
 import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.arrow.vector.util.OversizedAllocationException;
@@ -85,8 +94,13 @@
 import org.apache.commons.lang3.StringUtils;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.util.FileUtil;
+import org.knime.python.typeextension.TemporalEncoding;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
@@ -95,6 +109,7 @@
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.ColumnBatchImpl;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.TableSpecImpl;
 import org.knime.python2.kernel.PythonCancelable;
@@ -107,22 +122,20 @@
 import org.knime.python2.serde.arrow.extractors.BytesExtractor;
 import org.knime.python2.serde.arrow.extractors.BytesListExtractor;
 import org.knime.python2.serde.arrow.extractors.BytesSetExtractor;
+import org.knime.python2.serde.arrow.extractors.DictionaryStringExtractor;
+import org.knime.python2.serde.arrow.extractors.DoubleCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.DoubleExtractor;
-import org.knime.python2.serde.arrow.extractors.DoubleListExtractor;
-import org.knime.python2.serde.arrow.extractors.DoubleSetExtractor;
+import org.knime.python2.serde.arrow.extractors.FloatCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.FloatExtractor;
-import org.knime.python2.serde.arrow.extractors.FloatListExtractor;
-import org.knime.python2.serde.arrow.extractors.FloatSetExtractor;
-import org.knime.python2.serde.arrow.extractors.IntListExtractor;
-import org.knime.python2.serde.arrow.extractors.IntSetExtractor;
+import org.knime.python2.serde.arrow.extractors.IntCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.IntegerExtractor;
+import org.knime.python2.serde.arrow.extractors.LongCollectionExtractor;
 import org.knime.python2.serde.arrow.extractors.LongExtractor;
-import org.knime.python2.serde.arrow.extractors.LongListExtractor;
-import org.knime.python2.serde.arrow.extractors.LongSetExtractor;
 import org.knime.python2.serde.arrow.extractors.MissingExtractor;
 import org.knime.python2.serde.arrow.extractors.StringExtractor;
 import org.knime.python2.serde.arrow.extractors.StringListExtractor;
 import org.knime.python2.serde.arrow.extractors.StringSetExtractor;
+import org.knime.python2.serde.arrow.extractors.TemporalExtractor;
 import org.knime.python2.serde.arrow.inserters.ArrowVectorInserter;
 import org.knime.python2.serde.arrow.inserters.BooleanInserter;
 import org.knime.python2.serde.arrow.inserters.BooleanListInserter;
@@ -130,21 +143,20 @@
 import org.knime.python2.serde.arrow.inserters.BytesInserter;
 import org.knime.python2.serde.arrow.inserters.BytesListInserter;
 import org.knime.python2.serde.arrow.inserters.BytesSetInserter;
+import org.knime.python2.serde.arrow.inserters.DictionaryStringInserter;
+import org.knime.python2.serde.arrow.inserters.DoubleCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.DoubleInserter;
-import org.knime.python2.serde.arrow.inserters.DoubleListInserter;
-import org.knime.python2.serde.arrow.inserters.DoubleSetInserter;
+import org.knime.python2.serde.arrow.inserters.FloatCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.FloatInserter;
-import org.knime.python2.serde.arrow.inserters.FloatListInserter;
-import org.knime.python2.serde.arrow.inserters.FloatSetInserter;
-import org.knime.python2.serde.arrow.inserters.IntListInserter;
-import org.knime.python2.serde.arrow.inserters.IntSetInserter;
+import org.knime.python2.serde.arrow.inserters.IntCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.IntegerInserter;
+import org.knime.python2.serde.arrow.inserters.LongCollectionInserter;
 import org.knime.python2.serde.arrow.inserters.LongInserter;
-import org.knime.python2.serde.arrow.inserters.LongListInserter;
-import org.knime.python2.serde.arrow.inserters.LongSetInserter;
+import org.knime.python2.serde.arrow.inserters.RowKeyInserter;
 import org.knime.python2.serde.arrow.inserters.StringInserter;
 import org.knime.python2.serde.arrow.inserters.StringListInserter;
 import org.knime.python2.serde.arrow.inserters.StringSetInserter;
+import org.knime.python2.serde.arrow.inserters.TemporalInserter;
 import org.knime.python2.util.PythonUtils;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -152,6 +164,16 @@
 /**
  * Serializes tables to bytes and deserializes bytes to tables using the Apache Arrow Format. The serialized data is
  * written to temporary files, the file paths are shared via the command socket.
+ * <P>
+ * If enabled via the VM option <code>-Dknime.python.arrow.sharedmemory=true</code>, the temporary files are placed in
+ * shared memory (i.e. below <code>/dev/shm</code>, a tmpfs mount on Linux) instead of the regular temporary directory.
+ * This avoids round trips to disk and page cache pollution on the executing machine. The Python side is informed about
+ * the directory via {@link #getSharedMemoryDirectory()} and memory-maps the files instead of reading them.
+ * <P>
+ * If enabled via {@link SerializationOptions#getUseDictionaryEncoding()}, string columns with few distinct values are
+ * dictionary-encoded (see {@link DictionaryStringInserter}). Such columns arrive as <code>pandas.Categorical</code>
+ * instead of <code>object</code> columns on the Python side, which changes the data types seen by user scripts. The
+ * option is therefore disabled by default. The Python side applies the same option and check to the tables it sends.
  *
  * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
@@ -159,6 +181,10 @@
  */
 public class ArrowSerializationLibrary implements SerializationLibrary {
 
+    private static final String SHARED_MEMORY_VM_OPT = "knime.python.arrow.sharedmemory";
+
+    private static final String SHARED_MEMORY_ROOT = "/dev/shm";
+
     /* Note: should be a power of 2 */
     private static final int ASSUMED_ROWID_VAL_BYTE_SIZE = 4;
 
@@ -169,7 +195,8 @@ public class ArrowSerializationLibrary implements SerializationLibrary {
     private static final int ASSUMED_BYTES_VAL_BYTE_SIZE = 32;
 
     private enum PandasType {
-            BOOL("bool"), INT("int"), UNICODE("unicode"), BYTES("bytes");
+            BOOL("bool"), INT("int"), UNICODE("unicode"), BYTES("bytes"), LIST("list"), DATETIME("datetime"),
+            DATE("date"), TIMEDELTA("timedelta"), CATEGORICAL("categorical");
 
         private final String m_id;
 
@@ -183,7 +210,8 @@ String getId() {
     }
 
     private enum NumpyType {
-            OBJECT("object"), INT32("int32"), INT64("int64"), FLOAT64("float64"), FLOAT32("float32");
+            OBJECT("object"), INT32("int32"), INT64("int64"), FLOAT64("float64"), FLOAT32("float32"),
+            DATETIME64("datetime64[ns]"), TIMEDELTA64("timedelta64[ns]");
 
         private final String m_id;
 
@@ -218,20 +246,55 @@ private static JsonObjectBuilder createColumnMetadataBuilder(final String name,
         return createColumnMetadataBuilder(name, pandasType, numpyType, knimeType, "");
     }
 
-    /** Used to make (de-)serialization cancelable. */
+    private static JsonObjectBuilder createTemporalColumnMetadataBuilder(final String name,
+        final TemporalEncoding.Unit unit, final String serializer) {
+        switch (unit) {
+            case EPOCH_MICROS:
+                return createColumnMetadataBuilder(name, PandasType.DATETIME, NumpyType.DATETIME64, Type.BYTES,
+                    serializer);
+            case EPOCH_DAYS:
+                return createColumnMetadataBuilder(name, PandasType.DATE, NumpyType.OBJECT, Type.BYTES, serializer);
+            default:
+                return createColumnMetadataBuilder(name, PandasType.TIMEDELTA, NumpyType.TIMEDELTA64, Type.BYTES,
+                    serializer);
+        }
+    }
+
+    /**
+     * @return The shared memory root directory if shared memory transfer is enabled via VM option
+     *         and the directory is available and writable on this machine, {@code null} otherwise.
+     */
+    private static File getSharedMemoryRoot() {
+        if (!Boolean.getBoolean(SHARED_MEMORY_VM_OPT)) {
+            return null;
+        }
+        final File sharedMemoryRoot = new File(SHARED_MEMORY_ROOT);
+        if (sharedMemoryRoot.isDirectory() && sharedMemoryRoot.canWrite()) {
+            return sharedMemoryRoot;
+        } else {
+            NodeLogger.getLogger(ArrowSerializationLibrary.class).warn("Shared memory transfer was requested via VM "
+                + "option -D" + SHARED_MEMORY_VM_OPT + " but '" + SHARED_MEMORY_ROOT + "' is not available. Falling "
+                + "back to the regular temporary directory.");
+            return null;
+        }
+    }
+
+    /**
+     * Used to make (de-)serialization cancelable. Not limited to a single thread such that multiple chunks can be
+     * serialized concurrently (see {@code PythonKernel#putDataTable}).
+     */
     private final ExecutorService m_executorService =
-        Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("python-arrow-serde-%d").build());
+        Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("python-arrow-serde-%d").build());
 
     /**
      * The root directory in which the temporary files used for data transfer are stored. Will be populated during the
-     * first call of {@link #tableToBytes(TableIterator, SerializationOptions, PythonCancelable)}.
+     * first call of {@link #tableToBytes(TableIterator, SerializationOptions, PythonCancelable)} or
+     * {@link #getSharedMemoryDirectory()}.
      */
     private File m_tempDir;
 
-    // Note: we will never get a multi-index due to index standardization in FromPandasTable.
-    private String m_indexColumnName = null;
-
-    private String[] m_missingColumnNames = null;
+    /** Non-null if temporary files are placed in shared memory. */
+    private final File m_sharedMemoryRoot = getSharedMemoryRoot();
 
     @Override
     public byte[] tableToBytes(final TableIterator tableIterator, final SerializationOptions serializationOptions,
@@ -239,11 +302,7 @@ public byte[] tableToBytes(final TableIterator tableIterator, final Serializatio
         File file = null;
         try {
             // Temporary files are used for data transfer.
-            if (m_tempDir == null || !m_tempDir.exists()) {
-                // Deleted upon JVM shutdown (or #close()).
-                m_tempDir = FileUtil.createTempDir("knime-python-");
-            }
-            file = FileUtil.createTempFile("java-to-python-", ".dat", m_tempDir, false);
+            file = FileUtil.createTempFile("java-to-python-", ".dat", getOrCreateTempDir(), false);
             final File finalFile = file;
             return PythonUtils.Misc.executeCancelable(() -> {
                 try (RandomAccessFile raf = new RandomAccessFile(finalFile, "rw");
@@ -267,6 +326,30 @@ public byte[] tableToBytes(final TableIterator tableIterator, final Serializatio
         }
     }
 
+    private synchronized File getOrCreateTempDir() throws IOException {
+        if (m_tempDir == null || !m_tempDir.exists()) {
+            // Deleted upon JVM shutdown (or #close()).
+            m_tempDir = m_sharedMemoryRoot != null //
+                ? FileUtil.createTempDir("knime-python-", m_sharedMemoryRoot) //
+                : FileUtil.createTempDir("knime-python-");
+        }
+        return m_tempDir;
+    }
+
+    @Override
+    public Optional<String> getSharedMemoryDirectory() {
+        if (m_sharedMemoryRoot == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(getOrCreateTempDir().getAbsolutePath());
+        } catch (final IOException ex) {
+            NodeLogger.getLogger(ArrowSerializationLibrary.class)
+                .warn("Could not create shared memory directory. Falling back to the regular temporary directory.", ex);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Possibly interrupted by {@link #tableToBytes(TableIterator, SerializationOptions, PythonCancelable)}.
      */
@@ -286,10 +369,19 @@ private static byte[] tableToBytesInternal(final TableIterator tableIterator,
                 metadataBuilder.add("index_columns", icBuilder);
                 final JsonArrayBuilder colBuilder = Json.createArrayBuilder();
                 final int numRows = tableIterator.getNumberRemainingRows();
+                // Read the table in columnar layout if possible. This allows to inspect the values of a column before
+                // its vector is created.
+                final ColumnBatch batch = tableIterator instanceof ColumnarTableIterator
+                    ? ((ColumnarTableIterator)tableIterator).nextBatch() : null;
+                final DictionaryProvider.MapDictionaryProvider dictionaries =
+                    new DictionaryProvider.MapDictionaryProvider();
                 // Row ids
                 final JsonObjectBuilder rowIdBuilder =
                     createColumnMetadataBuilder(indexColName, PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
-                inserters.add(new StringInserter(indexColName, rootAllocator, numRows, ASSUMED_ROWID_VAL_BYTE_SIZE));
+                // Default row keys are transferred as missing values, see RowKeyInserter.
+                final RowKeyInserter rowKeyInserter =
+                    new RowKeyInserter(indexColName, rootAllocator, numRows, ASSUMED_ROWID_VAL_BYTE_SIZE);
+                inserters.add(rowKeyInserter);
                 colBuilder.add(rowIdBuilder);
 
                 // Create inserters and metadata.
@@ -324,65 +416,85 @@ private static byte[] tableToBytesInternal(final TableIterator tableIterator,
                             inserters.add(new FloatInserter(spec.getColumnNames()[i], rootAllocator, numRows));
                             break;
                         case STRING:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
-                                PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
-                            inserters.add(new StringInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_STRING_VAL_BYTE_SIZE));
+                            if (serializationOptions.getUseDictionaryEncoding() && batch != null
+                                && DictionaryStringInserter.isLowCardinality(batch, i)) {
+                                colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
+                                    PandasType.CATEGORICAL, NumpyType.OBJECT, Type.STRING);
+                                final DictionaryStringInserter inserter =
+                                    new DictionaryStringInserter(spec.getColumnNames()[i], rootAllocator, numRows, i);
+                                inserters.add(inserter);
+                                dictionaries.put(inserter.getDictionary());
+                            } else {
+                                colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
+                                    PandasType.UNICODE, NumpyType.OBJECT, Type.STRING);
+                                inserters.add(new StringInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                    ASSUMED_STRING_VAL_BYTE_SIZE));
+                            }
                             break;
-                        case BYTES:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
-                                NumpyType.OBJECT, Type.BYTES,
-                                spec.getColumnSerializers().get(spec.getColumnNames()[i]));
-                            inserters.add(new BytesInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                        case BYTES: {
+                            final String serializerId = spec.getColumnSerializers().get(spec.getColumnNames()[i]);
+                            final TemporalEncoding.Unit temporalUnit = TemporalEncoding.getUnit(serializerId);
+                            if (temporalUnit != null) {
+                                // Built-in date&time extensions are transferred as native temporal vectors.
+                                colMetadataBuilder = createTemporalColumnMetadataBuilder(spec.getColumnNames()[i],
+                                    temporalUnit, serializerId);
+                                inserters.add(new TemporalInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                    temporalUnit));
+                            } else {
+                                colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i],
+                                    PandasType.BYTES, NumpyType.OBJECT, Type.BYTES, serializerId);
+                                inserters.add(new BytesInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                    ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            }
                             break;
+                        }
                         case INTEGER_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
                                 NumpyType.OBJECT, Type.INTEGER_LIST);
-                            inserters.add(new IntListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            inserters.add(new IntCollectionInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                false));
                             break;
                         case INTEGER_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
                                 NumpyType.OBJECT, Type.INTEGER_SET);
-                            inserters.add(new IntSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            inserters.add(new IntCollectionInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                true));
                             break;
                         case LONG_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
                                 NumpyType.OBJECT, Type.LONG_LIST);
-                            inserters.add(new LongListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            inserters.add(new LongCollectionInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                false));
                             break;
                         case LONG_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
                                 NumpyType.OBJECT, Type.LONG_SET);
-                            inserters.add(new LongSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            inserters.add(new LongCollectionInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                true));
                             break;
                         case DOUBLE_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
                                 NumpyType.OBJECT, Type.DOUBLE_LIST);
-                            inserters.add(new DoubleListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            inserters.add(new DoubleCollectionInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                false));
                             break;
                         case DOUBLE_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
                                 NumpyType.OBJECT, Type.DOUBLE_SET);
-                            inserters.add(new DoubleSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            inserters.add(new DoubleCollectionInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                true));
                             break;
                         case FLOAT_LIST:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
                                 NumpyType.OBJECT, Type.FLOAT_LIST);
-                            inserters.add(new FloatListInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            inserters.add(new FloatCollectionInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                false));
                             break;
                         case FLOAT_SET:
-                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
+                            colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.LIST,
                                 NumpyType.OBJECT, Type.FLOAT_SET);
-                            inserters.add(new FloatSetInserter(spec.getColumnNames()[i], rootAllocator, numRows,
-                                ASSUMED_BYTES_VAL_BYTE_SIZE));
+                            inserters.add(new FloatCollectionInserter(spec.getColumnNames()[i], rootAllocator, numRows,
+                                true));
                             break;
                         case BOOLEAN_LIST:
                             colMetadataBuilder = createColumnMetadataBuilder(spec.getColumnNames()[i], PandasType.BYTES,
@@ -430,17 +542,33 @@ private static byte[] tableToBytesInternal(final TableIterator tableIterator,
                 }
                 metadataBuilder.add("columns", colBuilder);
 
-                // Iterate over table and put every cell in an arrow buffer using the inserters.
-                while (tableIterator.hasNext()) {
-                    if (Thread.interrupted()) {
-                        // Stop serialization if canceled by client.
-                        throw new CancellationException("Serialization canceled by client.");
-                    }
-                    final Row row = tableIterator.next();
-                    inserters.get(0).put(new CellImpl(row.getRowKey()));
+                if (batch != null) {
+                    // Fill the arrow buffers column by column.
+                    rowKeyInserter.putAll(batch.getRowKeys());
                     for (int i = 0; i < spec.getNumberColumns(); i++) {
-                        inserters.get(i + 1).put(row.getCell(i));
+                        if (Thread.interrupted()) {
+                            // Stop serialization if canceled by client.
+                            throw new CancellationException("Serialization canceled by client.");
+                        }
+                        inserters.get(i + 1).putAll(batch, i);
                     }
+                } else {
+                    // Iterate over table and put every cell in an arrow buffer using the inserters.
+                    while (tableIterator.hasNext()) {
+                        if (Thread.interrupted()) {
+                            // Stop serialization if canceled by client.
+                            throw new CancellationException("Serialization canceled by client.");
+                        }
+                        final Row row = tableIterator.next();
+                        rowKeyInserter.put(new CellImpl(row.getRowKey()));
+                        for (int i = 0; i < spec.getNumberColumns(); i++) {
+                            inserters.get(i + 1).put(row.getCell(i));
+                        }
+                    }
+                }
+
+                if (rowKeyInserter.getRowKeyOffset() >= 0) {
+                    metadataBuilder.add("row_key_offset", rowKeyInserter.getRowKeyOffset());
                 }
 
                 // Build final representation and transmit.
@@ -449,14 +577,17 @@ private static byte[] tableToBytesInternal(final TableIterator tableIterator,
 
                 final List<FieldVector> vecs = new ArrayList<>();
                 final List<Field> fields = new ArrayList<>();
-                for (int i = 0; i < inserters.size(); i++) {
+                // The index column only holds missing values if all row keys are default ones, so omit it entirely.
+                // Keep it for tables without other columns, which would otherwise lose their row count.
+                final int firstInserter = spec.getNumberColumns() > 0 && rowKeyInserter.hasOnlyDefaultRowKeys() ? 1 : 0;
+                for (int i = firstInserter; i < inserters.size(); i++) {
                     final FieldVector vec = inserters.get(i).retrieveVector(); // Closed via inserters.
                     vecs.add(vec);
                     fields.add(vec.getField());
                 }
                 final Schema schema = new Schema(fields, metadata);
                 try (ArrowStreamWriter writer =
-                    new ArrowStreamWriter(new VectorSchemaRoot(schema, vecs, numRows), null, fc)) {
+                    new ArrowStreamWriter(new VectorSchemaRoot(schema, vecs, numRows), dictionaries, fc)) {
                     writer.writeBatch();
                 }
             } finally {
@@ -467,6 +598,31 @@ private static byte[] tableToBytesInternal(final TableIterator tableIterator,
         return path.getBytes("UTF-8");
     }
 
+    /**
+     * Reads the row keys of the given record batch. Default row keys <code>Row&lt;offset + i&gt;</code> are transferred
+     * as missing values if Python sent a row key offset. If all row keys are default ones, the index column is omitted
+     * entirely.
+     */
+    private static String[] readRowKeys(final VectorSchemaRoot root, final ReadContext rc) {
+        final int numRows = root.getRowCount();
+        final String[] rowKeys = new String[numRows];
+        final long rowKeyOffset = rc.getRowKeyOffset();
+        final FieldVector indexVector = ArrayUtils.contains(rc.getMissingColumnNames(), rc.getIndexColumnName())
+            ? null : root.getVector(rc.getIndexColumnName());
+        final VectorExtractor extractor = indexVector != null ? getStringOrByteExtractor(indexVector) : null;
+        for (int i = 0; i < numRows; i++) {
+            final Cell rowKey = extractor != null ? extractor.extract() : null;
+            if (rowKey != null && !rowKey.isMissing()) {
+                rowKeys[i] = rowKey.getStringValue();
+            } else if (rowKeyOffset >= 0) {
+                rowKeys[i] = "Row" + (rowKeyOffset + i);
+            } else {
+                throw new IllegalStateException("Missing row key in row " + i + ".");
+            }
+        }
+        return rowKeys;
+    }
+
     private static VectorExtractor getStringOrByteExtractor(final FieldVector vec) {
         if (vec instanceof VarCharVector) {
             return new StringExtractor((VarCharVector)vec);
@@ -475,6 +631,29 @@ private static VectorExtractor getStringOrByteExtractor(final FieldVector vec) {
         }
     }
 
+    private static VectorExtractor getStringExtractor(final FieldVector vec, final DictionaryProvider dictionaries) {
+        final DictionaryEncoding encoding = vec.getField().getDictionary();
+        if (encoding != null) {
+            return new DictionaryStringExtractor((BaseIntVector)vec,
+                (VarCharVector)dictionaries.lookup(encoding.getId()).getVector());
+        } else {
+            return getStringOrByteExtractor(vec);
+        }
+    }
+
+    private static boolean isTemporalVector(final FieldVector vec) {
+        return vec instanceof TimeStampVector || vec instanceof DateDayVector || vec instanceof DurationVector;
+    }
+
+    private static VectorExtractor getBytesExtractor(final FieldVector vec) {
+        if (isTemporalVector(vec)) {
+            // Native date&time column, see TemporalEncoding.
+            return new TemporalExtractor((BaseFixedWidthVector)vec);
+        } else {
+            return new BytesExtractor((VarBinaryVector)vec);
+        }
+    }
+
     @Override
     public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] bytes,
         final SerializationOptions serializationOptions, final PythonCancelable cancelable)
@@ -482,10 +661,9 @@ public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] byte
         File file = null;
         try {
             file = new File(new String(bytes, StandardCharsets.UTF_8));
-            final File finalFile = file;
-            final TableSpec spec = tableSpecFromBytes(bytes, cancelable);
+            final ReadContext rc = readContextFromFile(file);
             PythonUtils.Misc.executeCancelable(() -> {
-                bytesIntoTableInternal(tableCreator, serializationOptions, spec, finalFile);
+                bytesIntoTableInternal(tableCreator, serializationOptions, rc);
                 return null;
             }, m_executorService, cancelable);
         } catch (final PythonIOException e) {
@@ -503,20 +681,20 @@ public void bytesIntoTable(final TableCreator<?> tableCreator, final byte[] byte
     /**
      * Possibly interrupted by {@link #bytesIntoTable(TableCreator, byte[], SerializationOptions, PythonCancelable)}.
      */
-    private void bytesIntoTableInternal(final TableCreator<?> tableCreator,
-        final SerializationOptions serializationOptions, final TableSpec spec, final File file) throws IOException {
-        try (ArrowStreamReader reader = ReadContextManager.createForFile(file).getReader()) {
+    private static void bytesIntoTableInternal(final TableCreator<?> tableCreator,
+        final SerializationOptions serializationOptions, final ReadContext rc) throws IOException {
+        try (ArrowStreamReader reader = rc.getReader()) {
             final VectorSchemaRoot root = reader.getVectorSchemaRoot(); // Will be closed by reader.
+            final TableSpec spec = rc.getTableSpec();
             final Type[] types = spec.getColumnTypes();
             final String[] names = spec.getColumnNames();
+            final String[] missingColumnNames = rc.getMissingColumnNames();
 
             final List<VectorExtractor> extractors = new ArrayList<>();
-            // Index is always string.
-            extractors.add(getStringOrByteExtractor(root.getVector(m_indexColumnName)));
 
             // Setup an extractor for every column.
             for (int j = 0; j < spec.getNumberColumns(); j++) {
-                if (ArrayUtils.contains(m_missingColumnNames, names[j])) {
+                if (ArrayUtils.contains(missingColumnNames, names[j])) {
                     extractors.add(new MissingExtractor());
                 } else {
                     switch (types[j]) {
@@ -538,34 +716,42 @@ private void bytesIntoTableInternal(final TableCreator<?> tableCreator,
                             extractors.add(new FloatExtractor((Float4Vector)root.getVector(names[j])));
                             break;
                         case STRING:
-                            extractors.add(getStringOrByteExtractor(root.getVector(names[j])));
+                            extractors.add(getStringExtractor(root.getVector(names[j]), reader));
                             break;
                         case BYTES:
-                            extractors.add(new BytesExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors.add(getBytesExtractor(root.getVector(names[j])));
                             break;
                         case INTEGER_LIST:
-                            extractors.add(new IntListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors
+                                .add(new IntCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case INTEGER_SET:
-                            extractors.add(new IntSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors
+                                .add(new IntCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case LONG_LIST:
-                            extractors.add(new LongListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors
+                                .add(new LongCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case LONG_SET:
-                            extractors.add(new LongSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors
+                                .add(new LongCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case DOUBLE_LIST:
-                            extractors.add(new DoubleListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors
+                                .add(new DoubleCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case DOUBLE_SET:
-                            extractors.add(new DoubleSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors
+                                .add(new DoubleCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case FLOAT_LIST:
-                            extractors.add(new FloatListExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors
+                                .add(new FloatCollectionExtractor((ListVector)root.getVector(names[j]), false));
                             break;
                         case FLOAT_SET:
-                            extractors.add(new FloatSetExtractor((VarBinaryVector)root.getVector(names[j])));
+                            extractors
+                                .add(new FloatCollectionExtractor((ListVector)root.getVector(names[j]), true));
                             break;
                         case BOOLEAN_LIST:
                             extractors.add(new BooleanListExtractor((VarBinaryVector)root.getVector(names[j])));
@@ -590,20 +776,146 @@ private void bytesIntoTableInternal(final TableCreator<?> tableCreator,
                     }
                 }
             }
-            // Extract each value as a Cell, collate the cells to Rows and add the rows to the table creator for
-            // further processing
-            for (int i = 0; i < root.getRowCount(); i++) {
-                if (Thread.interrupted()) {
-                    // Stop deserialization if canceled by client.
-                    throw new CancellationException("Deserialization canceled by client.");
+            if (tableCreator instanceof ColumnarTableCreator) {
+                // Hand over the whole record batch at once.
+                ((ColumnarTableCreator<?>)tableCreator)
+                    .addBatch(readColumnBatch(root, rc, extractors, serializationOptions));
+            } else {
+                // Extract each value as a Cell, collate the cells to Rows and add the rows to the table creator for
+                // further processing
+                final String[] rowKeys = readRowKeys(root, rc);
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    if (Thread.interrupted()) {
+                        // Stop deserialization if canceled by client.
+                        throw new CancellationException("Deserialization canceled by client.");
+                    }
+                    final Row row = new RowImpl(rowKeys[i], spec.getNumberColumns());
+                    for (int j = 0; j < spec.getNumberColumns(); j++) {
+                        row.setCell(extractors.get(j).extract(), j);
+                    }
+                    tableCreator.addRow(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads all rows of the given record batch into a {@link ColumnBatch}. Primitive, string, and bytes vectors are
+     * copied into the batch directly, all other columns are read via their extractors.
+     */
+    private static ColumnBatch readColumnBatch(final VectorSchemaRoot root, final ReadContext rc,
+        final List<VectorExtractor> extractors, final SerializationOptions serializationOptions) {
+        final int numRows = root.getRowCount();
+        final TableSpec spec = rc.getTableSpec();
+        final ColumnBatchImpl batch = new ColumnBatchImpl(spec, numRows);
+        final String[] rowKeys = readRowKeys(root, rc);
+        for (int i = 0; i < numRows; i++) {
+            batch.setRowKey(i, rowKeys[i]);
+        }
+        final Type[] types = spec.getColumnTypes();
+        final String[] names = spec.getColumnNames();
+        final boolean convertMissing = serializationOptions.getConvertMissingFromPython();
+        for (int j = 0; j < spec.getNumberColumns(); j++) {
+            if (Thread.interrupted()) {
+                // Stop deserialization if canceled by client.
+                throw new CancellationException("Deserialization canceled by client.");
+            }
+            if (ArrayUtils.contains(rc.getMissingColumnNames(), names[j])) {
+                // All values of the batch are initially missing.
+                continue;
+            }
+            final FieldVector vector = root.getVector(names[j]);
+            switch (types[j]) {
+                case BOOLEAN: {
+                    final BitVector vec = (BitVector)vector;
+                    for (int i = 0; i < numRows; i++) {
+                        if (!vec.isNull(i)) {
+                            batch.setBoolean(j, i, vec.get(i) > 0);
+                        }
+                    }
+                    break;
+                }
+                case INTEGER: {
+                    final IntVector vec = (IntVector)vector;
+                    for (int i = 0; i < numRows; i++) {
+                        if (!vec.isNull(i)) {
+                            final int val = vec.get(i);
+                            if (!convertMissing || !serializationOptions.isSentinel(Type.INTEGER, val)) {
+                                batch.setInteger(j, i, val);
+                            }
+                        }
+                    }
+                    break;
+                }
+                case LONG: {
+                    final BigIntVector vec = (BigIntVector)vector;
+                    for (int i = 0; i < numRows; i++) {
+                        if (!vec.isNull(i)) {
+                            final long val = vec.get(i);
+                            if (!convertMissing || !serializationOptions.isSentinel(Type.LONG, val)) {
+                                batch.setLong(j, i, val);
+                            }
+                        }
+                    }
+                    break;
+                }
+                case DOUBLE: {
+                    final Float8Vector vec = (Float8Vector)vector;
+                    for (int i = 0; i < numRows; i++) {
+                        batch.setDouble(j, i, vec.isNull(i) ? Double.NaN : vec.get(i));
+                    }
+                    break;
                 }
-                final Row row = new RowImpl(extractors.get(0).extract().getStringValue(), spec.getNumberColumns());
-                for (int j = 0; j < spec.getNumberColumns(); j++) {
-                    row.setCell(extractors.get(j + 1).extract(), j);
+                case FLOAT: {
+                    final Float4Vector vec = (Float4Vector)vector;
+                    for (int i = 0; i < numRows; i++) {
+                        batch.setFloat(j, i, vec.isNull(i) ? Float.NaN : vec.get(i));
+                    }
+                    break;
+                }
+                case STRING:
+                case BYTES:
+                    if (extractors.get(j) instanceof DictionaryStringExtractor) {
+                        final DictionaryStringExtractor extractor = (DictionaryStringExtractor)extractors.get(j);
+                        for (int i = 0; i < numRows; i++) {
+                            final byte[] value = extractor.extractBytes();
+                            if (value != null) {
+                                batch.setBytes(j, i, value);
+                            }
+                        }
+                    } else if (isTemporalVector(vector)) {
+                        final TemporalExtractor extractor = (TemporalExtractor)extractors.get(j);
+                        for (int i = 0; i < numRows; i++) {
+                            final byte[] value = extractor.extractBytes();
+                            if (value != null) {
+                                batch.setBytes(j, i, value);
+                            }
+                        }
+                    } else if (vector instanceof VarCharVector) {
+                        final VarCharVector vec = (VarCharVector)vector;
+                        for (int i = 0; i < numRows; i++) {
+                            if (!vec.isNull(i)) {
+                                batch.setBytes(j, i, vec.get(i));
+                            }
+                        }
+                    } else {
+                        final VarBinaryVector vec = (VarBinaryVector)vector;
+                        for (int i = 0; i < numRows; i++) {
+                            if (!vec.isNull(i)) {
+                                batch.setBytes(j, i, vec.get(i));
+                            }
+                        }
+                    }
+                    break;
+                default: {
+                    final VectorExtractor extractor = extractors.get(j);
+                    for (int i = 0; i < numRows; i++) {
+                        batch.setCell(j, i, extractor.extract());
+                    }
                 }
-                tableCreator.addRow(row);
             }
         }
+        return batch;
     }
 
     @Override
@@ -611,8 +923,14 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
         // Note: We don't implement cancellation here, because reading the spec should be cancelable in a timely manner
         // anyway.
         throws SerializationException {
-        final String path = new String(bytes, StandardCharsets.UTF_8);
-        final File file = new File(path);
+        return readContextFromFile(new File(new String(bytes, StandardCharsets.UTF_8))).getTableSpec();
+    }
+
+    /**
+     * Reads the table spec and the row key metadata of the given file into its {@link ReadContext}. The context holds
+     * all state that is needed to read the file's record batch, which keeps several files readable at once.
+     */
+    private static ReadContext readContextFromFile(final File file) throws SerializationException {
         try {
             // Read context is shared across this method and bytesIntoTableInternal(..).
             final ReadContext rc = ReadContextManager.createForFile(file);
@@ -637,6 +955,8 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
                                 final JsonArray cols = jpandasMetadata.getJsonArray("columns");
                                 final JsonArray missingCols = jpandasMetadata.getJsonArray("missing_columns");
                                 rc.setNumRows(jpandasMetadata.getInt("num_rows"));
+                                rc.setRowKeyOffset(jpandasMetadata.containsKey("row_key_offset")
+                                    ? jpandasMetadata.getJsonNumber("row_key_offset").longValue() : -1);
                                 final String[] names = new String[cols.size() - indexCols.size()];
                                 final Type[] types = new Type[cols.size() - indexCols.size()];
                                 int noIdxCtr = 0;
@@ -650,7 +970,7 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
                                         }
                                     }
                                     if (contained) {
-                                        m_indexColumnName = col.getString("name");
+                                        rc.setIndexColumnName(col.getString("name"));
                                         continue;
                                     }
                                     names[noIdxCtr] = col.getString("name");
@@ -666,10 +986,11 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
                                     }
                                     noIdxCtr++;
                                 }
-                                m_missingColumnNames = new String[missingCols.size()];
+                                final String[] missingColumnNames = new String[missingCols.size()];
                                 for (int i = 0; i < missingCols.size(); i++) {
-                                    m_missingColumnNames[i] = missingCols.getString(i);
+                                    missingColumnNames[i] = missingCols.getString(i);
                                 }
+                                rc.setMissingColumnNames(missingColumnNames);
                                 rc.setTableSpec(new TableSpecImpl(types, names, columnSerializers));
                             }
                         }
@@ -685,7 +1006,7 @@ public TableSpec tableSpecFromBytes(final byte[] bytes, final PythonCancelable c
             if (rc.getTableSpec() == null) {
                 throw new IllegalStateException("Could not build TableSpec!");
             }
-            return rc.getTableSpec();
+            return rc;
         } catch (final IOException ex) {
             PythonUtils.Misc.invokeSafely(null, File::delete, file);
             throw new SerializationException("An error occurred during deserialization.", ex);
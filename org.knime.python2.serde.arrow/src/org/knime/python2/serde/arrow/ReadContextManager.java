@@ -114,6 +114,14 @@ static class ReadContext {
 
         private int m_numRows;
 
+        // Note: we will never get a multi-index due to index standardization in FromPandasTable.
+        private String m_indexColumnName;
+
+        private String[] m_missingColumnNames = new String[0];
+
+        /** The offset of the default row keys that were transferred in a compact way, negative if none. */
+        private long m_rowKeyOffset = -1;
+
         private ReadContext(final File file) throws FileNotFoundException {
             m_raFile = new RandomAccessFile(file, "rw");
             m_rootAllocator = new RootAllocator(Long.MAX_VALUE);
@@ -167,5 +175,59 @@ void setNumRows(final int numRows) {
         int getNumRows() {
             return m_numRows;
         }
+
+        /**
+         * Sets the name of the index column, i.e. the column holding the row keys.
+         *
+         * @param indexColumnName the name of the index column
+         */
+        void setIndexColumnName(final String indexColumnName) {
+            m_indexColumnName = indexColumnName;
+        }
+
+        /**
+         * Get the name of the index column, i.e. the column holding the row keys.
+         *
+         * @return the name of the index column, null if not yet known
+         */
+        String getIndexColumnName() {
+            return m_indexColumnName;
+        }
+
+        /**
+         * Sets the names of the columns that only contain missing values and are not part of the serialized data.
+         *
+         * @param missingColumnNames the names of the missing columns
+         */
+        void setMissingColumnNames(final String[] missingColumnNames) {
+            m_missingColumnNames = missingColumnNames;
+        }
+
+        /**
+         * Get the names of the columns that only contain missing values and are not part of the serialized data.
+         *
+         * @return the names of the missing columns
+         */
+        String[] getMissingColumnNames() {
+            return m_missingColumnNames;
+        }
+
+        /**
+         * Sets the offset of the default row keys that were transferred in a compact way.
+         *
+         * @param rowKeyOffset the row key offset, negative if none
+         */
+        void setRowKeyOffset(final long rowKeyOffset) {
+            m_rowKeyOffset = rowKeyOffset;
+        }
+
+        /**
+         * Get the offset of the default row keys that were transferred in a compact way.
+         *
+         * @return the row key offset, negative if none
+         */
+        long getRowKeyOffset() {
+            return m_rowKeyOffset;
+        }
     }
 }
\ No newline at end of file
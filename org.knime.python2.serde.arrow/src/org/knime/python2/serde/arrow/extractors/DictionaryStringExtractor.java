@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,77 +40,82 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
+
+
 package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.BaseIntVector;
+import org.apache.arrow.vector.VarCharVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
 /**
- * Base class for Sets of fixed size types that are transferred between the arrow table format and the python table format.
+ * Manages the data transfer between the arrow table format and the python table format. Works on dictionary-encoded
+ * String vectors. Each distinct value is decoded only once.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author agent
  */
-public abstract class FixedSizeSetExtractor implements VectorExtractor {
+public class DictionaryStringExtractor implements VectorExtractor {
+
+    private final BaseIntVector m_indices;
 
-    private final VarBinaryVector m_vector;
+    private final VarCharVector m_dictionary;
+
+    private final byte[][] m_bytes;
+
+    private final String[] m_strings;
 
     private int m_ctr;
 
     /**
      * Constructor.
      *
-     * @param vector the vector to extract from
+     * @param indices the vector holding the dictionary indices
+     * @param dictionary the vector holding the distinct values
      */
-    protected FixedSizeSetExtractor(final VarBinaryVector vector) {
-        m_vector = vector;
+    public DictionaryStringExtractor(final BaseIntVector indices, final VarCharVector dictionary) {
+        m_indices = indices;
+        m_dictionary = dictionary;
+        m_bytes = new byte[dictionary.getValueCount()][];
+        m_strings = new String[dictionary.getValueCount()];
     }
 
     /**
-     * Extract the list from the buffer (type specific).
-     *
-     * @param buffer the buffer containing the list
-     * @param numVals the number of values to read
-     * @param hasMissing includes a missing value yes/no
-     * @return a reference to the extracted list
-     */
-    public abstract Cell extractArray(final ByteBuffer buffer, int numVals, boolean hasMissing);
-
-    /**
-     * Returns the length of the section in the buffer occupied by values
-     *
-     * @return the length of the section in the buffer occupied by values
+     * {@inheritDoc}
      */
-    protected abstract int getNumBytesPerEntry();
-
     @Override
     public Cell extract() {
-
-        if (m_vector.isNull(m_ctr)) {
-            m_ctr++;
+        final byte[] bytes = extractBytes();
+        if (bytes == null) {
             return new CellImpl();
         }
-
-        ByteBuffer buffer = ByteBuffer.wrap(m_vector.getObject(m_ctr)).order(ByteOrder.LITTLE_ENDIAN);
-        m_ctr++;
-        int nVals = buffer.asIntBuffer().get();
-        buffer.position(4);
-        //template method
-        boolean hasMissing = (buffer.get(4 + nVals * getNumBytesPerEntry()) == 0);
-        //template method
-        return extractArray(buffer, nVals, hasMissing);
-
+        final int index = (int)m_indices.getValueAsLong(m_ctr - 1);
+        if (m_strings[index] == null) {
+            m_strings[index] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new CellImpl(m_strings[index]);
     }
 
+    /**
+     * Extracts the next value in its UTF-8 representation. The returned array is shared by all occurrences of the same
+     * value and must not be modified.
+     *
+     * @return the UTF-8 bytes of the next value or {@code null} if the value is missing
+     */
+    public byte[] extractBytes() {
+        final int ctr = m_ctr++;
+        if (m_indices.isNull(ctr)) {
+            return null;
+        }
+        final int index = (int)m_indices.getValueAsLong(ctr);
+        if (m_bytes[index] == null) {
+            m_bytes[index] = m_dictionary.get(index);
+        }
+        return m_bytes[index];
+    }
 }
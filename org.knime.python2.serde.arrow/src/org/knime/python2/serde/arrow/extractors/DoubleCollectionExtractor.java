@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,64 +40,55 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+package org.knime.python2.serde.arrow.extractors;
 
-import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.complex.ListVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format.
- * Works on Integer list vectors.
+ * Manages the data transfer between the arrow table format and the python table format. Works on Double list and set
+ * cells.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author agent
  */
-public class IntListExtractor extends ListExtractor {
-
-    private int[] m_primitives;
+public class DoubleCollectionExtractor extends PrimitiveCollectionExtractor<Float8Vector> {
 
     /**
      * Constructor.
+     *
      * @param vector the vector to extract from
+     * @param isSet true if the vector holds sets, false if it holds lists
      */
-    public IntListExtractor(final VarBinaryVector vector) {
-       super(vector);
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        IntBuffer ibuffer = buffer.asIntBuffer();
-        m_primitives = new int[numVals];
-        ibuffer.get(m_primitives);
+    public DoubleCollectionExtractor(final ListVector vector, final boolean isSet) {
+        super(vector, isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_primitives, missings);
+    protected Cell extractList(final Float8Vector values, final int start, final int end, final byte[] missings) {
+        final double[] array = new double[end - start];
+        for (int i = 0; i < array.length; i++) {
+            if (!values.isNull(start + i)) {
+                array[i] = values.get(start + i);
+            }
+        }
+        return new CellImpl(array, missings);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected int getValuesLength() {
-        return 4 * m_primitives.length;
+    protected Cell extractSet(final Float8Vector values, final int start, final int end, final int numNonMissing,
+        final boolean hasMissing) {
+        final double[] array = new double[numNonMissing];
+        int j = 0;
+        for (int i = start; i < end; i++) {
+            if (!values.isNull(i)) {
+                array[j++] = values.get(i);
+            }
+        }
+        return new CellImpl(array, hasMissing);
     }
-
 }
@@ -0,0 +1,135 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow.extractors;
+
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+
+/**
+ * Base class for collection types of primitive elements that are transferred as native arrow {@link ListVector list
+ * vectors} with a typed child vector. Null elements of a set are collapsed into the set's missing value flag.
+ *
+ * @author agent
+ * @param <V> the type of the child vector holding the elements
+ */
+public abstract class PrimitiveCollectionExtractor<V extends BaseFixedWidthVector> implements VectorExtractor {
+
+    private final ListVector m_vector;
+
+    private final V m_values;
+
+    private final boolean m_isSet;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param vector the vector to extract from
+     * @param isSet true if the vector holds sets, false if it holds lists
+     */
+    @SuppressWarnings("unchecked")
+    protected PrimitiveCollectionExtractor(final ListVector vector, final boolean isSet) {
+        m_vector = vector;
+        m_values = (V)vector.getDataVector();
+        m_isSet = isSet;
+    }
+
+    /**
+     * Extracts a list.
+     *
+     * @param values the child vector
+     * @param start the index of the first element of the list in the child vector
+     * @param end the index after the last element of the list in the child vector
+     * @param missings the bit encoded missing values of the list
+     * @return the list cell
+     */
+    protected abstract Cell extractList(V values, int start, int end, byte[] missings);
+
+    /**
+     * Extracts a set.
+     *
+     * @param values the child vector
+     * @param start the index of the first element of the set in the child vector
+     * @param end the index after the last element of the set in the child vector
+     * @param numNonMissing the number of non-null elements in the given range
+     * @param hasMissing true if the given range contains a null element
+     * @return the set cell
+     */
+    protected abstract Cell extractSet(V values, int start, int end, int numNonMissing, boolean hasMissing);
+
+    @Override
+    public Cell extract() {
+        if (m_vector.isNull(m_ctr)) {
+            m_ctr++;
+            return new CellImpl();
+        }
+        final int start = m_vector.getOffsetBuffer().getInt(m_ctr * (long)ListVector.OFFSET_WIDTH);
+        final int end = m_vector.getOffsetBuffer().getInt((m_ctr + 1) * (long)ListVector.OFFSET_WIDTH);
+        m_ctr++;
+        if (m_isSet) {
+            int numNonMissing = 0;
+            for (int i = start; i < end; i++) {
+                if (!m_values.isNull(i)) {
+                    numNonMissing++;
+                }
+            }
+            return extractSet(m_values, start, end, numNonMissing, numNonMissing < end - start);
+        } else {
+            final int size = end - start;
+            final byte[] missings = new byte[size / 8 + (size % 8 == 0 ? 0 : 1)];
+            for (int i = 0; i < size; i++) {
+                if (!m_values.isNull(start + i)) {
+                    missings[i / 8] |= (1 << (i % 8));
+                }
+            }
+            return extractList(m_values, start, end, missings);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+
+package org.knime.python2.serde.arrow.extractors;
+
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.knime.python.typeextension.TemporalEncoding;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.VectorExtractor;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+
+/**
+ * Manages the data transfer between the arrow table format and the python table format. Works on native timestamp,
+ * date, and duration vectors whose values are handed over as byte[] cells in the representation the built-in
+ * date&time type extensions expect when deserializing values coming from python (see {@link TemporalEncoding}).
+ *
+ * @author agent
+ */
+public class TemporalExtractor implements VectorExtractor {
+
+    private final BaseFixedWidthVector m_vector;
+
+    private final boolean m_isDateDay;
+
+    private final boolean m_isTimestamp;
+
+    // Convert values of the vector's time unit to microseconds.
+    private final long m_multiplier;
+
+    private final long m_divisor;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param vector the vector to extract from, either a timestamp, a duration, or a {@link DateDayVector}
+     */
+    public TemporalExtractor(final BaseFixedWidthVector vector) {
+        m_vector = vector;
+        m_isDateDay = vector instanceof DateDayVector;
+        final ArrowType type = vector.getField().getType();
+        m_isTimestamp = type instanceof ArrowType.Timestamp;
+        final TimeUnit unit;
+        if (m_isTimestamp) {
+            unit = ((ArrowType.Timestamp)type).getUnit();
+        } else if (type instanceof ArrowType.Duration) {
+            unit = ((ArrowType.Duration)type).getUnit();
+        } else {
+            unit = TimeUnit.MICROSECOND;
+        }
+        switch (unit) {
+            case SECOND:
+                m_multiplier = 1000000;
+                m_divisor = 1;
+                break;
+            case MILLISECOND:
+                m_multiplier = 1000;
+                m_divisor = 1;
+                break;
+            case NANOSECOND:
+                m_multiplier = 1;
+                m_divisor = 1000;
+                break;
+            default:
+                m_multiplier = 1;
+                m_divisor = 1;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Cell extract() {
+        final byte[] bytes = extractBytes();
+        return bytes != null ? new CellImpl(bytes) : new CellImpl();
+    }
+
+    /**
+     * Extracts the next value in the representation of {@link TemporalEncoding}: timestamps as formatted local
+     * date&time, dates and durations in binary.
+     *
+     * @return the next value or {@code null} if the value is missing
+     */
+    public byte[] extractBytes() {
+        final int ctr = m_ctr++;
+        if (m_vector.isNull(ctr)) {
+            return null;
+        } else if (m_isDateDay) {
+            return TemporalEncoding.encode(((DateDayVector)m_vector).get(ctr));
+        } else {
+            final long value = m_vector.getDataBuffer().getLong((long)ctr * Long.BYTES);
+            final long micros = Math.floorDiv(value, m_divisor) * m_multiplier;
+            return m_isTimestamp ? TemporalEncoding.formatLocalDateTime(TemporalEncoding.ofEpochMicros(micros))
+                : TemporalEncoding.encode(micros);
+        }
+    }
+}
@@ -46,6 +46,8 @@
 package org.knime.python2.serde.arrow.inserters;
 
 import org.apache.arrow.vector.FieldVector;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.VectorInserter;
 
 /**
@@ -64,6 +66,20 @@ public interface ArrowVectorInserter extends VectorInserter {
      */
     FieldVector retrieveVector();
 
+    /**
+     * Puts all values of the given column of the given batch into the managed vector. The default implementation
+     * falls back to {@link #put(Cell)}. Inserters of primitive, string, and bytes columns override it to fill their
+     * vectors directly from the columnar buffers of the batch.
+     *
+     * @param batch the batch
+     * @param columnIndex the index of the column within the batch
+     */
+    default void putAll(final ColumnBatch batch, final int columnIndex) {
+        for (int r = 0; r < batch.getNumberRows(); r++) {
+            put(batch.getCell(columnIndex, r));
+        }
+    }
+
     /**
      * Closes the underlying buffer. Important for freeing buffers after serialization.
      */
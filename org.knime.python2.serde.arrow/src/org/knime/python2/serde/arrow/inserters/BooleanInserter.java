@@ -49,6 +49,7 @@
 import org.apache.arrow.vector.BitVector;
 import org.apache.arrow.vector.FieldVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 
 /**
  * Manages the data transfer between the python table format and the arrow table format. Works on Boolean cells.
@@ -85,6 +86,19 @@ public void put(final Cell cell) {
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final boolean[] values = batch.getBooleanColumn(columnIndex);
+        final int numRows = batch.getNumberRows();
+        for (int r = 0; r < numRows; r++) {
+            if (!batch.isMissing(columnIndex, r)) {
+                m_vec.set(m_ctr + r, values[r] ? 1 : 0);
+            }
+        }
+        m_ctr += numRows;
+        m_vec.setValueCount(m_ctr);
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
@@ -49,6 +49,7 @@
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VarBinaryVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 
 /**
  * Manages the data transfer between the python table format and the arrow table format. Works on byte[] cells.
@@ -98,6 +99,27 @@ public void put(final Cell cell) {
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final int[] offsets = batch.getOffsets(columnIndex);
+        final byte[] data = batch.getData(columnIndex);
+        final int numRows = batch.getNumberRows();
+        while (m_ctr + numRows > m_vec.getValueCapacity()) {
+            m_vec.reallocValidityAndOffsetBuffers();
+        }
+        m_byteCount += data.length;
+        while (m_byteCount > m_vec.getByteCapacity()) {
+            m_vec.reallocDataBuffer();
+        }
+        for (int r = 0; r < numRows; r++) {
+            if (!batch.isMissing(columnIndex, r)) {
+                m_vec.set(m_ctr + r, data, offsets[r], offsets[r + 1] - offsets[r]);
+            }
+        }
+        m_ctr += numRows;
+        m_vec.setValueCount(m_ctr);
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
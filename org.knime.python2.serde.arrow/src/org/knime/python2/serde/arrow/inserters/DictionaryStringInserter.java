@@ -0,0 +1,204 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+
+package org.knime.python2.serde.arrow.inserters;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+
+/**
+ * Manages the data transfer between the python table format and the arrow table format. Works on String cells of
+ * columns with few distinct values. Each distinct string is stored once in a dictionary, the managed vector only holds
+ * indices into that dictionary. On the Python side, such columns are converted to <code>pandas.Categorical</code>.
+ *
+ * @author agent
+ */
+public class DictionaryStringInserter implements ArrowVectorInserter {
+
+    /** The maximum number of values that are sampled to estimate the cardinality of a column. */
+    private static final int SAMPLE_SIZE = 1024;
+
+    /** The minimum number of rows for which dictionary encoding is considered worthwhile. */
+    private static final int MIN_ROWS = 128;
+
+    /** Sampled columns with a higher ratio of distinct to non-missing values are not dictionary-encoded. */
+    private static final double MAX_DISTINCT_RATIO = 0.1;
+
+    private static final ArrowType INDEX_TYPE = new ArrowType.Int(32, true);
+
+    /**
+     * Estimates the cardinality of the given string column based on a sample of its values.
+     *
+     * @param batch the batch containing the column
+     * @param columnIndex the index of the string column
+     * @return {@code true} if the column has few distinct values compared to its number of rows and should therefore
+     *         be dictionary-encoded
+     */
+    public static boolean isLowCardinality(final ColumnBatch batch, final int columnIndex) {
+        final int numRows = batch.getNumberRows();
+        if (numRows < MIN_ROWS) {
+            return false;
+        }
+        final int[] offsets = batch.getOffsets(columnIndex);
+        final byte[] data = batch.getData(columnIndex);
+        final int step = Math.max(1, numRows / SAMPLE_SIZE);
+        final int maxDistinct = (int)(Math.min(numRows, SAMPLE_SIZE) * MAX_DISTINCT_RATIO);
+        final Set<ByteBuffer> distinct = new HashSet<>();
+        int numSampled = 0;
+        for (int r = 0; r < numRows; r += step) {
+            if (!batch.isMissing(columnIndex, r)) {
+                distinct.add(ByteBuffer.wrap(data, offsets[r], offsets[r + 1] - offsets[r]));
+                if (distinct.size() > maxDistinct) {
+                    return false;
+                }
+                numSampled++;
+            }
+        }
+        return numSampled > 0 && distinct.size() <= numSampled * MAX_DISTINCT_RATIO;
+    }
+
+    private final IntVector m_vec;
+
+    private final VarCharVector m_dictionary;
+
+    private final DictionaryEncoding m_encoding;
+
+    /** Maps the UTF-8 representation of each distinct value to its index in the dictionary. */
+    private final Map<ByteBuffer, Integer> m_indices = new HashMap<>();
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the managed vector
+     * @param allocator an allocator for the underlying buffers
+     * @param numRows the number of rows in the managed vector
+     * @param dictionaryId the id of the dictionary, must be unique among all columns of the table
+     */
+    public DictionaryStringInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final long dictionaryId) {
+        m_encoding = new DictionaryEncoding(dictionaryId, false, INDEX_TYPE);
+        m_vec = new IntVector(name, new FieldType(true, INDEX_TYPE, m_encoding), allocator);
+        m_vec.allocateNew(numRows);
+        m_dictionary = new VarCharVector(name, allocator);
+        m_dictionary.allocateNew();
+    }
+
+    @Override
+    public void put(final Cell cell) {
+        if (!cell.isMissing()) {
+            // Implicitly assumed to be missing.
+            final byte[] bVal = cell.getStringValue().getBytes(StandardCharsets.UTF_8);
+            m_vec.setSafe(m_ctr, getOrAddIndex(ByteBuffer.wrap(bVal), bVal, 0, bVal.length));
+        }
+        m_vec.setValueCount(++m_ctr);
+    }
+
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final int[] offsets = batch.getOffsets(columnIndex);
+        final byte[] data = batch.getData(columnIndex);
+        final int numRows = batch.getNumberRows();
+        for (int r = 0; r < numRows; r++) {
+            if (!batch.isMissing(columnIndex, r)) {
+                final int length = offsets[r + 1] - offsets[r];
+                m_vec.setSafe(m_ctr + r,
+                    getOrAddIndex(ByteBuffer.wrap(data, offsets[r], length), data, offsets[r], length));
+            }
+        }
+        m_ctr += numRows;
+        m_vec.setValueCount(m_ctr);
+    }
+
+    private int getOrAddIndex(final ByteBuffer key, final byte[] data, final int offset, final int length) {
+        final Integer index = m_indices.get(key);
+        if (index != null) {
+            return index;
+        }
+        final int newIndex = m_indices.size();
+        m_dictionary.setSafe(newIndex, data, offset, length);
+        m_indices.put(key, newIndex);
+        return newIndex;
+    }
+
+    /**
+     * @return the dictionary referenced by the managed vector, must be registered with the writer of the vector
+     */
+    public Dictionary getDictionary() {
+        return new Dictionary(m_dictionary, m_encoding);
+    }
+
+    @Override
+    public FieldVector retrieveVector() {
+        m_dictionary.setValueCount(m_indices.size());
+        return m_vec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        m_vec.close();
+        m_dictionary.close();
+    }
+}
@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,29 +40,24 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.inserters;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+package org.knime.python2.serde.arrow.inserters;
 
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Integer list cells.
+ * Manages the data transfer between the python table format and the arrow table format. Works on Double list and set
+ * cells.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author agent
  */
-public class IntListInserter extends ListInserter {
-
-    private int[] m_ints;
+public class DoubleCollectionInserter extends PrimitiveCollectionInserter<Float8Vector> {
 
     /**
      * Constructor.
@@ -71,32 +65,23 @@ public class IntListInserter extends ListInserter {
      * @param name the name of the managed vector
      * @param allocator an allocator for the underlying buffer
      * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
-     */
-    public IntListInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-        super(name, allocator, numRows, bytesPerCellAssumption);
-    }
-
-    /**
-     * {@inheritDoc}
+     * @param isSet true if the managed vector holds sets, false if it holds lists
      */
-    @Override
-    protected int[] fillInternalArrayAndGetSize(final Cell cell) {
-        m_ints = cell.getIntegerArrayValue();
-        return new int[]{m_ints.length, 4 * m_ints.length};
+    public DoubleCollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final boolean isSet) {
+        super(name, allocator, numRows, new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected void putCollection(final ByteBuffer buffer, final Cell cell) {
-
-        IntBuffer intBuffer = buffer.asIntBuffer();
-        //put values
-        intBuffer.put(m_ints);
-
+    protected int putValues(final Cell cell, final Float8Vector values, final int offset) {
+        final double[] array = cell.getDoubleArrayValue();
+        for (int i = 0; i < array.length; i++) {
+            if (isMissingElement(cell, i)) {
+                values.setNull(offset + i);
+            } else {
+                values.setSafe(offset + i, array[i]);
+            }
+        }
+        return array.length;
     }
-
 }
@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,29 +40,24 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.inserters;
 
-import java.nio.ByteBuffer;
-import java.nio.LongBuffer;
+package org.knime.python2.serde.arrow.inserters;
 
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Long list cells.
+ * Manages the data transfer between the python table format and the arrow table format. Works on Float list and set
+ * cells.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author agent
  */
-public class LongListInserter extends ListInserter {
-
-    private long[] m_primitives;
+public class FloatCollectionInserter extends PrimitiveCollectionInserter<Float4Vector> {
 
     /**
      * Constructor.
@@ -71,31 +65,23 @@ public class LongListInserter extends ListInserter {
      * @param name the name of the managed vector
      * @param allocator an allocator for the underlying buffer
      * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
+     * @param isSet true if the managed vector holds sets, false if it holds lists
      */
-    public LongListInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-        super(name, allocator, numRows, bytesPerCellAssumption);
+    public FloatCollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final boolean isSet) {
+        super(name, allocator, numRows, new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE), isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    protected int[] fillInternalArrayAndGetSize(final Cell cell) {
-        m_primitives = cell.getLongArrayValue();
-        return new int[]{m_primitives.length, 8 * m_primitives.length};
+    protected int putValues(final Cell cell, final Float4Vector values, final int offset) {
+        final float[] array = cell.getFloatArrayValue();
+        for (int i = 0; i < array.length; i++) {
+            if (isMissingElement(cell, i)) {
+                values.setNull(offset + i);
+            } else {
+                values.setSafe(offset + i, array[i]);
+            }
+        }
+        return array.length;
     }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    protected void putCollection(final ByteBuffer buffer, final Cell cell) {
-
-        LongBuffer valBuffer = buffer.asLongBuffer();
-        //put values
-        valBuffer.put(m_primitives);
-    }
-
 }
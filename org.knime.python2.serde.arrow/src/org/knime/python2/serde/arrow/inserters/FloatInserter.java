@@ -52,6 +52,7 @@
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.Float4Vector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 
 /**
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
@@ -81,6 +82,19 @@ public void put(final Cell cell) {
         m_vector.setValueCount(++m_nextCellIndex);
     }
 
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final float[] values = batch.getFloatColumn(columnIndex);
+        final int numRows = batch.getNumberRows();
+        for (int r = 0; r < numRows; r++) {
+            if (!batch.isMissing(columnIndex, r)) {
+                m_vector.set(m_nextCellIndex + r, values[r]);
+            }
+        }
+        m_nextCellIndex += numRows;
+        m_vector.setValueCount(m_nextCellIndex);
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vector;
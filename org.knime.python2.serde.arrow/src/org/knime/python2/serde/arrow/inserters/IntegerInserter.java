@@ -50,6 +50,7 @@
 import org.apache.arrow.vector.IntVector;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
 /**
@@ -99,6 +100,21 @@ public void put(final Cell cell) {
         m_vec.setValueCount(++m_ctr);
     }
 
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final int[] values = batch.getIntegerColumn(columnIndex);
+        final int numRows = batch.getNumberRows();
+        for (int r = 0; r < numRows; r++) {
+            if (!batch.isMissing(columnIndex, r)) {
+                m_vec.set(m_ctr + r, values[r]);
+            } else if (m_serializationOptions.getConvertMissingToPython()) {
+                m_vec.set(m_ctr + r, m_intSentinel);
+            }
+        }
+        m_ctr += numRows;
+        m_vec.setValueCount(m_ctr);
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,33 +40,23 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.inserters;
 
-import java.nio.ByteBuffer;
-import java.nio.IntBuffer;
+package org.knime.python2.serde.arrow.inserters;
 
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Integer set cells.
+ * Manages the data transfer between the python table format and the arrow table format. Works on Long list and set
+ * cells.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author agent
  */
-public class IntSetInserter extends SetInserter {
-
-    private int[] m_ints;
-
-    private boolean m_hasMissing;
-
-    private int m_size;
+public class LongCollectionInserter extends PrimitiveCollectionInserter<BigIntVector> {
 
     /**
      * Constructor.
@@ -75,37 +64,23 @@ public class IntSetInserter extends SetInserter {
      * @param name the name of the managed vector
      * @param allocator an allocator for the underlying buffer
      * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
-     */
-    public IntSetInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-        super(name, allocator, numRows, bytesPerCellAssumption);
-    }
-
-    /**
-     * {@inheritDoc}
+     * @param isSet true if the managed vector holds sets, false if it holds lists
      */
-    @Override
-    public int[] fillInternalArrayAndGetSize(final Cell cell) {
-
-        m_ints = cell.getIntegerArrayValue();
-        m_hasMissing = cell.hasMissingInSet();
-        m_size = m_ints.length;
-        return new int[]{m_size, m_size * 4};
+    public LongCollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final boolean isSet) {
+        super(name, allocator, numRows, new ArrowType.Int(64, true), isSet);
     }
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public boolean putCollection(final ByteBuffer buffer, final Cell cell) {
-
-        IntBuffer intBuffer = buffer.asIntBuffer();
-        //put values
-        intBuffer.put(m_ints, 0, m_size);
-
-        return m_hasMissing;
-
+    protected int putValues(final Cell cell, final BigIntVector values, final int offset) {
+        final long[] array = cell.getLongArrayValue();
+        for (int i = 0; i < array.length; i++) {
+            if (isMissingElement(cell, i)) {
+                values.setNull(offset + i);
+            } else {
+                values.setSafe(offset + i, array[i]);
+            }
+        }
+        return array.length;
     }
-
 }
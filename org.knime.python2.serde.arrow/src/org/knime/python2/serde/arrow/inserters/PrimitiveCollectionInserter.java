@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,33 +40,36 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.inserters;
 
-import java.nio.ByteBuffer;
-import java.nio.DoubleBuffer;
+package org.knime.python2.serde.arrow.inserters;
 
 import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
 
 /**
- * Manages the data transfer between the python table format and the arrow table format. Works on Double set cells.
+ * Base class for collection types of primitive elements that are transferred as native arrow {@link ListVector list
+ * vectors} with a typed child vector. Missing elements of lists are transferred as null elements. A missing value in a
+ * set is transferred as a single trailing null element.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author agent
+ * @param <V> the type of the child vector holding the elements
  */
-public class DoubleSetInserter extends SetInserter {
+public abstract class PrimitiveCollectionInserter<V extends BaseFixedWidthVector> implements ArrowVectorInserter {
 
-    private double[] m_primitives;
+    private final ListVector m_vec;
 
-    private boolean m_hasMissing;
+    private final V m_values;
 
-    private int m_size;
+    private final boolean m_isSet;
+
+    private int m_ctr;
 
     /**
      * Constructor.
@@ -75,36 +77,63 @@ public class DoubleSetInserter extends SetInserter {
      * @param name the name of the managed vector
      * @param allocator an allocator for the underlying buffer
      * @param numRows the number of rows in the managed vector
-     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
+     * @param elementType the arrow type of the collection elements
+     * @param isSet true if the managed vector holds sets, false if it holds lists
      */
-    public DoubleSetInserter(final String name, final BufferAllocator allocator, final int numRows,
-        final int bytesPerCellAssumption) {
-        super(name, allocator, numRows, bytesPerCellAssumption);
+    @SuppressWarnings("unchecked")
+    protected PrimitiveCollectionInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final ArrowType elementType, final boolean isSet) {
+        m_vec = ListVector.empty(name, allocator);
+        m_values = (V)m_vec.addOrGetVector(FieldType.nullable(elementType)).getVector();
+        m_vec.setInitialCapacity(numRows);
+        m_vec.allocateNew();
+        m_isSet = isSet;
     }
 
     /**
-     * {@inheritDoc}
+     * Writes the elements of the given collection cell into the child vector.
+     *
+     * @param cell the non-missing collection cell
+     * @param values the child vector, capacity is ensured by using the respective <code>setSafe</code> methods
+     * @param offset the index in the child vector of the first element of the collection
+     * @return the number of elements written
+     */
+    protected abstract int putValues(Cell cell, V values, int offset);
+
+    /**
+     * @param cell the collection cell
+     * @param index the index of the element within the collection
+     * @return true if the element is missing, always false for sets
      */
+    protected final boolean isMissingElement(final Cell cell, final int index) {
+        return !m_isSet && cell.isMissing(index);
+    }
+
+    @Override
+    public void put(final Cell cell) {
+        if (!cell.isMissing()) {
+            // Implicitly assumed to be missing.
+            final int offset = m_vec.startNewValue(m_ctr);
+            int size = putValues(cell, m_values, offset);
+            if (m_isSet && cell.hasMissingInSet()) {
+                m_values.setNull(offset + size);
+                size++;
+            }
+            m_vec.endValue(m_ctr, size);
+        }
+        m_vec.setValueCount(++m_ctr);
+    }
+
     @Override
-    public int[] fillInternalArrayAndGetSize(final Cell cell) {
-        m_primitives = cell.getDoubleArrayValue();
-        m_hasMissing = cell.hasMissingInSet();
-        m_size = m_primitives.length;
-        return new int[]{m_size, m_size * 8};
+    public FieldVector retrieveVector() {
+        return m_vec;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public boolean putCollection(final ByteBuffer buffer, final Cell cell) {
-
-        DoubleBuffer valueBuffer = buffer.asDoubleBuffer();
-        //put values
-        valueBuffer.put(m_primitives, 0, m_size);
-
-        return m_hasMissing;
-
+    public void close() {
+        m_vec.close();
     }
-
 }
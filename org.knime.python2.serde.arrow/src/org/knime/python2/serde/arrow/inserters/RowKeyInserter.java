@@ -0,0 +1,157 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME GmbH, Konstanz, Germany
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.serde.arrow.inserters;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+
+/**
+ * Manages the data transfer of row keys between the python table format and the arrow table format. Row keys that
+ * equal the default row keys <code>Row&lt;offset + i&gt;</code> of their row <code>i</code> are put as missing values
+ * and are restored on the receiving side using the {@link #getRowKeyOffset() offset}. The offset is determined from the
+ * first row key. Compact row keys are not used if the first row key is not a default one. If all row keys are default
+ * ones, the managed vector does not need to be transferred at all, see {@link #hasOnlyDefaultRowKeys()}.
+ *
+ * @author agent
+ */
+public class RowKeyInserter extends StringInserter {
+
+    private static final String DEFAULT_ROW_KEY_PREFIX = "Row";
+
+    /**
+     * Longer digit sequences could overflow a long.
+     */
+    private static final int MAX_NUM_DIGITS = 18;
+
+    private static final long NO_OFFSET = -1;
+
+    private static final long UNDETERMINED_OFFSET = -2;
+
+    /**
+     * Returns the number of the given row key if it is a default row key <code>Row&lt;number&gt;</code>.
+     *
+     * @param rowKey the row key
+     * @return the number of the row key or a negative value if it is not a default row key
+     */
+    public static long parseDefaultRowKey(final String rowKey) {
+        final int prefixLength = DEFAULT_ROW_KEY_PREFIX.length();
+        final int numDigits = rowKey.length() - prefixLength;
+        if (numDigits < 1 || numDigits > MAX_NUM_DIGITS || !rowKey.startsWith(DEFAULT_ROW_KEY_PREFIX)
+            || (numDigits > 1 && rowKey.charAt(prefixLength) == '0')) {
+            return NO_OFFSET;
+        }
+        long number = 0;
+        for (int i = prefixLength; i < rowKey.length(); i++) {
+            final char c = rowKey.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_OFFSET;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    private long m_offset = UNDETERMINED_OFFSET;
+
+    private int m_numRows = 0;
+
+    private boolean m_hasOnlyDefaultRowKeys = true;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the managed vector
+     * @param allocator an allocator for the underlying buffer
+     * @param numRows the number of rows in the managed vector
+     * @param bytesPerCellAssumption an initial assumption of the number of bytes per cell
+     */
+    public RowKeyInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final int bytesPerCellAssumption) {
+        super(name, allocator, numRows, bytesPerCellAssumption);
+    }
+
+    @Override
+    public void put(final Cell cell) {
+        super.put(isDefaultRowKey(cell.getStringValue()) ? new CellImpl() : cell);
+    }
+
+    @Override
+    public void putAll(final String[] values) {
+        final String[] compactValues = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            compactValues[i] = isDefaultRowKey(values[i]) ? null : values[i];
+        }
+        super.putAll(compactValues);
+    }
+
+    private boolean isDefaultRowKey(final String rowKey) {
+        final int row = m_numRows++;
+        if (m_offset == UNDETERMINED_OFFSET) {
+            m_offset = parseDefaultRowKey(rowKey);
+        }
+        final boolean isDefault = m_offset != NO_OFFSET && parseDefaultRowKey(rowKey) == m_offset + row;
+        m_hasOnlyDefaultRowKeys &= isDefault;
+        return isDefault;
+    }
+
+    /**
+     * @return the number of the first row key, which is the offset of the default row keys, or a negative value if
+     *         the row keys are not transferred in a compact way
+     */
+    public long getRowKeyOffset() {
+        return m_offset >= 0 ? m_offset : NO_OFFSET;
+    }
+
+    /**
+     * @return true if at least one row key was put and all row keys put so far are default row keys, i.e. the managed
+     *         vector only contains missing values and the row keys can be restored from the {@link #getRowKeyOffset()
+     *         offset} alone
+     */
+    public boolean hasOnlyDefaultRowKeys() {
+        return m_numRows > 0 && m_hasOnlyDefaultRowKeys && getRowKeyOffset() >= 0;
+    }
+}
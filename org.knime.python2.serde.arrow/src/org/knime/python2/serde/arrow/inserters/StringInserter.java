@@ -51,6 +51,7 @@
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VarCharVector;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 
 /**
  * Manages the data transfer between the python table format and the arrow table format. Works on String cells.
@@ -99,6 +100,53 @@ public void put(final Cell cell) {
         m_vec.setValueCount(++m_ctr);
     }
 
+    /**
+     * Puts the given strings into the managed vector. Used for row keys, which are not part of the columns of a
+     * {@link ColumnBatch}.
+     *
+     * @param values the strings to put, <code>null</code> entries are put as missing values
+     */
+    public void putAll(final String[] values) {
+        while (m_ctr + values.length > m_vec.getValueCapacity()) {
+            m_vec.reallocValidityAndOffsetBuffers();
+        }
+        for (final String value : values) {
+            if (value == null) {
+                // Implicitly assumed to be missing.
+                m_ctr++;
+                continue;
+            }
+            final byte[] bVal = value.getBytes(StandardCharsets.UTF_8);
+            m_byteCount += bVal.length;
+            while (m_byteCount > m_vec.getByteCapacity()) {
+                m_vec.reallocDataBuffer();
+            }
+            m_vec.set(m_ctr++, bVal);
+        }
+        m_vec.setValueCount(m_ctr);
+    }
+
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final int[] offsets = batch.getOffsets(columnIndex);
+        final byte[] data = batch.getData(columnIndex);
+        final int numRows = batch.getNumberRows();
+        while (m_ctr + numRows > m_vec.getValueCapacity()) {
+            m_vec.reallocValidityAndOffsetBuffers();
+        }
+        m_byteCount += data.length;
+        while (m_byteCount > m_vec.getByteCapacity()) {
+            m_vec.reallocDataBuffer();
+        }
+        for (int r = 0; r < numRows; r++) {
+            if (!batch.isMissing(columnIndex, r)) {
+                m_vec.set(m_ctr + r, data, offsets[r], offsets[r + 1] - offsets[r]);
+            }
+        }
+        m_ctr += numRows;
+        m_vec.setValueCount(m_ctr);
+    }
+
     @Override
     public FieldVector retrieveVector() {
         return m_vec;
@@ -0,0 +1,166 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+
+package org.knime.python2.serde.arrow.inserters;
+
+import java.nio.ByteBuffer;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DurationVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.knime.python.typeextension.TemporalEncoding;
+import org.knime.python.typeextension.TemporalEncoding.Unit;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+
+/**
+ * Manages the data transfer between the python table format and the arrow table format. Works on byte[] cells of the
+ * built-in date&time type extensions (see {@link TemporalEncoding}) which are written to native timestamp, date, or
+ * duration vectors.
+ *
+ * @author agent
+ */
+public class TemporalInserter implements ArrowVectorInserter {
+
+    private final BaseFixedWidthVector m_vec;
+
+    private final Unit m_unit;
+
+    private int m_ctr;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the managed vector
+     * @param allocator an allocator for the underlying buffer
+     * @param numRows the number of rows in the managed vector
+     * @param unit the unit of the encoded values
+     */
+    public TemporalInserter(final String name, final BufferAllocator allocator, final int numRows,
+        final Unit unit) {
+        m_unit = unit;
+        switch (unit) {
+            case EPOCH_MICROS:
+                m_vec = new TimeStampMicroVector(name, allocator);
+                break;
+            case EPOCH_DAYS:
+                m_vec = new DateDayVector(name, allocator);
+                break;
+            case DURATION_MICROS:
+                m_vec = new DurationVector(name, FieldType.nullable(new ArrowType.Duration(TimeUnit.MICROSECOND)),
+                    allocator);
+                break;
+            default:
+                throw new IllegalStateException("Unknown temporal unit: " + unit);
+        }
+        m_vec.allocateNew(numRows);
+    }
+
+    @Override
+    public void put(final Cell cell) {
+        if (!cell.isMissing()) {
+            // Implicitly assumed to be missing.
+            final byte[] bytes = cell.getBytesValue();
+            checkEncoded(bytes.length);
+            set(m_ctr, TemporalEncoding.decode(bytes));
+        }
+        m_vec.setValueCount(++m_ctr);
+    }
+
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final int[] offsets = batch.getOffsets(columnIndex);
+        final ByteBuffer data = ByteBuffer.wrap(batch.getData(columnIndex));
+        final int numRows = batch.getNumberRows();
+        for (int r = 0; r < numRows; r++) {
+            if (!batch.isMissing(columnIndex, r)) {
+                checkEncoded(offsets[r + 1] - offsets[r]);
+                set(m_ctr + r, data.getLong(offsets[r]));
+            }
+        }
+        m_ctr += numRows;
+        m_vec.setValueCount(m_ctr);
+    }
+
+    private void checkEncoded(final int length) {
+        if (length != TemporalEncoding.ENCODED_LENGTH) {
+            throw new IllegalStateException("Column '" + m_vec.getName() + "' contains a value that is not encoded as "
+                + TemporalEncoding.ENCODED_LENGTH + " bytes.");
+        }
+    }
+
+    private void set(final int index, final long value) {
+        switch (m_unit) {
+            case EPOCH_MICROS:
+                ((TimeStampMicroVector)m_vec).setSafe(index, value);
+                break;
+            case EPOCH_DAYS:
+                ((DateDayVector)m_vec).setSafe(index, Math.toIntExact(value));
+                break;
+            default:
+                ((DurationVector)m_vec).setSafe(index, value);
+        }
+    }
+
+    @Override
+    public FieldVector retrieveVector() {
+        return m_vec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        m_vec.close();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.python2.kernel;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.python2.PythonVersion;
+import org.knime.python2.testing.PreferencesSetup;
+
+/**
+ * Tests the reuse of kernels by {@link PythonKernelQueue}, see VM option
+ * <code>-Dknime.python.kernelqueue.reuse</code>.
+ *
+ * @author agent
+ */
+public final class PythonKernelQueueReuseTest {
+
+	private static final String KERNEL_REUSE_VM_OPT = "knime.python.kernelqueue.reuse";
+
+	/**
+	 * The tests in this class require the preferences of the Python integration to be properly set up, which is ensured
+	 * by this rule.
+	 */
+	@ClassRule
+	public static final TestRule preferencesSetup = new PreferencesSetup("org.knime.python2.serde.flatbuffers.tests");
+
+	private static final PythonKernelOptions OPTIONS = new PythonKernelOptions()
+			.forPythonVersion(PythonVersion.PYTHON3);
+
+	@BeforeClass
+	public static void enableKernelReuse() {
+		System.setProperty(KERNEL_REUSE_VM_OPT, "true");
+		// The queue reads the option upon construction. A single slot makes sure that reusable kernels are handed out
+		// again.
+		PythonKernelQueue.close();
+		PythonKernelQueue.reconfigureKernelQueue(1, 1);
+	}
+
+	@AfterClass
+	public static void closeKernelQueue() {
+		System.clearProperty(KERNEL_REUSE_VM_OPT);
+		PythonKernelQueue.close();
+	}
+
+	@Test
+	public void testKernelIsReusedAfterClose() throws IOException, CanceledExecutionException {
+		final PythonKernel kernel = getNextKernel();
+		kernel.execute("a = 1", PythonCancelable.NOT_CANCELABLE);
+		kernel.close();
+		try (final PythonKernel reused = getNextKernel()) {
+			Assert.assertSame("Kernel was not reused.", kernel, reused);
+			final String[] output = reused.execute("print('a' in globals())", PythonCancelable.NOT_CANCELABLE);
+			Assert.assertEquals("Workspace of reused kernel was not reset.", "False", output[0].trim());
+		}
+	}
+
+	@Test
+	public void testDoubleCloseDoesNotAffectReusedKernel() throws IOException, CanceledExecutionException {
+		final PythonKernel kernel = getNextKernel();
+		kernel.close();
+		// Must neither shut down the kernel that was taken back for reuse nor release it a second time.
+		kernel.close();
+		try (final PythonKernel reused = getNextKernel()) {
+			Assert.assertSame("Kernel was not reused.", kernel, reused);
+			// A stale close of the previous client must not affect the kernel while the next client holds it.
+			final String[] output = reused.execute("print(1 + 1)", PythonCancelable.NOT_CANCELABLE);
+			Assert.assertEquals("2", output[0].trim());
+		}
+	}
+
+	@Test
+	public void testKernelIsNotReusedAfterCancel() throws IOException, CanceledExecutionException {
+		final PythonKernel kernel = getNextKernel();
+		try {
+			kernel.execute("import time\ntime.sleep(60)", () -> {
+				throw new PythonCanceledExecutionException();
+			});
+			Assert.fail("Execution was not canceled.");
+		} catch (final CanceledExecutionException ex) {
+			// Expected. The sleeping code keeps running in Python.
+		} finally {
+			kernel.close();
+		}
+		try (final PythonKernel next = getNextKernel()) {
+			Assert.assertNotSame("Kernel was reused after a cancellation.", kernel, next);
+		}
+	}
+
+	private static PythonKernel getNextKernel() throws IOException {
+		try {
+			return PythonKernelQueue.getNextKernel(OPTIONS.getPython3Command(), Collections.emptySet(),
+					Collections.emptySet(), OPTIONS, PythonCancelable.NOT_CANCELABLE);
+		} catch (final PythonCanceledExecutionException ex) {
+			// Cannot happen. We pass a non-cancelable above.
+			throw new IllegalStateException("Implementation error.", ex);
+		}
+	}
+}
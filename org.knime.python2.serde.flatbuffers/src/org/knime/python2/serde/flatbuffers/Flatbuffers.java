@@ -56,6 +56,8 @@
 
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
@@ -134,9 +136,12 @@
  */
 public class Flatbuffers implements SerializationLibrary {
 
-    /** Used to make (de-)serialization cancelable. */
+    /**
+     * Used to make (de-)serialization cancelable. Not limited to a single thread such that multiple chunks can be
+     * serialized concurrently (see {@code PythonKernel#putDataTable}).
+     */
     private final ExecutorService m_executorService = Executors
-        .newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("python-flatbuffers-serde-%d").build());
+        .newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("python-flatbuffers-serde-%d").build());
 
     @Override
     public byte[] tableToBytes(final TableIterator tableIterator, final SerializationOptions serializationOptions,
@@ -250,20 +255,36 @@ private static byte[] tableToBytesInternal(final TableIterator tableIterator,
         }
 
         final int[] rowIdOffsets = new int[numRows];
-        int rowIdx = 0;
-        // Convert the rows to columns.
-        while (tableIterator.hasNext()) {
-            if (Thread.interrupted()) {
-                // Stop serialization if canceled by client.
-                throw new CancellationException("Serialization canceled by client.");
+        if (tableIterator instanceof ColumnarTableIterator) {
+            // The table is already available in columnar layout.
+            final ColumnBatch batch = ((ColumnarTableIterator)tableIterator).nextBatch();
+            final String[] rowKeys = batch.getRowKeys();
+            for (int r = 0; r < rowKeys.length; r++) {
+                rowIdOffsets[r] = builder.createString(rowKeys[r]);
             }
-            final Row row = tableIterator.next();
-            rowIdOffsets[rowIdx] = builder.createString(row.getRowKey());
-
             for (int i = 0; i < inserters.size(); i++) {
-                inserters.get(i).put(row.getCell(i));
+                if (Thread.interrupted()) {
+                    // Stop serialization if canceled by client.
+                    throw new CancellationException("Serialization canceled by client.");
+                }
+                inserters.get(i).putAll(batch, i);
+            }
+        } else {
+            int rowIdx = 0;
+            // Convert the rows to columns.
+            while (tableIterator.hasNext()) {
+                if (Thread.interrupted()) {
+                    // Stop serialization if canceled by client.
+                    throw new CancellationException("Serialization canceled by client.");
+                }
+                final Row row = tableIterator.next();
+                rowIdOffsets[rowIdx] = builder.createString(row.getRowKey());
+
+                for (int i = 0; i < inserters.size(); i++) {
+                    inserters.get(i).put(row.getCell(i));
+                }
+                rowIdx++;
             }
-            rowIdx++;
         }
 
         final int numCols = tableIterator.getTableSpec().getNumberColumns();
@@ -49,6 +49,7 @@
 package org.knime.python2.serde.flatbuffers.inserters;
 
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.serde.flatbuffers.flatc.BooleanColumn;
 import org.knime.python2.serde.flatbuffers.flatc.Column;
@@ -88,6 +89,22 @@ public void put(final Cell cell) {
         m_ctr++;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final boolean[] values = batch.getBooleanColumn(columnIndex);
+        for (int r = 0; r < batch.getNumberRows(); r++) {
+            if (batch.isMissing(columnIndex, r)) {
+                m_missings[m_ctr] = true;
+            } else {
+                m_values[m_ctr] = values[r];
+            }
+            m_ctr++;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
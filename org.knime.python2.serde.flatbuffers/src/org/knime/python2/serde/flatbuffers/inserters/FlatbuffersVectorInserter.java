@@ -48,6 +48,8 @@
  */
 package org.knime.python2.serde.flatbuffers.inserters;
 
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.VectorInserter;
 
 import com.google.flatbuffers.FlatBufferBuilder;
@@ -66,4 +68,15 @@ public interface FlatbuffersVectorInserter extends VectorInserter {
      */
     int createColumn(FlatBufferBuilder builder);
 
+    /**
+     * Put all values of a column of the given batch. The default implementation falls back to {@link #put(Cell)}.
+     * @param batch the batch
+     * @param columnIndex the index of the column within the batch
+     */
+    default void putAll(final ColumnBatch batch, final int columnIndex) {
+        for (int r = 0; r < batch.getNumberRows(); r++) {
+            put(batch.getCell(columnIndex, r));
+        }
+    }
+
 }
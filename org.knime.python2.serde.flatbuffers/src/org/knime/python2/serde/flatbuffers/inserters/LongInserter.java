@@ -50,6 +50,7 @@
 
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.serde.flatbuffers.flatc.Column;
 import org.knime.python2.serde.flatbuffers.flatc.LongColumn;
@@ -97,6 +98,26 @@ public void put(final Cell cell) {
         m_ctr++;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final long[] values = batch.getLongColumn(columnIndex);
+        final boolean convertMissing = m_serializationOptions.getConvertMissingToPython();
+        final long sentinel = m_serializationOptions.getSentinelForType(Type.LONG);
+        for (int r = 0; r < batch.getNumberRows(); r++) {
+            if (!batch.isMissing(columnIndex, r)) {
+                m_values[m_ctr] = values[r];
+            } else if (convertMissing) {
+                m_values[m_ctr] = sentinel;
+            } else {
+                m_missings[m_ctr] = true;
+            }
+            m_ctr++;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
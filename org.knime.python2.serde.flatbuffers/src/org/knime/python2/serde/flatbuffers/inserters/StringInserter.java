@@ -48,7 +48,10 @@
  */
 package org.knime.python2.serde.flatbuffers.inserters;
 
+import java.nio.charset.StandardCharsets;
+
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.serde.flatbuffers.flatc.Column;
 import org.knime.python2.serde.flatbuffers.flatc.StringColumn;
@@ -89,6 +92,24 @@ public void put(final Cell cell) {
         m_ctr++;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(final ColumnBatch batch, final int columnIndex) {
+        final int[] offsets = batch.getOffsets(columnIndex);
+        final byte[] data = batch.getData(columnIndex);
+        for (int r = 0; r < batch.getNumberRows(); r++) {
+            if (batch.isMissing(columnIndex, r)) {
+                m_missings[m_ctr] = true;
+                m_values[m_ctr] = "";
+            } else {
+                m_values[m_ctr] = new String(data, offsets[r], offsets[r + 1] - offsets[r], StandardCharsets.UTF_8);
+            }
+            m_ctr++;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
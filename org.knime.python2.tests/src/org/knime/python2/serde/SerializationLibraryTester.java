@@ -46,6 +46,9 @@
  */
 package org.knime.python2.serde;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.knime.python2.serde.SerializationTestUtil.DEFAULT_SERIALIZATION_OPTIONS;
 import static org.knime.python2.serde.SerializationTestUtil.DEFAULT_TABLE_MISSING_CELL_RATIO;
 import static org.knime.python2.serde.SerializationTestUtil.DEFAULT_TABLE_SIZE;
@@ -53,10 +56,24 @@
 import static org.knime.python2.serde.SerializationTestUtil.assertTableSpecEquals;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataValue;
+import org.knime.core.data.time.duration.DurationCellFactory;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.python.typeextension.KnimeToPythonExtensions;
+import org.knime.python.typeextension.PythonToKnimeExtensions;
+import org.knime.python.typeextension.Serializer;
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtension;
 import org.knime.python2.extensions.serializationlibrary.SerializationLibraryExtensions;
@@ -65,6 +82,7 @@
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibrary;
 import org.knime.python2.extensions.serializationlibrary.interfaces.SerializationLibraryFactory;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreatorFactory;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
@@ -74,6 +92,7 @@
 import org.knime.python2.kernel.PythonCanceledExecutionException;
 import org.knime.python2.kernel.PythonKernel;
 import org.knime.python2.kernel.PythonKernelOptions;
+import org.knime.python2.serde.SerializationTestUtil.ColumnarRowListCreatorFactory;
 import org.knime.python2.serde.SerializationTestUtil.RowListCreator;
 import org.knime.python2.serde.SerializationTestUtil.RowListCreatorFactory;
 import org.knime.python2.serde.SerializationTestUtil.RowListIterator;
@@ -87,6 +106,12 @@ public final class SerializationLibraryTester {
 
 	private static final String DEFAULT_TABLE_NAME = "test_table";
 
+	private static final float COLLECTION_MISSING_CELL_RATIO = 0.1f;
+
+	private static final float COLLECTION_MISSING_ELEMENT_RATIO = 0.2f;
+
+	private static final int LOW_CARDINALITY_TABLE_SIZE = 1000;
+
 	private final SerializationLibraryExtension m_serializationLibraryExtension;
 
 	private final SerializationLibrary m_serializer;
@@ -134,6 +159,258 @@ public void testIntOnlineSerializationDeserializationIdentity() throws IOExcepti
 		testOnlineSerializationDeserializationIdentity(table);
 	}
 
+	/**
+	 * Tests Java side and Python side for the built-in local date, local date&time, and duration type extensions,
+	 * both for row-wise and for columnar deserialization on Java side. Since the representation of a value may differ
+	 * between the two directions of the transfer, the values are compared after deserializing them into KNIME cells.
+	 *
+	 * @throws IOException If any error occurred while communicating with Python. This includes errors during
+	 *             (de)serialization.
+	 */
+	public void testTemporalOnlineSerializationDeserializationIdentity() throws IOException {
+		final TestTable table = createDefaultTemporalTable();
+		testOnlineExtensionSerializationDeserializationIdentity(table, new RowListCreatorFactory());
+		testOnlineExtensionSerializationDeserializationIdentity(table, new ColumnarRowListCreatorFactory());
+	}
+
+	/**
+	 * Tests Java side and Python side for the built-in byte vector type extension. All byte vectors have the same
+	 * length, which must not make the column-level deserialization on Python side produce a two-dimensional array.
+	 * Python sends the deserialized byte arrays back as raw bytes.
+	 *
+	 * @throws IOException If any error occurred while communicating with Python. This includes errors during
+	 *             (de)serialization.
+	 */
+	public void testByteVectorOnlineSerializationDeserializationIdentity() throws IOException {
+		final String name = "bytevector";
+		final Map<String, String> serializers = new HashMap<>();
+		serializers.put(name, "org.knime.bytevector");
+		final TableSpec spec = new TableSpecImpl(new Type[] { Type.BYTES }, new String[] { name }, serializers);
+		final Row[] rows = new Row[DEFAULT_TABLE_SIZE];
+		for (int i = 0; i < rows.length; i++) {
+			final Row row = new RowImpl("Row" + i, 1);
+			if (i > 0 && m_util.getMissingDecision(DEFAULT_TABLE_MISSING_CELL_RATIO)) {
+				row.setCell(new CellImpl(), 0);
+			} else {
+				final byte[] bytes = new byte[8];
+				m_util.m_random.nextBytes(bytes);
+				row.setCell(new CellImpl(bytes), 0);
+			}
+			rows[i] = row;
+		}
+		try (@SuppressWarnings("deprecation")
+		PythonKernel kernel = new PythonKernel(createConfiguredKernelOptions(new PythonKernelOptions()))) {
+			kernel.putData(DEFAULT_TABLE_NAME, new SingleChunkTableChunker(new RowListIterator(spec, rows)),
+					rows.length, PythonCancelable.NOT_CANCELABLE);
+
+			@SuppressWarnings("unchecked")
+			final TableCreator<List<Row>> creator = (TableCreator<List<Row>>) kernel.getData(DEFAULT_TABLE_NAME,
+					new RowListCreatorFactory(), PythonCancelable.NOT_CANCELABLE);
+
+			final TableSpec deserializedSpec = creator.getTableSpec();
+			assertArrayEquals(spec.getColumnNames(), deserializedSpec.getColumnNames());
+			assertArrayEquals(spec.getColumnTypes(), deserializedSpec.getColumnTypes());
+
+			final List<Row> deserializedTable = creator.getTable();
+			assertEquals(rows.length, deserializedTable.size());
+			for (int i = 0; i < rows.length; i++) {
+				final Cell expected = rows[i].getCell(0);
+				final Cell actual = deserializedTable.get(i).getCell(0);
+				assertEquals(rows[i].getRowKey(), deserializedTable.get(i).getRowKey());
+				assertEquals("Row " + i, expected.isMissing(), actual.isMissing());
+				if (!expected.isMissing()) {
+					assertArrayEquals("Row " + i, expected.getBytesValue(), actual.getBytesValue());
+				}
+			}
+		} catch (final PythonCanceledExecutionException ex) {
+			// Cannot happen, we pass non-cancelables above.
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Tests that row keys survive a chunked transfer from Python to Java, both for row-wise and for columnar
+	 * deserialization on Java side. The table is retrieved in chunks whose first rows have non-zero offsets. Some of
+	 * the chunks contain a mix of default row keys (integer index values that are equal to their row numbers, which
+	 * are transferred in a compact way) and explicit row keys, the remaining chunks only contain default row keys.
+	 *
+	 * @throws IOException If any error occurred while communicating with Python. This includes errors during
+	 *             (de)serialization.
+	 */
+	public void testChunkedRowKeysOnlineSerializationDeserializationIdentity() throws IOException {
+		final TestTable table = createDefaultIntTable();
+		final int chunkSize = 7;
+		final int lastExplicitRow = DEFAULT_TABLE_SIZE / 2;
+		final PythonKernelOptions options = createConfiguredKernelOptions(new PythonKernelOptions());
+		final PythonKernelOptions chunkedOptions = options
+				.forSerializationOptions(options.getSerializationOptions().forChunkSize(chunkSize));
+		for (final TableCreatorFactory creatorFactory : new TableCreatorFactory[] { new RowListCreatorFactory(),
+				new ColumnarRowListCreatorFactory() }) {
+			try (@SuppressWarnings("deprecation")
+			PythonKernel kernel = new PythonKernel(chunkedOptions)) {
+				kernel.putData(DEFAULT_TABLE_NAME,
+						new SingleChunkTableChunker(new RowListIterator(table.m_spec, table.m_rows)),
+						table.m_rows.length, PythonCancelable.NOT_CANCELABLE);
+				kernel.execute(DEFAULT_TABLE_NAME + ".index = [('key' + str(i)) if i % 3 == 0 and i < "
+						+ lastExplicitRow + " else i for i in range(len(" + DEFAULT_TABLE_NAME + "))]");
+
+				@SuppressWarnings("unchecked")
+				final TableCreator<List<Row>> creator = (TableCreator<List<Row>>) kernel.getData(DEFAULT_TABLE_NAME,
+						creatorFactory, PythonCancelable.NOT_CANCELABLE);
+				final List<Row> deserializedTable = creator.getTable();
+				assertEquals(table.m_rows.length, deserializedTable.size());
+				for (int i = 0; i < table.m_rows.length; i++) {
+					final String expectedRowKey = i % 3 == 0 && i < lastExplicitRow ? "key" + i : "Row" + i;
+					assertEquals(expectedRowKey, deserializedTable.get(i).getRowKey());
+				}
+			} catch (final PythonCanceledExecutionException ex) {
+				// Cannot happen, we pass non-cancelables above.
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Tests Java side and Python side for integer, long, double, and float lists and sets that contain missing
+	 * elements, both for row-wise and for columnar deserialization on Java side. Some of the collection cells are
+	 * missing as a whole. Python does not preserve the order of set elements, so sets are compared as such.
+	 *
+	 * @throws IOException If any error occurred while communicating with Python. This includes errors during
+	 *             (de)serialization.
+	 */
+	public void testCollectionsWithMissingElementsOnlineSerializationDeserializationIdentity() throws IOException {
+		final TestTable table = createCollectionsWithMissingElementsTable();
+		final TableSpec spec = table.m_spec;
+		final Type[] types = spec.getColumnTypes();
+		for (final TableCreatorFactory creatorFactory : new TableCreatorFactory[] { new RowListCreatorFactory(),
+				new ColumnarRowListCreatorFactory() }) {
+			try (@SuppressWarnings("deprecation")
+			PythonKernel kernel = new PythonKernel(createConfiguredKernelOptions(new PythonKernelOptions()))) {
+				kernel.putData(DEFAULT_TABLE_NAME,
+						new SingleChunkTableChunker(new RowListIterator(spec, table.m_rows)), table.m_rows.length,
+						PythonCancelable.NOT_CANCELABLE);
+
+				@SuppressWarnings("unchecked")
+				final TableCreator<List<Row>> creator = (TableCreator<List<Row>>) kernel.getData(DEFAULT_TABLE_NAME,
+						creatorFactory, PythonCancelable.NOT_CANCELABLE);
+				final TableSpec deserializedSpec = creator.getTableSpec();
+				assertArrayEquals(spec.getColumnNames(), deserializedSpec.getColumnNames());
+				assertArrayEquals(types, deserializedSpec.getColumnTypes());
+
+				final List<Row> deserializedTable = creator.getTable();
+				assertEquals(table.m_rows.length, deserializedTable.size());
+				for (int i = 0; i < table.m_rows.length; i++) {
+					for (int j = 0; j < types.length; j++) {
+						final String message = "Cell (" + i + ", " + j + ")";
+						final Cell expected = table.m_rows[i].getCell(j);
+						final Cell actual = deserializedTable.get(i).getCell(j);
+						assertCellValueEquals(message, expected, actual, types[j]);
+					}
+				}
+			} catch (final PythonCanceledExecutionException ex) {
+				// Cannot happen, we pass non-cancelables above.
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
+	/**
+	 * Tests Java side and Python side for several input tables of a single kernel, as they are sent by a node with
+	 * multiple input ports. The tables have different columns and are put concurrently such that they are deserialized
+	 * concurrently on Python side. Each table is retrieved afterwards and compared to its original.
+	 *
+	 * @throws Exception If any error occurred while communicating with Python. This includes errors during
+	 *             (de)serialization.
+	 */
+	public void testMultipleInputTablesOnlineSerializationDeserializationIdentity() throws Exception {
+		final TestTable[] tables = new TestTable[] { createDefaultIntTable(),
+				createCollectionsWithMissingElementsTable(), createDefaultIntTable() };
+		final ExecutorService executor = Executors.newFixedThreadPool(tables.length);
+		try (@SuppressWarnings("deprecation")
+		PythonKernel kernel = new PythonKernel(createConfiguredKernelOptions(new PythonKernelOptions()))) {
+			final List<Future<?>> puts = new ArrayList<>(tables.length);
+			for (int t = 0; t < tables.length; t++) {
+				final TestTable table = tables[t];
+				final String name = DEFAULT_TABLE_NAME + "_" + t;
+				puts.add(executor.submit(() -> {
+					kernel.putData(name, new SingleChunkTableChunker(new RowListIterator(table.m_spec, table.m_rows)),
+							table.m_rows.length, PythonCancelable.NOT_CANCELABLE);
+					return null;
+				}));
+			}
+			for (final Future<?> put : puts) {
+				put.get();
+			}
+
+			for (int t = 0; t < tables.length; t++) {
+				final TestTable table = tables[t];
+				final Type[] types = table.m_spec.getColumnTypes();
+				@SuppressWarnings("unchecked")
+				final TableCreator<List<Row>> creator = (TableCreator<List<Row>>) kernel.getData(
+						DEFAULT_TABLE_NAME + "_" + t, new RowListCreatorFactory(), PythonCancelable.NOT_CANCELABLE);
+				assertTableSpecEquals(table.m_spec, creator.getTableSpec());
+				final List<Row> deserializedTable = creator.getTable();
+				assertEquals(table.m_rows.length, deserializedTable.size());
+				for (int i = 0; i < table.m_rows.length; i++) {
+					assertEquals(table.m_rows[i].getRowKey(), deserializedTable.get(i).getRowKey());
+					for (int j = 0; j < types.length; j++) {
+						assertCellValueEquals("Table " + t + ", cell (" + i + ", " + j + ")",
+								table.m_rows[i].getCell(j), deserializedTable.get(i).getCell(j), types[j]);
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Tests Java side and Python side for a string column with few distinct values, once with dictionary encoding
+	 * enabled and once with it disabled. The column must arrive as categorical column on Python side if and only if
+	 * dictionary encoding is enabled. It is turned into a categorical column on Python side before being sent back
+	 * such that the transfer from Python to Java has to obey the option, too.
+	 *
+	 * @throws IOException If any error occurred while communicating with Python. This includes errors during
+	 *             (de)serialization.
+	 */
+	public void testDictionaryEncodingOnlineSerializationDeserializationIdentity() throws IOException {
+		final TestTable table = createLowCardinalityStringTable();
+		final PythonKernelOptions options = createConfiguredKernelOptions(new PythonKernelOptions());
+		for (final boolean useDictionaryEncoding : new boolean[] { true, false }) {
+			final PythonKernelOptions dictionaryOptions = options.forSerializationOptions(
+					options.getSerializationOptions().forUseDictionaryEncoding(useDictionaryEncoding));
+			try (@SuppressWarnings("deprecation")
+			PythonKernel kernel = new PythonKernel(dictionaryOptions)) {
+				kernel.putData(DEFAULT_TABLE_NAME,
+						new SingleChunkTableChunker(new RowListIterator(table.m_spec, table.m_rows)),
+						table.m_rows.length, PythonCancelable.NOT_CANCELABLE);
+				final String column = DEFAULT_TABLE_NAME + "['category']";
+				final String dtype = kernel.execute("print(" + column + ".dtype)")[0].trim();
+				assertEquals(useDictionaryEncoding ? "category" : "object", dtype);
+				kernel.execute(column + " = " + column + ".astype('category')");
+
+				@SuppressWarnings("unchecked")
+				final TableCreator<List<Row>> creator = (TableCreator<List<Row>>) kernel.getData(DEFAULT_TABLE_NAME,
+						new RowListCreatorFactory(), PythonCancelable.NOT_CANCELABLE);
+				assertTableSpecEquals(table.m_spec, creator.getTableSpec());
+				final List<Row> deserializedTable = creator.getTable();
+				assertEquals(table.m_rows.length, deserializedTable.size());
+				for (int i = 0; i < table.m_rows.length; i++) {
+					final Cell expected = table.m_rows[i].getCell(0);
+					final Cell actual = deserializedTable.get(i).getCell(0);
+					assertEquals(table.m_rows[i].getRowKey(), deserializedTable.get(i).getRowKey());
+					assertEquals("Row " + i, expected.isMissing(), actual.isMissing());
+					if (!expected.isMissing()) {
+						assertEquals("Row " + i, expected.getStringValue(), actual.getStringValue());
+					}
+				}
+			} catch (final PythonCanceledExecutionException ex) {
+				// Cannot happen, we pass non-cancelables above.
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+
 	// Helpers:
 
 	private TestTable createDefaultIntTable() {
@@ -171,6 +448,195 @@ private TestTable createDefaultIntTable() {
 		return new TestTable(rows, spec);
 	}
 
+	/**
+	 * Creates a table with a single string column whose values repeat often enough to be dictionary-encoded. The table
+	 * is larger than the default table since dictionary encoding is only considered for columns with many rows.
+	 */
+	private TestTable createLowCardinalityStringTable() {
+		final TableSpecImpl spec = new TableSpecImpl(new Type[] { Type.STRING }, new String[] { "category" },
+				new HashMap<>());
+		final Row[] rows = new Row[LOW_CARDINALITY_TABLE_SIZE];
+		for (int i = 0; i < rows.length; i++) {
+			final Row row = new RowImpl("Row" + i, 1);
+			// Keep the first row complete such that the type of the column can be inferred on Python side.
+			if (i > 0 && m_util.getMissingDecision(DEFAULT_TABLE_MISSING_CELL_RATIO)) {
+				row.setCell(new CellImpl(), 0);
+			} else {
+				row.setCell(new CellImpl("value" + (i % 5)), 0);
+			}
+			rows[i] = row;
+		}
+		return new TestTable(rows, spec);
+	}
+
+	private TestTable createCollectionsWithMissingElementsTable() {
+		final Type[] types = new Type[] { Type.INTEGER_LIST, Type.INTEGER_SET, Type.LONG_LIST, Type.LONG_SET,
+				Type.DOUBLE_LIST, Type.DOUBLE_SET, Type.FLOAT_LIST, Type.FLOAT_SET };
+		final String[] names = new String[types.length];
+		for (int j = 0; j < types.length; j++) {
+			names[j] = types[j].toString().toLowerCase();
+		}
+		final TableSpecImpl spec = new TableSpecImpl(types, names, new HashMap<>());
+		final Row[] rows = new Row[DEFAULT_TABLE_SIZE];
+		for (int i = 0; i < rows.length; i++) {
+			final Row row = new RowImpl("Row" + i, types.length);
+			for (int j = 0; j < types.length; j++) {
+				final int numberOfElements = m_util.getRandomNumberOfCollectionElements();
+				Cell cell;
+				// Keep the first row complete such that the types of the columns can be inferred on Python side.
+				if (i > 0 && m_util.getMissingDecision(COLLECTION_MISSING_CELL_RATIO)) {
+					cell = new CellImpl();
+				} else {
+					switch (types[j]) {
+					case INTEGER_LIST:
+						cell = m_util.createRandomIntListCell(numberOfElements, COLLECTION_MISSING_ELEMENT_RATIO);
+						break;
+					case INTEGER_SET:
+						cell = m_util.createRandomIntSetCell(numberOfElements, COLLECTION_MISSING_ELEMENT_RATIO);
+						break;
+					case LONG_LIST:
+						cell = m_util.createRandomLongListCell(numberOfElements, COLLECTION_MISSING_ELEMENT_RATIO);
+						break;
+					case LONG_SET:
+						cell = m_util.createRandomLongSetCell(numberOfElements, COLLECTION_MISSING_ELEMENT_RATIO);
+						break;
+					case DOUBLE_LIST:
+						cell = m_util.createRandomDoubleListCell(numberOfElements, COLLECTION_MISSING_ELEMENT_RATIO);
+						break;
+					case DOUBLE_SET:
+						cell = m_util.createRandomDoubleSetCell(numberOfElements, COLLECTION_MISSING_ELEMENT_RATIO);
+						break;
+					case FLOAT_LIST:
+						cell = m_util.createRandomFloatListCell(numberOfElements, COLLECTION_MISSING_ELEMENT_RATIO);
+						break;
+					case FLOAT_SET:
+						cell = m_util.createRandomFloatSetCell(numberOfElements, COLLECTION_MISSING_ELEMENT_RATIO);
+						break;
+					default:
+						throw new IllegalStateException("Implementation error.");
+					}
+				}
+				row.setCell(cell, j);
+			}
+			rows[i] = row;
+		}
+		return new TestTable(rows, spec);
+	}
+
+	/**
+	 * Compares the values of the given integer or numeric collection cells. Missing list elements are compared by
+	 * their positions, sets are compared without regard to the order of their elements.
+	 */
+	private static void assertCellValueEquals(final String message, final Cell expected, final Cell actual,
+			final Type type) {
+		assertEquals(message, expected.isMissing(), actual.isMissing());
+		if (expected.isMissing()) {
+			return;
+		}
+		if (type == Type.INTEGER) {
+			assertEquals(message, expected.getIntegerValue(), actual.getIntegerValue());
+			return;
+		}
+		final List<Object> expectedElements = getCollectionElements(expected, type);
+		final List<Object> actualElements = getCollectionElements(actual, type);
+		if (isSetType(type)) {
+			assertEquals(message, new HashSet<>(expectedElements), new HashSet<>(actualElements));
+			assertEquals(message, expected.hasMissingInSet(), actual.hasMissingInSet());
+		} else {
+			assertEquals(message, expectedElements.size(), actualElements.size());
+			for (int k = 0; k < expectedElements.size(); k++) {
+				assertEquals(message + ", element " + k, expected.isMissing(k), actual.isMissing(k));
+				if (!expected.isMissing(k)) {
+					assertEquals(message + ", element " + k, expectedElements.get(k), actualElements.get(k));
+				}
+			}
+		}
+	}
+
+	private static boolean isSetType(final Type type) {
+		return type == Type.INTEGER_SET || type == Type.LONG_SET || type == Type.DOUBLE_SET || type == Type.FLOAT_SET;
+	}
+
+	/**
+	 * @return the elements of the given collection cell, including the placeholders of missing list elements
+	 */
+	private static List<Object> getCollectionElements(final Cell cell, final Type type) {
+		final List<Object> elements = new ArrayList<>();
+		switch (type) {
+		case INTEGER_LIST:
+		case INTEGER_SET:
+			for (final int element : cell.getIntegerArrayValue()) {
+				elements.add(element);
+			}
+			break;
+		case LONG_LIST:
+		case LONG_SET:
+			for (final long element : cell.getLongArrayValue()) {
+				elements.add(element);
+			}
+			break;
+		case DOUBLE_LIST:
+		case DOUBLE_SET:
+			for (final double element : cell.getDoubleArrayValue()) {
+				elements.add(element);
+			}
+			break;
+		case FLOAT_LIST:
+		case FLOAT_SET:
+			for (final float element : cell.getFloatArrayValue()) {
+				elements.add(element);
+			}
+			break;
+		default:
+			throw new IllegalStateException("Implementation error.");
+		}
+		return elements;
+	}
+
+	private TestTable createDefaultTemporalTable() {
+		final String[] names = new String[] { "localdate", "localdatetime", "duration" };
+		final String[] extensionIds = new String[] { "org.knime.localdate", "org.knime.datetime2", "org.knime.duration" };
+		final Type[] types = new Type[] { Type.BYTES, Type.BYTES, Type.BYTES };
+		final Map<String, String> serializers = new HashMap<>();
+		for (int j = 0; j < names.length; j++) {
+			serializers.put(names[j], extensionIds[j]);
+		}
+		final TableSpecImpl spec = new TableSpecImpl(types, names, serializers);
+		final KnimeToPythonExtensions extensions = new KnimeToPythonExtensions();
+		final Row[] rows = new Row[DEFAULT_TABLE_SIZE];
+		final DataCell[][] cells = new DataCell[DEFAULT_TABLE_SIZE][];
+		for (int i = 0; i < rows.length; i++) {
+			final Row row = new RowImpl("Row" + i, names.length);
+			cells[i] = new DataCell[names.length];
+			for (int j = 0; j < names.length; j++) {
+				if (i > 0 && m_util.getMissingDecision(0.1f)) {
+					row.setCell(new CellImpl(), j);
+				} else {
+					switch (j) {
+					case 0:
+						cells[i][j] = LocalDateCellFactory.create(m_util.createRandomLocalDate());
+						break;
+					case 1:
+						cells[i][j] = LocalDateTimeCellFactory.create(m_util.createRandomLocalDateTime());
+						break;
+					default:
+						cells[i][j] = DurationCellFactory.create(m_util.createRandomDuration());
+					}
+					@SuppressWarnings("unchecked")
+					final Serializer<DataValue> serializer = (Serializer<DataValue>) extensions
+							.getSerializer(extensionIds[j]);
+					try {
+						row.setCell(new CellImpl(serializer.serialize(cells[i][j])), j);
+					} catch (final IOException ex) {
+						throw new IllegalStateException(ex);
+					}
+				}
+			}
+			rows[i] = row;
+		}
+		return new TestTable(rows, spec, cells);
+	}
+
 	private void testOfflineSerializationDeserializationIdentity(final TestTable testTable)
 			throws SerializationException {
 		final TableSpec originalSpec = testTable.m_spec;
@@ -217,6 +683,51 @@ private void testOnlineSerializationDeserializationIdentity(final TestTable test
 		}
 	}
 
+	private void testOnlineExtensionSerializationDeserializationIdentity(final TestTable testTable,
+			final TableCreatorFactory creatorFactory) throws IOException {
+		final TableSpec originalSpec = testTable.m_spec;
+		final Row[] originalRows = testTable.m_rows;
+		try (@SuppressWarnings("deprecation")
+		PythonKernel kernel = new PythonKernel(createConfiguredKernelOptions(new PythonKernelOptions()))) {
+			kernel.putData(DEFAULT_TABLE_NAME,
+					new SingleChunkTableChunker(new RowListIterator(originalSpec, originalRows)), originalRows.length,
+					PythonCancelable.NOT_CANCELABLE);
+
+			@SuppressWarnings("unchecked")
+			final TableCreator<List<Row>> creator = (TableCreator<List<Row>>) kernel.getData(DEFAULT_TABLE_NAME,
+					creatorFactory, PythonCancelable.NOT_CANCELABLE);
+
+			// Python may pick a different extension for a type (e.g., pandas.Timestamp instead of datetime), so only
+			// names and types of the columns are required to be equal.
+			final TableSpec deserializedSpec = creator.getTableSpec();
+			assertArrayEquals(originalSpec.getColumnNames(), deserializedSpec.getColumnNames());
+			assertArrayEquals(originalSpec.getColumnTypes(), deserializedSpec.getColumnTypes());
+
+			final List<Row> deserializedTable = creator.getTable();
+			assertEquals(originalRows.length, deserializedTable.size());
+			final PythonToKnimeExtensions extensions = new PythonToKnimeExtensions();
+			final String[] names = deserializedSpec.getColumnNames();
+			for (int i = 0; i < originalRows.length; i++) {
+				final Row deserializedRow = deserializedTable.get(i);
+				assertEquals(originalRows[i].getRowKey(), deserializedRow.getRowKey());
+				for (int j = 0; j < names.length; j++) {
+					final Cell cell = deserializedRow.getCell(j);
+					final DataCell expected = testTable.m_cells[i][j];
+					if (expected == null) {
+						assertTrue("Cell (" + i + ", " + j + ") should be missing.", cell.isMissing());
+					} else {
+						final String serializerId = deserializedSpec.getColumnSerializers().get(names[j]);
+						assertEquals("Cell (" + i + ", " + j + ")", expected,
+								extensions.getDeserializer(serializerId).deserialize(cell.getBytesValue(), null));
+					}
+				}
+			}
+		} catch (final PythonCanceledExecutionException ex) {
+			// Cannot happen, we pass non-cancelables above.
+			throw new IllegalStateException(ex);
+		}
+	}
+
 	private PythonKernelOptions createConfiguredKernelOptions(final PythonKernelOptions options) {
 		return options.forSerializationOptions(
 				options.getSerializationOptions().forSerializerId(m_serializationLibraryExtension.getId()));
@@ -228,9 +739,17 @@ private class TestTable {
 
 		private final TableSpec m_spec;
 
+		/** The KNIME cells the rows of an extension type table were serialized from, {@code null} if missing. */
+		private final DataCell[][] m_cells;
+
 		private TestTable(final Row[] rows, final TableSpec spec) {
+			this(rows, spec, null);
+		}
+
+		private TestTable(final Row[] rows, final TableSpec spec, final DataCell[][] cells) {
 			m_rows = rows;
 			m_spec = spec;
+			m_cells = cells;
 		}
 	}
 }
@@ -49,6 +49,10 @@
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -59,6 +63,8 @@
 
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableCreator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableChunker;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
@@ -66,6 +72,7 @@
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
 import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import org.knime.python2.extensions.serializationlibrary.interfaces.impl.RowImpl;
 
 /**
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
@@ -85,6 +92,12 @@ public final class SerializationTestUtil {
 
 	public static final long DEFAULT_RANDOM_SEED = 1234567;
 
+	/**
+	 * Bound of the random date&time values in seconds around the epoch. Chosen such that the values are in the range
+	 * of pandas' nanosecond-based timestamps (years 1677 to 2262).
+	 */
+	public static final long DEFAULT_MAX_EPOCH_SECONDS = 5_000_000_000L;
+
 	// Static utilities for test setup:
 
 	public static byte[] createMissingsVector(final int numberOfElements) {
@@ -215,6 +228,38 @@ public List<Row> getTable() {
 		}
 	}
 
+	public static class ColumnarRowListCreatorFactory implements TableCreatorFactory {
+
+		@Override
+		public TableCreator<?> createTableCreator(final TableSpec spec, final int tableSize) {
+			return new ColumnarRowListCreator(spec, tableSize);
+		}
+	}
+
+	/**
+	 * Collects the rows of the {@link ColumnBatch batches} handed over by a serialization library that supports
+	 * columnar deserialization.
+	 */
+	public static class ColumnarRowListCreator extends RowListCreator implements ColumnarTableCreator<List<Row>> {
+
+		public ColumnarRowListCreator(final TableSpec spec, final int tableSize) {
+			super(spec, tableSize);
+		}
+
+		@Override
+		public void addBatch(final ColumnBatch batch) {
+			final String[] rowKeys = batch.getRowKeys();
+			final int numberOfColumns = getTableSpec().getNumberColumns();
+			for (int i = 0; i < batch.getNumberRows(); i++) {
+				final Row row = new RowImpl(rowKeys[i], numberOfColumns);
+				for (int j = 0; j < numberOfColumns; j++) {
+					row.setCell(batch.getCell(j, i), j);
+				}
+				addRow(row);
+			}
+		}
+	}
+
 	// Static utilities for assertions:
 
 	public static void assertTableSpecEquals(final TableSpec expected, final TableSpec actual) {
@@ -284,6 +329,30 @@ public Cell createRandomIntCell() {
 		return new CellImpl(createRandomInt());
 	}
 
+	public LocalDate createRandomLocalDate() {
+		return LocalDate.ofEpochDay(createRandomEpochSeconds() / 86400);
+	}
+
+	public LocalDateTime createRandomLocalDateTime() {
+		return LocalDateTime.ofEpochSecond(createRandomEpochSeconds(), createRandomNanosOfSecond(), ZoneOffset.UTC);
+	}
+
+	public Duration createRandomDuration() {
+		return Duration.ofSeconds(createRandomEpochSeconds(), createRandomNanosOfSecond());
+	}
+
+	private long createRandomEpochSeconds() {
+		return (long) ((m_random.nextDouble() * 2 - 1) * DEFAULT_MAX_EPOCH_SECONDS);
+	}
+
+	/**
+	 * @return a random fraction of a second in microsecond precision, which is the precision of the date&time values
+	 *         transferred between Java and Python
+	 */
+	private int createRandomNanosOfSecond() {
+		return m_random.nextInt(1_000_000) * 1_000;
+	}
+
 	public int getRandomNumberOfCollectionElements() {
 		return m_random.nextInt(DEFAULT_MAX_NUM_COLLECTION_ELEMENTS - DEFAULT_MIN_NUM_COLLECTION_ELEMENTS)
 				+ DEFAULT_MIN_NUM_COLLECTION_ELEMENTS;
@@ -310,4 +379,70 @@ public Cell createRandomIntSetCell(final int numberOfElements, final float missi
 		}
 		return new CellImpl(elements, hasMissingElement);
 	}
+
+	public Cell createRandomLongListCell(final int numberOfElements, final float missingElementProbability) {
+		final long[] elements = new long[numberOfElements];
+		final byte[] missings = createMissingsVector(numberOfElements);
+		for (int i = 0; i < numberOfElements; i++) {
+			if (!getMissingDecision(missingElementProbability)) {
+				elements[i] = m_random.nextLong();
+				populateMissingsVectorIndex(missings, i);
+			}
+		}
+		return new CellImpl(elements, missings);
+	}
+
+	public Cell createRandomLongSetCell(final int numberOfElements, final float missingElementProbability) {
+		final boolean hasMissingElement = getMissingDecision(missingElementProbability);
+		final int numberOfNonMissingElements = hasMissingElement ? numberOfElements - 1 : numberOfElements;
+		final long[] elements = new long[numberOfNonMissingElements];
+		for (int i = 0; i < numberOfNonMissingElements; i++) {
+			elements[i] = m_random.nextLong();
+		}
+		return new CellImpl(elements, hasMissingElement);
+	}
+
+	public Cell createRandomDoubleListCell(final int numberOfElements, final float missingElementProbability) {
+		final double[] elements = new double[numberOfElements];
+		final byte[] missings = createMissingsVector(numberOfElements);
+		for (int i = 0; i < numberOfElements; i++) {
+			if (!getMissingDecision(missingElementProbability)) {
+				elements[i] = m_random.nextDouble();
+				populateMissingsVectorIndex(missings, i);
+			}
+		}
+		return new CellImpl(elements, missings);
+	}
+
+	public Cell createRandomDoubleSetCell(final int numberOfElements, final float missingElementProbability) {
+		final boolean hasMissingElement = getMissingDecision(missingElementProbability);
+		final int numberOfNonMissingElements = hasMissingElement ? numberOfElements - 1 : numberOfElements;
+		final double[] elements = new double[numberOfNonMissingElements];
+		for (int i = 0; i < numberOfNonMissingElements; i++) {
+			elements[i] = m_random.nextDouble();
+		}
+		return new CellImpl(elements, hasMissingElement);
+	}
+
+	public Cell createRandomFloatListCell(final int numberOfElements, final float missingElementProbability) {
+		final float[] elements = new float[numberOfElements];
+		final byte[] missings = createMissingsVector(numberOfElements);
+		for (int i = 0; i < numberOfElements; i++) {
+			if (!getMissingDecision(missingElementProbability)) {
+				elements[i] = m_random.nextFloat();
+				populateMissingsVectorIndex(missings, i);
+			}
+		}
+		return new CellImpl(elements, missings);
+	}
+
+	public Cell createRandomFloatSetCell(final int numberOfElements, final float missingElementProbability) {
+		final boolean hasMissingElement = getMissingDecision(missingElementProbability);
+		final int numberOfNonMissingElements = hasMissingElement ? numberOfElements - 1 : numberOfElements;
+		final float[] elements = new float[numberOfNonMissingElements];
+		for (int i = 0; i < numberOfNonMissingElements; i++) {
+			elements[i] = m_random.nextFloat();
+		}
+		return new CellImpl(elements, hasMissingElement);
+	}
 }
@@ -54,44 +54,64 @@ import warnings
 import numpy
 from pandas import DataFrame
 from pandas import Index
+from pandas import MultiIndex
+from pandas import RangeIndex
 
 from PythonUtils import Simpletype
 from UniqueNameGenerator import UniqueNameGenerator
 
 
-# Wrapper class for data that should be serialized using the serialization library.
-# Manages the serialization of extension types to bytes before using the
-# registered serialization library for serializing primitive types.
-# TODO: This constructor is called once per chunk at the moment, which is not necessary. Calling it once for the entire
-#  table and then just performing the actual serialization in a chunked fashion should be more performant.
-class FromPandasTable:
+# Create the KNIME default row keys 'Row<offset>', ..., 'Row<offset + num_rows - 1>'.
+# @param offset    the number of the first row key
+# @param num_rows  the number of row keys to create
+# @return a pandas Index containing the row keys
+def default_row_keys(offset, num_rows):
+    return u'Row' + Index(numpy.arange(offset, offset + num_rows)).astype(str)
+
+
+# Determine which entries of the given index are default numeric indices, i.e. integers that are equal to the
+# number of their row.
+# @param index             the index of a data frame
+# @param start_row_number  the corresponding row number to the first row of the index
+# @return a boolean numpy array that is True for each default entry
+def _default_index_mask(index, start_row_number):
+    num_rows = len(index)
+    positions = numpy.arange(start_row_number, start_row_number + num_rows)
+    if isinstance(index, RangeIndex):
+        return index.values == positions
+    elif index.dtype == object and index.inferred_type in ('integer', 'mixed-integer'):
+        # Python ints in a generic index. Only these qualify (not e.g. numpy integers), see _standardize_index.
+        return numpy.fromiter((type(v) == int and v == p for v, p in zip(index, positions)), dtype=bool,
+                              count=num_rows)
+    else:
+        return numpy.zeros(num_rows, dtype=bool)
+
+
+# Prepares the serialization of an entire data frame that is sent in chunks.
+# Everything that depends on the entire table rather than on a single chunk (index validation, column name
+# uniquing, type inference and the lookup of the serializers of extension types) is done once when the session is
+# created. Chunks are then created via create_chunk and share the prepared state.
+class FromPandasTableSession:
     # Constructor.
-    # Serializes objects having a type that is registered via the knimetopython
-    # extension point to a bytes representation and adjusts the dataframe index
-    # to reflect KNIME standard row indexing if necessary.
-    # @param data_frame        a pandas DataFrame containing the table to serialize
-    # @param serializer        the serializer
-    # @param start_row_number  the corresponding row number to the first row of the
-    #                          dataframe. Differs from 0 as soon as a table chunk is
-    #                          sent.
-    def __init__(self, data_frame, serializer, start_row_number=0):
-        # (Shallow) Copy because we modify columns and index (see below).
+    # @param data_frame  a pandas DataFrame containing the table to serialize
+    # @param serializer  the serializer
+    def __init__(self, data_frame, serializer):
+        self._source_data_frame = data_frame
+        FromPandasTableSession._check_index(data_frame.index)
+        # (Shallow) Copy because we modify columns (see below).
         self._data_frame = data_frame.copy(deep=False)
-        self._standardize_index(start_row_number)
         self._standardize_column_names()
+        self._serializer = serializer
         self._setup_serializers(serializer)
-        serializer.serialize_objects_to_bytes(self._data_frame, self._column_serializers)
+
+    # The data frame this session was created for.
+    @property
+    def data_frame(self):
+        return self._source_data_frame
 
     # Checks and fails if the index contains duplicate entries.
-    # Replaces default numeric indices with the KNIME standard row indices.
-    # This means that if an index value is equal to the numeric index of
-    # a row (N) it is replaced by 'RowN'.
-    # @param start_row_number  the corresponding row number to the first row of the
-    #                          dataframe. Differs from 0 as soon as a table chunk is
-    #                          sent.
-    def _standardize_index(self, start_row_number):
-        data_frame = self._data_frame
-        index = data_frame.index
+    @staticmethod
+    def _check_index(index):
         if not index.is_unique:
             # Get unique duplicate row keys, limit to three to keep the error message short.
             duplicate_row_keys = set(index[index.duplicated()])
@@ -103,14 +123,6 @@ class FromPandasTable:
                 "Output DataFrame contains duplicate values in its index: " + duplicate_row_keys +
                 ". This is not supported. Please make sure that each"
                 " entry in the index (i.e., each row key) is unique.")
-        row_indices = []
-        for i in range(len(index)):
-            if type(index[i]) == int and index[i] == i + start_row_number:
-                row_indices.append(u'Row' + str(i + start_row_number))
-            else:
-                row_indices.append(str(index[i]))
-        data_frame.set_index(keys=Index(row_indices), drop=True, inplace=True)
-        self._row_indices = data_frame.index.astype(str)
 
     def _standardize_column_names(self):
         self._data_frame.columns = self._data_frame.columns.astype(str)
@@ -133,6 +145,69 @@ class FromPandasTable:
             if serializer_id is not None:
                 self._column_serializers[column] = serializer_id
 
+    # Creates the table of the rows from start to end (inclusive).
+    # @param start  the number of the first row of the chunk
+    # @param end    the number of the last row of the chunk
+    # @return a FromPandasTable wrapping the chunk
+    def create_chunk(self, start, end):
+        return FromPandasTable(self._data_frame[start:end + 1], self._serializer, start, self)
+
+
+# Wrapper class for data that should be serialized using the serialization library.
+# Manages the serialization of extension types to bytes before using the
+# registered serialization library for serializing primitive types.
+class FromPandasTable:
+    # Constructor.
+    # Serializes objects having a type that is registered via the knimetopython
+    # extension point to a bytes representation and adjusts the dataframe index
+    # to reflect KNIME standard row indexing if necessary.
+    # @param data_frame        a pandas DataFrame containing the table to serialize
+    # @param serializer        the serializer
+    # @param start_row_number  the corresponding row number to the first row of the
+    #                          dataframe. Differs from 0 as soon as a table chunk is
+    #                          sent.
+    # @param session           the FromPandasTableSession the data frame is a chunk of.
+    #                          If None, the data frame is treated as an entire table.
+    def __init__(self, data_frame, serializer, start_row_number=0, session=None):
+        if session is None:
+            session = FromPandasTableSession(data_frame, serializer)
+            data_frame = session._data_frame
+        # (Shallow) Copy because we modify columns and index (see below).
+        self._data_frame = data_frame.copy(deep=False)
+        self._standardize_index(start_row_number)
+        self._column_types = session._column_types
+        self._column_serializers = session._column_serializers
+        serializer.serialize_objects_to_bytes(self._data_frame, self._column_serializers)
+
+    # Replaces default numeric indices with the KNIME standard row indices.
+    # This means that if an index value is equal to the numeric index of
+    # a row (N) it is replaced by 'RowN'. Serialization libraries may use
+    # get_row_key_offset and get_default_row_keys to transfer such row keys
+    # in a compact way.
+    # @param start_row_number  the corresponding row number to the first row of the
+    #                          dataframe. Differs from 0 as soon as a table chunk is
+    #                          sent.
+    def _standardize_index(self, start_row_number):
+        data_frame = self._data_frame
+        index = data_frame.index
+        self._row_key_offset = start_row_number
+        self._default_row_keys = _default_index_mask(index, start_row_number)
+        if self._default_row_keys.all():
+            row_indices = default_row_keys(start_row_number, len(index))
+        else:
+            if not isinstance(index, MultiIndex) and (index.dtype == object or index.dtype.kind in 'iu'):
+                row_indices = index.astype(str)
+            else:
+                # Keep the string representation of the individual values (e.g. of timestamps or of the tuples of a
+                # MultiIndex, which cannot be converted via astype).
+                row_indices = Index([str(value) for value in index], dtype=object)
+            if self._default_row_keys.any():
+                row_indices = Index(numpy.where(self._default_row_keys,
+                                                default_row_keys(start_row_number, len(index)), row_indices),
+                                    dtype=object)
+        data_frame.set_index(keys=row_indices, drop=True, inplace=True)
+        self._row_indices = data_frame.index
+
     # Get the type of the column at the provided index in the internal data_frame.
     # example: table.get_type(0)
     # @param column_index    numeric column index
@@ -173,6 +248,16 @@ class FromPandasTable:
     def get_rowkeys(self):
         return self._data_frame.index.astype(str)
 
+    # Get the number of the first row of the table, which is the offset of its
+    # default row keys.
+    def get_row_key_offset(self):
+        return self._row_key_offset
+
+    # Get a boolean numpy array that is True for each row whose row key is the
+    # default row key 'Row<offset + row_index>'.
+    def get_default_row_keys(self):
+        return self._default_row_keys
+
     def get_number_columns(self):
         return len(self._data_frame.columns)
 
@@ -62,15 +62,18 @@ import abc
 import os
 import socket
 import sys
+import threading
 import traceback
 import warnings
 
 from debug_util import debug_msg
 
 from Borg import Borg
+from messaging import MessageProtocol
 from messaging import RequestHandlers
 from PythonCommands import PythonCommands
 from PythonUtils import Simpletype
+from PythonUtils import connect_to_address
 from PythonUtils import invoke_safely
 from PythonUtils import load_module_from_path
 from PythonUtils import object_to_string
@@ -92,11 +95,18 @@ class PythonKernelBase(Borg):
 
         # Initialize workspace.
         self._exec_env = None
+        # Chunks of tables that are still being transferred, see append_to_table.
+        self._table_chunks = {}
+        self._table_chunks_lock = threading.Lock()
+        # Prepared serializations of tables that are sent in chunks, see get_table_session.
+        self._table_sessions = {}
+        self._table_sessions_lock = threading.Lock()
         self.reset()
 
         # These will be populated in start():
         # TCP connection.
         self._connection = None
+        self._protocol_version = None
         # Executors.
         self._execute_thread_executor = None
         self._executor = None
@@ -112,6 +122,14 @@ class PythonKernelBase(Borg):
 
         self._cleanup_object_names = set()
 
+        # Will be populated in start(). Used to reset the kernel for reuse, see reset_for_reuse().
+        self._initial_sys_path = None
+        self._initial_cwd = None
+        self._initial_module_names = None
+        self._initial_std_streams = None
+        # Module search paths that were added by the kernel itself (as opposed to its clients).
+        self._kernel_sys_paths = set()
+
         if sys.getdefaultencoding() != 'utf-8':
             warnings.warn("Your default encoding is not 'utf-8'. You may experience errors with non ascii characters!")
 
@@ -169,18 +187,35 @@ class PythonKernelBase(Borg):
         debug_msg("Create serialization helper.")
         self._serializer = Serializer(self._serialization_library, self._type_extension_manager)
 
+    def set_shared_memory_directory(self, shared_memory_directory):
+        # Only serialization libraries that transfer data via files can make use of shared memory. Others simply keep
+        # their default behavior.
+        if hasattr(self._serialization_library, 'set_shared_memory_directory'):
+            debug_msg("Use shared memory directory '" + shared_memory_directory + "' for data transfer.")
+            self._serialization_library.set_shared_memory_directory(shared_memory_directory)
+
+    def set_dictionary_encoding(self, use_dictionary_encoding):
+        # Only serialization libraries that support dictionary encoding make use of this option.
+        if hasattr(self._serialization_library, 'set_dictionary_encoding'):
+            self._serialization_library.set_dictionary_encoding(use_dictionary_encoding)
+
     # Kernel commands:
 
     def put_variable(self, name, variable):
         """
         Put the given variable into the local environment under the given name.
         """
-        self._exec_env[name] = variable
+        with self._table_chunks_lock:
+            self._table_chunks.pop(name, None)
+            self._exec_env[name] = variable
+        with self._table_sessions_lock:
+            self._table_sessions.pop(name, None)
 
     def get_variable(self, name):
         """
         Get the variable with the given name.
         """
+        self._assemble_tables()
         if name in self._exec_env:
             return self._exec_env[name]
         else:
@@ -190,15 +225,30 @@ class PythonKernelBase(Borg):
         """
         Get the variable with the given name if available in the workspace or the default otherwise.
         """
+        self._assemble_tables()
         if name in self._exec_env:
             return self._exec_env[name]
         else:
             return default
 
+    def get_table_session(self, name, data_frame):
+        """
+        Get the prepared serialization of the given data frame, which is the variable with the given name. The
+        serialization is prepared once and then shared by all chunks of the table that are requested until the
+        workspace changes.
+        """
+        with self._table_sessions_lock:
+            table_session = self._table_sessions.get(name)
+            if table_session is None or table_session.data_frame is not data_frame:
+                table_session = self._serializer.create_table_session(data_frame)
+                self._table_sessions[name] = table_session
+            return table_session
+
     def list_variables(self):
         """
         List all currently loaded modules and defined classes, functions and variables.
         """
+        self._assemble_tables()
         # create lists of modules, classes, functions and variables
         modules = []
         classes = []
@@ -238,11 +288,29 @@ class PythonKernelBase(Borg):
         """
         Append the given data frame to an existing one, if it does not exist put the data frame into the local
         environment.
+        The chunks of a table are only collected here. They are concatenated in a single pass once the table is
+        accessed for the first time, which avoids copying the accumulated table for each appended chunk.
         """
-        if self._exec_env[name] is None:
-            self._exec_env[name] = data_frame
-        else:
-            self._exec_env[name] = self._exec_env[name].append(data_frame)
+        with self._table_chunks_lock:
+            chunks = self._table_chunks.get(name)
+            if chunks is None:
+                if self._exec_env[name] is None:
+                    self._exec_env[name] = data_frame
+                    return
+                chunks = [self._exec_env[name]]
+                self._table_chunks[name] = chunks
+            chunks.append(data_frame)
+
+    def _assemble_tables(self):
+        """
+        Concatenate the chunks collected by append_to_table into the final tables of the local environment.
+        """
+        with self._table_chunks_lock:
+            if self._table_chunks:
+                import pandas
+                for name, chunks in self._table_chunks.items():
+                    self._exec_env[name] = pandas.concat(chunks)
+                self._table_chunks.clear()
 
     @staticmethod
     def has_auto_complete():
@@ -283,6 +351,10 @@ class PythonKernelBase(Borg):
         sys.stdout = PythonKernelBase._Logger(sys.stdout, output)
         sys.stderr = PythonKernelBase._Logger(sys.stderr, error)
 
+        self._assemble_tables()
+        # Executed code may modify tables in place, which invalidates their prepared serializations.
+        with self._table_sessions_lock:
+            self._table_sessions.clear()
         # FIXME: This is dangerous!
         self._exec_env['python_messaging_initiating_message_id'] = initiating_message_id
         try:
@@ -297,6 +369,10 @@ class PythonKernelBase(Borg):
         """
         Reset the current workspace.
         """
+        with self._table_chunks_lock:
+            self._table_chunks.clear()
+        with self._table_sessions_lock:
+            self._table_sessions.clear()
         self._exec_env = {"workspace": self}
         try:
             import knime_jupyter
@@ -306,6 +382,41 @@ class PythonKernelBase(Borg):
         except Exception:
             warnings.warn("Failed to initialize Jupyter notebook support.")
 
+    def reset_for_reuse(self):
+        """
+        Resets the kernel such that it can be handed to another client: empties the workspace, forgets the registered
+        cleanup objects, and restores the module search path and working directory of the freshly started kernel.
+        Returns an empty string if the kernel is in a reusable state afterwards, otherwise the reason why it is not.
+        """
+        # User code of a canceled execution may still be running on the execute thread and would interfere with the
+        # next client.
+        if self._execute_thread_executor is not None and self._execute_thread_executor.is_busy():
+            return "Code is still running on the execute thread."
+        self._cleanup_object_names = set()
+        self.reset()
+        # Modules that were imported from the client's own paths (e.g., the workflow directory or the external custom
+        # path) would be stale if their sources changed before the next client imports them again.
+        client_paths = [os.path.normcase(os.path.abspath(p)) for p in sys.path
+                        if p not in self._initial_sys_path and p not in self._kernel_sys_paths]
+        reason = ""
+        for name, module in list(sys.modules.items()):
+            if name in self._initial_module_names or module is None:
+                continue
+            module_file = getattr(module, '__file__', None)
+            if module_file is not None:
+                module_file = os.path.normcase(os.path.abspath(module_file))
+                if any(module_file.startswith(p + os.sep) for p in client_paths):
+                    reason = "Module '" + name + "' was imported from a client-specific path."
+                    break
+        sys.path[:] = self._initial_sys_path
+        try:
+            os.chdir(self._initial_cwd)
+        except OSError:
+            reason = reason or "The working directory could not be restored."
+        if (sys.stdout, sys.stderr) != self._initial_std_streams:
+            reason = reason or "The standard output streams were replaced."
+        return reason
+
     # Life cycle:
 
     def start(self):
@@ -314,7 +425,9 @@ class PythonKernelBase(Borg):
                 raise RuntimeError('Python kernel is closed and cannot be restarted.')
             self._is_running = True
             debug_msg("Connect.")
-            self._connection = self._connect(('localhost', int(sys.argv[1])))
+            self._connection = self._connect(sys.argv[1])
+            debug_msg("Negotiate messaging protocol.")
+            self._protocol_version = MessageProtocol.negotiate(self._connection)
             debug_msg("Create executors.")
             self._execute_thread_executor = self._create_execute_thread_executor()
             self._executor = self._create_executor()
@@ -324,6 +437,10 @@ class PythonKernelBase(Borg):
             debug_msg("Create type extension manager.")
             self._type_extension_manager = TypeExtensionManager(self._commands)
             # Start commands/messaging system once everything is set up.
+            self._initial_sys_path = list(sys.path)
+            self._initial_cwd = os.getcwd()
+            self._initial_module_names = set(sys.modules.keys())
+            self._initial_std_streams = (sys.stdout, sys.stderr)
             debug_msg("Start Python commands.")
             self._commands.start()
 
@@ -342,10 +459,8 @@ class PythonKernelBase(Borg):
     # Helper:
 
     @staticmethod
-    def _connect(parameters):
-        connection = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
-        connection.connect(parameters)
-        return connection
+    def _connect(address):
+        return connect_to_address(address)
 
     def _setup_builtin_request_handlers(self):
         request_handlers = RequestHandlers.get_builtin_request_handlers()
@@ -357,6 +472,7 @@ class PythonKernelBase(Borg):
         last_separator = serializer_path.rfind(os.sep)
         serializer_directory_path = serializer_path[0:last_separator + 1]
         sys.path.append(serializer_directory_path)
+        self._kernel_sys_paths.add(serializer_directory_path)
         serializer = load_module_from_path(serializer_path)
         serializer.init(Simpletype)
         return serializer
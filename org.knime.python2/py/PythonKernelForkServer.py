@@ -0,0 +1,185 @@
+# -*- coding: utf-8 -*-
+# ------------------------------------------------------------------------
+#  Copyright by KNIME AG, Zurich, Switzerland
+#  Website: http://www.knime.com; Email: contact@knime.com
+#
+#  This program is free software; you can redistribute it and/or modify
+#  it under the terms of the GNU General Public License, Version 3, as
+#  published by the Free Software Foundation.
+#
+#  This program is distributed in the hope that it will be useful, but
+#  WITHOUT ANY WARRANTY; without even the implied warranty of
+#  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+#  GNU General Public License for more details.
+#
+#  You should have received a copy of the GNU General Public License
+#  along with this program; if not, see <http://www.gnu.org/licenses>.
+#
+#  Additional permission under GNU GPL version 3 section 7:
+#
+#  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+#  Hence, KNIME and ECLIPSE are both independent programs and are not
+#  derived from each other. Should, however, the interpretation of the
+#  GNU GPL Version 3 ("License") under any applicable laws result in
+#  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+#  you the additional permission to use and propagate KNIME together with
+#  ECLIPSE with only the license terms in place for ECLIPSE applying to
+#  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+#  license terms of ECLIPSE themselves allow for the respective use and
+#  propagation of ECLIPSE together with KNIME.
+#
+#  Additional permission relating to nodes for KNIME that extend the Node
+#  Extension (and in particular that are based on subclasses of NodeModel,
+#  NodeDialog, and NodeView) and that only interoperate with KNIME through
+#  standard APIs ("Nodes"):
+#  Nodes are deemed to be separate and independent programs and to not be
+#  covered works.  Notwithstanding anything to the contrary in the
+#  License, the License does not apply to Nodes, you are not required to
+#  license Nodes under the License, and you are granted a license to
+#  prepare and propagate Nodes, in each case even if such Nodes are
+#  propagated with or for interoperation with KNIME.  The owner of a Node
+#  may freely choose the license terms applicable to such Node, including
+#  when such Node is propagated with or for interoperation with KNIME.
+# ------------------------------------------------------------------------
+
+"""
+Preloads the modules of the Python kernel and the modules given as command line arguments, and forks new kernel
+processes on request (Unix only).
+
+Protocol (line based, via stdin and stdout): once all modules are preloaded, the server prints "ready". Each line it
+reads afterwards contains a request, to each of which it responds with one line:
+- "fork <address>": forks a new kernel process that connects to the given address (see
+  PythonUtils.connect_to_address) and prints its PID.
+- "kill <pid>": kills the given kernel process and prints "killed", or prints "unknown" if the process is not a running
+  child of the server.
+The server terminates once its stdin is closed.
+
+The server tracks the kernel processes it forked and only reaps them while handling a request. The PID of a forked
+kernel can therefore not be reused by another process before the server knows that the kernel terminated, which makes
+killing kernels by PID safe.
+
+The forked kernel connects its stdout and stderr (in this order) to the given address before starting the kernel, since
+it is not a child process of KNIME and its output could not be read otherwise.
+
+@author agent
+"""
+
+# This should be the first statement in each module (except for __future__ statements) that makes specific demands on
+# the Python environment.
+import EnvironmentHelper
+
+EnvironmentHelper.dummy_call()
+
+import os
+import signal
+import sys
+
+# Do not change. Expected on Java side.
+_READY_MESSAGE = "ready"
+
+
+def _parse_modules(arguments):
+    required_modules = []
+    optional_modules = []
+    current = None
+    for argument in arguments:
+        if argument == "--required":
+            current = required_modules
+        elif argument == "--optional":
+            current = optional_modules
+        elif current is not None:
+            current.append(argument)
+    return required_modules, optional_modules
+
+
+def _preload(required_modules, optional_modules):
+    import PythonKernelLauncher
+    if EnvironmentHelper.is_python3():
+        import python3.PythonKernel
+    else:
+        import python2.PythonKernel
+    for module in required_modules:
+        __import__(module)
+    for module in optional_modules:
+        try:
+            __import__(module)
+        except Exception:
+            pass
+
+
+def _connect_output_stream(address, file_descriptor):
+    from PythonUtils import connect_to_address
+    connection = connect_to_address(address)
+    os.dup2(connection.fileno(), file_descriptor)
+    connection.close()
+
+
+def _run_forked_kernel(address):
+    try:
+        # Detach from the protocol streams of the server.
+        devnull = os.open(os.devnull, os.O_RDONLY)
+        os.dup2(devnull, 0)
+        os.close(devnull)
+        _connect_output_stream(address, 1)
+        _connect_output_stream(address, 2)
+        sys.argv = [sys.argv[0], address]
+        import PythonKernelLauncher
+        PythonKernelLauncher.launch()
+    finally:
+        try:
+            sys.stdout.flush()
+            sys.stderr.flush()
+        finally:
+            # Never return to the request loop of the server.
+            os._exit(0)
+
+
+def _write_response(response):
+    sys.stdout.write(response + "\n")
+    sys.stdout.flush()
+
+
+def _reap(children):
+    for pid in list(children):
+        try:
+            reaped_pid, _ = os.waitpid(pid, os.WNOHANG)
+        except OSError:
+            reaped_pid = pid
+        if reaped_pid == pid:
+            children.discard(pid)
+
+
+def _kill(children, pid):
+    if pid not in children:
+        return "unknown"
+    os.kill(pid, signal.SIGKILL)
+    os.waitpid(pid, 0)
+    children.discard(pid)
+    return "killed"
+
+
+def main():
+    required_modules, optional_modules = _parse_modules(sys.argv[1:])
+    _preload(required_modules, optional_modules)
+    children = set()
+    _write_response(_READY_MESSAGE)
+    while True:
+        request = sys.stdin.readline()
+        if not request:
+            break
+        _reap(children)
+        command, _, argument = request.strip().partition(" ")
+        if command == "fork":
+            pid = os.fork()
+            if pid == 0:
+                _run_forked_kernel(argument)
+            children.add(pid)
+            _write_response(str(pid))
+        elif command == "kill":
+            _write_response(_kill(children, int(argument)))
+        else:
+            _write_response("unknown request: " + command)
+
+
+if __name__ == "__main__":
+    main()
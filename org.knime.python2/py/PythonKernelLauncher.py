@@ -70,7 +70,11 @@ import traceback
 
 # Start Python kernel:
 
-if __name__ == "__main__":
+def launch():
+    """
+    Starts a Python kernel that connects to the port given as first command line argument. Blocks until the kernel
+    is shut down.
+    """
     if EnvironmentHelper.is_python3():
         from python3.PythonKernel import PythonKernel
     else:
@@ -125,3 +129,7 @@ if __name__ == "__main__":
                 traceback.print_exc(file=sys.stdout)
                 sys.stdout.flush()
                 raise
+
+
+if __name__ == "__main__":
+    launch()
@@ -69,6 +69,7 @@ import inspect
 import math
 import numpy
 import os
+import socket
 
 from datetime import datetime
 
@@ -369,6 +370,29 @@ def value_to_simpletype_value(value, simpletype):
         return value_set
 
 
+def int64_column_to_bytes(values):
+    """
+    Convert the given integers into their big-endian int64 byte representations at once. Used by the column-level
+    serializers of type extensions.
+    @param values a numpy array of integers
+    @return a list containing the eight bytes of each value
+    """
+    data = numpy.asarray(values).astype('>i8').tobytes()
+    return [data[i:i + 8] for i in range(0, len(data), 8)]
+
+
+def int64_column_from_bytes(values):
+    """
+    Convert the given big-endian int64 byte representations into integers at once. Used by the column-level
+    deserializers of type extensions.
+    @param values a sequence of byte representations
+    @return a numpy array of int64 or None if not all values are eight bytes long
+    """
+    if not all(len(value) == 8 for value in values):
+        return None
+    return numpy.frombuffer(b''.join(values), dtype='>i8').astype(numpy.int64)
+
+
 def bytes_from_file(path):
     return open(path, 'rb').read()
 
@@ -418,3 +442,23 @@ def invoke_safely(exception_consumer, method, invokees):
             if error is None:
                 error = ex
     return error
+
+
+# Do not change. Expected on Java side.
+_UNIX_ADDRESS_PREFIX = "unix:"
+
+
+def connect_to_address(address):
+    """
+    Connects to the given address of the server socket of a Java kernel. The address is either a port on localhost or,
+    if prefixed by "unix:", the path of a Unix domain socket.
+    """
+    if address.startswith(_UNIX_ADDRESS_PREFIX):
+        if not hasattr(socket, 'AF_UNIX'):
+            raise RuntimeError("Unix domain sockets are not supported on this platform. Please use the TCP transport.")
+        connection = socket.socket(socket.AF_UNIX, socket.SOCK_STREAM)
+        connection.connect(address[len(_UNIX_ADDRESS_PREFIX):])
+    else:
+        connection = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+        connection.connect(('localhost', int(address)))
+    return connection
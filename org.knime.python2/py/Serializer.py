@@ -55,6 +55,7 @@ from pandas import DataFrame
 
 import debug_util
 from DataTables import FromPandasTable
+from DataTables import FromPandasTableSession
 from DataTables import ToPandasTable
 from PythonUtils import Simpletype
 from PythonUtils import get_type_string
@@ -89,9 +90,17 @@ class Serializer(object):
                                   A serializer_id should be the id of the java extension point on which the serializer
                                   is registered. Each column identified by the dict keys is serialized using the
                                   serializer provided by the TypeExtensionManager for the given serializer_id.
+                                  Columns that the serialization library transfers in a native representation (see
+                                  serializes_natively in the library's module) are left untouched.
         """
+        serializes_natively = getattr(self._serialization_library, 'serializes_natively', None)
         for column in column_serializers:
+            if serializes_natively is not None and serializes_natively(data_frame[column]):
+                continue
             serializer = self._type_extension_manager.get_serializer_by_id(column_serializers[column])
+            if Serializer._convert_column_batched(data_frame, column, getattr(serializer, 'serialize_column', None),
+                                                  lambda value: value is not None):
+                continue
             col_idx = data_frame.columns.get_loc(column)
             if data_frame[column].dtype != 'object':
                 data_frame[column] = data_frame[column].astype('object')
@@ -137,6 +146,9 @@ class Serializer(object):
         # print('Data frame: ' + str(data_frame) + '\nserializers: ' + str(column_serializers) + '\n')
         for column in column_serializers:
             deserializer = self._type_extension_manager.get_deserializer_by_id(column_serializers[column])
+            if Serializer._convert_column_batched(data_frame, column, getattr(deserializer, 'deserialize_column', None),
+                                                  Serializer._is_serialized_value_present):
+                continue
             for i in range(len(data_frame)):
                 if debug_util.is_debug_enabled():
                     lastp = -1
@@ -205,6 +217,63 @@ class Serializer(object):
         data_bytes = self._serialization_library.table_to_bytes(table)
         return data_bytes
 
+    @staticmethod
+    def _convert_column_batched(data_frame, column, convert_column, is_present):
+        """
+        Convert all present values of the given column at once using the given column-level (de)serializer function
+        of a type extension (inplace). Missing values are left missing.
+        @param data_frame a pandas.DataFrame containing the column to convert
+        @param column the name of the column to convert
+        @param convert_column the serialize_column or deserialize_column function of the type extension, may be None
+        @param is_present function that determines whether a value of the column is present (i.e. not missing)
+        @return True if the column was converted, False if the type extension does not provide a column-level function
+                or the column contains collections, which have to be converted value by value
+        """
+        if convert_column is None:
+            return False
+        series = data_frame[column]
+        if series.dtype != 'object':
+            series = series.astype('object')
+        values = series.values
+        present = numpy.fromiter((is_present(value) for value in values), dtype=bool, count=len(values))
+        present_values = values[present]
+        if len(present_values) > 0 and isinstance(present_values[0], (list, set)):
+            return False
+        # Fill element-wise: assigning a sequence of equally long values (e.g., bytes) at once would make numpy
+        # interpret it as a two-dimensional array.
+        converted = numpy.empty(len(present_values), dtype=object)
+        for k, converted_value in enumerate(convert_column(present_values)):
+            converted[k] = converted_value
+        result = numpy.empty(len(values), dtype=object)
+        result[present] = converted
+        data_frame[column] = pd.Series(result, index=data_frame.index, dtype=object)
+        return True
+
+    @staticmethod
+    def _is_serialized_value_present(value):
+        if isinstance(value, numpy.float64) and numpy.isnan(value):
+            return False
+        return bool(value)
+
+    def create_table_session(self, data_frame):
+        """
+        Prepares the chunked serialization of data_frame. See data_frame_chunk_to_bytes.
+        @param data_frame a pandas DataFrame containing the table to serialize
+        @return a {@link FromPandasTableSession} for the data frame
+        """
+        return FromPandasTableSession(data_frame, self)
+
+    def data_frame_chunk_to_bytes(self, table_session, start, end):
+        """
+        Converts the rows from start to end (inclusive) of the data frame of table_session into a byte array using the
+        configured serialization library.
+        @param table_session a {@link FromPandasTableSession} created via create_table_session
+        @param start the number of the first row of the chunk
+        @param end the number of the last row of the chunk
+        """
+        table = table_session.create_chunk(start, end)
+        return self._serialization_library.table_to_bytes(table)
+
     def fill_flow_variables_from_data_frame(self, flow_variables, data_frame):
         """
         Fill the flow variable dict using a pandas DataFrame. The DataFrame is expected to contain only a single row.
@@ -70,6 +70,10 @@ class TypeExtensionManager(Borg):
     Serializers and deserializers can be accessed using the identifier, which is the id of the java extension point or
     the type_string corresponding to the python type. This type string is set in the extension point's specification in
     plugin.xml.
+    Besides serialize(object) or deserialize(bytes), serializer and deserializer modules may implement the column-level
+    functions serialize_column(objects) or deserialize_column(bytes_values). These receive a numpy array holding all
+    present values of a column and return a sequence of the same length containing the converted values. If available,
+    they are used instead of converting the values of a column one by one.
     """
 
     def __init__(self, commands):
@@ -103,6 +107,23 @@ class TypeExtensionManager(Borg):
         self._deserializers.append(path)
         self._deserializer_id_to_index[identifier] = index
 
+    def add_type_extensions(self, serializers, deserializers):
+        """
+        Register the complete set of serializers and deserializers known on java side at once. Extensions that are
+        already registered are kept as they are (including their loaded modules). If several serializers process the
+        same python type, the first one wins, which matches the lookup order on java side.
+        @param serializers a list of (identifier, type_string, path) tuples
+        @param deserializers a list of (identifier, path) tuples
+        """
+        for identifier, type_string, path in serializers:
+            if identifier not in self._serializer_id_to_index:
+                self._serializer_id_to_index[identifier] = len(self._serializers)
+                self._serializers.append(path)
+            self._serializer_type_to_id.setdefault(type_string, identifier)
+        for identifier, path in deserializers:
+            if identifier not in self._deserializer_id_to_index:
+                self.add_deserializer(identifier, path)
+
     def get_serializer_by_id(self, identifier):
         """
         Get the serializer associated with the given id.
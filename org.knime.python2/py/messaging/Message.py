@@ -100,6 +100,10 @@ class Message(object):
     def header(self):
         return ''.join(['@' + k + '=' + v for k, v in self._header_fields.items()])
 
+    @property
+    def header_fields(self):
+        return self._header_fields
+
     def get_header_field(self, field_key):
         return self._header_fields.get(field_key)  # returns None if no mapping present
 
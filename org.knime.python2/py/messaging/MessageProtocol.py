@@ -0,0 +1,132 @@
+# -*- coding: utf-8 -*-
+# ------------------------------------------------------------------------
+#  Copyright by KNIME AG, Zurich, Switzerland
+#  Website: http://www.knime.com; Email: contact@knime.com
+#
+#  This program is free software; you can redistribute it and/or modify
+#  it under the terms of the GNU General Public License, Version 3, as
+#  published by the Free Software Foundation.
+#
+#  This program is distributed in the hope that it will be useful, but
+#  WITHOUT ANY WARRANTY; without even the implied warranty of
+#  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+#  GNU General Public License for more details.
+#
+#  You should have received a copy of the GNU General Public License
+#  along with this program; if not, see <http://www.gnu.org/licenses>.
+#
+#  Additional permission under GNU GPL version 3 section 7:
+#
+#  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+#  Hence, KNIME and ECLIPSE are both independent programs and are not
+#  derived from each other. Should, however, the interpretation of the
+#  GNU GPL Version 3 ("License") under any applicable laws result in
+#  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+#  you the additional permission to use and propagate KNIME together with
+#  ECLIPSE with only the license terms in place for ECLIPSE applying to
+#  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+#  license terms of ECLIPSE themselves allow for the respective use and
+#  propagation of ECLIPSE together with KNIME.
+#
+#  Additional permission relating to nodes for KNIME that extend the Node
+#  Extension (and in particular that are based on subclasses of NodeModel,
+#  NodeDialog, and NodeView) and that only interoperate with KNIME through
+#  standard APIs ("Nodes"):
+#  Nodes are deemed to be separate and independent programs and to not be
+#  covered works.  Notwithstanding anything to the contrary in the
+#  License, the License does not apply to Nodes, you are not required to
+#  license Nodes under the License, and you are granted a license to
+#  prepare and propagate Nodes, in each case even if such Nodes are
+#  propagated with or for interoperation with KNIME.  The owner of a Node
+#  may freely choose the license terms applicable to such Node, including
+#  when such Node is propagated with or for interoperation with KNIME.
+# ------------------------------------------------------------------------
+
+
+"""
+Encodes and decodes message headers according to the version of the messaging protocol that was negotiated with Java
+when the connection was established. See MessageProtocol.java for a description of the protocol versions.
+
+@author agent
+"""
+
+import struct
+
+from messaging.Message import Message
+
+# Do not change. Expected on Java side.
+_HANDSHAKE_MAGIC = 0x4B4E5059
+
+VERSION_TEXT_HEADER = 1
+
+VERSION_BINARY_HEADER = 2
+
+LATEST_VERSION = VERSION_BINARY_HEADER
+
+
+def negotiate(connection):
+    """
+    Receives the protocol version offered by Java, agrees on the latest version supported by both sides and returns it.
+    Must be called before any message is exchanged.
+    """
+    magic, offered_version = struct.unpack('>LL', _receive_exactly(connection, 8))
+    if magic != _HANDSHAKE_MAGIC:
+        raise RuntimeError("Unexpected messaging handshake.")
+    version = min(offered_version, LATEST_VERSION)
+    connection.sendall(struct.pack('>L', version))
+    return version
+
+
+def encode_header(message, version):
+    if version == VERSION_TEXT_HEADER:
+        return message.header.encode('utf-8')
+    parts = [struct.pack('>l', int(message.id)), _encode_string(message.category)]
+    num_additional_fields = 0
+    for key, value in message.header_fields.items():
+        if key != Message.KEY_ID and key != Message.KEY_CATEGORY:
+            parts.append(_encode_string(key))
+            parts.append(_encode_string(value))
+            num_additional_fields += 1
+    parts.insert(2, struct.pack('>l', num_additional_fields))
+    return b''.join(parts)
+
+
+def decode(header, payload, version):
+    if version == VERSION_TEXT_HEADER:
+        return Message.create(header.decode('utf-8'), payload)
+    id, = struct.unpack_from('>l', header, 0)
+    category, position = _decode_string(header, 4)
+    num_additional_fields, = struct.unpack_from('>l', header, position)
+    position += 4
+    additional_fields = None
+    if num_additional_fields > 0:
+        additional_fields = {}
+        for _ in range(num_additional_fields):
+            key, position = _decode_string(header, position)
+            value, position = _decode_string(header, position)
+            additional_fields[key] = value
+    # Ids of received messages are strings, as in the text header version.
+    return Message(str(id), category, payload, additional_fields)
+
+
+def _encode_string(string):
+    encoded = string.encode('utf-8')
+    return struct.pack('>l', len(encoded)) + encoded
+
+
+def _decode_string(buffer, position):
+    length, = struct.unpack_from('>l', buffer, position)
+    position += 4
+    return bytes(buffer[position:position + length]).decode('utf-8'), position + length
+
+
+def _receive_exactly(connection, size):
+    data = bytearray(size)
+    view = memoryview(data)
+    received = 0
+    while received < size:
+        num_bytes = connection.recv_into(view[received:], size - received)
+        if num_bytes < 1:
+            raise RuntimeError("Connection closed unexpectedly.")
+        received += num_bytes
+    return data
@@ -49,46 +49,43 @@
 """
 
 import struct
-import sys
 
 from debug_util import debug_msg
-from messaging.Message import Message
+from debug_util import is_debug_enabled
+from messaging import MessageProtocol
 
 
 class MessageReceiver(object):
-    def __init__(self, connection):
+    def __init__(self, connection, protocol_version=MessageProtocol.VERSION_TEXT_HEADER):
         self._connection = connection
+        self._protocol_version = protocol_version
 
     def receive(self):
-        header_size = self._read_size()
-        payload_size = self._read_size()
-        header = self._read_data(header_size).decode('utf-8')
+        header_size, payload_size = struct.unpack('>LL', self._read_data(8))
+        header = self._read_data(header_size)
         if payload_size > 0:
             payload = self._read_data(payload_size)
         else:
             payload = None
-        message = Message.create(header, payload)
-        debug_msg("Python - Received message: " + str(message))
+        message = MessageProtocol.decode(header, payload, self._protocol_version)
+        if is_debug_enabled():
+            debug_msg("Python - Received message: " + str(message))
         return message
 
     # reads 4 bytes from the input stream and interprets them as size
     def _read_size(self):
-        data = bytearray()
-        while len(data) < 4:
-            data.extend(self._recv(4 - len(data)))
-        return struct.unpack('>L', data)[0]
+        return struct.unpack('>L', self._read_data(4))[0]
 
     # reads the next data from the input stream
     def _read_data(self, size=None):
         if size is None:
             size = self._read_size()
-        data = bytearray()
-        while len(data) < size:
-            data.extend(self._recv(size - len(data)))
-        return data
-
-    def _recv(self, bufsize):
-        data = self._connection.recv(bufsize)
-        if len(data) < 1:
-            raise RuntimeError("Connection closed unexpectedly.")
+        data = bytearray(size)
+        view = memoryview(data)
+        received = 0
+        while received < size:
+            num_bytes = self._connection.recv_into(view[received:], size - received)
+            if num_bytes < 1:
+                raise RuntimeError("Connection closed unexpectedly.")
+            received += num_bytes
         return data
@@ -51,33 +51,51 @@
 import struct
 
 from debug_util import debug_msg
+from debug_util import is_debug_enabled
+from messaging import MessageProtocol
 
 
 class MessageSender(object):
-    def __init__(self, connection):
+    # Frames up to this size are concatenated and sent at once if gathering writes are not available.
+    _MAX_CONCATENATED_FRAME_SIZE = 64 * 1024
+
+    def __init__(self, connection, protocol_version=MessageProtocol.VERSION_TEXT_HEADER):
         self._connection = connection
+        self._protocol_version = protocol_version
+        # Gathering writes are not available on Windows and in Python 2.
+        self._can_gather = hasattr(connection, 'sendmsg')
 
     def send(self, message):
-        debug_msg("Python - Send message: " + str(message))
-        header = message.header.encode('utf-8')
-        self._write_size(len(header))
+        if is_debug_enabled():
+            debug_msg("Python - Send message: " + str(message))
+        header = MessageProtocol.encode_header(message, self._protocol_version)
         payload = message.payload
-        if payload:
-            self._write_size(len(payload))
+        payload_size = len(payload) if payload else 0
+        sizes = struct.pack('>LL', len(header), payload_size)
+        if not payload:
+            self._write_data(sizes + header)
+        elif self._can_gather:
+            self._write_gathered([sizes, header, payload])
+        elif len(sizes) + len(header) + payload_size <= MessageSender._MAX_CONCATENATED_FRAME_SIZE:
+            self._write_data(sizes + header + payload)
         else:
-            self._write_size(0)
-        self._write_data(header)
-        if payload:
+            self._write_data(sizes + header)
             self._write_data(payload)
 
-    def _write_size(self, size):
+    def _write_gathered(self, buffers):
         """
-        Writes the given size as 4 byte integer to the output stream.
+        Writes the given buffers to the output stream using as few system calls as possible.
         """
-        writer = self._connection.makefile('wb', 4)
-        writer.write(struct.pack('>L', size))
-        writer.flush()
-        # _connection.sendall(struct.pack('>L', size))
+        buffers = [memoryview(buffer) for buffer in buffers]
+        while buffers:
+            num_bytes_sent = self._connection.sendmsg(buffers)
+            while num_bytes_sent > 0:
+                if num_bytes_sent >= len(buffers[0]):
+                    num_bytes_sent -= len(buffers[0])
+                    buffers.pop(0)
+                else:
+                    buffers[0] = buffers[0][num_bytes_sent:]
+                    num_bytes_sent = 0
 
     def _write_data(self, data):
         """
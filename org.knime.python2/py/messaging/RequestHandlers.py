@@ -214,8 +214,8 @@ class GetTableChunkRequestHandler(AbstractRequestHandler):
         if type(data_frame) != pandas.core.frame.DataFrame:
             raise TypeError("Expected pandas.DataFrame, got: " + str(type(data_frame))
                             + "\nPlease make sure your output_table is a pandas.DataFrame.")
-        data_frame_chunk = data_frame[start:end + 1]
-        data_bytes = workspace.serializer.data_frame_to_bytes(data_frame_chunk, start)
+        table_session = workspace.get_table_session(name, data_frame)
+        data_bytes = workspace.serializer.data_frame_chunk_to_bytes(table_session, start, end)
 
         return AbstractRequestHandler._create_response(request, response_message_id,
                                                        response_payload=_create_byte_array_payload(data_bytes))
@@ -248,6 +248,36 @@ class GetObjectRequestHandler(AbstractRequestHandler):
                                                        response_payload=_create_byte_array_payload(data_bytes))
 
 
+class PutObjectFromFileRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        path = PayloadDecoder(request.payload).get_next_string()
+        name = request.get_header_field(_PAYLOAD_NAME)
+
+        # Unpickle directly from the file to avoid holding the pickled bytes in memory.
+        with open(path, 'rb') as file:
+            data_object = pickle.load(file)
+        workspace.put_variable(name, data_object)
+
+        return AbstractRequestHandler._create_response(request, response_message_id)
+
+
+class GetObjectToFileRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        payload_decoder = PayloadDecoder(request.payload)
+        name = payload_decoder.get_next_string()
+        path = payload_decoder.get_next_string()
+
+        data_object = workspace.get_variable(name)
+        # Pickle directly into the file to avoid holding the pickled bytes in memory.
+        with open(path, 'wb') as file:
+            pickle.dump(data_object, file)
+        o_type = type(data_object).__name__
+        o_representation = PythonUtils.object_to_string(data_object)
+        response_payload = PayloadEncoder().put_string(o_type).put_string(o_representation).payload
+
+        return AbstractRequestHandler._create_response(request, response_message_id, response_payload=response_payload)
+
+
 class PutSqlRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         payload_decoder = PayloadDecoder(request.payload)
@@ -350,6 +380,26 @@ class AddDeserializerRequestHandler(AbstractRequestHandler):
         return AbstractRequestHandler._create_response(request, response_message_id)
 
 
+class AddTypeExtensionsRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        payload_decoder = PayloadDecoder(request.payload)
+        serializers = []
+        for _ in range(payload_decoder.get_next_int()):
+            s_id = payload_decoder.get_next_string()
+            s_type = payload_decoder.get_next_string()
+            s_path = payload_decoder.get_next_string()
+            serializers.append((s_id, s_type, s_path))
+        deserializers = []
+        for _ in range(payload_decoder.get_next_int()):
+            d_id = payload_decoder.get_next_string()
+            d_path = payload_decoder.get_next_string()
+            deserializers.append((d_id, d_path))
+
+        workspace.type_extension_manager.add_type_extensions(serializers, deserializers)
+
+        return AbstractRequestHandler._create_response(request, response_message_id)
+
+
 class SetSerializationLibraryRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         path_to_serialization_library_module = PayloadDecoder(request.payload).get_next_string()
@@ -359,6 +409,24 @@ class SetSerializationLibraryRequestHandler(AbstractRequestHandler):
         return AbstractRequestHandler._create_response(request, response_message_id)
 
 
+class SetSharedMemoryDirectoryRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        shared_memory_directory = PayloadDecoder(request.payload).get_next_string()
+
+        workspace.set_shared_memory_directory(shared_memory_directory)
+
+        return AbstractRequestHandler._create_response(request, response_message_id)
+
+
+class SetDictionaryEncodingRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        use_dictionary_encoding = PayloadDecoder(request.payload).get_next_int() != 0
+
+        workspace.set_dictionary_encoding(use_dictionary_encoding)
+
+        return AbstractRequestHandler._create_response(request, response_message_id)
+
+
 class SetCustomModulePathsRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         path = PayloadDecoder(request.payload).get_next_string()
@@ -386,6 +454,13 @@ class ResetRequestHandler(AbstractRequestHandler):
         return AbstractRequestHandler._create_response(request, response_message_id)
 
 
+class ResetForReuseRequestHandler(AbstractRequestHandler):
+    def _respond(self, request, response_message_id, workspace):
+        reason = workspace.reset_for_reuse()
+        response_payload = PayloadEncoder().put_string(reason).payload
+        return AbstractRequestHandler._create_response(request, response_message_id, response_payload=response_payload)
+
+
 class CleanupRequestHandler(AbstractRequestHandler):
     def _respond(self, request, response_message_id, workspace):
         workspace._cleanup()
@@ -409,6 +484,8 @@ _builtin_request_handlers = {'getpid': GetPidRequestHandler(),
                              'getTableChunk': GetTableChunkRequestHandler(),
                              'putObject': PutObjectRequestHandler(),
                              'getObject': GetObjectRequestHandler(),
+                             'putObjectFromFile': PutObjectFromFileRequestHandler(),
+                             'getObjectToFile': GetObjectToFileRequestHandler(),
                              'putSql': PutSqlRequestHandler(),
                              'getSql': GetSqlRequestHandler(),
                              'getImage': GetImageRequestHandler(),
@@ -417,11 +494,15 @@ _builtin_request_handlers = {'getpid': GetPidRequestHandler(),
                              'autoComplete': AutoCompleteRequestHandler(),
                              'addSerializer': AddSerializerRequestHandler(),
                              'addDeserializer': AddDeserializerRequestHandler(),
+                             'addTypeExtensions': AddTypeExtensionsRequestHandler(),
                              'setSerializationLibrary': SetSerializationLibraryRequestHandler(),
+                             'setSharedMemoryDirectory': SetSharedMemoryDirectoryRequestHandler(),
+                             'setDictionaryEncoding': SetDictionaryEncodingRequestHandler(),
                              'setCustomModulePaths': SetCustomModulePathsRequestHandler(),
                              'execute': ExecuteRequestHandler(),
                              'execute_async': ExecuteRequestHandler(),
                              'reset': ResetRequestHandler(),
+                             'resetForReuse': ResetForReuseRequestHandler(),
                              'cleanup': CleanupRequestHandler(),
                              'shutdown': ShutdownRequestHandler()}
 
@@ -70,4 +70,4 @@ class PythonKernel(PythonKernelBase):
         return SynchronousExecutor()
 
     def _create_messaging(self, connection):
-        return PythonMessaging(connection)
+        return PythonMessaging(connection, self._protocol_version)
@@ -74,6 +74,12 @@ class SynchronousExecutor(object):
         future.result()  # Immediately raise exception in case one was recorded.
         return future
 
+    def is_busy(self):
+        """
+        Always returns False since submitted tasks are completed before submit returns.
+        """
+        return False
+
     def shutdown(self, wait=True):
         self._shutdown = True
 
@@ -49,6 +49,7 @@
 
 from Queue import Empty
 
+from messaging import MessageProtocol
 from messaging.MessageReceiver import MessageReceiver
 from messaging.MessageSender import MessageSender
 from messaging.PythonMessagingBase import PythonMessagingBase
@@ -59,10 +60,10 @@ class PythonMessaging(PythonMessagingBase):
     The Python 2 messaging system.
     """
 
-    def __init__(self, connection):
+    def __init__(self, connection, protocol_version=MessageProtocol.VERSION_TEXT_HEADER):
         super(PythonMessaging, self).__init__()
-        self._sender = MessageSender(connection)
-        self._receiver = MessageReceiver(connection)
+        self._sender = MessageSender(connection, protocol_version)
+        self._receiver = MessageReceiver(connection, protocol_version)
 
     def create_receive_queue(self):
         return PythonMessaging._MessageFetchingQueue(self._receiver)
@@ -102,6 +102,8 @@ class PythonKernel(PythonKernelBase):
                   'getFlowVariables',
                   'putObject',
                   'getObject',
+                  'putObjectFromFile',
+                  'getObjectToFile',
                   'putSql',
                   'getSql',
                   'getImage',
@@ -120,7 +122,7 @@ class PythonKernel(PythonKernelBase):
         return ThreadPoolExecutor(number_threads)
 
     def _create_messaging(self, connection):
-        return PythonMessaging(connection, self._monitor)
+        return PythonMessaging(connection, self._monitor, self._protocol_version)
 
     def _cleanup_object(self, obj, obj_name):
         if obj_name in self._execute_thread_cleanup_object_names:
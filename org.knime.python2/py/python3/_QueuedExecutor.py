@@ -103,6 +103,13 @@ class _QueuedExecutor(object):
             self._queue.put(work_item)
             return future
 
+    def is_busy(self):
+        """
+        Returns whether a submitted task is currently running or waiting to be run.
+        """
+        # Tasks are only marked as done by the processing loop once they finished running.
+        return self._queue.unfinished_tasks > 0
+
     def _monitored_fn(self, fn, *args, **kwargs):
         try:
             return fn(*args, **kwargs)
@@ -47,24 +47,68 @@
 @author Christian Dietz, KNIME GmbH, Konstanz, Germany
 """
 
+import threading
+from queue import Empty
+
 from python3.messaging.AbstractMessageLoop import AbstractMessageLoop
 
 
 class MessageSenderLoop(AbstractMessageLoop):
-    def __init__(self, sender, send_queue, monitor):
+    """
+    Sends the messages of concurrently running tasks to Java. Messages without or with only a small payload are sent
+    before queued messages with large payloads (e.g. table chunks), so that cheap requests and responses do not wait
+    behind bulk data transfers of other tasks. The order of the messages of a single task is not affected since each
+    task waits for a response before sending its next message.
+    """
+
+    # Messages whose payload exceeds this size are considered bulk messages.
+    _MAX_CONTROL_PAYLOAD_SIZE = 64 * 1024
+
+    _TIMEOUT_STEP_IN_SEC = 0.1
+
+    def __init__(self, sender, send_queue, monitor, bulk_send_queue=None):
         super(MessageSenderLoop, self).__init__(monitor)
         self._sender = sender
         self._send_queue = send_queue
+        self._bulk_send_queue = bulk_send_queue
+        # The number of messages in both queues.
+        self._num_queued_messages = threading.Semaphore(0)
 
     def send(self, message):
-        self._send_queue.put(message)
+        payload = message.payload
+        if (self._bulk_send_queue is not None and payload is not None
+                and len(payload) > MessageSenderLoop._MAX_CONTROL_PAYLOAD_SIZE):
+            self._bulk_send_queue.put(message)
+        else:
+            self._send_queue.put(message)
+        self._num_queued_messages.release()
 
     def _loop(self):
         while self.is_running:
-            message = self._send_queue.get()
+            while not self._num_queued_messages.acquire(timeout=MessageSenderLoop._TIMEOUT_STEP_IN_SEC):
+                self._monitor.check_exception()
+            message = self._next_message()
+            if message is None:
+                # Queues were cleared while closing.
+                continue
             if message == self._monitor.poison_pill:
                 break
             self._sender.send(message)
 
+    def _next_message(self):
+        try:
+            return self._send_queue.get_nowait()
+        except Empty:
+            if self._bulk_send_queue is None:
+                return None
+            try:
+                return self._bulk_send_queue.get_nowait()
+            except Empty:
+                return None
+
     def _close(self):
+        if self._bulk_send_queue is not None:
+            with self._bulk_send_queue.mutex:
+                self._bulk_send_queue.queue.clear()
         AbstractMessageLoop._clear_queue_and_put_message(self._send_queue, self._monitor.poison_pill)
+        self._num_queued_messages.release()
@@ -51,6 +51,7 @@ import threading
 
 from PythonUtils import invoke_safely
 from debug_util import debug_msg
+from messaging import MessageProtocol
 from messaging.MessageReceiver import MessageReceiver
 from messaging.MessageSender import MessageSender
 from messaging.PythonMessagingBase import PythonMessagingBase
@@ -70,17 +71,19 @@ class PythonMessaging(PythonMessagingBase):
 
     _TASK_RECEIVE_QUEUE_LENGTH = 10
 
-    def __init__(self, connection, monitor):
+    def __init__(self, connection, monitor, protocol_version=MessageProtocol.VERSION_TEXT_HEADER):
         super(PythonMessaging, self).__init__()
         self._monitor = monitor
         self._is_running_lock = threading.Lock()
         self._message_id_lock = threading.Lock()
 
-        self._send_loop = MessageSenderLoop(MessageSender(connection),
-                                            monitor.create_message_queue(PythonMessaging._SEND_QUEUE_LENGTH), monitor)
+        self._send_loop = MessageSenderLoop(MessageSender(connection, protocol_version),
+                                            monitor.create_message_queue(PythonMessaging._SEND_QUEUE_LENGTH), monitor,
+                                            monitor.create_message_queue(PythonMessaging._SEND_QUEUE_LENGTH))
 
         self._receive_queue = monitor.create_message_queue(PythonMessaging._RECEIVE_QUEUE_LENGTH)
-        self._receive_loop = MessageReceiverLoop(MessageReceiver(connection), self._receive_queue, monitor)
+        self._receive_loop = MessageReceiverLoop(MessageReceiver(connection, protocol_version),
+                                                 self._receive_queue, monitor)
 
         self._distribute_loop = MessageDistributorLoop(self._receive_loop, self._distributor,
                                                        monitor)
@@ -47,16 +47,21 @@
  */
 package org.knime.python2;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.commons.io.IOUtils;
 import org.knime.core.node.NodeLogger;
@@ -100,6 +105,13 @@ public class PythonKernelTester {
     private static final Map<PythonCommand, List<Pair<Set<PythonModuleSpec>, PythonKernelTestResult>>> TEST_RESULTS =
         new ConcurrentHashMap<>();
 
+    /**
+     * Tests that are currently running. Mapping from the tested configuration (command, major version, minimum version,
+     * and additional required modules) to the eventual test result.
+     */
+    private static final Map<List<Object>, CompletableFuture<PythonKernelTestResult>> RUNNING_TESTS =
+        new ConcurrentHashMap<>();
+
     private PythonKernelTester() {}
 
     /**
@@ -175,26 +187,87 @@ public static PythonKernelTestResult testPython3Installation(final PythonCommand
     /**
      * @param minimumVersion May be {@code null} in the case where no minimum version is required.
      */
-    private static synchronized PythonKernelTestResult testPythonInstallation(final PythonCommand pythonCommand,
+    private static PythonKernelTestResult testPythonInstallation(final PythonCommand pythonCommand,
         final String majorVersion, final String minimumVersion,
         final Collection<PythonModuleSpec> additionalRequiredModules,
         final Collection<PythonModuleSpec> additionalOptionalModules, final boolean force) {
         final Set<PythonModuleSpec> additionalRequiredModulesSet = new HashSet<>(additionalRequiredModules);
-        PythonKernelTestResult testResults;
 
         if (!force) {
             // Only rerun test if there isn't already a suitable test result.
             // NOTE: optional modules are not considered for previous test results because they only issue warnings
-            testResults = getPreviousTestResultsIfApplicable(pythonCommand, additionalRequiredModulesSet);
+            final PythonKernelTestResult testResults =
+                getPreviousTestResultsIfApplicable(pythonCommand, additionalRequiredModulesSet);
             if (testResults != null) {
                 return testResults;
             }
         }
 
+        // Tests of different configurations run concurrently. Concurrent requests for the same configuration share
+        // the result of a single test run.
+        final List<Object> testKey =
+            Arrays.asList(pythonCommand, majorVersion, minimumVersion, additionalRequiredModulesSet);
+        final CompletableFuture<PythonKernelTestResult> test = new CompletableFuture<>();
+        final CompletableFuture<PythonKernelTestResult> runningTest = RUNNING_TESTS.putIfAbsent(testKey, test);
+        if (runningTest != null) {
+            return awaitRunningTest(runningTest);
+        }
+        try {
+            PythonKernelTestResult testResults = null;
+            if (!force) {
+                // A test of the same configuration may have finished in the meantime.
+                testResults = getPreviousTestResultsIfApplicable(pythonCommand, additionalRequiredModulesSet);
+            }
+            if (testResults == null) {
+                testResults = runOrLoadTest(pythonCommand, majorVersion, minimumVersion, additionalRequiredModulesSet,
+                    additionalOptionalModules, force);
+                TEST_RESULTS.computeIfAbsent(pythonCommand, k -> new CopyOnWriteArrayList<>())
+                    .add(new Pair<>(additionalRequiredModulesSet, testResults));
+            }
+            test.complete(testResults);
+            return testResults;
+        } catch (final RuntimeException | Error ex) {
+            test.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            RUNNING_TESTS.remove(testKey, test);
+        }
+    }
+
+    private static PythonKernelTestResult awaitRunningTest(final CompletableFuture<PythonKernelTestResult> test) {
+        try {
+            return test.join();
+        } catch (final CompletionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static PythonKernelTestResult runOrLoadTest(final PythonCommand pythonCommand, final String majorVersion,
+        final String minimumVersion, final Set<PythonModuleSpec> additionalRequiredModulesSet,
+        final Collection<PythonModuleSpec> additionalOptionalModules, final boolean force) {
+        PythonKernelTestResult testResults;
+
+        // Results of previous KNIME sessions remain valid as long as the tested installation did not change.
+        final String cacheKey = PythonKernelTesterCache.createKey(pythonCommand, majorVersion, minimumVersion,
+            additionalRequiredModulesSet, getPythonKernelTesterFile());
+        if (!force && cacheKey != null) {
+            testResults = PythonKernelTesterCache.load(cacheKey);
+            if (testResults != null) {
+                LOGGER.debug("Using cached Python installation test result for '" + pythonCommand + "'.");
+                return testResults;
+            }
+        }
+
         final StringBuilder testLogger = new StringBuilder();
         try {
             final Process process = runPythonKernelTester(pythonCommand, majorVersion, minimumVersion,
-                additionalRequiredModules, additionalOptionalModules, testLogger);
+                additionalRequiredModulesSet, additionalOptionalModules, testLogger);
 
             // Get error output.
             final StringWriter errorWriter = new StringWriter();
@@ -223,11 +296,9 @@ private static synchronized PythonKernelTestResult testPythonInstallation(final
         if (testResults.hasError()) {
             logDetailedInfo("An error occurred while testing the Python " + majorVersion + " installation.",
                 testResults);
+        } else if (cacheKey != null) {
+            PythonKernelTesterCache.store(cacheKey, testResults);
         }
-
-        final List<Pair<Set<PythonModuleSpec>, PythonKernelTestResult>> requiredModulesAndResults =
-            TEST_RESULTS.computeIfAbsent(pythonCommand, k -> new ArrayList<>(1));
-        requiredModulesAndResults.add(new Pair<>(additionalRequiredModulesSet, testResults));
         return testResults;
     }
 
@@ -250,13 +321,16 @@ private static PythonKernelTestResult getPreviousTestResultsIfApplicable(final P
         return null;
     }
 
+    private static File getPythonKernelTesterFile() {
+        return Activator.getFile(Activator.PLUGIN_ID, "py/" + PYTHON_KERNEL_TESTER_FILE_NAME);
+    }
+
     private static Process runPythonKernelTester(final PythonCommand pythonCommand, final String majorVersion,
         final String minimumVersion, final Collection<PythonModuleSpec> additionalRequiredModules,
         final Collection<PythonModuleSpec> additionalOptionalModules, final StringBuilder testLogger)
         throws IOException {
         // Run Python kernel tester script. See file at pythonKernelTesterFilePath for expected arguments.
-        final String pythonKernelTesterFilePath =
-            Activator.getFile(Activator.PLUGIN_ID, "py/" + PYTHON_KERNEL_TESTER_FILE_NAME).getAbsolutePath();
+        final String pythonKernelTesterFilePath = getPythonKernelTesterFile().getAbsolutePath();
         final List<String> commandArguments = new ArrayList<>(1 + 1 + (minimumVersion == null ? 0 : 1)
             + (additionalRequiredModules.isEmpty() ? 0 : 1) + additionalRequiredModules.size());
         commandArguments.add(pythonKernelTesterFilePath);
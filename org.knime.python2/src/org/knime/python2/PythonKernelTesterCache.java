@@ -0,0 +1,291 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.PythonKernelTester.PythonKernelTestResult;
+
+/**
+ * Persists successful results of the {@link PythonKernelTester} across KNIME sessions. A result is stored under a key
+ * that comprises the tested Python command, the path and last modification time of its executable, a fingerprint of
+ * the package directories of its environment, the tested version constraints and required modules, and the tester
+ * script itself. Installing, removing, or upgrading packages touches the package directories and therefore
+ * invalidates the result. Commands whose environment cannot be located on disk (e.g. start scripts that activate an
+ * environment elsewhere) are not cached.
+ * <P>
+ * Caching can be disabled via the VM option <code>-Dknime.python.testercache=false</code>.
+ *
+ * @author agent
+ */
+final class PythonKernelTesterCache {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelTesterCache.class);
+
+    private static final String CACHE_VM_OPT = "knime.python.testercache";
+
+    private static final boolean CACHE_ENABLED = Boolean.parseBoolean(System.getProperty(CACHE_VM_OPT, "true"));
+
+    private static final String CACHE_DIRECTORY_NAME = "python-kernel-tester-cache";
+
+    private static final String KEY_PROPERTY = "key";
+
+    private static final String VERSION_PROPERTY = "version";
+
+    private static final String WARNING_LOG_PROPERTY = "warningLog";
+
+    private static final String TEST_LOG_PROPERTY = "testLog";
+
+    private PythonKernelTesterCache() {}
+
+    /**
+     * @param pythonCommand the tested Python command
+     * @param majorVersion the tested major version
+     * @param minimumVersion the tested minimum version, may be {@code null}
+     * @param requiredModules the tested required modules
+     * @param testerScript the tester script
+     * @return the cache key of the given test configuration or {@code null} if its results cannot be cached
+     */
+    static String createKey(final PythonCommand pythonCommand, final String majorVersion,
+        final String minimumVersion, final Set<PythonModuleSpec> requiredModules, final File testerScript) {
+        if (!CACHE_ENABLED) {
+            return null;
+        }
+        try {
+            final ProcessBuilder pb = pythonCommand.createProcessBuilder();
+            final Path executable = resolveExecutable(pb.command());
+            if (executable == null) {
+                return null;
+            }
+            final String packagesFingerprint = getPackagesFingerprint(pythonCommand, executable);
+            if (packagesFingerprint == null) {
+                return null;
+            }
+            final Set<String> modules = new TreeSet<>();
+            for (final PythonModuleSpec module : requiredModules) {
+                modules.add(module.toString());
+            }
+            return String.join("\n", //
+                pythonCommand.toString(), //
+                executable + "@" + Files.getLastModifiedTime(executable).toMillis() + "/" + Files.size(executable), //
+                packagesFingerprint, //
+                "PYTHONPATH=" + pb.environment().getOrDefault("PYTHONPATH", ""), //
+                majorVersion + "/" + minimumVersion, //
+                String.join(",", modules), //
+                testerScript.getAbsolutePath() + "@" + testerScript.lastModified() + "/" + testerScript.length());
+        } catch (final IOException | RuntimeException ex) {
+            LOGGER.debug("Python installation test results cannot be cached.", ex);
+            return null;
+        }
+    }
+
+    /**
+     * @param key the cache key, see {@link #createKey(PythonCommand, String, String, Set, File)}
+     * @return the cached test result or {@code null} if there is none
+     */
+    static PythonKernelTestResult load(final String key) {
+        final Path file = getCacheFile(key);
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not read cached Python installation test result from '" + file + "'.", ex);
+            return null;
+        }
+        if (!key.equals(properties.getProperty(KEY_PROPERTY))) {
+            return null;
+        }
+        return new PythonKernelTestResult(properties.getProperty(TEST_LOG_PROPERTY, ""), null,
+            properties.getProperty(WARNING_LOG_PROPERTY), properties.getProperty(VERSION_PROPERTY));
+    }
+
+    /**
+     * Stores the given successful test result.
+     *
+     * @param key the cache key, see {@link #createKey(PythonCommand, String, String, Set, File)}
+     * @param result the test result, must not have an error
+     */
+    static void store(final String key, final PythonKernelTestResult result) {
+        final Path file = getCacheFile(key);
+        if (file == null || result.hasError()) {
+            return;
+        }
+        final Properties properties = new Properties();
+        properties.setProperty(KEY_PROPERTY, key);
+        properties.setProperty(TEST_LOG_PROPERTY, result.getFullTestLog());
+        if (result.getVersion() != null) {
+            properties.setProperty(VERSION_PROPERTY, result.getVersion());
+        }
+        if (result.getWarningLog() != null) {
+            properties.setProperty(WARNING_LOG_PROPERTY, result.getWarningLog());
+        }
+        Path tempFile = null;
+        try {
+            Files.createDirectories(file.getParent());
+            // Multiple KNIME instances may share the cache, so write to a temporary file and move it into place.
+            tempFile = Files.createTempFile(file.getParent(), "result-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, null);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException ex) {
+            LOGGER.debug("Could not cache Python installation test result in '" + file + "'.", ex);
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (final IOException ex1) {
+                    LOGGER.debug(ex1);
+                }
+            }
+        }
+    }
+
+    private static Path getCacheFile(final String key) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder fileName = new StringBuilder();
+            for (final byte b : hash) {
+                fileName.append(String.format("%02x", b));
+            }
+            return Paths.get(KNIMEConstants.getKNIMEHomeDir(), CACHE_DIRECTORY_NAME, fileName + ".properties");
+        } catch (final NoSuchAlgorithmException ex) {
+            LOGGER.debug(ex);
+            return null;
+        }
+    }
+
+    /**
+     * @return the real path of the executable of the given command line or {@code null} if it cannot be located
+     */
+    private static Path resolveExecutable(final List<String> commandLine) throws IOException {
+        if (commandLine.isEmpty()) {
+            return null;
+        }
+        final Path executable = Paths.get(commandLine.get(0));
+        if (executable.isAbsolute()) {
+            return Files.isRegularFile(executable) ? executable.toRealPath() : null;
+        }
+        // Look up bare commands like "python3" on the PATH.
+        final String path = System.getenv("PATH");
+        if (path == null || executable.getNameCount() != 1) {
+            return null;
+        }
+        for (final String directory : path.split(File.pathSeparator)) {
+            for (final String name : SystemUtils.IS_OS_WINDOWS
+                ? new String[]{executable.toString(), executable + ".exe"} : new String[]{executable.toString()}) {
+                final Path candidate = Paths.get(directory, name);
+                if (Files.isRegularFile(candidate)) {
+                    return candidate.toRealPath();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the last modification times of the package directories of the environment of the given executable or
+     *         {@code null} if there are none
+     */
+    private static String getPackagesFingerprint(final PythonCommand pythonCommand, final Path executable)
+        throws IOException {
+        final Path prefix;
+        if (pythonCommand instanceof CondaPythonCommand) {
+            prefix = Paths.get(((CondaPythonCommand)pythonCommand).getEnvironmentDirectoryPath());
+        } else {
+            // <prefix>/bin/python on Linux and Mac, <prefix>/python.exe on Windows.
+            final Path parent = executable.getParent();
+            prefix = parent != null && "bin".equals(String.valueOf(parent.getFileName())) ? parent.getParent() : parent;
+        }
+        if (prefix == null) {
+            return null;
+        }
+        final StringBuilder fingerprint = new StringBuilder();
+        // Conda adds and removes a metadata file per package and logs each transaction in the history file.
+        appendLastModified(fingerprint, prefix.resolve("conda-meta"));
+        appendLastModified(fingerprint, prefix.resolve("conda-meta").resolve("history"));
+        // pip (and conda) add and remove a directory per package in site-packages.
+        appendLastModified(fingerprint, prefix.resolve("Lib").resolve("site-packages"));
+        final Path lib = prefix.resolve("lib");
+        if (Files.isDirectory(lib)) {
+            try (DirectoryStream<Path> pythonDirs = Files.newDirectoryStream(lib, "python*")) {
+                for (final Path pythonDir : pythonDirs) {
+                    appendLastModified(fingerprint, pythonDir.resolve("site-packages"));
+                }
+            }
+        }
+        return fingerprint.length() > 0 ? fingerprint.toString() : null;
+    }
+
+    private static void appendLastModified(final StringBuilder fingerprint, final Path path) throws IOException {
+        if (Files.exists(path)) {
+            fingerprint.append(path).append('@').append(Files.getLastModifiedTime(path).toMillis()).append(';');
+        }
+    }
+}
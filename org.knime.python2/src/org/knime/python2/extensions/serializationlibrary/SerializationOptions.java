@@ -89,6 +89,15 @@ public class SerializationOptions {
      */
     public static final int DEFAULT_SENTINEL_VALUE = 0;
 
+    /**
+     * Only dictionary-encode string columns with few distinct values if enabled via the VM option
+     * <code>-Dknime.python.arrow.dictionaryencoding=true</code>. Disabled by default.
+     *
+     * @since 4.3
+     */
+    public static final boolean DEFAULT_USE_DICTIONARY_ENCODING =
+        Boolean.parseBoolean(System.getProperty("knime.python.arrow.dictionaryencoding", "false"));
+
     private final String m_serializerId;
 
     private final int m_chunkSize;
@@ -101,6 +110,8 @@ public class SerializationOptions {
 
     private final int m_sentinelValue;
 
+    private final boolean m_useDictionaryEncoding;
+
     /**
      * Default constructor. Consults the {@link PythonPreferences preferences} for the
      * {@link PythonPreferences#getSerializerPreference() serializer} to use. Initializes the other values of these
@@ -113,6 +124,7 @@ public SerializationOptions() {
         m_convertMissingFromPython = DEFAULT_CONVERT_MISSING_FROM_PYTHON;
         m_sentinelOption = DEFAULT_SENTINEL_OPTION;
         m_sentinelValue = DEFAULT_SENTINEL_VALUE;
+        m_useDictionaryEncoding = DEFAULT_USE_DICTIONARY_ENCODING;
     }
 
     /**
@@ -136,21 +148,26 @@ public SerializationOptions(final int chunkSize, final boolean convertMissingToP
         m_convertMissingFromPython = convertMissingFromPython;
         m_sentinelOption = sentinelOption;
         m_sentinelValue = sentinelValue;
+        m_useDictionaryEncoding = DEFAULT_USE_DICTIONARY_ENCODING;
     }
 
     /**
      * @param serializerId The {@link SerializationLibraryExtension#getId() id} of the serializer to use for data
      *            transfer between Java and Python. May be {@code null} in which case we resort to
      *            {@link PythonPreferences#getSerializerPreference()}.
+     * @param useDictionaryEncoding {@code true} if string columns with few distinct values shall be
+     *            dictionary-encoded.
      */
     private SerializationOptions(final String serializerId, final int chunkSize, final boolean convertMissingToPython,
-        final boolean convertMissingFromPython, final SentinelOption sentinelOption, final int sentinelValue) {
+        final boolean convertMissingFromPython, final SentinelOption sentinelOption, final int sentinelValue,
+        final boolean useDictionaryEncoding) {
         m_serializerId = serializerId != null ? serializerId : PythonPreferences.getSerializerPreference();
         m_chunkSize = chunkSize;
         m_convertMissingToPython = convertMissingToPython;
         m_convertMissingFromPython = convertMissingFromPython;
         m_sentinelOption = sentinelOption;
         m_sentinelValue = sentinelValue;
+        m_useDictionaryEncoding = useDictionaryEncoding;
     }
 
     /**
@@ -172,7 +189,7 @@ public String getSerializerId() {
      */
     public SerializationOptions forSerializerId(final String serializerId) {
         return new SerializationOptions(serializerId, m_chunkSize, m_convertMissingToPython, m_convertMissingFromPython,
-            m_sentinelOption, m_sentinelValue);
+            m_sentinelOption, m_sentinelValue, m_useDictionaryEncoding);
     }
 
     /**
@@ -191,7 +208,7 @@ public int getChunkSize() {
      */
     public SerializationOptions forChunkSize(final int chunkSize) {
         return new SerializationOptions(m_serializerId, chunkSize, m_convertMissingToPython, m_convertMissingFromPython,
-            m_sentinelOption, m_sentinelValue);
+            m_sentinelOption, m_sentinelValue, m_useDictionaryEncoding);
     }
 
     /**
@@ -211,7 +228,7 @@ public boolean getConvertMissingToPython() {
      */
     public SerializationOptions forConvertMissingToPython(final boolean convertMissingToPython) {
         return new SerializationOptions(m_serializerId, m_chunkSize, convertMissingToPython, m_convertMissingFromPython,
-            m_sentinelOption, m_sentinelValue);
+            m_sentinelOption, m_sentinelValue, m_useDictionaryEncoding);
     }
 
     /**
@@ -231,7 +248,7 @@ public boolean getConvertMissingFromPython() {
      */
     public SerializationOptions forConvertMissingFromPython(final boolean convertMissingFromPython) {
         return new SerializationOptions(m_serializerId, m_chunkSize, m_convertMissingToPython, convertMissingFromPython,
-            m_sentinelOption, m_sentinelValue);
+            m_sentinelOption, m_sentinelValue, m_useDictionaryEncoding);
     }
 
     /**
@@ -251,7 +268,7 @@ public SentinelOption getSentinelOption() {
      */
     public SerializationOptions forSentinelOption(final SentinelOption sentinelOption) {
         return new SerializationOptions(m_serializerId, m_chunkSize, m_convertMissingToPython,
-            m_convertMissingFromPython, sentinelOption, m_sentinelValue);
+            m_convertMissingFromPython, sentinelOption, m_sentinelValue, m_useDictionaryEncoding);
     }
 
     /**
@@ -271,7 +288,30 @@ public int getSentinelValue() {
      */
     public SerializationOptions forSentinelValue(final int sentinelValue) {
         return new SerializationOptions(m_serializerId, m_chunkSize, m_convertMissingToPython,
-            m_convertMissingFromPython, m_sentinelOption, sentinelValue);
+            m_convertMissingFromPython, m_sentinelOption, sentinelValue, m_useDictionaryEncoding);
+    }
+
+    /**
+     * @return {@code true} if string columns with few distinct values shall be dictionary-encoded during the data
+     *         transfer between Java and Python in both directions. {@code false} if all string columns shall be
+     *         transferred as plain strings.
+     * @since 4.3
+     */
+    public boolean getUseDictionaryEncoding() {
+        return m_useDictionaryEncoding;
+    }
+
+    /**
+     * Returns a copy of this instance for the given dictionary encoding option. This instance remains unaffected.
+     *
+     * @param useDictionaryEncoding {@code true} to configure that string columns with few distinct values shall be
+     *            dictionary-encoded. {@code false} if all string columns shall be transferred as plain strings.
+     * @return A copy of this options instance with the given value set.
+     * @since 4.3
+     */
+    public SerializationOptions forUseDictionaryEncoding(final boolean useDictionaryEncoding) {
+        return new SerializationOptions(m_serializerId, m_chunkSize, m_convertMissingToPython,
+            m_convertMissingFromPython, m_sentinelOption, m_sentinelValue, useDictionaryEncoding);
     }
 
     /**
@@ -330,7 +370,7 @@ public boolean isSentinel(final Type type, final long value) {
     @Override
     public int hashCode() {
         return Objects.hash(m_serializerId, m_chunkSize, m_convertMissingToPython, m_convertMissingFromPython,
-            m_sentinelOption, m_sentinelValue);
+            m_sentinelOption, m_sentinelValue, m_useDictionaryEncoding);
     }
 
     @Override
@@ -349,6 +389,7 @@ public boolean equals(final Object obj) {
         b.append(m_convertMissingFromPython, other.m_convertMissingFromPython);
         b.append(m_sentinelOption, other.m_sentinelOption);
         b.append(m_sentinelValue, other.m_sentinelValue);
+        b.append(m_useDictionaryEncoding, other.m_useDictionaryEncoding);
         return b.isEquals();
     }
 }
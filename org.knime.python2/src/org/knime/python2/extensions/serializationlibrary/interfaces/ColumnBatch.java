@@ -0,0 +1,144 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.extensions.serializationlibrary.interfaces;
+
+/**
+ * A batch of consecutive rows of a table in columnar layout. In contrast to {@link Row} and {@link Cell}, values of
+ * primitive columns are held in primitive arrays and strings and bytes are held in a single data array per column
+ * along with an offset array. This avoids creating wrapper objects per cell and allows serialization libraries to fill
+ * their column vectors in bulk.
+ * <P>
+ * Missing values are encoded in a validity bitmap per column, where a set bit indicates that the value at the
+ * respective row is present (the same layout is used by Apache Arrow). Values at missing positions are undefined.
+ * Collection types are not (yet) stored in columnar layout and are made available as {@link Cell cells}.
+ *
+ * @author agent
+ */
+public interface ColumnBatch {
+
+    /**
+     * @return The {@link TableSpec}.
+     */
+    TableSpec getTableSpec();
+
+    /**
+     * @return The number of rows in this batch.
+     */
+    int getNumberRows();
+
+    /**
+     * @return The row keys of the rows in this batch.
+     */
+    String[] getRowKeys();
+
+    /**
+     * @param columnIndex the index of the column
+     * @return The validity bitmap of the column. A set bit indicates that the value of the respective row is present.
+     */
+    byte[] getValidity(int columnIndex);
+
+    /**
+     * @param columnIndex the index of the column
+     * @param rowIndex the index of the row within this batch
+     * @return true if the value at the given position is missing, false otherwise
+     */
+    default boolean isMissing(final int columnIndex, final int rowIndex) {
+        return (getValidity(columnIndex)[rowIndex >> 3] & (1 << (rowIndex & 7))) == 0;
+    }
+
+    /**
+     * @param columnIndex the index of a {@link Type#BOOLEAN} column
+     * @return The values of the column.
+     */
+    boolean[] getBooleanColumn(int columnIndex);
+
+    /**
+     * @param columnIndex the index of a {@link Type#INTEGER} column
+     * @return The values of the column.
+     */
+    int[] getIntegerColumn(int columnIndex);
+
+    /**
+     * @param columnIndex the index of a {@link Type#LONG} column
+     * @return The values of the column.
+     */
+    long[] getLongColumn(int columnIndex);
+
+    /**
+     * @param columnIndex the index of a {@link Type#DOUBLE} column
+     * @return The values of the column.
+     */
+    double[] getDoubleColumn(int columnIndex);
+
+    /**
+     * @param columnIndex the index of a {@link Type#FLOAT} column
+     * @return The values of the column.
+     */
+    float[] getFloatColumn(int columnIndex);
+
+    /**
+     * @param columnIndex the index of a {@link Type#STRING} or {@link Type#BYTES} column
+     * @return The offsets of the values of the column in {@link #getData(int)}. The value at row <code>i</code>
+     *         starts at <code>offsets[i]</code> and ends before <code>offsets[i + 1]</code>. Strings are UTF-8 encoded.
+     */
+    int[] getOffsets(int columnIndex);
+
+    /**
+     * @param columnIndex the index of a {@link Type#STRING} or {@link Type#BYTES} column
+     * @return The concatenated values of the column.
+     */
+    byte[] getData(int columnIndex);
+
+    /**
+     * Returns the value at the given position as a {@link Cell}. This is the only way to access values of collection
+     * columns but works for all column types.
+     *
+     * @param columnIndex the index of the column
+     * @param rowIndex the index of the row within this batch
+     * @return The cell at the given position.
+     */
+    Cell getCell(int columnIndex, int rowIndex);
+}
@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,43 +40,25 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 31, 2018 (marcel): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.extractors;
-
-import java.nio.ByteBuffer;
-import java.nio.FloatBuffer;
 
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+package org.knime.python2.extensions.serializationlibrary.interfaces;
 
 /**
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * A {@link TableCreator} that is additionally able to consume whole {@link ColumnBatch batches} of rows. Serialization
+ * libraries should prefer {@link #addBatch(ColumnBatch)} over adding rows one by one if the creator implements this
+ * interface.
+ *
+ * @author agent
+ * @param <T> the table type to be created
  */
-public final class FloatSetExtractor extends FixedSizeSetExtractor {
+public interface ColumnarTableCreator<T> extends TableCreator<T> {
 
     /**
-     * @param vector the vector from which to extract float set cells
+     * Adds all rows of the given batch to the table. Cancellation is checked once per batch.
+     *
+     * @param batch the rows to add in columnar layout
      */
-    public FloatSetExtractor(final VarBinaryVector vector) {
-        super(vector);
-    }
-
-    @Override
-    public Cell extractArray(final ByteBuffer buffer, final int numVals, final boolean hasMissing) {
-        final FloatBuffer floatBuffer = buffer.asFloatBuffer();
-        final float[] floatValues = new float[numVals];
-        floatBuffer.get(floatValues, 0, numVals);
-        return new CellImpl(floatValues, hasMissing);
-    }
-
-    @Override
-    protected int getNumBytesPerEntry() {
-        return 4;
-    }
+    void addBatch(ColumnBatch batch);
 }
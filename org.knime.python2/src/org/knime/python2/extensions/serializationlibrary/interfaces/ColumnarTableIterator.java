@@ -1,6 +1,5 @@
 /*
  * ------------------------------------------------------------------------
- *
  *  Copyright by KNIME AG, Zurich, Switzerland
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
@@ -41,49 +40,25 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 31, 2018 (marcel): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.FloatBuffer;
-
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+package org.knime.python2.extensions.serializationlibrary.interfaces;
 
 /**
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * A {@link TableIterator} that is additionally able to provide its remaining rows as a {@link ColumnBatch}.
+ * Serialization libraries should prefer {@link #nextBatch()} over row-wise iteration if the iterator implements this
+ * interface.
+ *
+ * @author agent
  */
-public final class FloatListExtractor extends ListExtractor {
-
-    private float[] m_primitives;
+public interface ColumnarTableIterator extends TableIterator {
 
     /**
-     * @param vector the vector from which to extract float list cells
+     * Consumes all remaining rows of this iterator and returns them in columnar layout. Afterwards,
+     * {@link #hasNext()} returns false.
+     *
+     * @return A {@link ColumnBatch} containing the remaining rows.
      */
-    public FloatListExtractor(final VarBinaryVector vector) {
-        super(vector);
-    }
-
-    @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        final FloatBuffer floatBuffer = buffer.asFloatBuffer();
-        m_primitives = new float[numVals];
-        floatBuffer.get(m_primitives);
-    }
-
-    @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_primitives, missings);
-    }
-
-    @Override
-    protected int getValuesLength() {
-        return 4 * m_primitives.length;
-    }
+    ColumnBatch nextBatch();
 }
@@ -45,6 +45,8 @@
 
 package org.knime.python2.extensions.serializationlibrary.interfaces;
 
+import java.util.Optional;
+
 import org.knime.python2.extensions.serializationlibrary.SerializationException;
 import org.knime.python2.extensions.serializationlibrary.SerializationOptions;
 import org.knime.python2.kernel.PythonCancelable;
@@ -99,4 +101,17 @@ void bytesIntoTable(TableCreator<?> tableCreator, byte[] bytes, SerializationOpt
      */
     TableSpec tableSpecFromBytes(byte[] bytes, PythonCancelable cancelable)
         throws SerializationException, PythonCanceledExecutionException;
+
+    /**
+     * Returns the directory that is used to exchange serialized tables with Python if it resides in shared memory
+     * (e.g., a tmpfs mount such as <code>/dev/shm</code>). The Python side is informed about the directory during
+     * kernel setup so that both processes can map the transferred buffers instead of going through the file system's
+     * disk-backed temporary directory. Implementing classes that do not transfer data via files in shared memory
+     * return an empty optional, which is the default.
+     *
+     * @return The shared memory directory used for data transfer, if any.
+     */
+    default Optional<String> getSharedMemoryDirectory() {
+        return Optional.empty();
+    }
 }
@@ -46,6 +46,7 @@
 package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -81,8 +82,9 @@
 import org.knime.python.typeextension.Deserializer;
 import org.knime.python.typeextension.PythonToKnimeExtensions;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableCreator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
-import org.knime.python2.extensions.serializationlibrary.interfaces.TableCreator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
 
 /**
@@ -90,7 +92,7 @@
  *
  * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
  */
-public class BufferedDataTableCreator implements TableCreator<BufferedDataTable> {
+public class BufferedDataTableCreator implements ColumnarTableCreator<BufferedDataTable> {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferedDataTableCreator.class);
 
@@ -257,310 +259,402 @@ public void addRow(final Row row) {
         final DataCell[] cells = new DataCell[row.getNumberCells()];
         int i = 0;
         for (final Cell cell : row) {
-            if (cell.isMissing()) {
-                cells[i] = new MissingCell(null);
-            } else {
-                switch (cell.getColumnType()) {
-                    case BOOLEAN:
-                        cells[i] = BooleanCellFactory.create(cell.getBooleanValue());
-                        break;
-                    case BOOLEAN_LIST:
-                        final List<DataCell> booleanListCells = new ArrayList<DataCell>();
-                        int pos = 0;
-                        for (final boolean value : cell.getBooleanArrayValue()) {
-                            if (cell.isMissing(pos)) {
-                                booleanListCells.add(new MissingCell(null));
-                            } else {
-                                booleanListCells.add(BooleanCellFactory.create(value));
-                            }
-                            pos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(booleanListCells);
-                        break;
-                    case BOOLEAN_SET:
-                        final List<DataCell> booleanSetCells = new ArrayList<DataCell>();
-                        for (final boolean value : cell.getBooleanArrayValue()) {
-                            booleanSetCells.add(BooleanCellFactory.create(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            booleanSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(booleanSetCells);
-                        break;
-                    case INTEGER:
-                        cells[i] = new IntCell(cell.getIntegerValue());
-                        break;
-                    case INTEGER_LIST:
-                        final List<DataCell> integerListCells = new ArrayList<DataCell>();
-                        for (int ipos = 0; ipos < cell.getIntegerArrayValue().length; ipos++) {
-                            if (cell.isMissing(ipos)) {
-                                integerListCells.add(new MissingCell(null));
-                            } else {
-                                integerListCells.add(new IntCell(cell.getIntegerArrayValue()[ipos]));
-                            }
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(integerListCells);
-                        break;
-                    case INTEGER_SET:
-                        final List<DataCell> integerSetCells = new ArrayList<DataCell>();
-                        for (final Integer value : cell.getIntegerArrayValue()) {
-                            integerSetCells.add(new IntCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            integerSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(integerSetCells);
-                        break;
-                    case LONG:
-                        cells[i] = new LongCell(cell.getLongValue());
-                        break;
-                    case LONG_LIST:
-                        final List<DataCell> longListCells = new ArrayList<DataCell>();
-                        int lpos = 0;
-                        for (final long value : cell.getLongArrayValue()) {
-                            if (cell.isMissing(lpos)) {
-                                longListCells.add(new MissingCell(null));
-                            } else {
-                                longListCells.add(new LongCell(value));
-                            }
-                            lpos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(longListCells);
-                        break;
-                    case LONG_SET:
-                        final List<DataCell> longSetCells = new ArrayList<DataCell>();
-                        for (final long value : cell.getLongArrayValue()) {
-                            longSetCells.add(new LongCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            longSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(longSetCells);
-                        break;
-                    case DOUBLE:
-                        cells[i] = new DoubleCell(cell.getDoubleValue());
-                        break;
-                    case DOUBLE_LIST:
-                        final List<DataCell> doubleListCells = new ArrayList<DataCell>();
-                        int dpos = 0;
-                        for (final double value : cell.getDoubleArrayValue()) {
-                            if (cell.isMissing(dpos)) {
-                                doubleListCells.add(new MissingCell(null));
-                            } else {
-                                doubleListCells.add(new DoubleCell(value));
-                            }
-                            dpos++;
+            cells[i] = cellToDataCell(cell, i);
+            i++;
+        }
+        m_container.addRowToTable(new DefaultRow(row.getRowKey(), cells));
+        m_rowsDone++;
+        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+    }
+
+    @Override
+    public void addBatch(final ColumnBatch batch) {
+        try {
+            m_executionMonitor.checkCanceled();
+        } catch (final CanceledExecutionException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        final int numberRows = batch.getNumberRows();
+        final int numberColumns = m_spec.getNumberColumns();
+        final DataCell[][] columns = new DataCell[numberColumns][];
+        for (int c = 0; c < numberColumns; c++) {
+            columns[c] = columnToDataCells(batch, c);
+        }
+        final String[] rowKeys = batch.getRowKeys();
+        for (int r = 0; r < numberRows; r++) {
+            final DataCell[] cells = new DataCell[numberColumns];
+            for (int c = 0; c < numberColumns; c++) {
+                cells[c] = columns[c][r];
+            }
+            m_container.addRowToTable(new DefaultRow(rowKeys[r], cells));
+        }
+        m_rowsDone += numberRows;
+        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+    }
+
+    /**
+     * Converts a whole column of the given batch. Primitive and string columns are read directly from the columnar
+     * buffers of the batch, all other columns are converted cell by cell.
+     */
+    private DataCell[] columnToDataCells(final ColumnBatch batch, final int columnIndex) {
+        final int numberRows = batch.getNumberRows();
+        final DataCell[] dataCells = new DataCell[numberRows];
+        final DataCell missing = DataType.getMissingCell();
+        switch (m_spec.getColumnTypes()[columnIndex]) {
+            case BOOLEAN: {
+                final boolean[] values = batch.getBooleanColumn(columnIndex);
+                for (int r = 0; r < numberRows; r++) {
+                    dataCells[r] = batch.isMissing(columnIndex, r) ? missing : BooleanCellFactory.create(values[r]);
+                }
+                break;
+            }
+            case INTEGER: {
+                final int[] values = batch.getIntegerColumn(columnIndex);
+                for (int r = 0; r < numberRows; r++) {
+                    dataCells[r] = batch.isMissing(columnIndex, r) ? missing : new IntCell(values[r]);
+                }
+                break;
+            }
+            case LONG: {
+                final long[] values = batch.getLongColumn(columnIndex);
+                for (int r = 0; r < numberRows; r++) {
+                    dataCells[r] = batch.isMissing(columnIndex, r) ? missing : new LongCell(values[r]);
+                }
+                break;
+            }
+            case DOUBLE: {
+                final double[] values = batch.getDoubleColumn(columnIndex);
+                for (int r = 0; r < numberRows; r++) {
+                    dataCells[r] = batch.isMissing(columnIndex, r) ? missing : new DoubleCell(values[r]);
+                }
+                break;
+            }
+            case FLOAT: {
+                final float[] values = batch.getFloatColumn(columnIndex);
+                for (int r = 0; r < numberRows; r++) {
+                    // Use DoubleCell for now.
+                    dataCells[r] = batch.isMissing(columnIndex, r) ? missing : new DoubleCell(values[r]);
+                }
+                break;
+            }
+            case STRING: {
+                final int[] offsets = batch.getOffsets(columnIndex);
+                final byte[] data = batch.getData(columnIndex);
+                for (int r = 0; r < numberRows; r++) {
+                    dataCells[r] = batch.isMissing(columnIndex, r) ? missing : new StringCell(
+                        new String(data, offsets[r], offsets[r + 1] - offsets[r], StandardCharsets.UTF_8));
+                }
+                break;
+            }
+            default:
+                for (int r = 0; r < numberRows; r++) {
+                    dataCells[r] = cellToDataCell(batch.getCell(columnIndex, r), columnIndex);
+                }
+        }
+        return dataCells;
+    }
+
+    private DataCell cellToDataCell(final Cell cell, final int columnIndex) {
+        if (cell.isMissing()) {
+            return new MissingCell(null);
+        }
+        DataCell dataCell;
+        switch (cell.getColumnType()) {
+            case BOOLEAN:
+                dataCell = BooleanCellFactory.create(cell.getBooleanValue());
+                break;
+            case BOOLEAN_LIST:
+                final List<DataCell> booleanListCells = new ArrayList<DataCell>();
+                int pos = 0;
+                for (final boolean value : cell.getBooleanArrayValue()) {
+                    if (cell.isMissing(pos)) {
+                        booleanListCells.add(new MissingCell(null));
+                    } else {
+                        booleanListCells.add(BooleanCellFactory.create(value));
+                    }
+                    pos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(booleanListCells);
+                break;
+            case BOOLEAN_SET:
+                final List<DataCell> booleanSetCells = new ArrayList<DataCell>();
+                for (final boolean value : cell.getBooleanArrayValue()) {
+                    booleanSetCells.add(BooleanCellFactory.create(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    booleanSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(booleanSetCells);
+                break;
+            case INTEGER:
+                dataCell = new IntCell(cell.getIntegerValue());
+                break;
+            case INTEGER_LIST:
+                final List<DataCell> integerListCells = new ArrayList<DataCell>();
+                for (int ipos = 0; ipos < cell.getIntegerArrayValue().length; ipos++) {
+                    if (cell.isMissing(ipos)) {
+                        integerListCells.add(new MissingCell(null));
+                    } else {
+                        integerListCells.add(new IntCell(cell.getIntegerArrayValue()[ipos]));
+                    }
+                }
+                dataCell = CollectionCellFactory.createListCell(integerListCells);
+                break;
+            case INTEGER_SET:
+                final List<DataCell> integerSetCells = new ArrayList<DataCell>();
+                for (final Integer value : cell.getIntegerArrayValue()) {
+                    integerSetCells.add(new IntCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    integerSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(integerSetCells);
+                break;
+            case LONG:
+                dataCell = new LongCell(cell.getLongValue());
+                break;
+            case LONG_LIST:
+                final List<DataCell> longListCells = new ArrayList<DataCell>();
+                int lpos = 0;
+                for (final long value : cell.getLongArrayValue()) {
+                    if (cell.isMissing(lpos)) {
+                        longListCells.add(new MissingCell(null));
+                    } else {
+                        longListCells.add(new LongCell(value));
+                    }
+                    lpos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(longListCells);
+                break;
+            case LONG_SET:
+                final List<DataCell> longSetCells = new ArrayList<DataCell>();
+                for (final long value : cell.getLongArrayValue()) {
+                    longSetCells.add(new LongCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    longSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(longSetCells);
+                break;
+            case DOUBLE:
+                dataCell = new DoubleCell(cell.getDoubleValue());
+                break;
+            case DOUBLE_LIST:
+                final List<DataCell> doubleListCells = new ArrayList<DataCell>();
+                int dpos = 0;
+                for (final double value : cell.getDoubleArrayValue()) {
+                    if (cell.isMissing(dpos)) {
+                        doubleListCells.add(new MissingCell(null));
+                    } else {
+                        doubleListCells.add(new DoubleCell(value));
+                    }
+                    dpos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(doubleListCells);
+                break;
+            case DOUBLE_SET:
+                final List<DataCell> doubleSetCells = new ArrayList<DataCell>();
+                for (final double value : cell.getDoubleArrayValue()) {
+                    doubleSetCells.add(new DoubleCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    doubleSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(doubleSetCells);
+                break;
+            case FLOAT:
+                // Use DoubleCell for now.
+                dataCell = new DoubleCell(cell.getFloatValue());
+                break;
+            case FLOAT_LIST:
+                final List<DataCell> floatListCells = new ArrayList<>();
+                int fpos = 0;
+                for (final float value : cell.getFloatArrayValue()) {
+                    if (cell.isMissing(fpos)) {
+                        floatListCells.add(new MissingCell(null));
+                    } else {
+                        // Use DoubleCell for now.
+                        floatListCells.add(new DoubleCell(value));
+                    }
+                    fpos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(floatListCells);
+                break;
+            case FLOAT_SET:
+                final List<DataCell> floatSetCells = new ArrayList<>();
+                for (final float value : cell.getFloatArrayValue()) {
+                    // Use DoubleCell for now.
+                    floatSetCells.add(new DoubleCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    floatSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(floatSetCells);
+                break;
+            case STRING:
+                dataCell = new StringCell(cell.getStringValue());
+                break;
+            case STRING_LIST:
+                final List<DataCell> stringListCells = new ArrayList<DataCell>();
+                int spos = 0;
+                for (final String value : cell.getStringArrayValue()) {
+                    if (cell.isMissing(spos)) {
+                        stringListCells.add(new MissingCell(null));
+                    } else {
+                        stringListCells.add(new StringCell(value));
+                    }
+                    spos++;
+                }
+                dataCell = CollectionCellFactory.createListCell(stringListCells);
+                break;
+            case STRING_SET:
+                final List<DataCell> stringSetCells = new ArrayList<DataCell>();
+                for (final String value : cell.getStringArrayValue()) {
+                    stringSetCells.add(new StringCell(value));
+                }
+                if (cell.hasMissingInSet()) {
+                    stringSetCells.add(new MissingCell(null));
+                }
+                dataCell = CollectionCellFactory.createSetCell(stringSetCells);
+                break;
+            case BYTES:
+                final String bytesTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[columnIndex]);
+                if (bytesTypeId != null) {
+                    final Deserializer bytesDeserializer = m_pythonToKnimeExtensions
+                        .getDeserializer(PythonToKnimeExtensions.getExtension(bytesTypeId).getId());
+                    try {
+                        if (cell.isMissing()) {
+                            dataCell = new MissingCell(null);
+                        } else {
+                            dataCell = bytesDeserializer.deserialize(cell.getBytesValue(), m_fileStoreFactory);
                         }
-                        cells[i] = CollectionCellFactory.createListCell(doubleListCells);
-                        break;
-                    case DOUBLE_SET:
-                        final List<DataCell> doubleSetCells = new ArrayList<DataCell>();
-                        for (final double value : cell.getDoubleArrayValue()) {
-                            doubleSetCells.add(new DoubleCell(value));
+                        final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(columnIndex);
+                        if (dataTypeContainer != null) {
+                            dataTypeContainer.m_dataTypes.add(dataCell.getType());
                         }
-                        if (cell.hasMissingInSet()) {
-                            doubleSetCells.add(new MissingCell(null));
+                    } catch (IllegalStateException | IOException e) {
+                        LOGGER.error(e.getMessage(), e);
+                        dataCell = new MissingCell(null);
+                    }
+                } else {
+                    try {
+                        if (cell.isMissing()) {
+                            dataCell = new MissingCell(null);
+                        } else {
+                            dataCell = new DenseByteVectorCellFactory(new DenseByteVector(cell.getBytesValue()))
+                                .createDataCell();
                         }
-                        cells[i] = CollectionCellFactory.createSetCell(doubleSetCells);
-                        break;
-                    case FLOAT:
-                        // Use DoubleCell for now.
-                        cells[i] = new DoubleCell(cell.getFloatValue());
-                        break;
-                    case FLOAT_LIST:
-                        final List<DataCell> floatListCells = new ArrayList<>();
-                        int fpos = 0;
-                        for (final float value : cell.getFloatArrayValue()) {
-                            if (cell.isMissing(fpos)) {
-                                floatListCells.add(new MissingCell(null));
+                    } catch (final IllegalStateException e) {
+                        LOGGER.error(e.getMessage(), e);
+                        dataCell = new MissingCell(null);
+                    }
+                }
+                break;
+            case BYTES_LIST:
+                final String bytesListTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[columnIndex]);
+                if (bytesListTypeId != null) {
+                    final Deserializer bytesListDeserializer = m_pythonToKnimeExtensions
+                        .getDeserializer(PythonToKnimeExtensions.getExtension(bytesListTypeId).getId());
+                    final List<DataCell> listCells = new ArrayList<DataCell>();
+                    if (cell.isMissing()) {
+                        dataCell = new MissingCell(null);
+                    } else {
+                        int blpos = 0;
+                        for (final byte[] value : cell.getBytesArrayValue()) {
+                            if (cell.isMissing(blpos)) {
+                                listCells.add(new MissingCell(null));
                             } else {
-                                // Use DoubleCell for now.
-                                floatListCells.add(new DoubleCell(value));
+                                try {
+                                    final DataCell dc =
+                                        bytesListDeserializer.deserialize(value, m_fileStoreFactory);
+                                    final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(columnIndex);
+                                    if (dataTypeContainer != null) {
+                                        dataTypeContainer.m_dataTypes.add(dc.getType());
+                                    }
+                                    listCells.add(dc);
+                                } catch (IllegalStateException | IOException e) {
+                                    LOGGER.error(e.getMessage(), e);
+                                    listCells.add(new MissingCell(null));
+                                }
                             }
-                            fpos++;
+                            blpos++;
                         }
-                        cells[i] = CollectionCellFactory.createListCell(floatListCells);
-                        break;
-                    case FLOAT_SET:
-                        final List<DataCell> floatSetCells = new ArrayList<>();
-                        for (final float value : cell.getFloatArrayValue()) {
-                            // Use DoubleCell for now.
-                            floatSetCells.add(new DoubleCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            floatSetCells.add(new MissingCell(null));
-                        }
-                        cells[i] = CollectionCellFactory.createSetCell(floatSetCells);
-                        break;
-                    case STRING:
-                        cells[i] = new StringCell(cell.getStringValue());
-                        break;
-                    case STRING_LIST:
-                        final List<DataCell> stringListCells = new ArrayList<DataCell>();
-                        int spos = 0;
-                        for (final String value : cell.getStringArrayValue()) {
-                            if (cell.isMissing(spos)) {
-                                stringListCells.add(new MissingCell(null));
+                        dataCell = CollectionCellFactory.createListCell(listCells);
+                    }
+                } else {
+                    if (cell.isMissing()) {
+                        dataCell = new MissingCell(null);
+                    } else {
+                        final List<DataCell> listCells = new ArrayList<DataCell>();
+                        int blpos = 0;
+                        for (final byte[] value : cell.getBytesArrayValue()) {
+                            if (cell.isMissing(blpos)) {
+                                listCells.add(new MissingCell(null));
                             } else {
-                                stringListCells.add(new StringCell(value));
+                                try {
+                                    listCells.add(new StringCell(value.toString()));
+                                } catch (final IllegalStateException e) {
+                                    LOGGER.error(e.getMessage(), e);
+                                    listCells.add(new MissingCell(null));
+                                }
                             }
-                            spos++;
-                        }
-                        cells[i] = CollectionCellFactory.createListCell(stringListCells);
-                        break;
-                    case STRING_SET:
-                        final List<DataCell> stringSetCells = new ArrayList<DataCell>();
-                        for (final String value : cell.getStringArrayValue()) {
-                            stringSetCells.add(new StringCell(value));
-                        }
-                        if (cell.hasMissingInSet()) {
-                            stringSetCells.add(new MissingCell(null));
                         }
-                        cells[i] = CollectionCellFactory.createSetCell(stringSetCells);
-                        break;
-                    case BYTES:
-                        final String bytesTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesTypeId != null) {
-                            final Deserializer bytesDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesTypeId).getId());
+                        dataCell = CollectionCellFactory.createListCell(listCells);
+                    }
+                }
+                break;
+            case BYTES_SET:
+                final String bytesSetTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[columnIndex]);
+                if (bytesSetTypeId != null) {
+                    final Deserializer bytesSetDeserializer = m_pythonToKnimeExtensions
+                        .getDeserializer(PythonToKnimeExtensions.getExtension(bytesSetTypeId).getId());
+                    final List<DataCell> setCells = new ArrayList<DataCell>();
+                    if (cell.isMissing()) {
+                        dataCell = new MissingCell(null);
+                    } else {
+                        for (final byte[] value : cell.getBytesArrayValue()) {
                             try {
-                                if (cell.isMissing()) {
-                                    cells[i] = new MissingCell(null);
-                                } else {
-                                    cells[i] = bytesDeserializer.deserialize(cell.getBytesValue(), m_fileStoreFactory);
-                                }
-                                final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
+                                final DataCell dc = bytesSetDeserializer.deserialize(value, m_fileStoreFactory);
+                                final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(columnIndex);
                                 if (dataTypeContainer != null) {
-                                    dataTypeContainer.m_dataTypes.add(cells[i].getType());
+                                    dataTypeContainer.m_dataTypes.add(dc.getType());
                                 }
+                                setCells.add(dc);
                             } catch (IllegalStateException | IOException e) {
                                 LOGGER.error(e.getMessage(), e);
-                                cells[i] = new MissingCell(null);
+                                setCells.add(new MissingCell(null));
                             }
-                        } else {
+
+                        }
+                        if (cell.hasMissingInSet()) {
+                            setCells.add(new MissingCell(null));
+                        }
+                        dataCell = CollectionCellFactory.createSetCell(setCells);
+                    }
+                } else {
+                    final List<DataCell> setCells = new ArrayList<DataCell>();
+                    if (cell.isMissing()) {
+                        dataCell = new MissingCell(null);
+                    } else {
+                        for (final byte[] value : cell.getBytesArrayValue()) {
                             try {
-                                if (cell.isMissing()) {
-                                    cells[i] = new MissingCell(null);
-                                } else {
-                                    cells[i] = new DenseByteVectorCellFactory(new DenseByteVector(cell.getBytesValue()))
-                                        .createDataCell();
-                                }
+                                setCells.add(new StringCell(value.toString()));
                             } catch (final IllegalStateException e) {
                                 LOGGER.error(e.getMessage(), e);
-                                cells[i] = new MissingCell(null);
+                                setCells.add(new MissingCell(null));
                             }
                         }
-                        break;
-                    case BYTES_LIST:
-                        final String bytesListTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesListTypeId != null) {
-                            final Deserializer bytesListDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesListTypeId).getId());
-                            final List<DataCell> listCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                int blpos = 0;
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    if (cell.isMissing(blpos)) {
-                                        listCells.add(new MissingCell(null));
-                                    } else {
-                                        try {
-                                            final DataCell dc =
-                                                bytesListDeserializer.deserialize(value, m_fileStoreFactory);
-                                            final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
-                                            if (dataTypeContainer != null) {
-                                                dataTypeContainer.m_dataTypes.add(dc.getType());
-                                            }
-                                            listCells.add(dc);
-                                        } catch (IllegalStateException | IOException e) {
-                                            LOGGER.error(e.getMessage(), e);
-                                            listCells.add(new MissingCell(null));
-                                        }
-                                    }
-                                    blpos++;
-                                }
-                                cells[i] = CollectionCellFactory.createListCell(listCells);
-                            }
-                        } else {
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                final List<DataCell> listCells = new ArrayList<DataCell>();
-                                int blpos = 0;
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    if (cell.isMissing(blpos)) {
-                                        listCells.add(new MissingCell(null));
-                                    } else {
-                                        try {
-                                            listCells.add(new StringCell(value.toString()));
-                                        } catch (final IllegalStateException e) {
-                                            LOGGER.error(e.getMessage(), e);
-                                            listCells.add(new MissingCell(null));
-                                        }
-                                    }
-                                }
-                                cells[i] = CollectionCellFactory.createListCell(listCells);
-                            }
-                        }
-                        break;
-                    case BYTES_SET:
-                        final String bytesSetTypeId = m_spec.getColumnSerializers().get(m_spec.getColumnNames()[i]);
-                        if (bytesSetTypeId != null) {
-                            final Deserializer bytesSetDeserializer = m_pythonToKnimeExtensions
-                                .getDeserializer(PythonToKnimeExtensions.getExtension(bytesSetTypeId).getId());
-                            final List<DataCell> setCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    try {
-                                        final DataCell dc = bytesSetDeserializer.deserialize(value, m_fileStoreFactory);
-                                        final DataTypeContainer dataTypeContainer = m_columnsToRetype.get(i);
-                                        if (dataTypeContainer != null) {
-                                            dataTypeContainer.m_dataTypes.add(dc.getType());
-                                        }
-                                        setCells.add(dc);
-                                    } catch (IllegalStateException | IOException e) {
-                                        LOGGER.error(e.getMessage(), e);
-                                        setCells.add(new MissingCell(null));
-                                    }
-
-                                }
-                                if (cell.hasMissingInSet()) {
-                                    setCells.add(new MissingCell(null));
-                                }
-                                cells[i] = CollectionCellFactory.createSetCell(setCells);
-                            }
-                        } else {
-                            final List<DataCell> setCells = new ArrayList<DataCell>();
-                            if (cell.isMissing()) {
-                                cells[i] = new MissingCell(null);
-                            } else {
-                                for (final byte[] value : cell.getBytesArrayValue()) {
-                                    try {
-                                        setCells.add(new StringCell(value.toString()));
-                                    } catch (final IllegalStateException e) {
-                                        LOGGER.error(e.getMessage(), e);
-                                        setCells.add(new MissingCell(null));
-                                    }
-                                }
-                                if (cell.hasMissingInSet()) {
-                                    setCells.add(new MissingCell(null));
-                                }
-                                cells[i] = CollectionCellFactory.createSetCell(setCells);
-                            }
+                        if (cell.hasMissingInSet()) {
+                            setCells.add(new MissingCell(null));
                         }
-                        break;
-                    default:
-                        cells[i] = new MissingCell(null);
+                        dataCell = CollectionCellFactory.createSetCell(setCells);
+                    }
                 }
-            }
-            i++;
+                break;
+            default:
+                dataCell = new MissingCell(null);
         }
-        m_container.addRowToTable(new DefaultRow(row.getRowKey(), cells));
-        m_rowsDone++;
-        m_executionMonitor.setProgress(m_rowsDone / (double)m_tableSize);
+        return dataCell;
     }
 
     @Override
@@ -50,6 +50,7 @@
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -73,8 +74,10 @@
 import org.knime.python.typeextension.KnimeToPythonExtension;
 import org.knime.python.typeextension.KnimeToPythonExtensions;
 import org.knime.python.typeextension.Serializer;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnarTableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Row;
-import org.knime.python2.extensions.serializationlibrary.interfaces.TableIterator;
 import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
 import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
 
@@ -84,10 +87,16 @@
  * @author Clemens von Schwerin, KNIME.com, Konstanz, Germany
  */
 
-public class BufferedDataTableIterator implements TableIterator {
+public class BufferedDataTableIterator implements ColumnarTableIterator {
 
     private static final NodeLogger LOGGER = NodeLogger.getLogger(BufferedDataTableIterator.class);
 
+    /**
+     * The number of rows after which cancellation is checked and progress is reported when reading a
+     * {@link #nextBatch() batch}.
+     */
+    private static final int BATCH_PROGRESS_INTERVAL = 1024;
+
     private final int m_numberRows;
 
     private int m_remainingRows;
@@ -158,6 +167,74 @@ public Row next() {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    @Override
+    public ColumnBatch nextBatch() {
+        final int numberRows = m_remainingRows;
+        final Type[] types = m_spec.getColumnTypes();
+        final ColumnBatchImpl batch = new ColumnBatchImpl(m_spec, numberRows);
+        for (int r = 0; r < numberRows; r++) {
+            if (m_executionMonitor != null && r % BATCH_PROGRESS_INTERVAL == 0) {
+                try {
+                    m_executionMonitor.checkCanceled();
+                    m_executionMonitor.setProgress((m_numberRows - m_remainingRows) / (double)m_numberRows);
+                } catch (final CanceledExecutionException e) {
+                    throw new RuntimeException(e.getMessage(), e);
+                }
+            }
+            final DataRow dataRow = m_iterator.next();
+            m_remainingRows--;
+            m_iterIterationProperties.m_remainingRows--;
+            batch.setRowKey(r, dataRow.getKey().getString());
+            for (int c = 0; c < types.length; c++) {
+                final DataCell dataCell = dataRow.getCell(c);
+                if (dataCell.isMissing()) {
+                    continue;
+                }
+                switch (types[c]) {
+                    case BOOLEAN:
+                        batch.setBoolean(c, r, ((BooleanValue)dataCell).getBooleanValue());
+                        break;
+                    case INTEGER:
+                        batch.setInteger(c, r, ((IntValue)dataCell).getIntValue());
+                        break;
+                    case LONG:
+                        batch.setLong(c, r, ((LongValue)dataCell).getLongValue());
+                        break;
+                    case DOUBLE:
+                        batch.setDouble(c, r, ((DoubleValue)dataCell).getDoubleValue());
+                        break;
+                    case FLOAT:
+                        // Use DoubleValue for now.
+                        batch.setFloat(c, r, (float)((DoubleValue)dataCell).getDoubleValue());
+                        break;
+                    case STRING: {
+                        final String value = dataCell.getType().isCompatible(StringValue.class)
+                            ? ((StringValue)dataCell).getStringValue() : dataCell.toString();
+                        batch.setBytes(c, r, value.getBytes(StandardCharsets.UTF_8));
+                        break;
+                    }
+                    case BYTES: {
+                        final Serializer serializer = m_knimeToPythonExtensions
+                            .getSerializer(KnimeToPythonExtensions.getExtension(dataCell.getType()).getId());
+                        try {
+                            batch.setBytes(c, r, serializer.serialize(dataCell));
+                        } catch (final IOException e) {
+                            LOGGER.error(e.getMessage(), e);
+                        }
+                        break;
+                    }
+                    default:
+                        batch.setCell(c, r, dataCellToCell(dataCell, types[c]));
+                }
+            }
+        }
+        return batch;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -195,297 +272,307 @@ public void close() {
      * @param dataRow a {@link DataRow}
      * @return a {@link Row}
      */
-    @SuppressWarnings({"rawtypes", "unchecked"})
     private Row dataRowToRow(final DataRow dataRow) {
         final Row row = new RowImpl(dataRow.getKey().getString(), dataRow.getNumCells());
         for (int i = 0; i < dataRow.getNumCells(); i++) {
-            final DataCell dataCell = dataRow.getCell(i);
-            final Type type = m_spec.getColumnTypes()[i];
-            if (dataCell.isMissing()) {
-                row.setCell(new CellImpl(), i);
-            } else if (type == Type.BOOLEAN) {
-                final boolean value = ((BooleanValue)dataCell).getBooleanValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.BOOLEAN_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final boolean[] values = new boolean[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((BooleanValue)innerCell).getBooleanValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.BOOLEAN_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                boolean[] values = new boolean[colCell.size()];
-                boolean hasMissing = false;
-                int ctr = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[ctr] = ((BooleanValue)innerCell).getBooleanValue();
-                        ctr++;
-                    } else {
-                        hasMissing = true;
-                    }
+            row.setCell(dataCellToCell(dataRow.getCell(i), m_spec.getColumnTypes()[i]), i);
+        }
+        return row;
+    }
+
+    /**
+     * Convert a {@link DataCell} to a {@link Cell}
+     *
+     * @param dataCell a {@link DataCell}
+     * @param type the {@link Type} of the column that contains the data cell
+     * @return a {@link Cell}, {@code null} if the type is not supported
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Cell dataCellToCell(final DataCell dataCell, final Type type) {
+        if (dataCell.isMissing()) {
+            return new CellImpl();
+        } else if (type == Type.BOOLEAN) {
+            final boolean value = ((BooleanValue)dataCell).getBooleanValue();
+            return new CellImpl(value);
+        } else if (type == Type.BOOLEAN_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final boolean[] values = new boolean[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((BooleanValue)innerCell).getBooleanValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.BOOLEAN_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            boolean[] values = new boolean[colCell.size()];
+            boolean hasMissing = false;
+            int ctr = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[ctr] = ((BooleanValue)innerCell).getBooleanValue();
+                    ctr++;
                 } else {
-                    row.setCell(new CellImpl(ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(values, hasMissing);
+            } else {
+                return new CellImpl(ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+            }
 
-            } else if (type == Type.INTEGER) {
-                final int value = ((IntValue)dataCell).getIntValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.INTEGER_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final int[] values = new int[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((IntValue)innerCell).getIntValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.INTEGER_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                IntBuffer buff = IntBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((IntValue)innerCell).getIntValue());
-                    } else {
-                        hasMissing = true;
-                    }
+        } else if (type == Type.INTEGER) {
+            final int value = ((IntValue)dataCell).getIntValue();
+            return new CellImpl(value);
+        } else if (type == Type.INTEGER_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final int[] values = new int[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((IntValue)innerCell).getIntValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.INTEGER_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            IntBuffer buff = IntBuffer.allocate(colCell.size());
+            boolean hasMissing = false;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    buff.put(((IntValue)innerCell).getIntValue());
                 } else {
-                    int[] values = new int[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(buff.array(), hasMissing);
+            } else {
+                int[] values = new int[colCell.size() - 1];
+                buff.position(0);
+                buff.get(values);
+                return new CellImpl(values, hasMissing);
+            }
 
-            } else if (type == Type.LONG) {
-                final long value = ((LongValue)dataCell).getLongValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.LONG_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final long[] values = new long[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((LongValue)innerCell).getLongValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
+        } else if (type == Type.LONG) {
+            final long value = ((LongValue)dataCell).getLongValue();
+            return new CellImpl(value);
+        } else if (type == Type.LONG_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final long[] values = new long[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((LongValue)innerCell).getLongValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.LONG_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                LongBuffer buff = LongBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((LongValue)innerCell).getLongValue());
-                    } else {
-                        hasMissing = true;
-                    }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.LONG_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            LongBuffer buff = LongBuffer.allocate(colCell.size());
+            boolean hasMissing = false;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    buff.put(((LongValue)innerCell).getLongValue());
                 } else {
-                    long[] values = new long[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(buff.array(), hasMissing);
+            } else {
+                long[] values = new long[colCell.size() - 1];
+                buff.position(0);
+                buff.get(values);
+                return new CellImpl(values, hasMissing);
+            }
 
-            } else if (type == Type.DOUBLE) {
-                final double value = ((DoubleValue)dataCell).getDoubleValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.DOUBLE_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final double[] values = new double[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((DoubleValue)innerCell).getDoubleValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.DOUBLE_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                DoubleBuffer buff = DoubleBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        buff.put(((DoubleValue)innerCell).getDoubleValue());
-                    } else {
-                        hasMissing = true;
-                    }
+        } else if (type == Type.DOUBLE) {
+            final double value = ((DoubleValue)dataCell).getDoubleValue();
+            return new CellImpl(value);
+        } else if (type == Type.DOUBLE_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final double[] values = new double[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((DoubleValue)innerCell).getDoubleValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.DOUBLE_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            DoubleBuffer buff = DoubleBuffer.allocate(colCell.size());
+            boolean hasMissing = false;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    buff.put(((DoubleValue)innerCell).getDoubleValue());
                 } else {
-                    double[] values = new double[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(buff.array(), hasMissing);
+            } else {
+                double[] values = new double[colCell.size() - 1];
+                buff.position(0);
+                buff.get(values);
+                return new CellImpl(values, hasMissing);
+            }
 
-            } else if (type == Type.FLOAT) {
-                // Use DoubleValue for now.
-                final float value = (float)((DoubleValue)dataCell).getDoubleValue();
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.FLOAT_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final float[] values = new float[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0 : 1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        // Use DoubleValue for now.
-                        values[j] = (float)((DoubleValue)innerCell).getDoubleValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
-                    j++;
+        } else if (type == Type.FLOAT) {
+            // Use DoubleValue for now.
+            final float value = (float)((DoubleValue)dataCell).getDoubleValue();
+            return new CellImpl(value);
+        } else if (type == Type.FLOAT_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final float[] values = new float[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0 : 1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    // Use DoubleValue for now.
+                    values[j] = (float)((DoubleValue)innerCell).getDoubleValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                row.setCell(new CellImpl(values, missings), i);
-            } else if (type == Type.FLOAT_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                FloatBuffer buff = FloatBuffer.allocate(colCell.size());
-                boolean hasMissing = false;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        // Use DoubleValue for now.
-                        buff.put((float)((DoubleValue)innerCell).getDoubleValue());
-                    } else {
-                        hasMissing = true;
-                    }
-                }
-                if (!hasMissing) {
-                    row.setCell(new CellImpl(buff.array(), hasMissing), i);
+                j++;
+            }
+            return new CellImpl(values, missings);
+        } else if (type == Type.FLOAT_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            FloatBuffer buff = FloatBuffer.allocate(colCell.size());
+            boolean hasMissing = false;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    // Use DoubleValue for now.
+                    buff.put((float)((DoubleValue)innerCell).getDoubleValue());
                 } else {
-                    float[] values = new float[colCell.size() - 1];
-                    buff.position(0);
-                    buff.get(values);
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    hasMissing = true;
                 }
-            } else if (type == Type.STRING) {
-                String value;
-                if (dataCell.getType().isCompatible(StringValue.class)) {
-                    value = ((StringValue)dataCell).getStringValue();
-                } else {
-                    value = dataCell.toString();
+            }
+            if (!hasMissing) {
+                return new CellImpl(buff.array(), hasMissing);
+            } else {
+                float[] values = new float[colCell.size() - 1];
+                buff.position(0);
+                buff.get(values);
+                return new CellImpl(values, hasMissing);
+            }
+        } else if (type == Type.STRING) {
+            String value;
+            if (dataCell.getType().isCompatible(StringValue.class)) {
+                value = ((StringValue)dataCell).getStringValue();
+            } else {
+                value = dataCell.toString();
+            }
+            return new CellImpl(value);
+        } else if (type == Type.STRING_LIST) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final String[] values = new String[colCell.size()];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((StringValue)innerCell).getStringValue();
+                    missings[j / 8] += (1 << (j % 8));
                 }
-                row.setCell(new CellImpl(value), i);
-            } else if (type == Type.STRING_LIST) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final String[] values = new String[colCell.size()];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((StringValue)innerCell).getStringValue();
-                        missings[j / 8] += (1 << (j % 8));
-                    }
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.STRING_SET) {
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final String[] values = new String[colCell.size()];
+            boolean hasMissing = false;
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    values[j] = ((StringValue)innerCell).getStringValue();
                     j++;
-                }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.STRING_SET) {
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final String[] values = new String[colCell.size()];
-                boolean hasMissing = false;
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        values[j] = ((StringValue)innerCell).getStringValue();
-                        j++;
-                    } else {
-                        hasMissing = true;
-                    }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
                 } else {
-                    row.setCell(new CellImpl((String[]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
+                    hasMissing = true;
                 }
+            }
+            if(!hasMissing) {
+                return new CellImpl(values, hasMissing);
+            } else {
+                return new CellImpl((String[]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+            }
 
-            } else if (type == Type.BYTES) {
-                final Serializer serializer = m_knimeToPythonExtensions
-                        .getSerializer(KnimeToPythonExtensions.getExtension(dataCell.getType()).getId());
-                try {
-                    final byte[] value = serializer.serialize(dataCell);
-                    row.setCell(new CellImpl(value), i);
-                } catch (final IOException e) {
-                    LOGGER.error(e.getMessage(), e);
-                    row.setCell(new CellImpl(), i);
-                }
-            } else if (type == Type.BYTES_LIST) {
-                final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
-                    KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final byte[][] values = new byte[colCell.size()][];
-                final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        try {
-                            values[j] = serializer.serialize(innerCell);
-                            missings[j / 8] += (1 << (j % 8));
-                        } catch (final IOException e) {
-                            LOGGER.error(e.getMessage(), e);
-                        }
+        } else if (type == Type.BYTES) {
+            final Serializer serializer = m_knimeToPythonExtensions
+                    .getSerializer(KnimeToPythonExtensions.getExtension(dataCell.getType()).getId());
+            try {
+                final byte[] value = serializer.serialize(dataCell);
+                return new CellImpl(value);
+            } catch (final IOException e) {
+                LOGGER.error(e.getMessage(), e);
+                return new CellImpl();
+            }
+        } else if (type == Type.BYTES_LIST) {
+            final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
+                KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final byte[][] values = new byte[colCell.size()][];
+            final byte[] missings = new byte[colCell.size() / 8 + (colCell.size() % 8 == 0 ? 0:1)];
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    try {
+                        values[j] = serializer.serialize(innerCell);
+                        missings[j / 8] += (1 << (j % 8));
+                    } catch (final IOException e) {
+                        LOGGER.error(e.getMessage(), e);
                     }
-                    j++;
                 }
-                row.setCell(new CellImpl(values, missings), i);
-
-            } else if (type == Type.BYTES_SET) {
-                final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
-                    KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
-                final CollectionDataValue colCell = (CollectionDataValue)dataCell;
-                final byte[][] values = new byte[colCell.size()][];
-                boolean hasMissing = false;
-                int j = 0;
-                for (final DataCell innerCell : colCell) {
-                    if (!innerCell.isMissing()) {
-                        try {
-                            values[j] = serializer.serialize(innerCell);
-                        } catch (final IOException e) {
-                            LOGGER.error(e.getMessage(), e);
-                        }
-                        j++;
-                    } else {
-                        hasMissing = true;
+                j++;
+            }
+            return new CellImpl(values, missings);
+
+        } else if (type == Type.BYTES_SET) {
+            final Serializer serializer = m_knimeToPythonExtensions.getSerializer(
+                KnimeToPythonExtensions.getExtension(dataCell.getType().getCollectionElementType()).getId());
+            final CollectionDataValue colCell = (CollectionDataValue)dataCell;
+            final byte[][] values = new byte[colCell.size()][];
+            boolean hasMissing = false;
+            int j = 0;
+            for (final DataCell innerCell : colCell) {
+                if (!innerCell.isMissing()) {
+                    try {
+                        values[j] = serializer.serialize(innerCell);
+                    } catch (final IOException e) {
+                        LOGGER.error(e.getMessage(), e);
                     }
-                }
-                if(!hasMissing) {
-                    row.setCell(new CellImpl(values, hasMissing), i);
+                    j++;
                 } else {
-                    row.setCell(new CellImpl((byte[][]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing), i);
+                    hasMissing = true;
                 }
             }
+            if(!hasMissing) {
+                return new CellImpl(values, hasMissing);
+            } else {
+                return new CellImpl((byte[][]) ArrayUtils.subarray(values, 0, colCell.size() - 1), hasMissing);
+            }
         }
-        return row;
+        return null;
     }
 
     /**
@@ -0,0 +1,311 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.extensions.serializationlibrary.interfaces.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
+import org.knime.python2.extensions.serializationlibrary.interfaces.ColumnBatch;
+import org.knime.python2.extensions.serializationlibrary.interfaces.TableSpec;
+import org.knime.python2.extensions.serializationlibrary.interfaces.Type;
+
+/**
+ * A {@link ColumnBatch} whose columns are allocated upfront according to a {@link TableSpec} and are populated via the
+ * type specific setters. All values are initially missing. The offset and data arrays of string and bytes columns are
+ * assembled upon first access.
+ *
+ * @author agent
+ */
+public class ColumnBatchImpl implements ColumnBatch {
+
+    private final TableSpec m_spec;
+
+    private final int m_numberRows;
+
+    private final String[] m_rowKeys;
+
+    private final byte[][] m_validity;
+
+    /** Primitive arrays for primitive columns, {@code byte[][]} for string/bytes columns, {@link Cell}[] else. */
+    private final Object[] m_values;
+
+    private final int[][] m_offsets;
+
+    private final byte[][] m_data;
+
+    /**
+     * Constructor.
+     *
+     * @param spec the spec of the table the batch belongs to
+     * @param numberRows the number of rows in the batch
+     */
+    public ColumnBatchImpl(final TableSpec spec, final int numberRows) {
+        m_spec = spec;
+        m_numberRows = numberRows;
+        m_rowKeys = new String[numberRows];
+        final Type[] types = spec.getColumnTypes();
+        m_validity = new byte[types.length][(numberRows + 7) / 8];
+        m_values = new Object[types.length];
+        m_offsets = new int[types.length][];
+        m_data = new byte[types.length][];
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case BOOLEAN:
+                    m_values[i] = new boolean[numberRows];
+                    break;
+                case INTEGER:
+                    m_values[i] = new int[numberRows];
+                    break;
+                case LONG:
+                    m_values[i] = new long[numberRows];
+                    break;
+                case DOUBLE:
+                    m_values[i] = new double[numberRows];
+                    break;
+                case FLOAT:
+                    m_values[i] = new float[numberRows];
+                    break;
+                case STRING:
+                case BYTES:
+                    m_values[i] = new byte[numberRows][];
+                    break;
+                default:
+                    m_values[i] = new Cell[numberRows];
+            }
+        }
+    }
+
+    /**
+     * @param rowIndex the index of the row within this batch
+     * @param rowKey the key of the row
+     */
+    public void setRowKey(final int rowIndex, final String rowKey) {
+        m_rowKeys[rowIndex] = rowKey;
+    }
+
+    /**
+     * @param columnIndex the index of a {@link Type#BOOLEAN} column
+     * @param rowIndex the index of the row within this batch
+     * @param value the value
+     */
+    public void setBoolean(final int columnIndex, final int rowIndex, final boolean value) {
+        ((boolean[])m_values[columnIndex])[rowIndex] = value;
+        setValid(columnIndex, rowIndex);
+    }
+
+    /**
+     * @param columnIndex the index of a {@link Type#INTEGER} column
+     * @param rowIndex the index of the row within this batch
+     * @param value the value
+     */
+    public void setInteger(final int columnIndex, final int rowIndex, final int value) {
+        ((int[])m_values[columnIndex])[rowIndex] = value;
+        setValid(columnIndex, rowIndex);
+    }
+
+    /**
+     * @param columnIndex the index of a {@link Type#LONG} column
+     * @param rowIndex the index of the row within this batch
+     * @param value the value
+     */
+    public void setLong(final int columnIndex, final int rowIndex, final long value) {
+        ((long[])m_values[columnIndex])[rowIndex] = value;
+        setValid(columnIndex, rowIndex);
+    }
+
+    /**
+     * @param columnIndex the index of a {@link Type#DOUBLE} column
+     * @param rowIndex the index of the row within this batch
+     * @param value the value
+     */
+    public void setDouble(final int columnIndex, final int rowIndex, final double value) {
+        ((double[])m_values[columnIndex])[rowIndex] = value;
+        setValid(columnIndex, rowIndex);
+    }
+
+    /**
+     * @param columnIndex the index of a {@link Type#FLOAT} column
+     * @param rowIndex the index of the row within this batch
+     * @param value the value
+     */
+    public void setFloat(final int columnIndex, final int rowIndex, final float value) {
+        ((float[])m_values[columnIndex])[rowIndex] = value;
+        setValid(columnIndex, rowIndex);
+    }
+
+    /**
+     * @param columnIndex the index of a {@link Type#STRING} or {@link Type#BYTES} column
+     * @param rowIndex the index of the row within this batch
+     * @param value the value, UTF-8 encoded in case of a string column
+     */
+    public void setBytes(final int columnIndex, final int rowIndex, final byte[] value) {
+        ((byte[][])m_values[columnIndex])[rowIndex] = value;
+        setValid(columnIndex, rowIndex);
+    }
+
+    /**
+     * @param columnIndex the index of a column of any non-primitive type (e.g., a collection type)
+     * @param rowIndex the index of the row within this batch
+     * @param cell the cell
+     */
+    public void setCell(final int columnIndex, final int rowIndex, final Cell cell) {
+        ((Cell[])m_values[columnIndex])[rowIndex] = cell;
+        if (cell != null && !cell.isMissing()) {
+            setValid(columnIndex, rowIndex);
+        }
+    }
+
+    private void setValid(final int columnIndex, final int rowIndex) {
+        m_validity[columnIndex][rowIndex >> 3] |= (1 << (rowIndex & 7));
+    }
+
+    @Override
+    public TableSpec getTableSpec() {
+        return m_spec;
+    }
+
+    @Override
+    public int getNumberRows() {
+        return m_numberRows;
+    }
+
+    @Override
+    public String[] getRowKeys() {
+        return m_rowKeys;
+    }
+
+    @Override
+    public byte[] getValidity(final int columnIndex) {
+        return m_validity[columnIndex];
+    }
+
+    @Override
+    public boolean[] getBooleanColumn(final int columnIndex) {
+        return (boolean[])m_values[columnIndex];
+    }
+
+    @Override
+    public int[] getIntegerColumn(final int columnIndex) {
+        return (int[])m_values[columnIndex];
+    }
+
+    @Override
+    public long[] getLongColumn(final int columnIndex) {
+        return (long[])m_values[columnIndex];
+    }
+
+    @Override
+    public double[] getDoubleColumn(final int columnIndex) {
+        return (double[])m_values[columnIndex];
+    }
+
+    @Override
+    public float[] getFloatColumn(final int columnIndex) {
+        return (float[])m_values[columnIndex];
+    }
+
+    @Override
+    public int[] getOffsets(final int columnIndex) {
+        assembleVariableWidthColumn(columnIndex);
+        return m_offsets[columnIndex];
+    }
+
+    @Override
+    public byte[] getData(final int columnIndex) {
+        assembleVariableWidthColumn(columnIndex);
+        return m_data[columnIndex];
+    }
+
+    private void assembleVariableWidthColumn(final int columnIndex) {
+        if (m_offsets[columnIndex] != null) {
+            return;
+        }
+        final byte[][] values = (byte[][])m_values[columnIndex];
+        final int[] offsets = new int[m_numberRows + 1];
+        for (int i = 0; i < m_numberRows; i++) {
+            offsets[i + 1] = offsets[i] + (values[i] != null ? values[i].length : 0);
+        }
+        final byte[] data = new byte[offsets[m_numberRows]];
+        for (int i = 0; i < m_numberRows; i++) {
+            if (values[i] != null) {
+                System.arraycopy(values[i], 0, data, offsets[i], values[i].length);
+            }
+        }
+        m_offsets[columnIndex] = offsets;
+        m_data[columnIndex] = data;
+    }
+
+    @Override
+    public Cell getCell(final int columnIndex, final int rowIndex) {
+        if (isMissing(columnIndex, rowIndex)) {
+            return new CellImpl();
+        }
+        switch (m_spec.getColumnTypes()[columnIndex]) {
+            case BOOLEAN:
+                return new CellImpl(getBooleanColumn(columnIndex)[rowIndex]);
+            case INTEGER:
+                return new CellImpl(getIntegerColumn(columnIndex)[rowIndex]);
+            case LONG:
+                return new CellImpl(getLongColumn(columnIndex)[rowIndex]);
+            case DOUBLE:
+                return new CellImpl(getDoubleColumn(columnIndex)[rowIndex]);
+            case FLOAT:
+                return new CellImpl(getFloatColumn(columnIndex)[rowIndex]);
+            case STRING: {
+                final int[] offsets = getOffsets(columnIndex);
+                return new CellImpl(new String(getData(columnIndex), offsets[rowIndex],
+                    offsets[rowIndex + 1] - offsets[rowIndex], StandardCharsets.UTF_8));
+            }
+            case BYTES: {
+                final int[] offsets = getOffsets(columnIndex);
+                return new CellImpl(Arrays.copyOfRange(getData(columnIndex), offsets[rowIndex], offsets[rowIndex + 1]));
+            }
+            default:
+                return ((Cell[])m_values[columnIndex])[rowIndex];
+        }
+    }
+}
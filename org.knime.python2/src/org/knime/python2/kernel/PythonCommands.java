@@ -45,14 +45,21 @@
 
 package org.knime.python2.kernel;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RunnableFuture;
 
 import org.knime.core.node.NodeLogger;
+import org.knime.python.typeextension.KnimeToPythonExtension;
+import org.knime.python.typeextension.PythonToKnimeExtension;
 import org.knime.python2.kernel.messaging.AbstractTaskHandler;
 import org.knime.python2.kernel.messaging.DefaultMessage;
 import org.knime.python2.kernel.messaging.DefaultMessage.PayloadDecoder;
@@ -64,10 +71,10 @@
 import org.knime.python2.kernel.messaging.MessageHandlerCollection;
 import org.knime.python2.kernel.messaging.PythonMessaging;
 import org.knime.python2.kernel.messaging.TaskHandler;
+import org.knime.python2.port.PickledObject;
 import org.knime.python2.util.PythonUtils;
 
 import com.google.common.collect.ImmutableMap;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Used for communicating with the Python kernel via commands.
@@ -88,15 +95,21 @@ public final class PythonCommands implements AutoCloseable {
 
     private final ExecutorService m_executor;
 
+    /**
+     * Tasks created via {@link #createTask(TaskHandler, Message)} that are not done yet, see {@link #hasPendingTasks()}.
+     */
+    private final Set<Future<?>> m_pendingTasks = ConcurrentHashMap.newKeySet();
+
     /**
      * @param outToPython output stream used for communication with Python
      * @param inFromPython input stream used for communication with Python
+     * @throws IOException if negotiating the messaging protocol with Python failed
      */
     public PythonCommands(final OutputStream outToPython, final InputStream inFromPython,
-        final PythonExecutionMonitor monitor) {
+        final PythonExecutionMonitor monitor) throws IOException {
         m_messaging = new PythonMessaging(outToPython, inFromPython, monitor);
         m_monitor = monitor;
-        m_executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("python-task-%d").build());
+        m_executor = PythonKernelThreadPool.newExecutor("python-task");
     }
 
     public MessageHandlerCollection getMessageHandlers() {
@@ -114,8 +127,20 @@ public Message createExecuteAsyncCommand(final String sourceCode) {
     }
 
     public <T> RunnableFuture<T> createTask(final TaskHandler<T> handler, final Message message) {
-        return new DefaultTask<>(message, handler, m_messaging, m_messaging, m_messaging::createNextMessageId,
-            m_executor, m_monitor);
+        final DefaultTask<T> task = new DefaultTask<>(message, handler, m_messaging, m_messaging,
+            m_messaging::createNextMessageId, m_executor, m_monitor);
+        m_pendingTasks.removeIf(Future::isDone);
+        m_pendingTasks.add(task);
+        return task;
+    }
+
+    /**
+     * @return {@code true} if any of the tasks that were created by this instance is not done yet, i.e., is running or
+     *         may still be started by its creator
+     */
+    public boolean hasPendingTasks() {
+        m_pendingTasks.removeIf(Future::isDone);
+        return !m_pendingTasks.isEmpty();
     }
 
     public MessageHandler createTaskFactory(final TaskHandler<?> handler) {
@@ -126,7 +151,7 @@ public MessageHandler createTaskFactory(final TaskHandler<?> handler) {
     /**
      * @return a runnable future that returns the Python kernel's process id
      */
-    public synchronized RunnableFuture<Integer> getPid() {
+    public RunnableFuture<Integer> getPid() {
         return createTask(new IntReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "getpid", null, null));
     }
@@ -139,7 +164,7 @@ public synchronized RunnableFuture<Integer> getPid() {
      * @param variables the serialized variables table as byte array
      * @return a runnable future that puts the flow variables into the Python workspace
      */
-    public synchronized RunnableFuture<Void> putFlowVariables(final String name, final byte[] variables) {
+    public RunnableFuture<Void> putFlowVariables(final String name, final byte[] variables) {
         final byte[] payload = new PayloadEncoder().putBytes(variables).get();
         return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
             "putFlowVariables", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
@@ -151,7 +176,7 @@ public synchronized RunnableFuture<Void> putFlowVariables(final String name, fin
      * @param name the variable name of the flow variables dictionary in the Python workspace
      * @return a runnable future that returns the flow variables from the Python workspace
      */
-    public synchronized RunnableFuture<byte[]> getFlowVariables(final String name) {
+    public RunnableFuture<byte[]> getFlowVariables(final String name) {
         final byte[] payload = new PayloadEncoder().putString(name).get();
         return createTask(new ByteArrayReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "getFlowVariables", payload, null));
@@ -165,7 +190,7 @@ public synchronized RunnableFuture<byte[]> getFlowVariables(final String name) {
      * @param table the serialized KNIME table as byte array
      * @return a runnable future that puts the table into the Python workspace
      */
-    public synchronized RunnableFuture<Void> putTable(final String name, final byte[] table) {
+    public RunnableFuture<Void> putTable(final String name, final byte[] table) {
         // FIXME: Avoid array creation. We effectively double the memory requirements of "table".
         final byte[] payload = new PayloadEncoder().putBytes(table).get();
         return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
@@ -180,7 +205,7 @@ public synchronized RunnableFuture<Void> putTable(final String name, final byte[
      * @param table the serialized table chunk as byte array
      * @return a runnable future that appends the chunk of table rows to the table
      */
-    public synchronized RunnableFuture<Void> appendToTable(final String name, final byte[] table) {
+    public RunnableFuture<Void> appendToTable(final String name, final byte[] table) {
         // FIXME: Avoid array creation. We effectively double the memory requirements of "table".
         final byte[] payload = new PayloadEncoder().putBytes(table).get();
         return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
@@ -193,7 +218,7 @@ public synchronized RunnableFuture<Void> appendToTable(final String name, final
      * @param name the variable name of the table in the Python workspace
      * @return a runnable future that returns the table's size in bytes
      */
-    public synchronized RunnableFuture<Integer> getTableSize(final String name) {
+    public RunnableFuture<Integer> getTableSize(final String name) {
         final byte[] payload = new PayloadEncoder().putString(name).get();
         return createTask(new IntReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "getTableSize", payload, null));
@@ -205,7 +230,7 @@ public synchronized RunnableFuture<Integer> getTableSize(final String name) {
      * @param name the variable name of the table in the Python workspace
      * @return a runnable future that returns the serialized table as byte array
      */
-    public synchronized RunnableFuture<byte[]> getTable(final String name) {
+    public RunnableFuture<byte[]> getTable(final String name) {
         final byte[] payload = new PayloadEncoder().putString(name).get();
         return createTask(new ByteArrayReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "getTable", payload, null));
@@ -219,7 +244,7 @@ public synchronized RunnableFuture<byte[]> getTable(final String name) {
      * @param end the last row of the chunk
      * @return a runnable future that returns the serialized table chunk as byte array
      */
-    public synchronized RunnableFuture<byte[]> getTableChunk(final String name, final int start, final int end) {
+    public RunnableFuture<byte[]> getTableChunk(final String name, final int start, final int end) {
         final byte[] payload = new PayloadEncoder().putString(name).putInt(start).putInt(end).get();
         return createTask(new ByteArrayReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "getTableChunk", payload, null));
@@ -233,7 +258,7 @@ public synchronized RunnableFuture<byte[]> getTableChunk(final String name, fina
      * @param object the serialized Python object
      * @return a runnable future that puts the serialized Python object in the Python workspace
      */
-    public synchronized RunnableFuture<Void> putObject(final String name, final byte[] object) {
+    public RunnableFuture<Void> putObject(final String name, final byte[] object) {
         final byte[] payload = new PayloadEncoder().putBytes(object).get();
         return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
             "putObject", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
@@ -246,12 +271,52 @@ public synchronized RunnableFuture<Void> putObject(final String name, final byte
      * @param name the variable name of the object in the Python workspace
      * @return a runnable future that returns the serialized Python object
      */
-    public synchronized RunnableFuture<byte[]> getObject(final String name) {
+    public RunnableFuture<byte[]> getObject(final String name) {
         final byte[] payload = new PayloadEncoder().putString(name).get();
         return createTask(new ByteArrayReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "getObject", payload, null));
     }
 
+    /**
+     * Creates a runnable future that puts a Python object into the Python workspace. Unlike
+     * {@link #putObject(String, byte[])}, the pickled object is not sent via the socket but read from the given file on
+     * Python side. This avoids copying large objects into messages on both sides.
+     *
+     * @param name the variable name of the object in the Python workspace
+     * @param pickledObjectFile the file that contains the pickled object, must not be deleted before the returned
+     *            future completed
+     * @return a runnable future that puts the pickled Python object in the Python workspace
+     */
+    public RunnableFuture<Void> putObject(final String name, final Path pickledObjectFile) {
+        final byte[] payload = new PayloadEncoder().putString(pickledObjectFile.toString()).get();
+        return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
+            "putObjectFromFile", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
+    }
+
+    /**
+     * Creates a runnable future that gets a Python object from the Python workspace. Unlike
+     * {@link #getObject(String)}, the object is pickled directly into the given file on Python side instead of being
+     * sent via the socket.
+     *
+     * @param name the variable name of the object in the Python workspace
+     * @param pickledObjectFile the temporary file into which the object is pickled, backs the returned pickled object
+     *            and is owned by it, see {@link PickledObject#PickledObject(Path, String, String, boolean)}
+     * @return a runnable future that returns the pickled Python object including its type and string representation
+     */
+    public RunnableFuture<PickledObject> getObject(final String name, final Path pickledObjectFile) {
+        final byte[] payload = new PayloadEncoder().putString(name).putString(pickledObjectFile.toString()).get();
+        return createTask(new AbstractTaskHandler<PickledObject>() {
+
+            @Override
+            protected PickledObject handleSuccessMessage(final Message response) throws ExecutionException {
+                final PayloadDecoder decoder = new PayloadDecoder(response.getPayload());
+                final String type = decoder.getNextString();
+                final String representation = decoder.getNextString();
+                return new PickledObject(pickledObjectFile, type, representation, true);
+            }
+        }, new DefaultMessage(m_messaging.createNextMessageId(), "getObjectToFile", payload, null));
+    }
+
     /**
      * Creates a runnable future that puts information on how to connect to a specific SQL database alongside a query in
      * the Python workspace.
@@ -261,7 +326,7 @@ public synchronized RunnableFuture<byte[]> getObject(final String name) {
      *            dbidentifier</tt>
      * @return a runnable future that puts the connection information and query in the Python workspace
      */
-    public synchronized RunnableFuture<Void> putSql(final String name, final byte[] sql) {
+    public RunnableFuture<Void> putSql(final String name, final byte[] sql) {
         final byte[] payload = new PayloadEncoder().putBytes(sql).get();
         return createTask(new VoidReturningTaskHandler(), new DefaultMessage(m_messaging.createNextMessageId(),
             "putSql", payload, ImmutableMap.of(PAYLOAD_NAME, name)));
@@ -273,7 +338,7 @@ public synchronized RunnableFuture<Void> putSql(final String name, final byte[]
      * @param name the name of the variable in the Python workspace
      * @return a runnable future that returns the SQL query from the Python workspace
      */
-    public synchronized RunnableFuture<String> getSql(final String name) {
+    public RunnableFuture<String> getSql(final String name) {
         final byte[] payload = new PayloadEncoder().putString(name).get();
         return createTask(new AbstractTaskHandler<String>() {
 
@@ -290,7 +355,7 @@ protected String handleSuccessMessage(final Message response) throws ExecutionEx
      * @param name the variable name of the image in the Python workspace
      * @return a runnable future that returns the serialized image
      */
-    public synchronized RunnableFuture<byte[]> getImage(final String name) {
+    public RunnableFuture<byte[]> getImage(final String name) {
         final byte[] payload = new PayloadEncoder().putString(name).get();
         return createTask(new AbstractTaskHandler<byte[]>() {
 
@@ -308,7 +373,7 @@ protected byte[] handleSuccessMessage(final Message response) throws ExecutionEx
      *
      * @return a runnable future that returns the serialized list of variable names
      */
-    public synchronized RunnableFuture<byte[]> listVariables() {
+    public RunnableFuture<byte[]> listVariables() {
         return createTask(new ByteArrayReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "listVariables", null, null));
     }
@@ -318,7 +383,7 @@ public synchronized RunnableFuture<byte[]> listVariables() {
      *
      * @return a runnable future that returns if Python supports auto-completion
      */
-    public synchronized RunnableFuture<Boolean> hasAutoComplete() {
+    public RunnableFuture<Boolean> hasAutoComplete() {
         return createTask(new AbstractTaskHandler<Boolean>() {
 
             @Override
@@ -336,7 +401,7 @@ protected Boolean handleSuccessMessage(final Message response) throws ExecutionE
      * @param column the cursor position in the line
      * @return a runnable future that returns the serialized list of auto-completion suggestions
      */
-    public synchronized RunnableFuture<byte[]> autoComplete(final String sourceCode, final int line, final int column) {
+    public RunnableFuture<byte[]> autoComplete(final String sourceCode, final int line, final int column) {
         final byte[] payload = new PayloadEncoder().putString(sourceCode).putInt(line).putInt(column).get();
         return createTask(new ByteArrayReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "autoComplete", payload, null));
@@ -350,7 +415,7 @@ public synchronized RunnableFuture<byte[]> autoComplete(final String sourceCode,
      * @param path the path to the code file containing the serializer function
      * @return a runnable future that adds the serializer to the Python workspace
      */
-    public synchronized RunnableFuture<Void> addSerializer(final String serializerId, final String typeId,
+    public RunnableFuture<Void> addSerializer(final String serializerId, final String typeId,
         final String path) {
         final byte[] payload = new PayloadEncoder().putString(serializerId).putString(typeId).putString(path).get();
         return createTask(new VoidReturningTaskHandler(),
@@ -364,12 +429,37 @@ public synchronized RunnableFuture<Void> addSerializer(final String serializerId
      * @param path the path to the code file containing the deserializer function
      * @return a runnable future that adds the deserializer to the Python workspace
      */
-    public synchronized RunnableFuture<Void> addDeserializer(final String deserializerId, final String path) {
+    public RunnableFuture<Void> addDeserializer(final String deserializerId, final String path) {
         final byte[] payload = new PayloadEncoder().putString(deserializerId).putString(path).get();
         return createTask(new VoidReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "addDeserializer", payload, null));
     }
 
+    /**
+     * Creates a runnable future that registers the given serializers and deserializers for extension types in the
+     * Python workspace in one go. This spares Python from requesting each of them separately while transferring data.
+     *
+     * @param serializers the extensions whose Python serializers to register
+     * @param deserializers the extensions whose Python deserializers to register
+     * @return a runnable future that adds the serializers and deserializers to the Python workspace
+     */
+    public RunnableFuture<Void> addTypeExtensions(final Collection<PythonToKnimeExtension> serializers,
+        final Collection<KnimeToPythonExtension> deserializers) {
+        final PayloadEncoder encoder = new PayloadEncoder().putInt(serializers.size());
+        for (final PythonToKnimeExtension serializer : serializers) {
+            encoder.putString(serializer.getId()) //
+                .putString(serializer.getType()) //
+                .putString(serializer.getPythonSerializerPath());
+        }
+        encoder.putInt(deserializers.size());
+        for (final KnimeToPythonExtension deserializer : deserializers) {
+            encoder.putString(deserializer.getId()) //
+                .putString(deserializer.getPythonDeserializerPath());
+        }
+        return createTask(new VoidReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "addTypeExtensions", encoder.get(), null));
+    }
+
     /**
      * Creates a runnable future that sets the serialization library used on Python side to the given Python module.
      *
@@ -377,13 +467,41 @@ public synchronized RunnableFuture<Void> addDeserializer(final String deserializ
      *            on Python side
      * @return a runnable future that sets the serialization library on Python side
      */
-    public synchronized RunnableFuture<Void>
+    public RunnableFuture<Void>
         setSerializationLibrary(final String pathToSerializationLibraryPythonModule) {
         final byte[] payload = new PayloadEncoder().putString(pathToSerializationLibraryPythonModule).get();
         return createTask(new VoidReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "setSerializationLibrary", payload, null));
     }
 
+    /**
+     * Creates a runnable future that announces the shared memory directory of the serialization library to Python.
+     * Serialization libraries on Python side that support shared memory transfer will place their output files in
+     * this directory and map input files instead of reading them.
+     *
+     * @param sharedMemoryDirectory the path to the directory in shared memory
+     * @return a runnable future that sets the shared memory directory on Python side
+     */
+    public RunnableFuture<Void> setSharedMemoryDirectory(final String sharedMemoryDirectory) {
+        final byte[] payload = new PayloadEncoder().putString(sharedMemoryDirectory).get();
+        return createTask(new VoidReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "setSharedMemoryDirectory", payload, null));
+    }
+
+    /**
+     * Creates a runnable future that configures whether the serialization library on Python side dictionary-encodes
+     * string columns with few distinct values before sending them to Java. Serialization libraries that do not support
+     * dictionary encoding ignore this setting.
+     *
+     * @param useDictionaryEncoding whether to dictionary-encode string columns with few distinct values
+     * @return a runnable future that sets the dictionary encoding option on Python side
+     */
+    public RunnableFuture<Void> setDictionaryEncoding(final boolean useDictionaryEncoding) {
+        final byte[] payload = new PayloadEncoder().putInt(useDictionaryEncoding ? 1 : 0).get();
+        return createTask(new VoidReturningTaskHandler(),
+            new DefaultMessage(m_messaging.createNextMessageId(), "setDictionaryEncoding", payload, null));
+    }
+
     /**
      * Creates a runnable future that transmits the paths to all custom module directories and make them available via
      * the <code>PYTHONPATH</code>.
@@ -391,7 +509,7 @@ public synchronized RunnableFuture<Void> addDeserializer(final String deserializ
      * @param paths a semicolon-separated list of directories
      * @return a runnable future that adds the paths to the <code>PYTHONPATH</code>
      */
-    public synchronized RunnableFuture<Void> addToPythonPath(final String paths) {
+    public RunnableFuture<Void> addToPythonPath(final String paths) {
         final byte[] payload = new PayloadEncoder().putString(paths).get();
         return createTask(new VoidReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "setCustomModulePaths", payload, null));
@@ -404,7 +522,7 @@ public synchronized RunnableFuture<Void> addToPythonPath(final String paths) {
      * @return a runnable future that executes the snippet and returns output and error/warning messages that were
      *         emitted during execution
      */
-    public synchronized RunnableFuture<String[]> execute(final String sourceCode) {
+    public RunnableFuture<String[]> execute(final String sourceCode) {
         return execute(createExecuteCommand(sourceCode));
     }
 
@@ -415,7 +533,7 @@ public synchronized RunnableFuture<String[]> execute(final String sourceCode) {
      * @return a runnable future that executes the snippet and returns output and error/warning messages that were
      *         emitted during execution
      */
-    public synchronized RunnableFuture<String[]> executeAsync(final String sourceCode) {
+    public RunnableFuture<String[]> executeAsync(final String sourceCode) {
         return execute(createExecuteAsyncCommand(sourceCode));
     }
 
@@ -438,18 +556,36 @@ protected String[] handleSuccessMessage(final Message response) throws Execution
      *
      * @return a runnable future that resets the Python workspace
      */
-    public synchronized RunnableFuture<Void> reset() {
+    public RunnableFuture<Void> reset() {
         return createTask(new VoidReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "reset", null, null));
     }
 
+    /**
+     * Creates a runnable future that resets the Python workspace such that the kernel can be handed to another client.
+     * In addition to {@link #reset() resetting} the workspace, this forgets all registered external resources and
+     * restores the module search path and working directory of the freshly started kernel.
+     *
+     * @return a runnable future that resets the Python workspace and returns an empty string if the kernel can be
+     *         reused afterwards, otherwise the reason why it cannot be reused
+     */
+    public RunnableFuture<String> resetForReuse() {
+        return createTask(new AbstractTaskHandler<String>() {
+
+            @Override
+            protected String handleSuccessMessage(final Message response) throws ExecutionException {
+                return new PayloadDecoder(response.getPayload()).getNextString();
+            }
+        }, new DefaultMessage(m_messaging.createNextMessageId(), "resetForReuse", null, null));
+    }
+
     /**
      * Creates a runnable future that cleans up all registered external resources (e.g., database connections) on Python
      * side.
      *
      * @return a runnable future that cleans up all registered external resources on Python side
      */
-    public synchronized RunnableFuture<Void> cleanUp() {
+    public RunnableFuture<Void> cleanUp() {
         return createTask(new VoidReturningTaskHandler(),
             new DefaultMessage(m_messaging.createNextMessageId(), "cleanup", null, null));
     }
@@ -462,10 +598,10 @@ public synchronized void start() {
     }
 
     /**
-     * <b>Implementation note:</b> Please note that this method relies on the fact that all other methods of this class
-     * are short running (i.e. simply return runnable futures that perform the actual computations). Changing this
-     * behavior without adapting this method may lead to a delayed shutdown when trying to close an instance of this
-     * class.
+     * <b>Implementation note:</b> The command methods of this class do not synchronize with this method. They only
+     * create runnable futures that perform the actual computations, and any number of those futures may run
+     * concurrently since their messages are multiplexed over the connection by message id. Futures that are still
+     * running when this method is called fail once the messaging system is closed.
      * <P>
      * Inherited documentation: {@inheritDoc}
      */
@@ -0,0 +1,243 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.Activator;
+import org.knime.python2.PythonCommand;
+import org.knime.python2.PythonModuleSpec;
+import org.knime.python2.util.PythonUtils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A Python process that preloads the modules of the Python kernel and a set of additional modules, and that forks new
+ * kernel processes on request. Forking such a preloaded process avoids the costs of starting the interpreter and of
+ * importing the modules for each kernel. Forked kernels connect to KNIME just like regularly started ones, except that
+ * they additionally connect their stdout and stderror via sockets because they are not child processes of KNIME.
+ * <P>
+ * Fork servers are only available on Linux and are used by the {@link PythonKernelQueue} if enabled via the VM option
+ * <code>-Dknime.python.forkserver=true</code>.
+ *
+ * @author agent
+ */
+final class PythonForkServer implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonForkServer.class);
+
+    private static final String FORK_SERVER_VM_OPT = "knime.python.forkserver";
+
+    private static final String FORK_SERVER_SCRIPT_RELATIVE_PATH = "py/PythonKernelForkServer.py";
+
+    // Do not change. Used on Python side.
+    private static final String READY_MESSAGE = "ready";
+
+    // Do not change. Used on Python side.
+    private static final String KILLED_MESSAGE = "killed";
+
+    /**
+     * @return whether fork servers are enabled and supported on this platform
+     */
+    static boolean isEnabled() {
+        return SystemUtils.IS_OS_LINUX && Boolean.getBoolean(FORK_SERVER_VM_OPT);
+    }
+
+    private final Process m_process;
+
+    private final Writer m_requests;
+
+    private final BufferedReader m_responses;
+
+    /**
+     * Reads the responses of the server such that waiting for them can time out. Reads may block for as long as the
+     * connection timeout, so they do not run on a shared pool.
+     */
+    private final ExecutorService m_responseReader = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("python-fork-server-responses-%d").setDaemon(true).build());
+
+    /**
+     * Starts a fork server and waits until it has preloaded all modules.
+     *
+     * @param command the command that is used to start the server and, hence, the forked kernels
+     * @param requiredModules modules that are preloaded, the server fails to start if they cannot be imported
+     * @param optionalModules modules that are preloaded if they can be imported
+     * @throws IOException if the server could not be started
+     */
+    PythonForkServer(final PythonCommand command, final Set<PythonModuleSpec> requiredModules,
+        final Set<PythonModuleSpec> optionalModules) throws IOException {
+        final List<String> arguments = new ArrayList<>();
+        arguments.add("--required");
+        requiredModules.forEach(m -> arguments.add(m.getName()));
+        arguments.add("--optional");
+        optionalModules.forEach(m -> arguments.add(m.getName()));
+        final String scriptPath =
+            Activator.getFile(Activator.PLUGIN_ID, FORK_SERVER_SCRIPT_RELATIVE_PATH).getAbsolutePath();
+        m_process = PythonKernel
+            .createPythonProcessBuilder(command, scriptPath, arguments.toArray(new String[arguments.size()])).start();
+        m_requests = new OutputStreamWriter(m_process.getOutputStream(), StandardCharsets.UTF_8);
+        m_responses = new BufferedReader(new InputStreamReader(m_process.getInputStream(), StandardCharsets.UTF_8));
+        final Thread errorLogger = new Thread(() -> {
+            try (final BufferedReader errors =
+                new BufferedReader(new InputStreamReader(m_process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = errors.readLine()) != null) {
+                    LOGGER.debug("Python fork server: " + line);
+                }
+            } catch (final IOException ex) {
+                LOGGER.debug(ex);
+            }
+        }, "python-fork-server-stderr");
+        errorLogger.setDaemon(true);
+        errorLogger.start();
+        try {
+            final String response = readResponse();
+            if (!READY_MESSAGE.equals(response)) {
+                throw new IOException("Unexpected response of Python fork server: " + response);
+            }
+        } catch (final IOException ex) {
+            close();
+            throw ex;
+        }
+        LOGGER.debug("Started Python fork server for " + command + ".");
+    }
+
+    /**
+     * Forks a new kernel process that connects to the given address.
+     *
+     * @param address the address of the server socket of the new kernel, see
+     *            {@link PythonKernelServerSocket#getAddress()}
+     * @return the PID of the forked process
+     * @throws IOException if the process could not be forked
+     */
+    synchronized int fork(final String address) throws IOException {
+        if (!m_process.isAlive()) {
+            throw new IOException("Python fork server is not running.");
+        }
+        final String response = request("fork " + address);
+        try {
+            return Integer.parseInt(response);
+        } catch (final NumberFormatException ex) {
+            throw new IOException("Unexpected response of Python fork server: " + response, ex);
+        }
+    }
+
+    /**
+     * Kills the given kernel process. The server only kills processes that it forked itself and that did not terminate
+     * yet. Since it does not reap such processes before it is asked to, their PIDs cannot have been reused by other
+     * processes in the meantime.
+     *
+     * @param pid the PID of a process that was {@link #fork(String) forked} by this server
+     * @return {@code true} if the process was killed, {@code false} if it was not a running child of this server
+     * @throws IOException if the server is not running or did not respond
+     */
+    synchronized boolean kill(final int pid) throws IOException {
+        if (!m_process.isAlive()) {
+            throw new IOException("Python fork server is not running.");
+        }
+        return KILLED_MESSAGE.equals(request("kill " + pid));
+    }
+
+    /**
+     * @return whether the server is still able to fork new kernels
+     */
+    boolean isAlive() {
+        return m_process.isAlive();
+    }
+
+    private String request(final String request) throws IOException {
+        m_requests.write(request + "\n");
+        m_requests.flush();
+        return readResponse();
+    }
+
+    private String readResponse() throws IOException {
+        try {
+            final String response = m_responseReader.submit(m_responses::readLine)
+                .get(PythonKernel.getConnectionTimeoutInMillis(), TimeUnit.MILLISECONDS);
+            if (response == null) {
+                throw new IOException("Python fork server terminated unexpectedly. See log for details.");
+            }
+            return response.trim();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (final ExecutionException ex) {
+            throw new IOException(PythonUtils.Misc.unwrapExecutionException(ex).orElse(ex));
+        } catch (final TimeoutException ex) {
+            // The pending read would consume the next response, so the server cannot be used any longer.
+            close();
+            throw new IOException("Python fork server did not respond in time.", ex);
+        }
+    }
+
+    /**
+     * Shuts down the server. Kernels that were forked by the server are not affected, but can no longer be
+     * {@link #kill(int) killed} by it.
+     */
+    @Override
+    public void close() {
+        // The server terminates once its stdin is closed.
+        PythonUtils.Misc.closeSafely(LOGGER::debug, m_requests, m_responses);
+        m_process.destroy();
+        m_responseReader.shutdownNow();
+    }
+}
@@ -54,14 +54,18 @@
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
-import java.net.ServerSocket;
-import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -70,20 +74,25 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.imageio.ImageIO;
 
 import org.apache.batik.anim.dom.SAXSVGDocumentFactory;
 import org.apache.batik.util.XMLResourceDescriptor;
 import org.apache.commons.lang.SystemUtils;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.internal.ReferencedFile;
 import org.knime.core.node.BufferedDataTable;
@@ -99,6 +108,7 @@
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.core.node.workflow.NodeContext;
 import org.knime.core.node.workflow.WorkflowManager;
+import org.knime.core.util.FileUtil;
 import org.knime.core.util.pathresolve.ResolverUtil;
 import org.knime.python.typeextension.KnimeToPythonExtension;
 import org.knime.python.typeextension.KnimeToPythonExtensions;
@@ -142,7 +152,6 @@
 import org.w3c.dom.svg.SVGDocument;
 
 import com.google.common.base.Strings;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Provides operations on a Python kernel running in another process.
@@ -160,6 +169,22 @@ public class PythonKernel implements AutoCloseable {
 
     private static final String CLEANUP_TIMEOUT_VM_OPT = "knime.python.cleanuptimeout";
 
+    private static final String CHUNK_PREFETCH_DEPTH_VM_OPT = "knime.python.chunkprefetchdepth";
+
+    private static final String SERIALIZATION_THREADS_VM_OPT = "knime.python.serializationthreads";
+
+    /**
+     * The maximum number of rows of an input table that are read ahead of their transfer to Python when serializing
+     * chunks concurrently. Limits the number of chunks in flight (and hence of serialization threads) for large chunk
+     * sizes.
+     */
+    private static final int MAX_ROWS_IN_FLIGHT = 1000000;
+
+    /**
+     * The maximum time to wait for the Python process to exit on its own after shutdown before it is killed.
+     */
+    private static final long PROCESS_EXIT_TIMEOUT_IN_MILLIS = 1000;
+
     // Do not change. Used on Python side.
     private static final String WARNING_MESSAGE_PREFIX = "[WARN]";
 
@@ -196,15 +221,76 @@ public static int getCleanupTimeoutInMillis() {
         }
     }
 
+    /**
+     * @return the maximum number of table chunks that are requested from Python ahead of time while retrieving a table.
+     *         Python serializes the next chunks while Java deserializes the current one. A value of 1 disables
+     *         prefetching. Larger values increase the memory that is occupied by serialized chunks.
+     */
+    public static int getChunkPrefetchDepth() {
+        final String defaultDepth = "2";
+        try {
+            final int depth = Integer.parseInt(System.getProperty(CHUNK_PREFETCH_DEPTH_VM_OPT, defaultDepth));
+            if (depth < 1) {
+                throw new NumberFormatException();
+            }
+            return depth;
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + CHUNK_PREFETCH_DEPTH_VM_OPT
+                + " was set to a non-integer or non-positive value. This is invalid. It therefore defaults to "
+                + defaultDepth + ".");
+            return Integer.parseInt(defaultDepth);
+        }
+    }
+
+    /**
+     * @return the number of threads that concurrently serialize chunks of an input table before they are sent to
+     *         Python. Each thread reads and serializes its own range of rows. A value of 1 disables parallel
+     *         serialization.
+     */
+    public static int getNumberOfSerializationThreads() {
+        final String defaultThreads = "1";
+        try {
+            final int threads = Integer.parseInt(System.getProperty(SERIALIZATION_THREADS_VM_OPT, defaultThreads));
+            if (threads < 1) {
+                throw new NumberFormatException();
+            }
+            return threads;
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + SERIALIZATION_THREADS_VM_OPT
+                + " was set to a non-integer or non-positive value. This is invalid. It therefore defaults to "
+                + defaultThreads + ".");
+            return Integer.parseInt(defaultThreads);
+        }
+    }
+
     private final PythonCommand m_command;
 
     private final Process m_process;
 
     private final Integer m_pid; // Nullable.
 
-    private final ServerSocket m_serverSocket;
+    /**
+     * The PID of the Python process if it was forked by a {@link PythonForkServer}, {@code null} otherwise. Such
+     * processes are not child processes of this JVM, therefore {@link #m_process} is {@code null} in this case.
+     */
+    private final Integer m_forkedPid;
 
-    private final Socket m_socket;
+    /**
+     * The fork server that forked the Python process, {@code null} if the process was not forked. Only the server may
+     * kill the process since it is the only one that knows whether the PID still belongs to the process.
+     */
+    private final PythonForkServer m_forkServer;
+
+    /**
+     * Counted down once the stdout stream of the Python process was closed. For forked processes, this is used to
+     * detect that the process terminated since they are neither child processes of this JVM nor must their PIDs be
+     * probed, see {@link #m_forkServer}.
+     */
+    private final CountDownLatch m_stdoutClosed = new CountDownLatch(1);
+
+    private final PythonKernelServerSocket m_serverSocket;
+
+    private final PythonKernelServerSocket.Connection m_socket;
 
     private final PythonCommands m_commands;
 
@@ -218,11 +304,12 @@ public static int getCleanupTimeoutInMillis() {
 
     private final PythonOutputLogger m_defaultStdoutListener;
 
+    private final PythonOutputLogger m_defaultStderrListener;
+
     private final boolean m_hasAutocomplete;
 
     /** Used to make kernel operations cancelable. */
-    private final ExecutorService m_executorService =
-        Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("python-worker-%d").build());
+    private final ExecutorService m_executorService = PythonKernelThreadPool.newExecutor("python-worker");
 
     /**
      * Initialized by {@link #setOptions(PythonKernelOptions)}.
@@ -240,8 +327,36 @@ public static int getCleanupTimeoutInMillis() {
      */
     private NodeContextManager m_nodeContextManager = new NodeContextManager(null);
 
+    /**
+     * Set by {@link #setOptions(PythonKernelOptions)} once the type extension registry has been transferred to Python.
+     */
+    private boolean m_typeExtensionsRegistered = false;
+
     private final AtomicBoolean m_closed = new AtomicBoolean(false);
 
+    /**
+     * Whether the current client already {@link #close() closed} this kernel. Reset when the kernel is
+     * {@link #lease(ReleaseHandler) handed} to another client by {@link PythonKernelQueue}.
+     */
+    private final AtomicBoolean m_leaseClosed = new AtomicBoolean(false);
+
+    /**
+     * Set once an operation of this kernel was canceled. Python may still be processing the canceled request, so the
+     * kernel must not be reused afterwards.
+     */
+    private volatile boolean m_canceled = false;
+
+    // Durations, in nanoseconds, of the phases of starting this kernel. Reported by PythonKernelQueue.
+    private long m_processStartDuration = -1;
+
+    private long m_connectDuration = -1;
+
+    /**
+     * If set, is notified when the client closes this kernel and may take the kernel back for reuse instead of letting
+     * it shut down. Used by {@link PythonKernelQueue}.
+     */
+    private final AtomicReference<ReleaseHandler> m_releaseHandler = new AtomicReference<>();
+
     /**
      * Creates a new Python kernel by starting a Python process and connecting to it.
      * <P>
@@ -258,6 +373,24 @@ public static int getCleanupTimeoutInMillis() {
      *             Python side during setup, communication errors between the Java and the Python side.
      */
     public PythonKernel(final PythonCommand command) throws PythonIOException {
+        this(command, null, PythonKernelServerSocket.Transport.getDefault());
+    }
+
+    /**
+     * Creates a new Python kernel by starting a Python process or by forking it from the given fork server, and
+     * connecting to it.
+     *
+     * @param command The {@link PythonCommand} that is used to launch the Python kernel.
+     * @param forkServer The fork server of the given command, may be {@code null}. If non-{@code null}, the Python
+     *            process is forked from the server instead of being started from scratch. If forking fails, the process
+     *            is started regularly.
+     * @param transport The transport via which the Python process connects to this kernel. Falls back to TCP if the
+     *            transport is not supported.
+     * @throws PythonInstallationTestException See {@link #PythonKernel(PythonCommand)}.
+     * @throws PythonIOException See {@link #PythonKernel(PythonCommand)}.
+     */
+    PythonKernel(final PythonCommand command, final PythonForkServer forkServer,
+        final PythonKernelServerSocket.Transport transport) throws PythonIOException {
         m_command = command;
 
         testInstallation(command, Collections.emptyList());
@@ -266,26 +399,56 @@ public PythonKernel(final PythonCommand command) throws PythonIOException {
             // Setup Python kernel:
 
             // Start socket creation. The created socket is used to communicate with the Python process that is created below.
-            m_serverSocket = new ServerSocket(0);
-            m_serverSocket.setSoTimeout(getConnectionTimeoutInMillis());
-            final Future<Socket> socketBeingSetup = setupSocket();
+            m_serverSocket = PythonKernelServerSocket.create(transport, getConnectionTimeoutInMillis());
 
             // Create Python process.
-            m_process = setupPythonProcess(command);
+            final long processStart = System.nanoTime();
+            Integer forkedPid = null;
+            if (forkServer != null) {
+                try {
+                    forkedPid = forkServer.fork(m_serverSocket.getAddress());
+                } catch (final IOException ex) {
+                    LOGGER.debug("Forking the Python kernel failed. Starting it regularly instead.", ex);
+                }
+            }
+            final Future<PythonKernelServerSocket.Connection> socketBeingSetup;
+            if (forkedPid != null) {
+                // The forked process is not our child process. It connects its stdout and stderror (in this order)
+                // before connecting the kernel. All three connections must therefore be accepted in this order.
+                final CompletableFuture<PythonKernelServerSocket.Connection> stdoutSocketBeingSetup =
+                    new CompletableFuture<>();
+                final CompletableFuture<PythonKernelServerSocket.Connection> stderrSocketBeingSetup =
+                    new CompletableFuture<>();
+                socketBeingSetup = setupSocket(Arrays.asList(stdoutSocketBeingSetup, stderrSocketBeingSetup));
+                m_forkedPid = forkedPid;
+                m_forkServer = forkServer;
+                m_process = null;
+                m_stdoutStream = stdoutSocketBeingSetup.get().getInputStream();
+                m_stderrStream = stderrSocketBeingSetup.get().getInputStream();
+            } else {
+                socketBeingSetup = setupSocket(Collections.emptyList());
+                m_forkedPid = null;
+                m_forkServer = null;
+                m_process = setupPythonProcess(command);
+                m_stdoutStream = m_process.getInputStream();
+                m_stderrStream = m_process.getErrorStream();
+            }
+            m_processStartDuration = System.nanoTime() - processStart;
 
             // Start listening to stdout and stderror pipes.
-            m_stdoutStream = m_process.getInputStream();
-            m_stderrStream = m_process.getErrorStream();
             startPipeListeners();
 
             // Log output and errors to console.
             m_defaultStdoutListener = new PythonOutputLogger(LOGGER);
             addStdoutListener(m_defaultStdoutListener);
-            addStderrorListener(new PythonOutputLogger(LOGGER));
+            m_defaultStderrListener = new PythonOutputLogger(LOGGER);
+            addStderrorListener(m_defaultStderrListener);
 
             try {
                 // Wait for Python to connect.
+                final long connectStart = System.nanoTime();
                 m_socket = socketBeingSetup.get();
+                m_connectDuration = System.nanoTime() - connectStart;
             } catch (final ExecutionException e) {
                 if (e.getCause() instanceof SocketTimeoutException) {
                     // Under some circumstances, the Python process may crash while we're trying to establish a socket
@@ -385,17 +548,53 @@ static void testInstallation(final PythonCommand command,
 
     // Initial setup methods:
 
-    private Future<Socket> setupSocket() {
-        return Executors.newSingleThreadExecutor().submit(m_serverSocket::accept);
+    /**
+     * Accepts the given preceding connections (completing their futures in order) followed by the kernel connection.
+     * All connections are accepted sequentially by a single task since the order in which they are accepted determines
+     * their roles.
+     */
+    private Future<PythonKernelServerSocket.Connection> setupSocket(
+        final List<CompletableFuture<PythonKernelServerSocket.Connection>> precedingConnections) {
+        final ExecutorService acceptor = PythonKernelThreadPool.newExecutor("python-socket-acceptor");
+        try {
+            return acceptor.submit(() -> {
+                int i = 0;
+                try {
+                    for (; i < precedingConnections.size(); i++) {
+                        precedingConnections.get(i).complete(m_serverSocket.accept());
+                    }
+                } catch (final Throwable t) { // NOSONAR Failures must be propagated to all pending connections.
+                    for (; i < precedingConnections.size(); i++) {
+                        precedingConnections.get(i).completeExceptionally(t);
+                    }
+                    throw t;
+                }
+                return m_serverSocket.accept();
+            });
+        } finally {
+            acceptor.shutdown();
+        }
     }
 
     private Process setupPythonProcess(final PythonCommand command) throws IOException {
         final String kernelScriptPath = PythonKernelOptions.KERNEL_SCRIPT_PATH;
-        final String port = Integer.toString(m_serverSocket.getLocalPort());
-        // Build and start Python kernel that listens to the given port:
+        final String address = m_serverSocket.getAddress();
+        // Build and start Python kernel that connects to the given address:
+        final ProcessBuilder pb = createPythonProcessBuilder(command, kernelScriptPath, address);
+        // Start Python.
+        return pb.start();
+    }
+
+    /**
+     * Creates a process builder that runs the given Python script in the environment of a Python kernel, i.e., with all
+     * kernel modules on the PYTHONPATH and with unbuffered, piped stdout and stderror.
+     */
+    static ProcessBuilder createPythonProcessBuilder(final PythonCommand command, final String scriptPath,
+        final String... arguments) {
         final ProcessBuilder pb = command.createProcessBuilder();
         // Use the -u options to force Python to not buffer stdout and stderror.
-        Collections.addAll(pb.command(), "-u", kernelScriptPath, port);
+        Collections.addAll(pb.command(), "-u", scriptPath);
+        Collections.addAll(pb.command(), arguments);
         // Add all python modules to PYTHONPATH variable.
         String existingPath = pb.environment().get("PYTHONPATH");
         existingPath = existingPath == null ? "" : existingPath;
@@ -426,9 +625,7 @@ private Process setupPythonProcess(final PythonCommand command) throws IOExcepti
 
         pb.redirectOutput(ProcessBuilder.Redirect.PIPE);
         pb.redirectError(ProcessBuilder.Redirect.PIPE);
-
-        // Start Python.
-        return pb.start();
+        return pb;
     }
 
     private void setupRequestHandlers() {
@@ -437,15 +634,17 @@ private void setupRequestHandlers() {
             @Override
             protected Message respond(final Message request, final int responseMessageId) throws Exception {
                 final String payload = new PayloadDecoder(request.getPayload()).getNextString();
-                for (final PythonToKnimeExtension extension : PythonToKnimeExtensions.getExtensions()) {
-                    if (extension.getType().equals(payload) || extension.getId().equals(payload)) {
-                        final byte[] responsePayload = new PayloadEncoder() //
-                            .putString(extension.getId()) //
-                            .putString(extension.getType()) //
-                            .putString(extension.getPythonSerializerPath()) //
-                            .get();
-                        return createResponse(request, responseMessageId, true, responsePayload, null);
-                    }
+                PythonToKnimeExtension extension = PythonToKnimeExtensions.getExtensionByType(payload);
+                if (extension == null) {
+                    extension = PythonToKnimeExtensions.getExtension(payload);
+                }
+                if (extension != null) {
+                    final byte[] responsePayload = new PayloadEncoder() //
+                        .putString(extension.getId()) //
+                        .putString(extension.getType()) //
+                        .putString(extension.getPythonSerializerPath()) //
+                        .get();
+                    return createResponse(request, responseMessageId, true, responsePayload, null);
                 }
                 // TODO: Change to failure response without a payload (requires changes on Python side).
                 final byte[] emptyResponsePayload = new PayloadEncoder() //
@@ -462,14 +661,13 @@ protected Message respond(final Message request, final int responseMessageId) th
             @Override
             protected Message respond(final Message request, final int responseMessageId) throws ExecutionException {
                 final String payload = new PayloadDecoder(request.getPayload()).getNextString();
-                for (final KnimeToPythonExtension extension : KnimeToPythonExtensions.getExtensions()) {
-                    if (extension.getId().equals(payload)) {
-                        final byte[] responsePayload = new PayloadEncoder() //
-                            .putString(extension.getId()) //
-                            .putString(extension.getPythonDeserializerPath()) //
-                            .get();
-                        return createResponse(request, responseMessageId, true, responsePayload, null);
-                    }
+                final KnimeToPythonExtension extension = KnimeToPythonExtensions.getExtension(payload);
+                if (extension != null) {
+                    final byte[] responsePayload = new PayloadEncoder() //
+                        .putString(extension.getId()) //
+                        .putString(extension.getPythonDeserializerPath()) //
+                        .get();
+                    return createResponse(request, responseMessageId, true, responsePayload, null);
                 }
                 // TODO: Change to failure response without a payload (requires changes on Python side).
                 final byte[] emptyResponsePayload = new PayloadEncoder() //
@@ -530,6 +728,9 @@ private boolean checkHasAutoComplete() {
     }
 
     private boolean isPythonProcessAlive() {
+        if (m_forkedPid != null) {
+            return m_stdoutClosed.getCount() > 0;
+        }
         return m_process != null && m_process.isAlive();
     }
     // End of initial setup methods.
@@ -576,6 +777,9 @@ public void setOptions(final PythonKernelOptions options) throws PythonIOExcepti
             // TODO: we should eventually combine all these commands into one to reduce communication/interpretation
             // overhead (cf. AP-14028).
             setSerializationLibrary(options);
+            registerTypeExtensions();
+            setSharedMemoryDirectory();
+            setDictionaryEncoding(options);
             setExternalCustomPath(options);
             setSentinelConstants(options);
             setCurrentWorkingDirToWorkflowDir();
@@ -619,6 +823,32 @@ private void setSerializationLibrary(final PythonKernelOptions options)
         m_commands.setSerializationLibrary(pathToSerializationLibraryPythonModule).get();
     }
 
+    /**
+     * Transfers all registered type extensions to Python at once. The registry does not change while KNIME is running,
+     * so this only needs to be done once per kernel. Python falls back to requesting extensions one by one (see
+     * {@link #setupRequestHandlers()}) for any extension it does not know about.
+     */
+    private void registerTypeExtensions() throws InterruptedException, ExecutionException {
+        if (!m_typeExtensionsRegistered) {
+            m_commands.addTypeExtensions(PythonToKnimeExtensions.getExtensions(),
+                KnimeToPythonExtensions.getExtensions()).get();
+            m_typeExtensionsRegistered = true;
+        }
+    }
+
+    private void setSharedMemoryDirectory() throws InterruptedException, ExecutionException {
+        final Optional<String> sharedMemoryDirectory = m_serializer.getSharedMemoryDirectory();
+        if (sharedMemoryDirectory.isPresent()) {
+            LOGGER.debug("Using shared memory directory for data transfer: " + sharedMemoryDirectory.get() + ".");
+            m_commands.setSharedMemoryDirectory(sharedMemoryDirectory.get()).get();
+        }
+    }
+
+    private void setDictionaryEncoding(final PythonKernelOptions options)
+        throws InterruptedException, ExecutionException {
+        m_commands.setDictionaryEncoding(options.getSerializationOptions().getUseDictionaryEncoding()).get();
+    }
+
     private void setExternalCustomPath(final PythonKernelOptions options)
         throws InterruptedException, ExecutionException {
         final String externalCustomPath = options.getExternalCustomPath();
@@ -879,17 +1109,24 @@ public void putDataTable(final String name, final BufferedDataTable table, final
             final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
             final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
             final int chunkSize = m_kernelOptions.getSerializationOptions().getChunkSize();
+            if (table.size() > Integer.MAX_VALUE) {
+                throw new PythonIOException(
+                    "Number of rows exceeds maximum of " + Integer.MAX_VALUE + " rows for input table!");
+            }
+            final int rowCount = (int)table.size();
+            final int numberRows = Math.min(rowLimit, rowCount);
+            int numberChunks = (int)Math.ceil(numberRows / (double)chunkSize);
+            if (numberChunks == 0) {
+                numberChunks = 1;
+            }
+            final int numberSerializationThreads = Math.min(Math.min(getNumberOfSerializationThreads(), numberChunks),
+                Math.max(1, MAX_ROWS_IN_FLIGHT / chunkSize));
+            if (numberSerializationThreads > 1) {
+                putDataTableParallel(name, table, numberRows, chunkSize, numberChunks, numberSerializationThreads,
+                    serializationMonitor, deserializationMonitor, cancelable);
+                return;
+            }
             try (final CloseableRowIterator iterator = table.iterator()) {
-                if (table.size() > Integer.MAX_VALUE) {
-                    throw new PythonIOException(
-                        "Number of rows exceeds maximum of " + Integer.MAX_VALUE + " rows for input table!");
-                }
-                final int rowCount = (int)table.size();
-                final int numberRows = Math.min(rowLimit, rowCount);
-                int numberChunks = (int)Math.ceil(numberRows / (double)chunkSize);
-                if (numberChunks == 0) {
-                    numberChunks = 1;
-                }
                 int rowsDone = 0;
                 final TableChunker tableChunker =
                     new BufferedDataTableChunker(table.getDataTableSpec(), iterator, rowCount);
@@ -919,12 +1156,82 @@ public void putDataTable(final String name, final BufferedDataTable table, final
                 deserializationMonitor.setProgress(rowsDone / (double)numberRows);
             }
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
         }
     }
 
+    /**
+     * Serializes the chunks of the given table concurrently and sends them to Python in their original order. The rows
+     * of the table are read sequentially by a single iterator, each chunk's rows are then converted and serialized
+     * independently. A chunk is in flight from the moment its rows are read until Python has received it. At most
+     * {@code numberSerializationThreads} chunks are in flight at any time, which bounds the number of rows that are
+     * read ahead of the transfer.
+     */
+    private void putDataTableParallel(final String name, final BufferedDataTable table, final int numberRows,
+        final int chunkSize, final int numberChunks, final int numberSerializationThreads,
+        final ExecutionMonitor serializationMonitor, final ExecutionMonitor deserializationMonitor,
+        final PythonCancelable cancelable) throws Exception {
+        final Semaphore chunksInFlight = new Semaphore(numberSerializationThreads);
+        // Futures are completed out of order but consumed in order.
+        final Deque<Future<byte[]>> serializedChunks = new ArrayDeque<>(numberSerializationThreads);
+        try (final CloseableRowIterator iterator = table.iterator()) {
+            int numberSubmittedChunks = 0;
+            int rowsSubmitted = 0;
+            int rowsDone = 0;
+            RunnableFuture<Void> putChunkTask = null;
+            for (int i = 0; i < numberChunks; i++) {
+                // Only read the rows of further chunks if earlier chunks have left flight.
+                while (numberSubmittedChunks < numberChunks && chunksInFlight.tryAcquire()) {
+                    final int rowsInChunk = Math.min(numberRows - rowsSubmitted, chunkSize);
+                    final List<DataRow> rows = new ArrayList<>(rowsInChunk);
+                    for (int j = 0; j < rowsInChunk && iterator.hasNext(); j++) {
+                        rows.add(iterator.next());
+                    }
+                    final ExecutionMonitor chunkProgress =
+                        serializationMonitor.createSubProgress(rowsInChunk / (double)numberRows);
+                    serializedChunks.add(m_executorService.submit(
+                        () -> serializeRows(table.getDataTableSpec(), rows, chunkProgress, cancelable)));
+                    rowsSubmitted += rowsInChunk;
+                    numberSubmittedChunks++;
+                }
+                final byte[] bytes = waitForFutureCancelable(serializedChunks.poll(), cancelable);
+                rowsDone += Math.min(numberRows - rowsDone, chunkSize);
+                if (i == 0) {
+                    putChunkTask = m_commands.putTable(name, bytes);
+                    putChunkTask.run();
+                } else {
+                    waitForFutureCancelable(putChunkTask, cancelable);
+                    chunksInFlight.release();
+                    deserializationMonitor.setProgress(rowsDone / (double)numberRows);
+                    putChunkTask = m_commands.appendToTable(name, bytes);
+                    putChunkTask.run();
+                }
+            }
+            waitForFutureCancelable(putChunkTask, cancelable);
+            chunksInFlight.release();
+            deserializationMonitor.setProgress(rowsDone / (double)numberRows);
+        } finally {
+            // Only non-empty if serialization failed or was canceled.
+            for (final Future<byte[]> serializedChunk : serializedChunks) {
+                serializedChunk.cancel(true);
+            }
+        }
+    }
+
+    private byte[] serializeRows(final DataTableSpec spec, final List<DataRow> rows,
+        final ExecutionMonitor chunkProgress, final PythonCancelable cancelable) throws Exception {
+        try (final CloseableRowIterator iterator = new DataRowListIterator(rows)) {
+            final BufferedDataTableChunker tableChunker = new BufferedDataTableChunker(spec, iterator, rows.size());
+            final byte[] bytes = m_serializer.tableToBytes(tableChunker.nextChunk(rows.size(), chunkProgress),
+                m_kernelOptions.getSerializationOptions(), cancelable);
+            chunkProgress.setProgress(1);
+            return bytes;
+        }
+    }
+
     /**
      * Put the given {@link BufferedDataTable} into the workspace while still checking whether the execution has been
      * canceled.
@@ -991,6 +1298,7 @@ public void putData(final String name, final TableChunker tableChunker, final in
             }
             waitForFutureCancelable(putChunkTask, cancelable);
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
             throw ex;
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1018,29 +1326,23 @@ public BufferedDataTable getDataTable(final String name, final ExecutionContext
             final ExecutionMonitor serializationMonitor = executionMonitor.createSubProgress(0.5);
             final ExecutionMonitor deserializationMonitor = executionMonitor.createSubProgress(0.5);
             final int tableSize = m_commands.getTableSize(name).get();
-            final int chunkSize = m_kernelOptions.getSerializationOptions().getChunkSize();
-            int numberChunks = (int)Math.ceil(tableSize / (double)chunkSize);
-            if (numberChunks == 0) {
-                numberChunks = 1;
-            }
-            BufferedDataTableCreator tableCreator = null;
-            for (int i = 0; i < numberChunks; i++) {
-                final int start = chunkSize * i;
-                final int end = Math.min(tableSize, (start + chunkSize) - 1);
-                final byte[] bytes = waitForFutureCancelable(m_commands.getTableChunk(name, start, end), cancelable);
+            final BufferedDataTableCreator[] tableCreator = new BufferedDataTableCreator[1];
+            retrieveTableChunks(name, tableSize, cancelable, (bytes, end) -> {
                 serializationMonitor.setProgress((end + 1) / (double)tableSize);
-                if (tableCreator == null) {
+                if (tableCreator[0] == null) {
                     final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
-                    tableCreator = new BufferedDataTableCreator(spec, exec, deserializationMonitor, tableSize);
+                    tableCreator[0] = new BufferedDataTableCreator(spec, exec, deserializationMonitor, tableSize);
                 }
-                m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(), cancelable);
+                m_serializer.bytesIntoTable(tableCreator[0], bytes, m_kernelOptions.getSerializationOptions(),
+                    cancelable);
                 deserializationMonitor.setProgress((end + 1) / (double)tableSize);
-            }
-            if (tableCreator != null) {
-                return tableCreator.getTable();
+            });
+            if (tableCreator[0] != null) {
+                return tableCreator[0].getTable();
             }
             throw new PythonIOException("Invalid serialized table received.");
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1064,24 +1366,18 @@ public TableCreator<?> getData(final String name, final TableCreatorFactory tabl
         final PythonCancelable cancelable) throws PythonIOException, PythonCanceledExecutionException {
         try {
             final int tableSize = m_commands.getTableSize(name).get();
-            final int chunkSize = m_kernelOptions.getSerializationOptions().getChunkSize();
-            int numberChunks = (int)Math.ceil(tableSize / (double)chunkSize);
-            if (numberChunks == 0) {
-                numberChunks = 1;
-            }
-            TableCreator<?> tableCreator = null;
-            for (int i = 0; i < numberChunks; i++) {
-                final int start = chunkSize * i;
-                final int end = Math.min(tableSize, (start + chunkSize) - 1);
-                final byte[] bytes = waitForFutureCancelable(m_commands.getTableChunk(name, start, end), cancelable);
-                if (tableCreator == null) {
+            final TableCreator<?>[] tableCreator = new TableCreator<?>[1];
+            retrieveTableChunks(name, tableSize, cancelable, (bytes, end) -> {
+                if (tableCreator[0] == null) {
                     final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
-                    tableCreator = tableCreatorFactory.createTableCreator(spec, tableSize);
+                    tableCreator[0] = tableCreatorFactory.createTableCreator(spec, tableSize);
                 }
-                m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(), cancelable);
-            }
-            return tableCreator;
+                m_serializer.bytesIntoTable(tableCreator[0], bytes, m_kernelOptions.getSerializationOptions(),
+                    cancelable);
+            });
+            return tableCreator[0];
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
             throw ex;
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1097,10 +1393,19 @@ public TableCreator<?> getData(final String name, final TableCreatorFactory tabl
      *             task
      */
     public void putObject(final String name, final PickledObject object) throws PythonIOException {
+        // Pass the object via a file to avoid copying it into a message. Python unpickles it directly from the file.
+        // Streaming the object into the file avoids reading it into memory if it is backed by a file itself.
+        Path file = null;
         try {
-            m_commands.putObject(name, object.getPickledObject()).get();
-        } catch (InterruptedException | ExecutionException ex) {
+            file = FileUtil.createTempFile("java-to-python-", ".pkl", false).toPath();
+            try (final InputStream in = object.openPickledObjectStream()) {
+                Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            m_commands.putObject(name, file).get();
+        } catch (IOException | InterruptedException | ExecutionException ex) {
             throw getMostSpecificPythonKernelException(ex);
+        } finally {
+            deleteTempFile(file);
         }
     }
 
@@ -1124,6 +1429,7 @@ public void putObject(final String name, final PickledObject object, final Execu
                 return null;
             }, m_executorService, new PythonExecutionMonitorCancelable(executionMonitor));
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1146,26 +1452,36 @@ public void putObject(final String name, final PickledObject object, final Execu
     public PickledObject getObject(final String name, final ExecutionMonitor executionMonitor)
         throws PythonIOException, CanceledExecutionException {
         final PythonCancelable cancelable = new PythonExecutionMonitorCancelable(executionMonitor);
+        // Python pickles the object directly into the file instead of serializing it into a table that is sent via the
+        // socket. The returned object is backed by the file, so the object is not held in memory unless requested.
+        // The file is deleted once the object was copied to a file store (see PickledObjectFileStorePortObject), or
+        // else when the VM exits (or along with the temporary files of the workflow).
+        Path file = null;
         try {
-            final byte[] bytes = PythonUtils.Misc.executeCancelable(() -> m_commands.getObject(name).get(),
+            file = FileUtil.createTempFile("python-to-java-", ".pkl", true).toPath();
+            final Path finalFile = file;
+            return PythonUtils.Misc.executeCancelable(() -> m_commands.getObject(name, finalFile).get(),
                 m_executorService, cancelable);
-            final TableSpec spec = m_serializer.tableSpecFromBytes(bytes, cancelable);
-            final KeyValueTableCreator tableCreator = new KeyValueTableCreator(spec);
-            m_serializer.bytesIntoTable(tableCreator, bytes, m_kernelOptions.getSerializationOptions(), cancelable);
-            final Row row = tableCreator.getTable();
-            final int bytesIndex = spec.findColumn("bytes");
-            final int typeIndex = spec.findColumn("type");
-            final int representationIndex = spec.findColumn("representation");
-            final byte[] objectBytes = row.getCell(bytesIndex).getBytesValue();
-            return new PickledObject(objectBytes, row.getCell(typeIndex).getStringValue(),
-                row.getCell(representationIndex).getStringValue());
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
+            // Python may still be writing the file, so leave it to the deferred deletion.
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
+            deleteTempFile(file);
             throw getMostSpecificPythonKernelException(ex);
         }
     }
 
+    private static void deleteTempFile(final Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException ex) {
+                LOGGER.debug("Could not delete temporary file '" + file + "'.", ex);
+            }
+        }
+    }
+
     /**
      * Send a "SQL-Table" to the python workspace that is used to connect to a database.
      *
@@ -1270,6 +1586,7 @@ public ImageContainer getImage(final String name, final ExecutionMonitor executi
             return PythonUtils.Misc.executeCancelable(() -> getImage(name), m_executorService,
                 new PythonExecutionMonitorCancelable(executionMonitor));
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
             throw new CanceledExecutionException(ex.getMessage());
         } catch (final Exception ex) {
             throw getMostSpecificPythonKernelException(ex);
@@ -1478,6 +1795,7 @@ private String[] executeCommandCancelable(final Callable<String[]> executeComman
         try {
             return PythonUtils.Misc.executeCancelable(executeCommand, m_executorService, cancelable);
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
             throw new CanceledExecutionException(ex.getMessage());
         }
     }
@@ -1495,74 +1813,123 @@ public void resetWorkspace() throws PythonIOException {
         }
     }
 
+    /**
+     * Resets this kernel after its client closed it such that it can be handed to another client. External resources
+     * must already have been cleaned up at this point.
+     *
+     * @return {@code true} if the kernel is in a reusable state, {@code false} otherwise
+     */
+    private boolean resetForReuse() {
+        if (m_canceled) {
+            LOGGER.debug("Python kernel cannot be reused because one of its operations was canceled.");
+            return false;
+        }
+        if (m_commands.hasPendingTasks()) {
+            LOGGER.debug("Python kernel cannot be reused because some of its commands are still pending.");
+            return false;
+        }
+        try {
+            // Drop everything the previous client attached to the kernel. The next client reconfigures the kernel via
+            // setOptions.
+            m_stdoutListeners.retainAll(Collections.singleton(m_defaultStdoutListener));
+            m_stderrListeners.retainAll(Collections.singleton(m_defaultStderrListener));
+            PythonUtils.Misc.closeSafely(LOGGER::debug, m_serializer);
+            m_serializer = null;
+            m_kernelOptions = null;
+            m_nodeContextManager = new NodeContextManager(null);
+            final String notReusableReason =
+                m_commands.resetForReuse().get(getCleanupTimeoutInMillis(), TimeUnit.MILLISECONDS);
+            if (!notReusableReason.isEmpty()) {
+                LOGGER.debug("Python kernel cannot be reused: " + notReusableReason);
+                return false;
+            }
+            return isPythonProcessAlive();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final Exception ex) {
+            LOGGER.debug("Python kernel could not be reset for reuse.", ex);
+            return false;
+        }
+    }
+
+    /**
+     * @return the duration, in nanoseconds, of starting the Python process of this kernel
+     */
+    long getProcessStartDuration() {
+        return m_processStartDuration;
+    }
+
+    /**
+     * @return the duration, in nanoseconds, of waiting for the Python process of this kernel to connect
+     */
+    long getConnectDuration() {
+        return m_connectDuration;
+    }
+
+    /**
+     * Hands this kernel to a new client. The new client may {@link #close() close} the kernel once, regardless of
+     * whether the previous client already did so.
+     *
+     * @param releaseHandler the handler that is notified when the new client closes this kernel, may be {@code null}
+     */
+    void lease(final ReleaseHandler releaseHandler) {
+        m_releaseHandler.set(releaseHandler);
+        m_leaseClosed.set(false);
+    }
+
     /**
      * Shuts down the Python kernel.
      *
-     * This shuts down the Python background process and closes the sockets used for communication.
+     * This shuts down the Python background process and closes the sockets used for communication. Kernels that were
+     * obtained from the {@link PythonKernelQueue} may instead be reset and kept alive for reuse if the queue is
+     * configured accordingly. Clients must not use a kernel any more after closing it in either case. Closing a
+     * kernel more than once has no effect.
      *
      * @throws PythonKernelCleanupException if an error occurs while cleaning up external resources (e.g., closing
      *             database connections), contains an error message that is suitable to be shown to the user
      */
     @Override
     public void close() throws PythonKernelCleanupException {
-        if (m_closed.compareAndSet(false, true)) {
-            // Closing the database connections must be done synchronously. Otherwise Python database testflows fail
-            // because the test framework's database janitors try to clean up the databases before the connections are
-            // closed. Exceptions that occur during cleanup should be propagated to the user since external resources
-            // (e.g., databases) could be affected.
-            PythonKernelCleanupException cleanupException = null;
-            try {
-                if (m_commands != null) {
-                    m_commands.cleanUp().get(getCleanupTimeoutInMillis(), TimeUnit.MILLISECONDS);
-                }
-            } catch (TimeoutException ex) {
-                cleanupException = new PythonKernelCleanupException("An attempt to clean up Python timed out. "
-                    + "Please consider increasing the cleanup timeout using the VM option '-D" + CLEANUP_TIMEOUT_VM_OPT
-                    + "=<value-in-ms>'.", ex);
-            } catch (Throwable t) {
-                t = PythonUtils.Misc.unwrapExecutionException(t).orElse(t);
-                cleanupException =
-                    new PythonKernelCleanupException("Failed to clean up Python. See log for details.", t);
+        // Closing the kernel more than once must neither shut down a kernel that was taken back for reuse nor release
+        // it on behalf of its next client.
+        if (!m_leaseClosed.compareAndSet(false, true)) {
+            return;
+        }
+        final ReleaseHandler releaseHandler = m_releaseHandler.getAndSet(null);
+        if (releaseHandler != null && !m_closed.get()) {
+            // Clean up external resources just like on shutdown before offering the kernel for reuse.
+            final PythonKernelCleanupException cleanupException = cleanUpExternalResources();
+            if (releaseHandler.release(this, cleanupException == null && resetForReuse())) {
+                return;
+            }
+            if (m_closed.compareAndSet(false, true)) {
+                shutDown();
+            }
+            if (cleanupException != null) {
+                throw cleanupException;
             }
+        } else {
+            shutDownAndCleanUp();
+        }
+    }
 
-            // Async. closing.
-            new Thread(() -> {
-                // Order is intended.
-                synchronized (m_stderrListeners) {
-                    PythonUtils.Misc.invokeSafely(LOGGER::debug, l -> l.setDisabled(true),
-                        m_stderrListeners.toArray(new PythonOutputListener[0]));
-                }
-                synchronized (m_stdoutListeners) {
-                    PythonUtils.Misc.invokeSafely(LOGGER::debug, l -> l.setDisabled(true),
-                        m_stdoutListeners.toArray(new PythonOutputListener[0]));
-                }
-                PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executorService);
-                PythonUtils.Misc.closeSafely(LOGGER::debug, m_commands, m_serverSocket, m_socket, m_serializer);
-                PythonUtils.Misc.invokeSafely(LOGGER::debug, List<PythonOutputListener>::clear, m_stdoutListeners,
-                    m_stderrListeners);
-                // If the original process was a script, we have to kill the actual Python process by PID.
-                if (m_pid != null) {
-                    try {
-                        ProcessBuilder pb;
-                        if (System.getProperty("os.name").toLowerCase().contains("win")) {
-                            pb = new ProcessBuilder("taskkill", "/F", "/PID", "" + m_pid);
-                        } else {
-                            pb = new ProcessBuilder("kill", "-KILL", "" + m_pid);
-                        }
-                        final Process p = pb.start();
-                        p.waitFor();
-                    } catch (final InterruptedException ex) {
-                        // Closing the kernel should not be interrupted.
-                        Thread.currentThread().interrupt();
-                    } catch (final Exception ignore) {
-                        // Ignore.
-                    }
-                }
-                if (m_process != null) {
-                    m_process.destroy();
-                }
-            }).start();
+    /**
+     * Shuts down this kernel regardless of whether it is currently held by a client. Used by
+     * {@link PythonKernelQueue} to dispose of kernels that it did not hand out or that were taken back for reuse.
+     *
+     * @throws PythonKernelCleanupException if an error occurs while cleaning up external resources
+     */
+    void discard() throws PythonKernelCleanupException {
+        m_leaseClosed.set(true);
+        m_releaseHandler.set(null);
+        shutDownAndCleanUp();
+    }
 
+    private void shutDownAndCleanUp() throws PythonKernelCleanupException {
+        if (m_closed.compareAndSet(false, true)) {
+            final PythonKernelCleanupException cleanupException = cleanUpExternalResources();
+            shutDown();
             // (Re-)Throw exception after the rest of the kernel shutdown was initiated.
             if (cleanupException != null) {
                 throw cleanupException;
@@ -1570,9 +1937,127 @@ public void close() throws PythonKernelCleanupException {
         }
     }
 
+    private PythonKernelCleanupException cleanUpExternalResources() {
+        // Closing the database connections must be done synchronously. Otherwise Python database testflows fail
+        // because the test framework's database janitors try to clean up the databases before the connections are
+        // closed. Exceptions that occur during cleanup should be propagated to the user since external resources
+        // (e.g., databases) could be affected.
+        PythonKernelCleanupException cleanupException = null;
+        try {
+            if (m_commands != null) {
+                m_commands.cleanUp().get(getCleanupTimeoutInMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (TimeoutException ex) {
+            cleanupException = new PythonKernelCleanupException("An attempt to clean up Python timed out. "
+                + "Please consider increasing the cleanup timeout using the VM option '-D" + CLEANUP_TIMEOUT_VM_OPT
+                + "=<value-in-ms>'.", ex);
+        } catch (Throwable t) {
+            t = PythonUtils.Misc.unwrapExecutionException(t).orElse(t);
+            cleanupException = new PythonKernelCleanupException("Failed to clean up Python. See log for details.", t);
+        }
+        return cleanupException;
+    }
+
+    private void shutDown() {
+        // Async. closing.
+        PythonKernelThreadPool.execute("python-kernel-shutdown", () -> {
+            // Order is intended.
+            synchronized (m_stderrListeners) {
+                PythonUtils.Misc.invokeSafely(LOGGER::debug, l -> l.setDisabled(true),
+                    m_stderrListeners.toArray(new PythonOutputListener[0]));
+            }
+            synchronized (m_stdoutListeners) {
+                PythonUtils.Misc.invokeSafely(LOGGER::debug, l -> l.setDisabled(true),
+                    m_stdoutListeners.toArray(new PythonOutputListener[0]));
+            }
+            PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executorService);
+            PythonUtils.Misc.closeSafely(LOGGER::debug, m_commands, m_serverSocket, m_socket, m_serializer);
+            PythonUtils.Misc.invokeSafely(LOGGER::debug, List<PythonOutputListener>::clear, m_stdoutListeners,
+                m_stderrListeners);
+            // Python exits on its own once it acknowledged the shutdown request. Only kill it if it does not.
+            if (!awaitPythonProcessExit(PROCESS_EXIT_TIMEOUT_IN_MILLIS)) {
+                LOGGER.debug("Python process did not exit within " + PROCESS_EXIT_TIMEOUT_IN_MILLIS
+                    + " ms after shutdown. Process will be killed.");
+                if (m_forkedPid != null) {
+                    killForkedProcess();
+                } else {
+                    // If the original process was a script, we have to kill the actual Python process by PID.
+                    if (m_pid != null) {
+                        killProcess(m_pid);
+                    }
+                    if (m_process != null) {
+                        m_process.destroyForcibly();
+                    }
+                }
+            }
+        });
+    }
+
+    private boolean awaitPythonProcessExit(final long timeoutInMillis) {
+        try {
+            if (m_process != null) {
+                // If the process is a script that started Python, the script exits once Python exited.
+                return m_process.waitFor(timeoutInMillis, TimeUnit.MILLISECONDS);
+            } else if (m_forkedPid != null) {
+                return m_stdoutClosed.await(timeoutInMillis, TimeUnit.MILLISECONDS);
+            }
+            return true;
+        } catch (final InterruptedException ex) {
+            // Closing the kernel should not be interrupted.
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void killForkedProcess() {
+        try {
+            if (!m_forkServer.kill(m_forkedPid)) {
+                LOGGER.debug("Forked Python process " + m_forkedPid + " was not killed since it already terminated.");
+            }
+        } catch (final IOException ex) {
+            LOGGER.debug("Forked Python process " + m_forkedPid + " could not be killed since its fork server is not "
+                + "available.", ex);
+        }
+    }
+
+    private static void killProcess(final int pid) {
+        try {
+            // ProcessHandle is only available as of Java 9. Avoid spawning a kill process where it is available.
+            final Class<?> processHandleClass = Class.forName("java.lang.ProcessHandle");
+            final Optional<?> handle =
+                (Optional<?>)processHandleClass.getMethod("of", long.class).invoke(null, (long)pid);
+            if (handle.isPresent()) {
+                processHandleClass.getMethod("destroyForcibly").invoke(handle.get());
+            }
+            return;
+        } catch (final ReflectiveOperationException ex) {
+            // Fall back to the kill command of the operating system below.
+        }
+        try {
+            ProcessBuilder pb;
+            if (System.getProperty("os.name").toLowerCase().contains("win")) {
+                pb = new ProcessBuilder("taskkill", "/F", "/PID", "" + pid);
+            } else {
+                pb = new ProcessBuilder("kill", "-KILL", "" + pid);
+            }
+            final Process p = pb.start();
+            p.waitFor();
+        } catch (final InterruptedException ex) {
+            // Closing the kernel should not be interrupted.
+            Thread.currentThread().interrupt();
+        } catch (final Exception ignore) {
+            // Ignore.
+        }
+    }
+
     @Override
     protected void finalize() throws Throwable {
-        close();
+        // Kernels that are not reachable any more cannot be handed to another client.
+        final ReleaseHandler releaseHandler = m_releaseHandler.getAndSet(null);
+        if (releaseHandler != null) {
+            releaseHandler.release(this, false);
+        }
+        discard();
         super.finalize();
     }
 
@@ -1662,7 +2147,7 @@ private static String stripWarningMessagePrefix(final String message) {
     }
 
     private void startPipeListeners() {
-        new Thread(() -> {
+        PythonKernelThreadPool.executeLoop("python-stdout-listener", () -> {
             String message;
             final BufferedReader reader = new BufferedReader(new InputStreamReader(m_stdoutStream));
             try {
@@ -1671,11 +2156,15 @@ private void startPipeListeners() {
                 }
             } catch (final IOException ex) {
                 LOGGER.warn("Exception during interactive logging: " + ex.getMessage(), ex);
+            } finally {
+                // Closes the underlying socket in case of a forked process.
+                PythonUtils.Misc.closeSafely(LOGGER::debug, reader);
+                m_stdoutClosed.countDown();
             }
 
-        }).start();
+        });
 
-        new Thread(() -> {
+        PythonKernelThreadPool.executeLoop("python-stderr-listener", () -> {
             String message;
             final BufferedReader reader = new BufferedReader(new InputStreamReader(m_stderrStream));
             try {
@@ -1684,9 +2173,11 @@ private void startPipeListeners() {
                 }
             } catch (final IOException ex) {
                 LOGGER.debug("Exception during interactive logging: " + ex.getMessage(), ex);
+            } finally {
+                PythonUtils.Misc.closeSafely(LOGGER::debug, reader);
             }
 
-        }).start();
+        });
     }
 
     private PythonIOException getMostSpecificPythonKernelException(final Exception exception) {
@@ -1713,16 +2204,90 @@ private PythonIOException getMostSpecificPythonKernelException(final Exception e
         return new PythonIOException(exc);
     }
 
+    /**
+     * Retrieves the table with the given name from Python chunk by chunk and hands the serialized chunks to the given
+     * consumer in order. Up to {@link #getChunkPrefetchDepth()} chunk requests are kept in flight such that Python
+     * serializes the next chunks while the consumer processes the current one.
+     */
+    private void retrieveTableChunks(final String name, final int tableSize, final PythonCancelable cancelable,
+        final TableChunkConsumer consumer) throws Exception {
+        final int chunkSize = m_kernelOptions.getSerializationOptions().getChunkSize();
+        int numberChunks = (int)Math.ceil(tableSize / (double)chunkSize);
+        if (numberChunks == 0) {
+            numberChunks = 1;
+        }
+        final int prefetchDepth = getChunkPrefetchDepth();
+        final Deque<RunnableFuture<byte[]>> pendingChunks = new ArrayDeque<>(prefetchDepth);
+        try {
+            int numberRequestedChunks = 0;
+            for (int i = 0; i < numberChunks; i++) {
+                while (numberRequestedChunks < numberChunks && numberRequestedChunks < i + prefetchDepth) {
+                    final int start = chunkSize * numberRequestedChunks;
+                    final int end = Math.min(tableSize, (start + chunkSize) - 1);
+                    final RunnableFuture<byte[]> getChunkTask = m_commands.getTableChunk(name, start, end);
+                    getChunkTask.run();
+                    pendingChunks.add(getChunkTask);
+                    numberRequestedChunks++;
+                }
+                final byte[] bytes = waitForFutureCancelable(pendingChunks.poll(), cancelable);
+                consumer.accept(bytes, Math.min(tableSize, (chunkSize * (i + 1)) - 1));
+            }
+        } finally {
+            // Only non-empty if retrieval failed or was canceled.
+            for (final RunnableFuture<byte[]> pendingChunk : pendingChunks) {
+                pendingChunk.cancel(true);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TableChunkConsumer {
+
+        /**
+         * @param bytes the serialized table chunk
+         * @param end the index of the last row of the chunk
+         */
+        void accept(byte[] bytes, int end) throws Exception;
+    }
+
     private <T> T waitForFutureCancelable(final Future<T> future, final PythonCancelable cancelable)
         throws PythonIOException, PythonCanceledExecutionException {
         try {
             return PythonUtils.Misc.executeCancelable(future::get, m_executorService, cancelable);
         } catch (final PythonCanceledExecutionException ex) {
+            m_canceled = true;
             future.cancel(true);
             throw ex;
         }
     }
 
+    /**
+     * Iterates over rows that were already read from a table, see {@link #putDataTableParallel}.
+     */
+    private static final class DataRowListIterator extends CloseableRowIterator {
+
+        private final Iterator<DataRow> m_rows;
+
+        private DataRowListIterator(final List<DataRow> rows) {
+            m_rows = rows.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_rows.hasNext();
+        }
+
+        @Override
+        public DataRow next() {
+            return m_rows.next();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close, the rows' table is closed by its own iterator.
+        }
+    }
+
     private static final class PythonKernelExecutionMonitor implements PythonExecutionMonitor {
 
         private static final Message POISON_PILL = new DefaultMessage(1, "", null, null);
@@ -1776,4 +2341,20 @@ public void close() {
             }
         }
     }
+
+    /**
+     * Is notified when a client {@link PythonKernel#close() closes} a kernel and may take the kernel back for reuse
+     * instead of letting it shut down.
+     */
+    @FunctionalInterface
+    interface ReleaseHandler {
+
+        /**
+         * @param kernel the closed kernel
+         * @param reusable whether the kernel was successfully reset and can be handed to another client
+         * @return {@code true} if the kernel was taken back for reuse and must not be shut down, {@code false}
+         *         otherwise
+         */
+        boolean release(PythonKernel kernel, boolean reusable);
+    }
 }
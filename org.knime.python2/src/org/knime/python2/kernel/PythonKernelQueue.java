@@ -48,22 +48,51 @@
  */
 package org.knime.python2.kernel;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 import org.apache.commons.pool2.KeyedPooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultEvictionPolicy;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.EvictionConfig;
+import org.apache.commons.pool2.impl.EvictionPolicy;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
+import org.knime.core.node.NodeLogger;
 import org.knime.python2.PythonCommand;
 import org.knime.python2.PythonModuleSpec;
+import org.knime.python2.kernel.PythonKernelQueueStatistics.KeyStatistics;
 import org.knime.python2.prefs.advanced.PythonAdvancedPreferences;
 import org.knime.python2.util.PythonUtils;
 
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Creates, holds, and provides {@link PythonKernel} instances for specific combinations of {@link PythonCommand Python
@@ -75,6 +104,27 @@
  * The queue only holds a limited number of kernels. It evicts and {@link PythonKernelQueue#close() closes} inactive
  * kernels (i.e., kernels that have been idling for a specific time) in case the number of entries reaches this limit.
  * It also regularly evicts and closes inactive kernel instances independent of the current number of entries.
+ * <P>
+ * If kernel reuse is enabled via the VM option <code>-Dknime.python.kernelqueue.reuse=true</code>, no new kernel is
+ * created upon retrieval. Instead, kernels are reset and put back into the queue when their clients
+ * {@link PythonKernel#close() close} them, which saves the costs of starting Python and importing modules for each
+ * client. Kernels whose state cannot be reset (see {@link PythonCommands#resetForReuse()}) are shut down and replaced
+ * by new ones.
+ * <P>
+ * Within the limits of the queue's capacity, the number of kernels per combination of command and modules adapts to
+ * the demand: the queue keeps track of how frequently kernels of each combination are requested and how long it takes
+ * to create them, and creates additional kernels ahead of time for combinations that are requested faster than new
+ * kernels can be started. Idling kernels are evicted early while the system is running low on physical memory, and no
+ * kernels are created ahead of time during that period. Kernels are created in the background by a bounded number of
+ * threads to avoid overloading the system in case of bursts. The adaptive behavior can be disabled via the VM option
+ * <code>-Dknime.python.kernelqueue.adaptive=false</code>, the number of threads can be configured via
+ * <code>-Dknime.python.kernelqueue.maxconcurrentspawns=&lt;value&gt;</code>.
+ * <P>
+ * On Linux, kernels can be forked from preloaded Python processes instead of being started from scratch if enabled via
+ * the VM option <code>-Dknime.python.forkserver=true</code>. See {@link PythonForkServer}.
+ * <P>
+ * Statistics about the queue (e.g., hits, misses, wait times, and the durations of the individual phases of creating
+ * kernels) are available via {@link #getStatistics()} and via JMX, see {@link PythonKernelQueueMXBean}.
  *
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  */
@@ -100,6 +150,31 @@ public final class PythonKernelQueue {
 
     private static final int CANCELLATION_CHECK_INTERVAL_IN_MILLISECONDS = 1000;
 
+    private static final String KERNEL_REUSE_VM_OPT = "knime.python.kernelqueue.reuse";
+
+    private static final String ADAPTIVE_VM_OPT = "knime.python.kernelqueue.adaptive";
+
+    private static final String MAX_CONCURRENT_SPAWNS_VM_OPT = "knime.python.kernelqueue.maxconcurrentspawns";
+
+    /**
+     * The system is considered to be under memory pressure if less than this fraction of its physical memory is
+     * available.
+     */
+    private static final double MEMORY_PRESSURE_THRESHOLD = 0.1;
+
+    private static final long MEMORY_PRESSURE_CHECK_INTERVAL_IN_MILLISECONDS = 1000;
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelQueue.class);
+
+    /**
+     * The name under which the queue's {@link PythonKernelQueueMXBean} is registered with the platform MBean server.
+     */
+    public static final String MBEAN_NAME = "org.knime.python2:type=PythonKernelQueue";
+
+    private static volatile long lastMemoryPressureCheck;
+
+    private static volatile boolean underMemoryPressure;
+
     /**
      * The singleton instance.
      */
@@ -108,7 +183,8 @@ public final class PythonKernelQueue {
     /**
      * Takes the next {@link PythonKernel} from the queue that was launched using the given {@link PythonCommand} and
      * has the given modules preloaded. Configures it according to the given {@link PythonKernelOptions} and returns it.
-     * The caller is responsible for {@link PythonKernel#close() closing} the kernel.<br>
+     * The caller is responsible for {@link PythonKernel#close() closing} the kernel and must not use it after closing
+     * it, since it may already have been handed to another caller if kernel reuse is enabled.<br>
      * This method blocks until a kernel is present in the queue.
      * <P>
      * Note that specifying additional modules should only be done if loading these modules is time-consuming since,
@@ -145,6 +221,17 @@ public static synchronized PythonKernel getNextKernel(final PythonCommand comman
             cancelable);
     }
 
+    /**
+     * @return a snapshot of the statistics of the queue in its current configuration, see also
+     *         {@link PythonKernelQueueMXBean}
+     */
+    public static synchronized PythonKernelQueueStatistics getStatistics() {
+        if (instance == null) {
+            return new PythonKernelQueueStatistics(0, 0, Collections.emptyList());
+        }
+        return instance.getStatisticsInternal();
+    }
+
     /**
      * Reconfigures the queue according to the given arguments.
      * <P>
@@ -166,6 +253,7 @@ public static synchronized void reconfigureKernelQueue(final int maxNumberOfIdli
         if (!sameConfiguration) {
             close();
             instance = new PythonKernelQueue(maxNumberOfIdlingKernels, expirationDurationInMinutes);
+            registerMBean();
         }
     }
 
@@ -175,6 +263,8 @@ public static synchronized void reconfigureKernelQueue(final int maxNumberOfIdli
     public static synchronized void clear() {
         if (instance != null) {
             instance.m_pool.clear();
+            // The environments of the fork servers may have changed, too.
+            instance.closeForkServers();
         }
     }
 
@@ -186,6 +276,132 @@ public static synchronized void clear() {
     public static synchronized void close() {
         if (instance != null) {
             instance.m_pool.close();
+            instance.m_spawner.shutdown();
+            instance.closeForkServers();
+        }
+    }
+
+    private static void registerMBean() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new StandardMBean(new PythonKernelQueueMXBean() {
+
+                    @Override
+                    public long getHits() {
+                        return getStatistics().getHits();
+                    }
+
+                    @Override
+                    public long getMisses() {
+                        return getStatistics().getMisses();
+                    }
+
+                    @Override
+                    public long getBypasses() {
+                        return getStatistics().getBypasses();
+                    }
+
+                    @Override
+                    public long getFailedKernels() {
+                        return getStatistics().getFailedKernels();
+                    }
+
+                    @Override
+                    public long getEvictions() {
+                        return getStatistics().getEvictions();
+                    }
+
+                    @Override
+                    public double getMeanWaitMillis() {
+                        return getStatistics().getMeanWaitMillis();
+                    }
+
+                    @Override
+                    public double getMaxWaitMillis() {
+                        return getStatistics().getMaxWaitMillis();
+                    }
+
+                    @Override
+                    public int getNumIdleKernels() {
+                        return getStatistics().getNumIdleKernels();
+                    }
+
+                    @Override
+                    public int getNumActiveKernels() {
+                        return getStatistics().getNumActiveKernels();
+                    }
+
+                    @Override
+                    public List<KeyStatistics> getKeyStatistics() {
+                        return getStatistics().getKeyStatistics();
+                    }
+                }, PythonKernelQueueMXBean.class, true), name);
+            }
+        } catch (final JMException | RuntimeException ex) {
+            LOGGER.debug("Could not register the management interface of the Python kernel queue.", ex);
+        }
+    }
+
+    private static int getMaxNumberOfConcurrentSpawns() {
+        final int defaultSpawns = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        try {
+            return Math.max(1, Integer.parseInt(
+                System.getProperty(MAX_CONCURRENT_SPAWNS_VM_OPT, Integer.toString(defaultSpawns))));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn("The VM option -D" + MAX_CONCURRENT_SPAWNS_VM_OPT
+                + " was set to a non-integer value. This is invalid. It therefore defaults to " + defaultSpawns + ".");
+            return defaultSpawns;
+        }
+    }
+
+    /**
+     * @return whether less than {@link #MEMORY_PRESSURE_THRESHOLD} of the system's physical memory is available. The
+     *         result is cached for {@link #MEMORY_PRESSURE_CHECK_INTERVAL_IN_MILLISECONDS}.
+     */
+    private static boolean isUnderMemoryPressure() {
+        final long now = System.currentTimeMillis();
+        if (now - lastMemoryPressureCheck >= MEMORY_PRESSURE_CHECK_INTERVAL_IN_MILLISECONDS) {
+            lastMemoryPressureCheck = now;
+            final long total = getPhysicalMemoryAttribute("TotalPhysicalMemorySize");
+            final long available = getAvailablePhysicalMemory();
+            underMemoryPressure = total > 0 && available >= 0 && available < total * MEMORY_PRESSURE_THRESHOLD;
+        }
+        return underMemoryPressure;
+    }
+
+    private static long getAvailablePhysicalMemory() {
+        // On Linux, "free" memory excludes caches that the kernel releases on demand. MemAvailable accounts for them.
+        final Path meminfo = Paths.get("/proc/meminfo");
+        if (Files.isReadable(meminfo)) {
+            try {
+                for (final String line : Files.readAllLines(meminfo, StandardCharsets.US_ASCII)) {
+                    if (line.startsWith("MemAvailable:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                    }
+                }
+            } catch (final IOException | NumberFormatException ex) {
+                LOGGER.debug(ex);
+            }
+        }
+        return getPhysicalMemoryAttribute("FreePhysicalMemorySize");
+    }
+
+    /**
+     * Queries the given attribute of the platform's operating system MBean by name instead of via the JDK-specific
+     * MXBean interface, which is not available on all platforms.
+     *
+     * @return the attribute's value or {@code -1} if it is not available
+     */
+    private static long getPhysicalMemoryAttribute(final String attribute) {
+        try {
+            final Object value = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME), attribute);
+            return value instanceof Number ? ((Number)value).longValue() : -1;
+        } catch (final JMException | RuntimeException ex) {
+            LOGGER.debug("Could not query the operating system attribute '" + attribute + "'.", ex);
+            return -1;
         }
     }
 
@@ -201,6 +417,32 @@ public static synchronized void close() {
      */
     private final GenericKeyedObjectPool<PythonCommandAndModules, PythonKernelOrExceptionHolder> m_pool;
 
+    /**
+     * Whether kernels are put back into the queue when their clients close them instead of being replaced by new ones.
+     */
+    private final boolean m_reuseKernels = Boolean.getBoolean(KERNEL_REUSE_VM_OPT);
+
+    private final boolean m_adaptive = Boolean.parseBoolean(System.getProperty(ADAPTIVE_VM_OPT, "true"));
+
+    /**
+     * Creates kernels in the background, i.e., repopulates holders and creates additional holders ahead of time.
+     */
+    private final ThreadPoolExecutor m_spawner;
+
+    private final ConcurrentHashMap<PythonCommandAndModules, KeyRecord> m_records = new ConcurrentHashMap<>();
+
+    /**
+     * The fork servers of the keys. A holder is put into the map before its server is started outside of the map's
+     * locks, so concurrent requests for the same key wait for the same server.
+     */
+    private final ConcurrentHashMap<PythonCommandAndModules, CompletableFuture<PythonForkServer>> m_forkServers =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Keys whose fork server could not be started. Their kernels are started regularly.
+     */
+    private final Set<PythonCommandAndModules> m_failedForkServers = ConcurrentHashMap.newKeySet();
+
     private PythonKernelQueue(final int maxNumberOfIdlingKernels, final int expirationDurationInMinutes) {
         final GenericKeyedObjectPoolConfig<PythonKernelOrExceptionHolder> config = new GenericKeyedObjectPoolConfig<>();
         config.setEvictorShutdownTimeoutMillis(0);
@@ -214,7 +456,121 @@ private PythonKernelQueue(final int maxNumberOfIdlingKernels, final int expirati
         config.setMinEvictableIdleTimeMillis(expirationDurationInMinutes * 60l * 1000l);
         config.setNumTestsPerEvictionRun(-1);
         config.setTimeBetweenEvictionRunsMillis(EVICTION_CHECK_INTERVAL_IN_MILLISECONDS);
-        m_pool = new GenericKeyedObjectPool<>(new KeyedPooledPythonKernelFactory(), config);
+        if (m_adaptive) {
+            config.setEvictionPolicy(new MemoryAwareEvictionPolicy());
+        }
+        m_pool = new GenericKeyedObjectPool<>(new KeyedPooledPythonKernelFactory(this::getRecord, this::getForkServer),
+            config);
+        final int maxConcurrentSpawns = getMaxNumberOfConcurrentSpawns();
+        m_spawner = new ThreadPoolExecutor(maxConcurrentSpawns, maxConcurrentSpawns, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("python-kernel-creator-%d").setDaemon(true).build());
+        m_spawner.allowCoreThreadTimeOut(true);
+    }
+
+    private KeyRecord getRecord(final PythonCommandAndModules key) {
+        return m_records.computeIfAbsent(key, k -> new KeyRecord());
+    }
+
+    /**
+     * @return the fork server of the given key, or {@code null} if fork servers are disabled or the server of the key
+     *         could not be started
+     */
+    private PythonForkServer getForkServer(final PythonCommandAndModules key) {
+        if (!PythonForkServer.isEnabled() || m_failedForkServers.contains(key)) {
+            return null;
+        }
+        final CompletableFuture<PythonForkServer> newHolder = new CompletableFuture<>();
+        final CompletableFuture<PythonForkServer> holder = m_forkServers.compute(key, (k, existing) -> {
+            if (existing != null && (!existing.isDone() || isAlive(existing.getNow(null)))) {
+                return existing;
+            }
+            return newHolder;
+        });
+        if (holder == newHolder) {
+            // Starting the server blocks until it has preloaded its modules, so it must not happen within compute.
+            PythonForkServer server = null;
+            try {
+                server = new PythonForkServer(key.m_command, key.m_requiredAdditionalModules,
+                    key.m_optionalAdditionalModules);
+            } catch (final IOException ex) {
+                LOGGER.debug("Could not start Python fork server for " + key + ". Starting kernels regularly instead.",
+                    ex);
+                m_failedForkServers.add(key);
+            } finally {
+                if (server == null) {
+                    m_forkServers.remove(key, newHolder);
+                }
+                newHolder.complete(server);
+            }
+        }
+        return holder.join();
+    }
+
+    private static boolean isAlive(final PythonForkServer server) {
+        return server != null && server.isAlive();
+    }
+
+    private void closeForkServers() {
+        // Servers that are still being started are closed once they are up.
+        m_forkServers.values().forEach(holder -> holder.thenAccept(server -> {
+            if (server != null) {
+                server.close();
+            }
+        }));
+        m_forkServers.clear();
+        m_failedForkServers.clear();
+    }
+
+    private PythonKernelQueueStatistics getStatisticsInternal() {
+        final List<KeyStatistics> keyStatistics = new ArrayList<>(m_records.size());
+        for (final Entry<PythonCommandAndModules, KeyRecord> entry : m_records.entrySet()) {
+            final PythonCommandAndModules key = entry.getKey();
+            keyStatistics.add(entry.getValue().createStatistics(key.toString(), m_pool.getNumIdle(key)));
+        }
+        return new PythonKernelQueueStatistics(m_pool.getNumIdle(), m_pool.getNumActive(), keyStatistics);
+    }
+
+    /**
+     * Returns the given holder to the pool in the background, which repopulates it if it is empty.
+     */
+    private void returnHolderAsync(final PythonCommandAndModules key, final PythonKernelOrExceptionHolder holder) {
+        final KeyRecord demand = getRecord(key);
+        demand.m_pendingSpawns.incrementAndGet();
+        m_spawner.execute(() -> {
+            try {
+                m_pool.returnObject(key, holder);
+            } finally {
+                demand.m_pendingSpawns.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Creates additional kernels for the given key in the background if the demand for them exceeds the number of
+     * kernels that are idling or already being created.
+     */
+    private void spawnAheadOfDemand(final PythonCommandAndModules key, final KeyRecord demand) {
+        if (!m_adaptive || isUnderMemoryPressure()) {
+            return;
+        }
+        final int maxTotal = m_pool.getMaxTotal();
+        int missing = demand.getTargetNumberOfIdleKernels(System.nanoTime(), maxTotal) - m_pool.getNumIdle(key)
+            - demand.m_pendingSpawns.get();
+        // Do not push out the idling kernels of other keys. The pool would evict them to make room.
+        int free = maxTotal - m_pool.getNumActive() - m_pool.getNumIdle();
+        for (; missing > 0 && free > 0; missing--, free--) {
+            demand.m_pendingSpawns.incrementAndGet();
+            m_spawner.execute(() -> {
+                try {
+                    m_pool.addObject(key);
+                } catch (final Exception ex) {
+                    LOGGER.debug("Could not create Python kernel ahead of time.", ex);
+                } finally {
+                    demand.m_pendingSpawns.decrementAndGet();
+                }
+            });
+        }
     }
 
     @SuppressWarnings("resource") // Kernel is closed by the client.
@@ -224,24 +580,54 @@ private PythonKernel getNextKernelInternal(final PythonCommand command,
         throws PythonCanceledExecutionException, PythonIOException {
         final PythonCommandAndModules key =
             new PythonCommandAndModules(command, requiredAdditionalModules, optionalAdditionalModules);
-        if (m_pool.getMaxTotal() != 0) {
-            final PythonKernelOrExceptionHolder holder = dequeueHolder(key, cancelable);
-            PythonKernel kernel = extractKernelAndEnqueueNewOne(key, holder);
-            kernel = configureOrRecreateKernel(key, kernel, options);
+        final KeyRecord demand = getRecord(key);
+        final long requestTime = System.nanoTime();
+        demand.recordRequest(requestTime);
+        final PythonKernelOrExceptionHolder holder = m_pool.getMaxTotal() != 0 //
+            ? dequeueHolder(key, cancelable) //
+            : null;
+        if (holder != null) {
+            demand.m_wait.record(System.nanoTime() - requestTime);
+            PythonKernel kernel;
+            try {
+                kernel = m_reuseKernels //
+                    ? extractKernelForReuse(key, holder) //
+                    : extractKernelAndEnqueueNewOne(key, holder);
+            } finally {
+                spawnAheadOfDemand(key, demand);
+            }
+            kernel = configureOrRecreateKernel(key, kernel, options, demand);
             return kernel;
         } else {
             // Otherwise we need to bypass the queue since there are no slots that we could use.
-            return createKernelAndConfigure(key, options);
+            demand.m_bypasses.increment();
+            return createKernelAndConfigure(key, options, demand);
         }
     }
 
+    /**
+     * @return the next holder of the given key, or {@code null} if kernel reuse is enabled and all slots of the queue
+     *         are occupied by kernels that are currently in use
+     */
     @SuppressWarnings("resource") // Holder was not taken from pool when this method throws.
     private PythonKernelOrExceptionHolder dequeueHolder(final PythonCommandAndModules key,
         final PythonCancelable cancelable) throws PythonCanceledExecutionException {
         PythonKernelOrExceptionHolder holder = null;
         do {
+            if (m_reuseKernels && m_pool.getNumActive() >= m_pool.getMaxTotal()) {
+                // Kernels that are in use are only put back into the queue once their clients are done. Do not wait
+                // for that.
+                return null;
+            }
             try {
                 holder = m_pool.borrowObject(key);
+                final KeyRecord record = getRecord(key);
+                if (holder.m_createdOnDemand) {
+                    holder.m_createdOnDemand = false;
+                    record.m_misses.increment();
+                } else {
+                    record.m_hits.increment();
+                }
             } catch (final NoSuchElementException ex) {
                 cancelable.checkCanceled();
             } catch (final InterruptedException ex) {
@@ -261,8 +647,35 @@ private PythonKernel extractKernelAndEnqueueNewOne(final PythonCommandAndModules
         try {
             return holder.clearFieldsAndReturnKernelOrThrow();
         } finally {
-            new Thread(() -> m_pool.returnObject(key, holder), "python-kernel-creator").start();
+            returnHolderAsync(key, holder);
+        }
+    }
+
+    /**
+     * Extracts the kernel from the given holder without enqueuing a new one. Instead, the kernel is put back into the
+     * holder and the holder is put back into the queue once the client closes the kernel and the kernel was
+     * successfully reset. If the kernel cannot be reused, the holder is repopulated with a new kernel.
+     */
+    private PythonKernel extractKernelForReuse(final PythonCommandAndModules key,
+        final PythonKernelOrExceptionHolder holder) throws PythonIOException {
+        final PythonKernel kernel;
+        try {
+            kernel = holder.clearFieldsAndReturnKernelOrThrow();
+        } catch (final PythonIOException ex) {
+            returnHolderAsync(key, holder);
+            throw ex;
         }
+        kernel.lease((k, reusable) -> {
+            if (reusable) {
+                holder.m_kernel = k;
+                m_pool.returnObject(key, holder);
+                return true;
+            } else {
+                returnHolderAsync(key, holder);
+                return false;
+            }
+        });
+        return kernel;
     }
 
     /**
@@ -272,17 +685,17 @@ private PythonKernel extractKernelAndEnqueueNewOne(final PythonCommandAndModules
      * our responsibility to close the kernel in any exceptional situation here since the client will not have a handle
      * to the kernel.
      */
-    private static PythonKernel configureOrRecreateKernel(final PythonCommandAndModules key, PythonKernel kernel,
-        final PythonKernelOptions options) throws PythonIOException {
+    private PythonKernel configureOrRecreateKernel(final PythonCommandAndModules key, PythonKernel kernel,
+        final PythonKernelOptions options, final KeyRecord record) throws PythonIOException {
         try {
-            kernel.setOptions(options);
+            setOptions(kernel, options, record);
         } catch (final PythonInstallationTestException ex) {
             PythonUtils.Misc.closeSafelyThrowErrors(null, kernel);
             throw ex;
         } catch (final PythonIOException ex) {
             PythonUtils.Misc.closeSafelyThrowErrors(null, kernel);
             try {
-                kernel = createKernelAndConfigure(key, options);
+                kernel = createKernelAndConfigure(key, options, record);
             } catch (final Throwable t) {
                 t.addSuppressed(ex);
                 throw t;
@@ -294,11 +707,11 @@ private static PythonKernel configureOrRecreateKernel(final PythonCommandAndModu
         return kernel;
     }
 
-    private static PythonKernel createKernelAndConfigure(final PythonCommandAndModules key,
-        final PythonKernelOptions options) throws PythonIOException {
-        final PythonKernel kernel = KeyedPooledPythonKernelFactory.createKernel(key);
+    private PythonKernel createKernelAndConfigure(final PythonCommandAndModules key,
+        final PythonKernelOptions options, final KeyRecord record) throws PythonIOException {
+        final PythonKernel kernel = KeyedPooledPythonKernelFactory.createKernel(key, record, getForkServer(key));
         try {
-            kernel.setOptions(options);
+            setOptions(kernel, options, record);
         } catch (final Throwable t) {
             PythonUtils.Misc.closeSafelyThrowErrors(null, kernel);
             throw t;
@@ -306,6 +719,13 @@ private static PythonKernel createKernelAndConfigure(final PythonCommandAndModul
         return kernel;
     }
 
+    private static void setOptions(final PythonKernel kernel, final PythonKernelOptions options,
+        final KeyRecord record) throws PythonIOException {
+        final long start = System.nanoTime();
+        kernel.setOptions(options);
+        record.m_setOptions.record(System.nanoTime() - start);
+    }
+
     /**
      * Manages the life-cycle of pooled kernel holders. In particular:
      * <ul>
@@ -313,18 +733,36 @@ private static PythonKernel createKernelAndConfigure(final PythonCommandAndModul
      * {@link PythonKernelQueue#getNextKernelInternal(PythonCommand, Set, Set, PythonKernelOptions, PythonCancelable)}
      * is called</li>
      * <li>repopulates holders when they are returned to the pool after extracting their kernel in
-     * {@link PythonKernelQueue#extractKernelAndEnqueueNewOne(PythonCommandAndModules, PythonKernelOrExceptionHolder)}</li>
+     * {@link PythonKernelQueue#extractKernelAndEnqueueNewOne(PythonCommandAndModules, PythonKernelOrExceptionHolder)}
+     * or when the extracted kernel could not be reused (see
+     * {@link PythonKernelQueue#extractKernelForReuse(PythonCommandAndModules, PythonKernelOrExceptionHolder)})</li>
      * <li>closes kernels if their holders are evicted</li
      * </ul>
      */
     private static final class KeyedPooledPythonKernelFactory
         implements KeyedPooledObjectFactory<PythonCommandAndModules, PythonKernelOrExceptionHolder> {
 
+        private final Function<PythonCommandAndModules, KeyRecord> m_records;
+
+        private final Function<PythonCommandAndModules, PythonForkServer> m_forkServers;
+
+        /**
+         * @param records provides the record of a key in which the statistics of creating kernels are collected
+         * @param forkServers provides the fork server of a key, may provide {@code null}
+         */
+        public KeyedPooledPythonKernelFactory(final Function<PythonCommandAndModules, KeyRecord> records,
+            final Function<PythonCommandAndModules, PythonForkServer> forkServers) {
+            m_records = records;
+            m_forkServers = forkServers;
+        }
+
         @Override
         @SuppressWarnings("resource") // No kernel is held yet.
         public PooledObject<PythonKernelOrExceptionHolder> makeObject(final PythonCommandAndModules key) {
             final PythonKernelOrExceptionHolder holder = new PythonKernelOrExceptionHolder();
             populateHolder(key, holder);
+            // Unless the holder is passivated (i.e., put into the pool) first, it is handed out right away.
+            holder.m_createdOnDemand = true;
             return new DefaultPooledObject<>(holder);
         }
 
@@ -333,28 +771,46 @@ public void passivateObject(final PythonCommandAndModules key,
             final PooledObject<PythonKernelOrExceptionHolder> p) {
             @SuppressWarnings("resource") // No kernel is held yet or any more.
             final PythonKernelOrExceptionHolder holder = p.getObject();
+            holder.m_createdOnDemand = false;
             if (holder.m_kernel == null && holder.m_exception == null) {
                 populateHolder(key, holder);
             }
         }
 
-        private static void populateHolder(final PythonCommandAndModules key,
-            final PythonKernelOrExceptionHolder holder) {
+        private void populateHolder(final PythonCommandAndModules key, final PythonKernelOrExceptionHolder holder) {
             try {
-                holder.m_kernel = createKernel(key);
+                holder.m_kernel = createKernel(key, m_records.apply(key), m_forkServers.apply(key));
             } catch (final PythonIOException ex) {
                 holder.m_exception = ex;
             }
         }
 
-        private static PythonKernel createKernel(final PythonCommandAndModules key) throws PythonIOException {
-            final PythonKernel kernel = new PythonKernel(key.m_command);
+        private static PythonKernel createKernel(final PythonCommandAndModules key, final KeyRecord record,
+            final PythonForkServer forkServer) throws PythonIOException {
+            final long start = System.nanoTime();
+            final PythonKernel kernel;
+            try {
+                kernel =
+                    new PythonKernel(key.m_command, forkServer, PythonKernelServerSocket.Transport.getDefault());
+            } catch (final PythonIOException ex) {
+                record.m_failedKernels.increment();
+                throw ex;
+            }
+            final long moduleLoadStart = System.nanoTime();
             try {
                 loadAdditionalModules(key, kernel);
+                final long end = System.nanoTime();
+                record.m_processStart.record(kernel.getProcessStartDuration());
+                record.m_connect.record(kernel.getConnectDuration());
+                record.m_moduleLoad.record(end - moduleLoadStart);
+                record.m_spawn.record(end - start);
+                record.recordSpawn(end - start);
             } catch (final PythonIOException ex) {
+                record.m_failedKernels.increment();
                 PythonUtils.Misc.closeSafelyThrowErrors(null, kernel);
                 throw ex;
             } catch (final Exception ex) {
+                record.m_failedKernels.increment();
                 PythonUtils.Misc.closeSafelyThrowErrors(null, kernel);
                 throw new PythonIOException(ex);
             } catch (final Throwable t) {
@@ -388,6 +844,9 @@ private static void loadAdditionalModules(final PythonCommandAndModules key, fin
         @Override
         public void destroyObject(final PythonCommandAndModules key,
             final PooledObject<PythonKernelOrExceptionHolder> p) {
+            if (p.getObject().m_kernel != null) {
+                m_records.apply(key).m_evictions.increment();
+            }
             PythonUtils.Misc.closeSafelyThrowErrors(null, p.getObject());
         }
 
@@ -405,6 +864,125 @@ public void activateObject(final PythonCommandAndModules key,
         }
     }
 
+    /**
+     * Keeps track of the demand for and the statistics of the kernels of a single key. The rates and durations that
+     * drive the adaptive sizing of the queue are exponentially weighted moving averages such that they follow changes
+     * in demand. The reported statistics are cumulative.
+     */
+    private static final class KeyRecord {
+
+        private static final double SMOOTHING_FACTOR = 0.2;
+
+        private final AtomicInteger m_pendingSpawns = new AtomicInteger();
+
+        private final LongAdder m_hits = new LongAdder();
+
+        private final LongAdder m_misses = new LongAdder();
+
+        private final LongAdder m_bypasses = new LongAdder();
+
+        private final LongAdder m_failedKernels = new LongAdder();
+
+        private final LongAdder m_evictions = new LongAdder();
+
+        private final Duration m_wait = new Duration();
+
+        private final Duration m_spawn = new Duration();
+
+        private final Duration m_processStart = new Duration();
+
+        private final Duration m_connect = new Duration();
+
+        private final Duration m_moduleLoad = new Duration();
+
+        private final Duration m_setOptions = new Duration();
+
+        private long m_lastRequestNanos = -1;
+
+        private double m_meanInterarrivalNanos = Double.NaN;
+
+        private double m_meanSpawnNanos = Double.NaN;
+
+        private static double smooth(final double mean, final double value) {
+            return Double.isNaN(mean) ? value : mean + SMOOTHING_FACTOR * (value - mean);
+        }
+
+        public synchronized void recordRequest(final long nanos) {
+            if (m_lastRequestNanos != -1) {
+                m_meanInterarrivalNanos = smooth(m_meanInterarrivalNanos, nanos - m_lastRequestNanos);
+            }
+            m_lastRequestNanos = nanos;
+        }
+
+        public synchronized void recordSpawn(final long nanos) {
+            m_meanSpawnNanos = smooth(m_meanSpawnNanos, nanos);
+        }
+
+        /**
+         * Requests that arrive while a kernel is being created must be served by kernels that are already idling
+         * (Little's law). Demand fades if no requests arrived for longer than the typical inter-arrival time.
+         */
+        public synchronized int getTargetNumberOfIdleKernels(final long nowNanos, final int max) {
+            if (Double.isNaN(m_meanInterarrivalNanos) || Double.isNaN(m_meanSpawnNanos)) {
+                return Math.min(1, max);
+            }
+            final double interarrivalNanos =
+                Math.max(1, Math.max(m_meanInterarrivalNanos, (double)nowNanos - m_lastRequestNanos));
+            final double target = Math.ceil(m_meanSpawnNanos / interarrivalNanos);
+            return (int)Math.max(Math.min(1, max), Math.min(target, max));
+        }
+
+        public KeyStatistics createStatistics(final String key, final int numIdleKernels) {
+            return new KeyStatistics(key, m_hits.sum(), m_misses.sum(), m_bypasses.sum(), m_failedKernels.sum(),
+                m_evictions.sum(), numIdleKernels, m_wait.getMeanMillis(), m_wait.getMaxMillis(),
+                m_spawn.getMeanMillis(), m_processStart.getMeanMillis(), m_connect.getMeanMillis(),
+                m_moduleLoad.getMeanMillis(), m_setOptions.getMeanMillis());
+        }
+    }
+
+    /**
+     * Cumulative statistics of a recurring duration.
+     */
+    private static final class Duration {
+
+        private long m_count;
+
+        private long m_totalNanos;
+
+        private long m_maxNanos;
+
+        public synchronized void record(final long nanos) {
+            if (nanos >= 0) {
+                m_count++;
+                m_totalNanos += nanos;
+                m_maxNanos = Math.max(m_maxNanos, nanos);
+            }
+        }
+
+        public synchronized double getMeanMillis() {
+            return m_count == 0 ? 0 : m_totalNanos / 1e6 / m_count;
+        }
+
+        public synchronized double getMaxMillis() {
+            return m_maxNanos / 1e6;
+        }
+    }
+
+    /**
+     * Evicts idling kernels like the default policy, and additionally while the system is under memory pressure.
+     */
+    private static final class MemoryAwareEvictionPolicy implements EvictionPolicy<PythonKernelOrExceptionHolder> {
+
+        private final DefaultEvictionPolicy<PythonKernelOrExceptionHolder> m_defaultPolicy =
+            new DefaultEvictionPolicy<>();
+
+        @Override
+        public boolean evict(final EvictionConfig config, final PooledObject<PythonKernelOrExceptionHolder> underTest,
+            final int idleCount) {
+            return m_defaultPolicy.evict(config, underTest, idleCount) || isUnderMemoryPressure();
+        }
+    }
+
     private static final class PythonCommandAndModules {
 
         private final PythonCommand m_command;
@@ -431,6 +1009,11 @@ public int hashCode() {
             return m_hashCode;
         }
 
+        @Override
+        public String toString() {
+            return m_command + " " + m_requiredAdditionalModules + " " + m_optionalAdditionalModules;
+        }
+
         @Override
         public boolean equals(final Object obj) {
             if (!(obj instanceof PythonCommandAndModules)) {
@@ -449,6 +1032,11 @@ private static final class PythonKernelOrExceptionHolder implements AutoCloseabl
 
         private PythonIOException m_exception;
 
+        /**
+         * Whether the holder was created by a retrieval that found no idling holder in the queue.
+         */
+        private boolean m_createdOnDemand;
+
         public PythonKernel clearFieldsAndReturnKernelOrThrow() throws PythonIOException {
             final PythonKernel kernel = m_kernel;
             m_kernel = null;
@@ -464,7 +1052,7 @@ public PythonKernel clearFieldsAndReturnKernelOrThrow() throws PythonIOException
         @Override
         public void close() throws PythonKernelCleanupException {
             if (m_kernel != null) {
-                m_kernel.close();
+                m_kernel.discard();
             }
         }
     }
@@ -1,7 +1,6 @@
 /*
  * ------------------------------------------------------------------------
- *
- *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Copyright by KNIME GmbH, Konstanz, Germany
  *  Website: http://www.knime.com; Email: contact@knime.com
  *
  *  This program is free software; you can redistribute it and/or modify
@@ -41,64 +40,73 @@
  *  propagated with or for interoperation with KNIME.  The owner of a Node
  *  may freely choose the license terms applicable to such Node, including
  *  when such Node is propagated with or for interoperation with KNIME.
- * ---------------------------------------------------------------------
- *
- * History
- *   Aug 2, 2017 (clemens): created
+ * ------------------------------------------------------------------------
  */
-package org.knime.python2.serde.arrow.extractors;
 
-import java.nio.ByteBuffer;
-import java.nio.LongBuffer;
+package org.knime.python2.kernel;
 
-import org.apache.arrow.vector.VarBinaryVector;
-import org.knime.python2.extensions.serializationlibrary.interfaces.Cell;
-import org.knime.python2.extensions.serializationlibrary.interfaces.impl.CellImpl;
+import java.util.List;
 
 /**
- * Manages the data transfer between the arrow table format and the python table format.
- * Works on Long list vectors.
+ * Management interface of the {@link PythonKernelQueue}. Registered with the platform MBean server under the name
+ * {@value PythonKernelQueue#MBEAN_NAME}. All values refer to the current configuration of the queue, i.e., they are
+ * reset when the queue is reconfigured.
  *
- * @author Clemens von Schwerin, KNIME GmbH, Konstanz, Germany
- * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
- * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
+ * @author agent
+ * @see PythonKernelQueue#getStatistics()
  */
-public class LongListExtractor extends ListExtractor {
+public interface PythonKernelQueueMXBean {
+
+    /**
+     * @return the number of kernel retrievals that were served by a kernel that was already idling in the queue
+     */
+    long getHits();
 
-    private long[] m_primitives;
+    /**
+     * @return the number of kernel retrievals that had to wait for a kernel to be created
+     */
+    long getMisses();
 
     /**
-     * Constructor.
-     * @param vector the vector to extract from
+     * @return the number of kernel retrievals that bypassed the queue because it had no free capacity
      */
-    public LongListExtractor(final VarBinaryVector vector) {
-       super(vector);
-    }
+    long getBypasses();
 
     /**
-     * {@inheritDoc}
+     * @return the number of kernels that could not be created
      */
-    @Override
-    protected void fillInternalArray(final ByteBuffer buffer, final int numVals) {
-        LongBuffer ibuffer = buffer.asLongBuffer();
-        m_primitives = new long[numVals];
-        ibuffer.get(m_primitives);
-    }
+    long getFailedKernels();
 
     /**
-     * {@inheritDoc}
+     * @return the number of idling kernels that were removed from the queue without being used
      */
-    @Override
-    protected Cell getReturnValue(final byte[] missings) {
-        return new CellImpl(m_primitives, missings);
-    }
+    long getEvictions();
 
     /**
-     * {@inheritDoc}
+     * @return the mean duration, in milliseconds, that retrievals waited for a kernel to become available in the queue
      */
-    @Override
-    protected int getValuesLength() {
-        return 8 * m_primitives.length;
-    }
+    double getMeanWaitMillis();
 
+    /**
+     * @return the maximum duration, in milliseconds, that a retrieval waited for a kernel to become available in the
+     *         queue
+     */
+    double getMaxWaitMillis();
+
+    /**
+     * @return the number of kernels that are currently idling in the queue
+     */
+    int getNumIdleKernels();
+
+    /**
+     * @return the number of kernels that are currently being created or in use by clients that will return them to
+     *         the queue
+     */
+    int getNumActiveKernels();
+
+    /**
+     * @return the statistics of the individual combinations of Python command and modules for which the queue holds
+     *         kernels
+     */
+    List<PythonKernelQueueStatistics.KeyStatistics> getKeyStatistics();
 }
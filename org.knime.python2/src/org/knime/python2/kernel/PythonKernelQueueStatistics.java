@@ -0,0 +1,312 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.beans.ConstructorProperties;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the statistics of the {@link PythonKernelQueue}.
+ *
+ * @author agent
+ * @see PythonKernelQueue#getStatistics()
+ */
+public final class PythonKernelQueueStatistics implements PythonKernelQueueMXBean {
+
+    private final int m_numIdleKernels;
+
+    private final int m_numActiveKernels;
+
+    private final List<KeyStatistics> m_keyStatistics;
+
+    PythonKernelQueueStatistics(final int numIdleKernels, final int numActiveKernels,
+        final List<KeyStatistics> keyStatistics) {
+        m_numIdleKernels = numIdleKernels;
+        m_numActiveKernels = numActiveKernels;
+        m_keyStatistics = Collections.unmodifiableList(keyStatistics);
+    }
+
+    @Override
+    public long getHits() {
+        return m_keyStatistics.stream().mapToLong(KeyStatistics::getHits).sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return m_keyStatistics.stream().mapToLong(KeyStatistics::getMisses).sum();
+    }
+
+    @Override
+    public long getBypasses() {
+        return m_keyStatistics.stream().mapToLong(KeyStatistics::getBypasses).sum();
+    }
+
+    @Override
+    public long getFailedKernels() {
+        return m_keyStatistics.stream().mapToLong(KeyStatistics::getFailedKernels).sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return m_keyStatistics.stream().mapToLong(KeyStatistics::getEvictions).sum();
+    }
+
+    @Override
+    public double getMeanWaitMillis() {
+        double totalWaitMillis = 0;
+        long numRetrievals = 0;
+        for (final KeyStatistics statistics : m_keyStatistics) {
+            final long numKeyRetrievals = statistics.getHits() + statistics.getMisses();
+            totalWaitMillis += statistics.getMeanWaitMillis() * numKeyRetrievals;
+            numRetrievals += numKeyRetrievals;
+        }
+        return numRetrievals == 0 ? 0 : totalWaitMillis / numRetrievals;
+    }
+
+    @Override
+    public double getMaxWaitMillis() {
+        return m_keyStatistics.stream().mapToDouble(KeyStatistics::getMaxWaitMillis).max().orElse(0);
+    }
+
+    @Override
+    public int getNumIdleKernels() {
+        return m_numIdleKernels;
+    }
+
+    @Override
+    public int getNumActiveKernels() {
+        return m_numActiveKernels;
+    }
+
+    @Override
+    public List<KeyStatistics> getKeyStatistics() {
+        return m_keyStatistics;
+    }
+
+    /**
+     * Statistics of a single combination of Python command and modules for which the queue holds kernels. Durations
+     * are means over all recorded occurrences, in milliseconds, or zero if none were recorded yet. The creation of a
+     * kernel consists of starting the Python process, waiting for it to connect, and preloading the modules. Configuring
+     * the kernel for a client happens after retrieving it from the queue.
+     */
+    public static final class KeyStatistics {
+
+        private final String m_key;
+
+        private final long m_hits;
+
+        private final long m_misses;
+
+        private final long m_bypasses;
+
+        private final long m_failedKernels;
+
+        private final long m_evictions;
+
+        private final int m_numIdleKernels;
+
+        private final double m_meanWaitMillis;
+
+        private final double m_maxWaitMillis;
+
+        private final double m_meanSpawnMillis;
+
+        private final double m_meanProcessStartMillis;
+
+        private final double m_meanConnectMillis;
+
+        private final double m_meanModuleLoadMillis;
+
+        private final double m_meanSetOptionsMillis;
+
+        /**
+         * @param key a description of the Python command and modules
+         * @param hits see {@link #getHits()}
+         * @param misses see {@link #getMisses()}
+         * @param bypasses see {@link #getBypasses()}
+         * @param failedKernels see {@link #getFailedKernels()}
+         * @param evictions see {@link #getEvictions()}
+         * @param numIdleKernels see {@link #getNumIdleKernels()}
+         * @param meanWaitMillis see {@link #getMeanWaitMillis()}
+         * @param maxWaitMillis see {@link #getMaxWaitMillis()}
+         * @param meanSpawnMillis see {@link #getMeanSpawnMillis()}
+         * @param meanProcessStartMillis see {@link #getMeanProcessStartMillis()}
+         * @param meanConnectMillis see {@link #getMeanConnectMillis()}
+         * @param meanModuleLoadMillis see {@link #getMeanModuleLoadMillis()}
+         * @param meanSetOptionsMillis see {@link #getMeanSetOptionsMillis()}
+         */
+        @ConstructorProperties({"key", "hits", "misses", "bypasses", "failedKernels", "evictions", "numIdleKernels",
+            "meanWaitMillis", "maxWaitMillis", "meanSpawnMillis", "meanProcessStartMillis", "meanConnectMillis",
+            "meanModuleLoadMillis", "meanSetOptionsMillis"})
+        public KeyStatistics(final String key, final long hits, final long misses, final long bypasses,
+            final long failedKernels, final long evictions, final int numIdleKernels, final double meanWaitMillis,
+            final double maxWaitMillis, final double meanSpawnMillis, final double meanProcessStartMillis,
+            final double meanConnectMillis, final double meanModuleLoadMillis, final double meanSetOptionsMillis) {
+            m_key = key;
+            m_hits = hits;
+            m_misses = misses;
+            m_bypasses = bypasses;
+            m_failedKernels = failedKernels;
+            m_evictions = evictions;
+            m_numIdleKernels = numIdleKernels;
+            m_meanWaitMillis = meanWaitMillis;
+            m_maxWaitMillis = maxWaitMillis;
+            m_meanSpawnMillis = meanSpawnMillis;
+            m_meanProcessStartMillis = meanProcessStartMillis;
+            m_meanConnectMillis = meanConnectMillis;
+            m_meanModuleLoadMillis = meanModuleLoadMillis;
+            m_meanSetOptionsMillis = meanSetOptionsMillis;
+        }
+
+        /**
+         * @return a description of the Python command and the preloaded modules
+         */
+        public String getKey() {
+            return m_key;
+        }
+
+        /**
+         * @return the number of retrievals that were served by a kernel that was already idling in the queue
+         */
+        public long getHits() {
+            return m_hits;
+        }
+
+        /**
+         * @return the number of retrievals that had to wait for a kernel to be created
+         */
+        public long getMisses() {
+            return m_misses;
+        }
+
+        /**
+         * @return the number of retrievals that bypassed the queue because it had no free capacity
+         */
+        public long getBypasses() {
+            return m_bypasses;
+        }
+
+        /**
+         * @return the number of kernels that could not be created
+         */
+        public long getFailedKernels() {
+            return m_failedKernels;
+        }
+
+        /**
+         * @return the number of idling kernels that were removed from the queue without being used
+         */
+        public long getEvictions() {
+            return m_evictions;
+        }
+
+        /**
+         * @return the number of kernels that are currently idling in the queue
+         */
+        public int getNumIdleKernels() {
+            return m_numIdleKernels;
+        }
+
+        /**
+         * @return the mean duration that retrievals waited for a kernel to become available in the queue
+         */
+        public double getMeanWaitMillis() {
+            return m_meanWaitMillis;
+        }
+
+        /**
+         * @return the maximum duration that a retrieval waited for a kernel to become available in the queue
+         */
+        public double getMaxWaitMillis() {
+            return m_maxWaitMillis;
+        }
+
+        /**
+         * @return the mean duration of creating a kernel
+         */
+        public double getMeanSpawnMillis() {
+            return m_meanSpawnMillis;
+        }
+
+        /**
+         * @return the mean duration of starting the Python process of a kernel
+         */
+        public double getMeanProcessStartMillis() {
+            return m_meanProcessStartMillis;
+        }
+
+        /**
+         * @return the mean duration of waiting for the Python process of a kernel to connect
+         */
+        public double getMeanConnectMillis() {
+            return m_meanConnectMillis;
+        }
+
+        /**
+         * @return the mean duration of preloading the modules of a kernel
+         */
+        public double getMeanModuleLoadMillis() {
+            return m_meanModuleLoadMillis;
+        }
+
+        /**
+         * @return the mean duration of configuring a kernel for a client
+         */
+        public double getMeanSetOptionsMillis() {
+            return m_meanSetOptionsMillis;
+        }
+
+        @Override
+        public String toString() {
+            return m_key + ": hits=" + m_hits + ", misses=" + m_misses + ", bypasses=" + m_bypasses + ", failed="
+                + m_failedKernels + ", evictions=" + m_evictions + ", idle=" + m_numIdleKernels + ", wait="
+                + m_meanWaitMillis + "ms (max " + m_maxWaitMillis + "ms), spawn=" + m_meanSpawnMillis
+                + "ms (process start " + m_meanProcessStartMillis + "ms, connect " + m_meanConnectMillis
+                + "ms, modules " + m_meanModuleLoadMillis + "ms), setOptions=" + m_meanSetOptionsMillis + "ms";
+        }
+    }
+}
@@ -0,0 +1,375 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ProtocolFamily;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.apache.commons.lang.SystemUtils;
+import org.knime.core.node.NodeLogger;
+import org.knime.python2.util.PythonUtils;
+
+/**
+ * The server side of the connections between a {@link PythonKernel} and its Python process. The Python process
+ * connects to the {@link #getAddress() address} of the server, which is passed to it as command line argument.
+ * <P>
+ * Two transports are available: TCP on localhost (the default) and Unix domain sockets. The latter avoid the overhead of
+ * the TCP stack, do not consume ephemeral ports and are not affected by firewalls or host configurations. They require
+ * a Java runtime that supports Unix domain socket channels (Java 16 or later) and a Python installation whose socket
+ * module supports them. The default transport can be selected via the VM option
+ * <code>-Dknime.python.transport=unix</code>. If Unix domain sockets are not available, TCP is used instead.
+ *
+ * @author agent
+ */
+abstract class PythonKernelServerSocket implements Closeable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(PythonKernelServerSocket.class);
+
+    private static final String TRANSPORT_VM_OPT = "knime.python.transport";
+
+    // Do not change. Used on Python side.
+    private static final String UNIX_ADDRESS_PREFIX = "unix:";
+
+    /**
+     * The transports that can be used to connect a kernel to its Python process.
+     */
+    enum Transport {
+            /**
+             * TCP connections on localhost.
+             */
+            TCP,
+
+            /**
+             * Unix domain socket connections.
+             */
+            UNIX;
+
+        /**
+         * @return the transport selected via the VM option, {@link #TCP} if none is selected
+         */
+        static Transport getDefault() {
+            final String transport = System.getProperty(TRANSPORT_VM_OPT);
+            if (transport != null) {
+                try {
+                    return valueOf(transport.trim().toUpperCase(Locale.ROOT));
+                } catch (final IllegalArgumentException ex) {
+                    LOGGER.warn("The VM option -D" + TRANSPORT_VM_OPT + " was set to an unknown transport '"
+                        + transport + "'. Using TCP instead.", ex);
+                }
+            }
+            return TCP;
+        }
+    }
+
+    /**
+     * Creates a server socket of the given transport. Falls back to TCP if Unix domain sockets are requested but not
+     * supported by the running Java runtime or by Python on the running platform (CPython does not support them on
+     * Windows).
+     *
+     * @param transport the transport to use
+     * @param timeoutInMillis the maximum time in milliseconds {@link #accept()} waits for a connection
+     * @return the created server socket
+     * @throws IOException if creating the server socket failed
+     */
+    static PythonKernelServerSocket create(final Transport transport, final int timeoutInMillis)
+        throws IOException {
+        if (transport == Transport.UNIX && SystemUtils.IS_OS_WINDOWS) {
+            LOGGER.debug("Unix domain sockets are not supported by Python on Windows. Using TCP instead.");
+        } else if (transport == Transport.UNIX) {
+            try {
+                return new UnixServerSocket(timeoutInMillis);
+            } catch (final UnsupportedOperationException ex) {
+                LOGGER.debug("Unix domain sockets are not supported by the Java runtime. Using TCP instead.", ex);
+            }
+        }
+        return new TcpServerSocket(timeoutInMillis);
+    }
+
+    /**
+     * @return the address to which the Python process has to connect
+     */
+    abstract String getAddress();
+
+    /**
+     * Waits for the next connection from the Python process.
+     *
+     * @return the accepted connection
+     * @throws SocketTimeoutException if no connection was established within the timeout of this server socket
+     * @throws IOException if accepting the connection failed
+     */
+    abstract Connection accept() throws IOException;
+
+    /**
+     * A bidirectional connection to the Python process.
+     */
+    interface Connection extends Closeable {
+
+        InputStream getInputStream() throws IOException;
+
+        OutputStream getOutputStream() throws IOException;
+    }
+
+    private static final class TcpServerSocket extends PythonKernelServerSocket {
+
+        private final ServerSocket m_serverSocket;
+
+        private TcpServerSocket(final int timeoutInMillis) throws IOException {
+            m_serverSocket = new ServerSocket(0);
+            m_serverSocket.setSoTimeout(timeoutInMillis);
+        }
+
+        @Override
+        String getAddress() {
+            return Integer.toString(m_serverSocket.getLocalPort());
+        }
+
+        @Override
+        Connection accept() throws IOException {
+            final Socket socket = m_serverSocket.accept();
+            return new Connection() {
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    return socket.getInputStream();
+                }
+
+                @Override
+                public OutputStream getOutputStream() throws IOException {
+                    return socket.getOutputStream();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    socket.close();
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            m_serverSocket.close();
+        }
+    }
+
+    private static final class UnixServerSocket extends PythonKernelServerSocket {
+
+        private final Path m_directory;
+
+        private final Path m_socketFile;
+
+        private final ServerSocketChannel m_channel;
+
+        private final Selector m_selector;
+
+        private final int m_timeoutInMillis;
+
+        private UnixServerSocket(final int timeoutInMillis) throws IOException {
+            final SocketAddress address;
+            final ServerSocketChannel channel;
+            // Unix domain socket channels were introduced in Java 16. Access them reflectively to stay compatible with
+            // the Java version this plug-in is compiled against.
+            final ProtocolFamily unix;
+            try {
+                unix = StandardProtocolFamily.valueOf("UNIX");
+            } catch (final IllegalArgumentException ex) {
+                throw new UnsupportedOperationException(ex);
+            }
+            // Socket paths are limited to about 100 characters, so keep them in a short-named temporary directory.
+            m_directory = Files.createTempDirectory("knime-py");
+            m_socketFile = m_directory.resolve("s");
+            try {
+                address = (SocketAddress)Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class)
+                    .invoke(null, m_socketFile);
+                channel = (ServerSocketChannel)ServerSocketChannel.class.getMethod("open", ProtocolFamily.class)
+                    .invoke(null, unix);
+            } catch (final InvocationTargetException ex) {
+                Files.deleteIfExists(m_directory);
+                final Throwable cause = ex.getCause();
+                if (cause instanceof UnsupportedOperationException) {
+                    throw (UnsupportedOperationException)cause;
+                }
+                throw cause instanceof IOException ? (IOException)cause : new IOException(cause);
+            } catch (final ReflectiveOperationException ex) {
+                Files.deleteIfExists(m_directory);
+                throw new UnsupportedOperationException(ex);
+            }
+            m_channel = channel;
+            Selector selector = null;
+            try {
+                m_channel.bind(address);
+                m_channel.configureBlocking(false);
+                selector = Selector.open();
+                m_channel.register(selector, SelectionKey.OP_ACCEPT);
+            } catch (final IOException ex) {
+                PythonUtils.Misc.closeSafely(LOGGER::debug, selector, m_channel);
+                deleteSocketFile();
+                throw ex;
+            }
+            m_selector = selector;
+            m_timeoutInMillis = timeoutInMillis;
+        }
+
+        @Override
+        String getAddress() {
+            return UNIX_ADDRESS_PREFIX + m_socketFile.toString();
+        }
+
+        @Override
+        synchronized Connection accept() throws IOException {
+            final long deadline = System.nanoTime() + m_timeoutInMillis * 1_000_000L;
+            SocketChannel channel = m_channel.accept();
+            while (channel == null) {
+                final long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remainingMillis <= 0) {
+                    throw new SocketTimeoutException("Accept timed out");
+                }
+                m_selector.select(remainingMillis);
+                m_selector.selectedKeys().clear();
+                channel = m_channel.accept();
+            }
+            channel.configureBlocking(true);
+            return new ChannelConnection(channel);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                PythonUtils.Misc.closeSafelyThrowErrors(LOGGER::debug, m_selector, m_channel);
+            } finally {
+                deleteSocketFile();
+            }
+        }
+
+        private void deleteSocketFile() throws IOException {
+            Files.deleteIfExists(m_socketFile);
+            Files.deleteIfExists(m_directory);
+        }
+    }
+
+    /**
+     * Wraps a blocking socket channel. Unlike the streams of {@link java.nio.channels.Channels}, the streams created
+     * here do not synchronize reading and writing, which would deadlock our concurrent receiving and sending.
+     */
+    private static final class ChannelConnection implements Connection {
+
+        private final SocketChannel m_channel;
+
+        private ChannelConnection(final SocketChannel channel) {
+            m_channel = channel;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new InputStream() {
+
+                @Override
+                public int read() throws IOException {
+                    final byte[] b = new byte[1];
+                    return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+                }
+
+                @Override
+                public int read(final byte[] b, final int off, final int len) throws IOException {
+                    if (len == 0) {
+                        return 0;
+                    }
+                    return m_channel.read(ByteBuffer.wrap(b, off, len));
+                }
+
+                @Override
+                public void close() throws IOException {
+                    m_channel.close();
+                }
+            };
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return new OutputStream() {
+
+                @Override
+                public void write(final int b) throws IOException {
+                    write(new byte[]{(byte)b}, 0, 1);
+                }
+
+                @Override
+                public void write(final byte[] b, final int off, final int len) throws IOException {
+                    final ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                    while (buffer.hasRemaining()) {
+                        m_channel.write(buffer);
+                    }
+                }
+
+                @Override
+                public void close() throws IOException {
+                    m_channel.close();
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            m_channel.close();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * JVM-wide pools of threads that serve the I/O and bookkeeping work of all {@link PythonKernel Python kernels}: socket
+ * accept, output pipe listeners, message loops, tasks and kernel shutdown. Kernels do not create threads of their own
+ * but obtain lightweight {@link #newExecutor(String) executors} that run on the shared pools. Idle threads are reused
+ * by subsequently started kernels and are released after {@link #KEEP_ALIVE_IN_SECONDS a while} of inactivity. This
+ * keeps thread creation out of kernel startup and bounds the number of idle threads to those that were recently
+ * needed.
+ * <P>
+ * Most of the work of a kernel consists of blocking loops that live as long as the kernel. Such work must never wait
+ * for a thread to become available since the loops that occupy the threads may in turn wait for the kernel that is
+ * being started. It is therefore run on a pool that is not bounded and creates a new thread whenever no idle thread
+ * is available. Only {@link #execute(String, Runnable) short tasks} that are guaranteed to terminate on their own are
+ * run on a pool of bounded size.
+ *
+ * @author agent
+ */
+public final class PythonKernelThreadPool {
+
+    private static final long KEEP_ALIVE_IN_SECONDS = 60;
+
+    private static final int MAX_SHORT_TASK_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Runs the blocking loops and tasks of the kernels. Not bounded, see class description.
+     */
+    private static final ThreadPoolExecutor LONG_RUNNING_POOL = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+        KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("python-io-%d").setDaemon(true).build());
+
+    /**
+     * Runs short tasks. Tasks that are submitted while all threads are busy are queued until a thread becomes
+     * available.
+     */
+    private static final ThreadPoolExecutor SHORT_TASK_POOL = createShortTaskPool();
+
+    private static ThreadPoolExecutor createShortTaskPool() {
+        // Core threads time out as well, so the pool grows up to its limit before queuing tasks and shrinks when idle.
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(MAX_SHORT_TASK_THREADS, MAX_SHORT_TASK_THREADS,
+            KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("python-task-%d").setDaemon(true).build());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private PythonKernelThreadPool() {
+    }
+
+    /**
+     * Creates a new executor that runs its tasks on the shared pool of long-running work. The executor behaves like a
+     * cached thread pool of its own: shutting it down only affects the tasks that were submitted to it. While running
+     * a task, the executing thread is named after the executor. Tasks may block for the lifetime of their kernel.
+     *
+     * @param name the name of the executor, used as prefix of the names of the threads while they run its tasks
+     * @return the executor
+     */
+    public static ExecutorService newExecutor(final String name) {
+        return new SharedPoolExecutor(name);
+    }
+
+    /**
+     * Runs the given loop on the shared pool of long-running work. The loop may block for the lifetime of its kernel.
+     *
+     * @param name the name of the thread while it runs the loop
+     * @param loop the loop
+     */
+    public static void executeLoop(final String name, final Runnable loop) {
+        LONG_RUNNING_POOL.execute(() -> runNamed(name, loop));
+    }
+
+    /**
+     * Runs the given short task on the bounded pool. The task must terminate on its own within a short time and must
+     * not wait for other work of the kernels.
+     *
+     * @param name the name of the thread while it runs the task
+     * @param task the task
+     */
+    public static void execute(final String name, final Runnable task) {
+        SHORT_TASK_POOL.execute(() -> runNamed(name, task));
+    }
+
+    private static void runNamed(final String name, final Runnable task) {
+        final Thread thread = Thread.currentThread();
+        final String poolName = thread.getName();
+        thread.setName(name);
+        try {
+            task.run();
+        } finally {
+            thread.setName(poolName);
+        }
+    }
+
+    private static final class SharedPoolExecutor extends AbstractExecutorService {
+
+        private final String m_name;
+
+        private final AtomicInteger m_taskCounter = new AtomicInteger(0);
+
+        /**
+         * Guards {@link #m_queuedTasks}, {@link #m_runningThreads}, {@link #m_numPendingTasks} and
+         * {@link #m_isShutdown}.
+         */
+        private final Object m_lock = new Object();
+
+        /**
+         * Tasks that were handed to the shared pool but have not started yet.
+         */
+        private final Set<QueuedTask> m_queuedTasks = new LinkedHashSet<>();
+
+        private final Set<Thread> m_runningThreads = new HashSet<>();
+
+        private int m_numPendingTasks = 0;
+
+        private boolean m_isShutdown = false;
+
+        private SharedPoolExecutor(final String name) {
+            m_name = name;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            final QueuedTask task = new QueuedTask(command, m_name + "-" + m_taskCounter.getAndIncrement());
+            synchronized (m_lock) {
+                if (m_isShutdown) {
+                    throw new RejectedExecutionException("Executor '" + m_name + "' has been shut down.");
+                }
+                m_queuedTasks.add(task);
+                m_numPendingTasks++;
+            }
+            try {
+                LONG_RUNNING_POOL.execute(task);
+            } catch (final RejectedExecutionException ex) {
+                synchronized (m_lock) {
+                    m_queuedTasks.remove(task);
+                }
+                taskDone(null);
+                throw ex;
+            }
+        }
+
+        private void taskDone(final Thread thread) {
+            synchronized (m_lock) {
+                if (thread != null) {
+                    m_runningThreads.remove(thread);
+                    // Do not leak an interrupt that was meant for this executor's task to the next task of the pool.
+                    Thread.interrupted();
+                }
+                m_numPendingTasks--;
+                if (m_numPendingTasks == 0) {
+                    m_lock.notifyAll();
+                }
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            synchronized (m_lock) {
+                m_isShutdown = true;
+            }
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            final List<Runnable> notStarted = new ArrayList<>();
+            synchronized (m_lock) {
+                m_isShutdown = true;
+                for (final Thread thread : m_runningThreads) {
+                    thread.interrupt();
+                }
+                // Tasks that are still queued in the shared pool are skipped once they are dequeued.
+                for (final QueuedTask task : m_queuedTasks) {
+                    notStarted.add(task.m_command);
+                }
+                m_numPendingTasks -= m_queuedTasks.size();
+                m_queuedTasks.clear();
+                if (m_numPendingTasks == 0) {
+                    m_lock.notifyAll();
+                }
+            }
+            for (final Runnable command : notStarted) {
+                if (command instanceof Future) {
+                    ((Future<?>)command).cancel(false);
+                }
+            }
+            return notStarted;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            synchronized (m_lock) {
+                return m_isShutdown;
+            }
+        }
+
+        @Override
+        public boolean isTerminated() {
+            synchronized (m_lock) {
+                return m_isShutdown && m_numPendingTasks == 0;
+            }
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            final long deadline = System.nanoTime() + unit.toNanos(timeout);
+            synchronized (m_lock) {
+                while (!(m_isShutdown && m_numPendingTasks == 0)) {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(m_lock, remaining);
+                }
+                return true;
+            }
+        }
+
+        private final class QueuedTask implements Runnable {
+
+            private final Runnable m_command;
+
+            private final String m_threadName;
+
+            private QueuedTask(final Runnable command, final String threadName) {
+                m_command = command;
+                m_threadName = threadName;
+            }
+
+            @Override
+            public void run() {
+                final Thread thread = Thread.currentThread();
+                synchronized (m_lock) {
+                    if (!m_queuedTasks.remove(this)) {
+                        // Canceled by shutdownNow while queued.
+                        return;
+                    }
+                    m_runningThreads.add(thread);
+                }
+                try {
+                    runNamed(m_threadName, m_command);
+                } finally {
+                    taskDone(thread);
+                }
+            }
+        }
+    }
+}
@@ -49,18 +49,17 @@
 package org.knime.python2.kernel.messaging;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.knime.python2.kernel.PythonExecutionMonitor;
 import org.knime.python2.kernel.PythonKernel;
+import org.knime.python2.kernel.PythonKernelThreadPool;
 import org.knime.python2.util.PythonNodeLogger;
 import org.knime.python2.util.PythonUtils;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
 /**
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
@@ -97,12 +96,18 @@ protected static void clearQueueAndPutMessage(final BlockingQueue<Message> queue
      */
     private final AtomicBoolean m_isClosedOrClosing = new AtomicBoolean(false);
 
+    /**
+     * Counted down once {@link #loop()} returned (regularly or exceptionally) and the loop was closed.
+     */
+    private final CountDownLatch m_loopTerminated = new CountDownLatch(1);
+
+    private volatile Thread m_loopThread = null;
+
     private Exception m_exceptionDuringClose = null;
 
     public AbstractMessageLoop(final PythonExecutionMonitor monitor, final String loopThreadName) {
         m_monitor = monitor;
-        m_executor =
-            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(loopThreadName + "-%d").build());
+        m_executor = PythonKernelThreadPool.newExecutor(loopThreadName);
     }
 
     /**
@@ -143,13 +148,18 @@ public void close() throws Exception {
             try {
                 m_isClosedOrClosing.set(true);
                 PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdown, m_executor);
-                try {
-                    if (!(m_executor.awaitTermination(1, TimeUnit.SECONDS))) {
+                // The loop thread closes the loop itself once the loop terminated. It must not wait for its own
+                // termination in that case.
+                if (Thread.currentThread() != m_loopThread) {
+                    unblockLoop();
+                    try {
+                        if (!(m_executor.awaitTermination(1, TimeUnit.SECONDS))) {
+                            PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executor);
+                        }
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
                         PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executor);
                     }
-                } catch (final InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                    PythonUtils.Misc.invokeSafely(LOGGER::debug, ExecutorService::shutdownNow, m_executor);
                 }
                 closeInternal();
             } catch (final Exception ex) {
@@ -161,6 +171,26 @@ public void close() throws Exception {
         }
     }
 
+    /**
+     * Waits until the loop terminated, e.g. because its underlying connection was closed by the other side.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout argument
+     * @return <code>true</code> if the loop terminated, <code>false</code> if the timeout elapsed before
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public boolean awaitLoopTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return m_loopTerminated.await(timeout, unit);
+    }
+
+    /**
+     * Called in the course of {@link #close()} before waiting for the termination of the loop. Implementations that
+     * block while waiting for work should wake up the loop here so that it does not have to be shut down forcibly.
+     */
+    protected void unblockLoop() {
+        // No-op by default.
+    }
+
     /**
      * Called at the end of {@link #close()}.
      *
@@ -171,6 +201,7 @@ protected void closeInternal() throws Exception {
     }
 
     private void doLoop() {
+        m_loopThread = Thread.currentThread();
         try {
             loop();
         } catch (final InterruptedException ex) {
@@ -187,6 +218,8 @@ private void doLoop() {
                 close();
             } catch (final Exception ex) {
                 m_exceptionDuringClose = ex;
+            } finally {
+                m_loopTerminated.countDown();
             }
         }
     }
@@ -51,6 +51,7 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -159,11 +160,11 @@ public String getCategory() {
 
     @Override
     public String getHeader() {
-        String header = "";
+        final StringBuilder header = new StringBuilder();
         for (final Entry<String, String> entry : m_headerFields.entrySet()) {
-            header += "@" + entry.getKey() + "=" + entry.getValue();
+            header.append('@').append(entry.getKey()).append('=').append(entry.getValue());
         }
-        return header;
+        return header.toString();
     }
 
     @Override
@@ -171,6 +172,14 @@ public String getHeaderField(final String fieldKey) {
         return m_headerFields.get(fieldKey);
     }
 
+    /**
+     * @return all header fields of this message in insertion order, including {@link #KEY_ID id} and
+     *         {@link #KEY_CATEGORY category}, not meant to be modified
+     */
+    Map<String, String> getHeaderFields() {
+        return Collections.unmodifiableMap(m_headerFields);
+    }
+
     @Override
     public byte[] getPayload() {
         return m_payload;
@@ -49,9 +49,8 @@
 package org.knime.python2.kernel.messaging;
 
 import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readBytes;
-import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readInt;
-import static org.knime.python2.kernel.messaging.PythonMessagingUtils.readUtf8String;
 
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -66,23 +65,31 @@ final class DefaultMessageReceiver implements MessageReceiver {
 
     private static final PythonNodeLogger LOGGER = PythonNodeLogger.getLogger(DefaultMessageReceiver.class);
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final DataInputStream m_inFromPython;
 
+    private final int m_protocolVersion;
+
     /**
      * @param inFromPython the input stream via which messages from Python are received
+     * @param protocolVersion the negotiated version of the messaging protocol, see {@link MessageProtocol}
      */
-    public DefaultMessageReceiver(final InputStream inFromPython) {
-        m_inFromPython = new DataInputStream(inFromPython);
+    public DefaultMessageReceiver(final InputStream inFromPython, final int protocolVersion) {
+        m_inFromPython = new DataInputStream(new BufferedInputStream(inFromPython, BUFFER_SIZE));
+        m_protocolVersion = protocolVersion;
     }
 
     @Override
     public Message receive() throws IOException {
-        final int headerSize = readInt(m_inFromPython);
-        final int payloadSize = readInt(m_inFromPython);
-        final String header = readUtf8String(headerSize, m_inFromPython);
+        final int headerSize = m_inFromPython.readInt();
+        final int payloadSize = m_inFromPython.readInt();
+        final byte[] header = readBytes(headerSize, m_inFromPython);
         final byte[] payload = payloadSize > 0 ? readBytes(payloadSize, m_inFromPython) : null;
-        Message message = new DefaultMessage(header, payload);
-        LOGGER.debug("Java - Received message: " + message);
+        final Message message = MessageProtocol.decode(header, payload, m_protocolVersion);
+        if (PythonNodeLogger.DEBUG_ENABLED) {
+            LOGGER.debug("Java - Received message: " + message);
+        }
         return message;
     }
 }
@@ -67,6 +67,8 @@ final class DefaultMessageReceiverLoop extends AbstractMessageLoop implements Me
 
     private final int m_offerTimeout;
 
+    private volatile boolean m_endOfStreamExpected = false;
+
     public DefaultMessageReceiverLoop(final MessageReceiver receiver, final BlockingQueue<Message> receiveQueue,
         final PythonExecutionMonitor monitor) {
         super(monitor, "python-message-receive-loop");
@@ -75,6 +77,14 @@ public DefaultMessageReceiverLoop(final MessageReceiver receiver, final Blocking
         m_offerTimeout = PythonKernel.getConnectionTimeoutInMillis();
     }
 
+    /**
+     * Announces that Python is about to close the connection, e.g. because it was asked to shut down. The loop then
+     * terminates regularly instead of reporting the end of the stream as an error.
+     */
+    void expectEndOfStream() {
+        m_endOfStreamExpected = true;
+    }
+
     @Override
     public Message receive() throws IOException, InterruptedException {
         final Message message = m_receiveQueue.take();
@@ -95,6 +105,10 @@ protected void loop() throws Exception {
                         + message + ") to queue. Continue to wait.");
                 }
             } catch (final Exception ex) {
+                if (m_endOfStreamExpected && !(ex instanceof InterruptedException)) {
+                    LOGGER.debug(getClass().getName() + ": Connection closed by Python. Loop terminated.");
+                    break;
+                }
                 throwExceptionInLoop("Failed to receive message from Python or forward received message.", ex);
             }
         }
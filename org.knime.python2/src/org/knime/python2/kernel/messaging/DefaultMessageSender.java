@@ -48,10 +48,10 @@
  */
 package org.knime.python2.kernel.messaging;
 
+import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 import org.knime.python2.util.PythonNodeLogger;
 
@@ -63,19 +63,31 @@ final class DefaultMessageSender implements MessageSender {
 
     private static final PythonNodeLogger LOGGER = PythonNodeLogger.getLogger(DefaultMessageSender.class);
 
+    /**
+     * Messages whose frame fits into the buffer are written using a single write to the underlying stream. Larger
+     * payloads bypass the buffer.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private final DataOutputStream m_outToPython;
 
+    private final int m_protocolVersion;
+
     /**
      * @param outToPython the output stream via which messages to Python are sent
+     * @param protocolVersion the negotiated version of the messaging protocol, see {@link MessageProtocol}
      */
-    public DefaultMessageSender(final OutputStream outToPython) {
-        m_outToPython = new DataOutputStream(outToPython);
+    public DefaultMessageSender(final OutputStream outToPython, final int protocolVersion) {
+        m_outToPython = new DataOutputStream(new BufferedOutputStream(outToPython, BUFFER_SIZE));
+        m_protocolVersion = protocolVersion;
     }
 
     @Override
     public void send(final Message message) throws IOException {
-        LOGGER.debug("Java - Send message: " + message);
-        final byte[] header = message.getHeader().getBytes(StandardCharsets.UTF_8);
+        if (PythonNodeLogger.DEBUG_ENABLED) {
+            LOGGER.debug("Java - Send message: " + message);
+        }
+        final byte[] header = MessageProtocol.encodeHeader(message, m_protocolVersion);
         final byte[] payload = message.getPayload();
         m_outToPython.writeInt(header.length);
         m_outToPython.writeInt(payload != null ? payload.length : 0);
@@ -83,5 +95,6 @@ public void send(final Message message) throws IOException {
         if (payload != null) {
             m_outToPython.write(payload);
         }
+        m_outToPython.flush();
     }
 }
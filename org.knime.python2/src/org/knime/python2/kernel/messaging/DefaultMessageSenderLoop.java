@@ -49,37 +49,76 @@
 package org.knime.python2.kernel.messaging;
 
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
 
 import org.knime.python2.kernel.PythonExecutionMonitor;
 
 /**
+ * Sends messages of concurrently running tasks to Python. Messages without or with only a small payload (e.g.,
+ * metadata requests and responses) are sent before queued messages with large payloads (e.g., table chunks), so that
+ * cheap requests do not wait behind bulk data transfers of other tasks. The order of the messages of a single task is
+ * not affected since each task waits for a response before sending its next message.
+ *
  * @author Marcel Wiedenmann, KNIME GmbH, Konstanz, Germany
  * @author Christian Dietz, KNIME GmbH, Konstanz, Germany
  */
 final class DefaultMessageSenderLoop extends AbstractMessageLoop implements MessageSender {
 
+    /**
+     * Messages whose payload exceeds this size are considered bulk messages.
+     */
+    private static final int MAX_CONTROL_PAYLOAD_SIZE = 64 * 1024;
+
     private final MessageSender m_sender;
 
-    private final BlockingQueue<Message> m_sendQueue;
+    private final BlockingQueue<Message> m_controlQueue;
+
+    private final BlockingQueue<Message> m_bulkQueue;
 
-    public DefaultMessageSenderLoop(final MessageSender sender, final BlockingQueue<Message> sendQueue,
+    /**
+     * The number of messages in both queues, i.e. the number of messages that are ready to be sent.
+     */
+    private final Semaphore m_numQueuedMessages = new Semaphore(0);
+
+    /**
+     * @param sender the sender that writes messages to Python
+     * @param sendQueueLength the maximum number of queued messages, applies to control and bulk messages separately
+     * @param monitor the monitor of the kernel
+     */
+    public DefaultMessageSenderLoop(final MessageSender sender, final int sendQueueLength,
         final PythonExecutionMonitor monitor) {
         super(monitor, "python-message-send-loop");
         m_sender = sender;
-        m_sendQueue = sendQueue;
+        m_controlQueue = new ArrayBlockingQueue<>(sendQueueLength);
+        m_bulkQueue = new ArrayBlockingQueue<>(sendQueueLength);
     }
 
     @Override
     public void send(final Message message) throws IOException, InterruptedException {
-        m_sendQueue.put(message);
+        final byte[] payload = message.getPayload();
+        if (payload == null || payload.length <= MAX_CONTROL_PAYLOAD_SIZE) {
+            m_controlQueue.put(message);
+        } else {
+            m_bulkQueue.put(message);
+        }
+        m_numQueuedMessages.release();
     }
 
     @Override
     protected void loop() throws Exception {
         while (isRunning()) {
             try {
-                final Message message = m_sendQueue.take();
+                m_numQueuedMessages.acquire();
+                Message message = m_controlQueue.poll();
+                if (message == null) {
+                    message = m_bulkQueue.poll();
+                    if (message == null) {
+                        // Queues were cleared while closing.
+                        continue;
+                    }
+                }
                 if (message == m_monitor.getPoisonPill()) {
                     break;
                 }
@@ -90,8 +129,17 @@ protected void loop() throws Exception {
         }
     }
 
+    @Override
+    protected void unblockLoop() {
+        if (m_controlQueue.offer(m_monitor.getPoisonPill())) {
+            m_numQueuedMessages.release();
+        }
+    }
+
     @Override
     protected void closeInternal() throws Exception {
-        clearQueueAndPutMessage(m_sendQueue, m_monitor.getPoisonPill());
+        m_bulkQueue.clear();
+        clearQueueAndPutMessage(m_controlQueue, m_monitor.getPoisonPill());
+        m_numQueuedMessages.release();
     }
 }
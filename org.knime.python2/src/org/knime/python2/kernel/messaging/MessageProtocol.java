@@ -0,0 +1,188 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.python2.kernel.messaging;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Encodes and decodes message headers according to the version of the messaging protocol that was negotiated between
+ * Java and Python when the connection was established.
+ * <P>
+ * Each message is framed as (header size: int32)(payload size: int32)(header)(payload) in all protocol versions. The
+ * versions differ in the encoding of the header:
+ * <ul>
+ * <li>{@link #VERSION_TEXT_HEADER}: UTF-8 string of the form @&ltkey&gt=&ltvalue&gt...</li>
+ * <li>{@link #VERSION_BINARY_HEADER}: (id: int32)(category: string)(number of additional fields: int32)(key:
+ * string)(value: string)..., where strings are encoded as (length: int32)(UTF-8 bytes)</li>
+ * </ul>
+ *
+ * @author agent
+ */
+final class MessageProtocol {
+
+    // Do not change. Used on Python side.
+    private static final int HANDSHAKE_MAGIC = 0x4B4E5059;
+
+    /**
+     * The legacy protocol version that encodes headers as strings.
+     */
+    static final int VERSION_TEXT_HEADER = 1;
+
+    /**
+     * The protocol version that encodes headers in a compact binary format.
+     */
+    static final int VERSION_BINARY_HEADER = 2;
+
+    /**
+     * The latest protocol version supported on Java side.
+     */
+    static final int LATEST_VERSION = VERSION_BINARY_HEADER;
+
+    private MessageProtocol() {
+        // utility class
+    }
+
+    /**
+     * Offers the {@link #LATEST_VERSION latest protocol version} to Python and returns the version Python agreed on.
+     * Must be called before any message is exchanged.
+     *
+     * @param outToPython the stream to Python
+     * @param inFromPython the stream from Python
+     * @return the negotiated protocol version
+     * @throws IOException if the handshake failed for I/O reasons or if Python agreed on an unsupported version
+     */
+    static int negotiate(final OutputStream outToPython, final InputStream inFromPython) throws IOException {
+        final DataOutputStream out = new DataOutputStream(outToPython);
+        out.writeInt(HANDSHAKE_MAGIC);
+        out.writeInt(LATEST_VERSION);
+        out.flush();
+        // Do not buffer, subsequent reads are done by the message receiver.
+        final int version = new DataInputStream(inFromPython).readInt();
+        if (version < VERSION_TEXT_HEADER || version > LATEST_VERSION) {
+            throw new IOException("Python agreed on unsupported messaging protocol version " + version + ".");
+        }
+        return version;
+    }
+
+    /**
+     * @param message the message whose header to encode
+     * @param version the negotiated protocol version
+     * @return the encoded header
+     */
+    static byte[] encodeHeader(final Message message, final int version) {
+        if (version == VERSION_TEXT_HEADER) {
+            return PythonMessagingUtils.utf8StringToBytes(message.getHeader());
+        }
+        final Map<String, String> fields = message instanceof DefaultMessage //
+            ? ((DefaultMessage)message).getHeaderFields() //
+            : new DefaultMessage(message.getHeader(), null).getHeaderFields();
+        final byte[] category = encodeString(message.getCategory());
+        final List<byte[]> additionalFields = new ArrayList<>(2 * fields.size());
+        int size = 4 + 4 + category.length + 4;
+        for (final Entry<String, String> field : fields.entrySet()) {
+            final String key = field.getKey();
+            if (!DefaultMessage.KEY_ID.equals(key) && !DefaultMessage.KEY_CATEGORY.equals(key)) {
+                final byte[] encodedKey = encodeString(key);
+                final byte[] encodedValue = encodeString(field.getValue());
+                additionalFields.add(encodedKey);
+                additionalFields.add(encodedValue);
+                size += 4 + encodedKey.length + 4 + encodedValue.length;
+            }
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(message.getId());
+        buffer.putInt(category.length).put(category);
+        buffer.putInt(additionalFields.size() / 2);
+        for (final byte[] encoded : additionalFields) {
+            buffer.putInt(encoded.length).put(encoded);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @param header the encoded header
+     * @param payload the message's payload, may be {@code null}
+     * @param version the negotiated protocol version
+     * @return the decoded message
+     */
+    static Message decode(final byte[] header, final byte[] payload, final int version) {
+        if (version == VERSION_TEXT_HEADER) {
+            return new DefaultMessage(PythonMessagingUtils.utf8StringFromBytes(header), payload);
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(header);
+        final int id = buffer.getInt();
+        final String category = decodeString(buffer);
+        final int numAdditionalFields = buffer.getInt();
+        final Map<String, String> additionalFields =
+            numAdditionalFields > 0 ? new LinkedHashMap<>(numAdditionalFields * 2) : null;
+        for (int i = 0; i < numAdditionalFields; i++) {
+            additionalFields.put(decodeString(buffer), decodeString(buffer));
+        }
+        return new DefaultMessage(id, category, payload, additionalFields);
+    }
+
+    private static byte[] encodeString(final String string) {
+        return PythonMessagingUtils.utf8StringToBytes(string);
+    }
+
+    private static String decodeString(final ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        final String string = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return string;
+    }
+}
@@ -53,6 +53,7 @@
 import java.io.OutputStream;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -74,14 +75,17 @@ public final class PythonMessaging implements MessageSender, MessageHandlerColle
 
     private static final int RECEIVE_QUEUE_LENGTH = 10;
 
+    /**
+     * The maximum time to wait for Python to close its end of the connection after it was asked to shut down.
+     */
+    private static final long SHUTDOWN_TIMEOUT_IN_MILLIS = 1000;
+
     private final AtomicBoolean m_isRunning = new AtomicBoolean(false);
 
     private final AtomicInteger m_messageIdCounter = new AtomicInteger(0);
 
     // Send:
 
-    private final OutputStream m_outToPython;
-
     private final DefaultMessageSenderLoop m_sendLoop;
 
     // Receive:
@@ -94,15 +98,23 @@ public final class PythonMessaging implements MessageSender, MessageHandlerColle
 
     private final MessageDistributorLoop m_distributeLoop;
 
+    /**
+     * Negotiates the messaging protocol with Python. The messaging system is started via {@link #start()}.
+     *
+     * @param outToPython the stream to Python
+     * @param inFromPython the stream from Python
+     * @param monitor the monitor of the kernel
+     * @throws IOException if negotiating the messaging protocol failed
+     */
     public PythonMessaging(final OutputStream outToPython, final InputStream inFromPython,
-        final PythonExecutionMonitor monitor) {
-        m_outToPython = outToPython;
-        m_sendLoop = new DefaultMessageSenderLoop(new DefaultMessageSender(outToPython),
-            new ArrayBlockingQueue<>(SEND_QUEUE_LENGTH), monitor);
+        final PythonExecutionMonitor monitor) throws IOException {
+        final int protocolVersion = MessageProtocol.negotiate(outToPython, inFromPython);
+        m_sendLoop = new DefaultMessageSenderLoop(new DefaultMessageSender(outToPython, protocolVersion),
+            SEND_QUEUE_LENGTH, monitor);
 
         m_receiveQueue = new ArrayBlockingQueue<>(RECEIVE_QUEUE_LENGTH);
-        m_receiveLoop =
-            new DefaultMessageReceiverLoop(new DefaultMessageReceiver(inFromPython), m_receiveQueue, monitor);
+        m_receiveLoop = new DefaultMessageReceiverLoop(new DefaultMessageReceiver(inFromPython, protocolVersion),
+            m_receiveQueue, monitor);
 
         m_distributeLoop = new MessageDistributorLoop(m_receiveLoop, monitor);
     }
@@ -152,11 +164,11 @@ public boolean handle(final Message message) throws Exception {
     @Override
     public void close() {
         if (m_isRunning.compareAndSet(true, false)) {
-            sendShutdownMessage();
+            final boolean shutDownGracefully = sendShutdownMessage();
             // Order is intended.
             final Error error =
                 PythonUtils.Misc.closeSafely(LOGGER::debug, m_sendLoop, m_receiveLoop, m_distributeLoop);
-            if (!isClosed()) {
+            if (!shutDownGracefully) {
                 LOGGER.debug("Python messaging system could not be shut down gracefully. Process will be killed.");
             }
             if (error != null) {
@@ -165,10 +177,17 @@ public void close() {
         }
     }
 
-    private void sendShutdownMessage() {
+    /**
+     * Asks Python to shut down and waits until it closed its end of the connection, which acknowledges the shutdown.
+     *
+     * @return <code>true</code> if Python acknowledged the shutdown within the timeout, <code>false</code> otherwise
+     */
+    private boolean sendShutdownMessage() {
         try {
+            m_receiveLoop.expectEndOfStream();
             final Message message = new DefaultMessage(createNextMessageId(), "shutdown", null, null);
             send(message);
+            return m_receiveLoop.awaitLoopTermination(SHUTDOWN_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS);
         } catch (final IOException ex) {
             LOGGER.debug("Exception occurred while shutting down Python messaging system. Cause: " + ex.getMessage(),
                 ex);
@@ -176,23 +195,6 @@ private void sendShutdownMessage() {
             // Closing the messaging system should not be interrupted.
             Thread.currentThread().interrupt();
         }
-        try {
-            // Give Python some time to shutdown.
-            Thread.sleep(1000);
-        } catch (final InterruptedException ex) {
-            // Closing the messaging system should not be interrupted.
-            Thread.currentThread().interrupt();
-        }
-    }
-
-    private boolean isClosed() {
-        boolean closed = true;
-        try {
-            m_outToPython.write(0);
-            closed = false;
-        } catch (final IOException e) {
-            // Stream is closed. Python shut down properly.
-        }
-        return closed;
+        return false;
     }
 }
@@ -47,12 +47,17 @@
  */
 package org.knime.python2.port;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang.builder.HashCodeBuilder;
@@ -60,6 +65,8 @@
 import org.knime.core.node.ModelContentRO;
 import org.knime.core.node.ModelContentWO;
 
+import com.google.common.io.ByteStreams;
+
 /**
  * Container for a pickled python object consisting of the object's byte representation, python type and a string
  * representation.
@@ -76,7 +83,22 @@ public class PickledObject {
 
     private static final String CFG_STRING_REPRESENTATION = "stringRepresentation";
 
-    private final byte[] m_pickledObject;
+    /** Maximum size of arrays supported by common virtual machines. */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /** Lazily read from {@link #m_pickledObjectFile} if this object is backed by a file. */
+    private byte[] m_pickledObject;
+
+    private final Path m_pickledObjectFile;
+
+    /** The position of the byte representation within {@link #m_pickledObjectFile}. */
+    private final long m_pickledObjectOffset;
+
+    /** The length of the byte representation within {@link #m_pickledObjectFile}, -1 if it spans the entire file. */
+    private final long m_pickledObjectLength;
+
+    /** Whether {@link #m_pickledObjectFile} is a temporary file that is owned by this object. */
+    private final boolean m_isTemporaryFile;
 
     private final String m_type;
 
@@ -91,6 +113,53 @@ public class PickledObject {
      */
     public PickledObject(final byte[] pickledObject, final String type, final String stringRepresentation) {
         m_pickledObject = pickledObject;
+        m_pickledObjectFile = null;
+        m_pickledObjectOffset = 0;
+        m_pickledObjectLength = -1;
+        m_isTemporaryFile = false;
+        m_type = type;
+        m_stringRepresentation = stringRepresentation;
+    }
+
+    /**
+     * Constructor for a pickled object that is backed by a file. The byte representation of the object is only read
+     * into memory if {@link #getPickledObject()} is called. Use {@link #openPickledObjectStream()} and
+     * {@link #save(OutputStream)} to access it without doing so.
+     *
+     * @param pickledObjectFile the file that contains the byte representation of the actual pickled object, must
+     *            neither be modified nor deleted while this object is in use
+     * @param type the type of the pickled object (in python)
+     * @param stringRepresentation a representation of the pickled object as a string
+     * @since 4.3
+     */
+    public PickledObject(final Path pickledObjectFile, final String type, final String stringRepresentation) {
+        this(pickledObjectFile, type, stringRepresentation, false);
+    }
+
+    /**
+     * Constructor for a pickled object that is backed by a file, see {@link #PickledObject(Path, String, String)}.
+     *
+     * @param pickledObjectFile the file that contains the byte representation of the actual pickled object, must
+     *            neither be modified nor deleted while this object is in use
+     * @param type the type of the pickled object (in python)
+     * @param stringRepresentation a representation of the pickled object as a string
+     * @param isTemporaryFile whether the file is a temporary file that is owned by this object. Such a file is deleted
+     *            once the object was copied to a file store, see {@link PickledObjectFileStorePortObject}. The object
+     *            must not be used any more afterwards.
+     * @since 4.3
+     */
+    public PickledObject(final Path pickledObjectFile, final String type, final String stringRepresentation,
+        final boolean isTemporaryFile) {
+        this(pickledObjectFile, 0, -1, isTemporaryFile, type, stringRepresentation);
+    }
+
+    private PickledObject(final Path pickledObjectFile, final long offset, final long length,
+        final boolean isTemporaryFile, final String type, final String stringRepresentation) {
+        m_pickledObject = null;
+        m_pickledObjectFile = pickledObjectFile;
+        m_pickledObjectOffset = offset;
+        m_pickledObjectLength = length;
+        m_isTemporaryFile = isTemporaryFile;
         m_type = type;
         m_stringRepresentation = stringRepresentation;
     }
@@ -105,6 +174,10 @@ public PickledObject(final byte[] pickledObject, final String type, final String
     @Deprecated
     public PickledObject(final ModelContentRO model) throws InvalidSettingsException {
         m_pickledObject = model.getByteArray(CFG_PICKLED_OBJECT);
+        m_pickledObjectFile = null;
+        m_pickledObjectOffset = 0;
+        m_pickledObjectLength = -1;
+        m_isTemporaryFile = false;
         m_type = model.getString(CFG_TYPE);
         m_stringRepresentation = model.getString(CFG_STRING_REPRESENTATION);
     }
@@ -124,6 +197,10 @@ public PickledObject(final InputStream in) throws IOException {
         if (objIn.read(m_pickledObject) < pickledObjectLength) {
             throw new IOException("Failed to read in pickled object.");
         }
+        m_pickledObjectFile = null;
+        m_pickledObjectOffset = 0;
+        m_pickledObjectLength = -1;
+        m_isTemporaryFile = false;
         m_type = objIn.readUTF();
         final int stringRepresentationLength = objIn.readInt();
         final byte[] stringRepresentationBytes = new byte[stringRepresentationLength];
@@ -134,14 +211,104 @@ public PickledObject(final InputStream in) throws IOException {
     }
 
     /**
-     * Gets the actual pickled object.
+     * Reads a {@link PickledObject} that was {@link #save(OutputStream) saved} to the given file. Only the type and the
+     * string representation are read into memory. The returned object is backed by the file, see
+     * {@link #PickledObject(Path, String, String)}.
+     *
+     * @param file the file to read the pickled object from, must neither be modified nor deleted while the returned
+     *            object is in use
+     * @return the pickled object
+     * @throws IOException if failed to read the pickled object from the given file
+     */
+    static PickledObject load(final Path file) throws IOException {
+        try (final DataInputStream objIn = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            final int pickledObjectLength = objIn.readInt();
+            ByteStreams.skipFully(objIn, pickledObjectLength);
+            final String type = objIn.readUTF();
+            final byte[] stringRepresentationBytes = new byte[objIn.readInt()];
+            objIn.readFully(stringRepresentationBytes);
+            // The byte representation starts right after its length.
+            return new PickledObject(file, Integer.BYTES, pickledObjectLength, false, type,
+                new String(stringRepresentationBytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Gets the actual pickled object. If this object is backed by a file, the file is read into memory upon the first
+     * call of this method.
      *
      * @return the actual pickled object
+     * @throws UncheckedIOException if reading the backing file failed or if the file is too large to be held in an
+     *             array
      */
-    public byte[] getPickledObject() {
+    public synchronized byte[] getPickledObject() {
+        if (m_pickledObject == null) {
+            try {
+                final long size = getPickledObjectSize();
+                if (size > MAX_ARRAY_SIZE) {
+                    throw new IOException("The pickled object is too large (" + size
+                        + " bytes) to be held in memory. Access it as a stream instead.");
+                }
+                final byte[] pickledObject = new byte[(int)size];
+                try (final InputStream in = openPickledObjectStream()) {
+                    ByteStreams.readFully(in, pickledObject);
+                }
+                m_pickledObject = pickledObject;
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
         return m_pickledObject;
     }
 
+    /**
+     * Opens a stream to the actual pickled object. Unlike {@link #getPickledObject()}, this does not read the object
+     * into memory if it is backed by a file.
+     *
+     * @return a stream to the actual pickled object. It is the caller's responsibility to close the stream.
+     * @throws IOException if opening the backing file failed
+     * @since 4.3
+     */
+    public synchronized InputStream openPickledObjectStream() throws IOException {
+        if (m_pickledObject != null) {
+            return new ByteArrayInputStream(m_pickledObject);
+        }
+        final InputStream in = Files.newInputStream(m_pickledObjectFile);
+        try {
+            ByteStreams.skipFully(in, m_pickledObjectOffset);
+        } catch (final IOException ex) {
+            in.close();
+            throw ex;
+        }
+        return m_pickledObjectLength >= 0 ? ByteStreams.limit(in, m_pickledObjectLength) : in;
+    }
+
+    /**
+     * @return whether this object is backed by a temporary file that it owns, see {@link #deleteTemporaryFile()}
+     */
+    boolean isBackedByTemporaryFile() {
+        return m_isTemporaryFile;
+    }
+
+    /**
+     * Deletes the file that backs this object if it is a temporary file that is owned by this object. The object must
+     * not be used any more afterwards.
+     *
+     * @throws IOException if deleting the file failed
+     */
+    synchronized void deleteTemporaryFile() throws IOException {
+        if (m_isTemporaryFile) {
+            Files.deleteIfExists(m_pickledObjectFile);
+        }
+    }
+
+    private synchronized long getPickledObjectSize() throws IOException {
+        if (m_pickledObject != null) {
+            return m_pickledObject.length;
+        }
+        return m_pickledObjectLength >= 0 ? m_pickledObjectLength : Files.size(m_pickledObjectFile);
+    }
+
     /**
      * Gets the type.
      *
@@ -177,7 +344,7 @@ public boolean isNone() {
      */
     @Deprecated
     public void save(final ModelContentWO model) {
-        model.addByteArray(CFG_PICKLED_OBJECT, m_pickledObject);
+        model.addByteArray(CFG_PICKLED_OBJECT, getPickledObject());
         model.addString(CFG_TYPE, m_type);
         model.addString(CFG_STRING_REPRESENTATION, m_stringRepresentation);
     }
@@ -192,8 +359,18 @@ public void save(final ModelContentWO model) {
      */
     public void save(final OutputStream out) throws IOException {
         final DataOutputStream objOut = new DataOutputStream(out);
-        objOut.writeInt(m_pickledObject.length);
-        objOut.write(m_pickledObject);
+        final long size = getPickledObjectSize();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("The pickled object is too large (" + size + " bytes) to be saved.");
+        }
+        objOut.writeInt((int)size);
+        try (final InputStream in = openPickledObjectStream()) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                objOut.write(buffer, 0, read);
+            }
+        }
         objOut.writeUTF(m_type);
         // String representation can get pretty long. This may not be supported by DataOutputStream#writeUTF(String).
         final byte[] stringRepresentationBytes = m_stringRepresentation.getBytes(StandardCharsets.UTF_8);
@@ -211,16 +388,22 @@ public boolean equals(final Object obj) {
         }
         final PickledObject con = (PickledObject)obj;
         final EqualsBuilder eb = new EqualsBuilder();
-        eb.append(m_pickledObject, con.m_pickledObject);
         eb.append(m_type, con.m_type);
         eb.append(m_stringRepresentation, con.m_stringRepresentation);
+        // File-backed objects are compared by the identity of their backing file to avoid reading them into memory.
+        eb.append(m_pickledObjectFile, con.m_pickledObjectFile);
+        eb.append(m_pickledObjectOffset, con.m_pickledObjectOffset);
+        eb.append(m_pickledObjectLength, con.m_pickledObjectLength);
+        if (eb.isEquals() && m_pickledObjectFile == null) {
+            eb.append(m_pickledObject, con.m_pickledObject);
+        }
         return eb.isEquals();
     }
 
     @Override
     public int hashCode() {
         final HashCodeBuilder hcb = new HashCodeBuilder();
-        hcb.append(m_pickledObject);
+        hcb.append(m_pickledObjectFile);
         hcb.append(m_type);
         hcb.append(m_stringRepresentation);
         return hcb.hashCode();
@@ -52,7 +52,6 @@
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
@@ -104,7 +103,8 @@ public final class PickledObjectFileStorePortObject extends FileStorePortObject
     private final UUID m_key;
 
     /**
-     * @param pickledObject the pickled object to save
+     * @param pickledObject the pickled object to save. If it is backed by a temporary file, the file is deleted once
+     *            the object was saved and the object must not be used any more.
      * @param fileStore the file store at which to save the pickled object
      * @throws IOException if failed to write the pickled object to file store
      */
@@ -115,6 +115,11 @@ public PickledObjectFileStorePortObject(final PickledObject pickledObject, final
         m_key = UUID.randomUUID();
         CACHE.put(m_key, pickledObject);
         flushToFileStore();
+        if (pickledObject.isBackedByTemporaryFile()) {
+            // The temporary file is obsolete once the object was copied to the file store.
+            CACHE.put(m_key, getPickledObjectFromFileStore());
+            pickledObject.deleteTemporaryFile();
+        }
     }
 
     /**
@@ -142,10 +147,8 @@ public synchronized PickledObject getPickledObject() throws IOException {
     }
 
     private PickledObject getPickledObjectFromFileStore() throws IOException {
-        final File file = getFileStore(0).getFile();
-        try (FileInputStream in = new FileInputStream(file)) {
-            return new PickledObject(in);
-        }
+        // Only reads the type and string representation. The actual pickled object is read lazily from the file store.
+        return PickledObject.load(getFileStore(0).getFile().toPath());
     }
 
     @Override